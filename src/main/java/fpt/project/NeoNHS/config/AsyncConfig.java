@@ -1,10 +1,68 @@
 package fpt.project.NeoNHS.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
-}
 
+    /**
+     * Default pool for {@code @Async} methods (mail) and MVC async requests. Declared here because
+     * the dedicated executors below make Spring Boot skip its own {@code applicationTaskExecutor},
+     * which would otherwise leave {@code @Async} on a thread-per-task executor.
+     */
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(
+            @Value("${spring.task.execution.pool.core-size:8}") int coreSize,
+            @Value("${spring.task.execution.pool.max-size:8}") int maxSize,
+            @Value("${spring.task.execution.pool.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("task-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs withdrawal face verification and payout submission off the request thread. Bounded so
+     * a slow face service backs up here instead of in the servlet or JDBC pools; a full queue
+     * rejects the withdrawal and releases its hold.
+     */
+    @Bean(name = "withdrawalExecutor")
+    public ThreadPoolTaskExecutor withdrawalExecutor(
+            @Value("${withdrawal.executor.pool-size:4}") int poolSize,
+            @Value("${withdrawal.executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("withdrawal-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Streams report exports (one database cursor each) off the request thread. Kept small so long
+     * exports cannot hold more than a few connections; a full queue answers 503 instead of waiting.
+     */
+    @Bean(name = "exportExecutor")
+    public ThreadPoolTaskExecutor exportExecutor(
+            @Value("${export.executor.pool-size:2}") int poolSize,
+            @Value("${export.executor.queue-capacity:10}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-");
+        executor.initialize();
+        return executor;
+    }
+}
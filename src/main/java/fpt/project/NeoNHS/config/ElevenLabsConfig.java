@@ -1,12 +1,16 @@
 package fpt.project.NeoNHS.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestClient;
 
 @Configuration
+@RequiredArgsConstructor
 public class ElevenLabsConfig {
+    private final OutboundHttpConfig outboundHttp;
+
     @Value("${elevenlabs.key}")
     private String apiKey;
 
@@ -15,7 +19,7 @@ public class ElevenLabsConfig {
 
     @Bean
     public RestClient elevenLabsRestClient() {
-        return RestClient.builder()
+        return outboundHttp.restClient(OutboundHttpConfig.ELEVENLABS)
                 .baseUrl(baseUrl)
                 .defaultHeader("xi-api-key", apiKey)
                 .defaultHeader("Content-Type", "application/json")
@@ -23,7 +27,7 @@ public class ElevenLabsConfig {
     }
 
     @Bean RestClient elevenLabsForcedAlignmentRestClient() {
-        return RestClient.builder()
+        return outboundHttp.restClient(OutboundHttpConfig.ELEVENLABS)
                 .baseUrl(baseUrl)
                 .defaultHeader("xi-api-key", apiKey)
                 .defaultHeader("Content-Type", "application/json; charset=utf-8")
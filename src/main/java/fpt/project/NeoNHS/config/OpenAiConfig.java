@@ -1,5 +1,6 @@
 package fpt.project.NeoNHS.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,8 +10,11 @@ import org.springframework.web.client.RestClient;
  * Configuration for OpenAI integration.
  */
 @Configuration
+@RequiredArgsConstructor
 public class OpenAiConfig {
 
+    private final OutboundHttpConfig outboundHttp;
+
     @Value("${openai.api-key}")
     private String apiKey;
 
@@ -28,7 +32,7 @@ public class OpenAiConfig {
 
     @Bean
     public RestClient openAiRestClient() {
-        return RestClient.builder()
+        return outboundHttp.restClient(OutboundHttpConfig.OPENAI)
                 .baseUrl(baseUrl)
                 .defaultHeader("Authorization", "Bearer " + apiKey)
                 .defaultHeader("Content-Type", "application/json")
@@ -0,0 +1,95 @@
+package fpt.project.NeoNHS.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared outbound HTTP layer. Every external service gets its own keep-alive connection pool
+ * (one {@link HttpClient} per upstream), connect/read timeouts and an {@link UpstreamGuard}, all
+ * configured under {@code http.outbound}. Clients for new upstreams should come from
+ * {@link #restTemplate(String)} or {@link #restClient(String)}, never {@code new RestTemplate()}.
+ */
+@Configuration
+@EnableConfigurationProperties(OutboundHttpProperties.class)
+public class OutboundHttpConfig {
+
+    public static final String EXPO = "expo";
+    public static final String FACE_SERVICE = "face-service";
+    public static final String PAYOS = "payos";
+    public static final String VNPT_EKYC = "vnpt-ekyc";
+    public static final String OPENAI = "openai";
+    public static final String ELEVENLABS = "elevenlabs";
+    public static final String TRANSLATION = "translation";
+
+    private final OutboundHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ClientHttpRequestFactory> requestFactories = new ConcurrentHashMap<>();
+    private final Map<String, UpstreamGuard> guards = new ConcurrentHashMap<>();
+
+    public OutboundHttpConfig(OutboundHttpProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public RestTemplate restTemplate(String upstream) {
+        RestTemplate restTemplate = new RestTemplate(requestFactory(upstream));
+        restTemplate.getInterceptors().add(guard(upstream));
+        return restTemplate;
+    }
+
+    public RestClient.Builder restClient(String upstream) {
+        return RestClient.builder()
+                .requestFactory(requestFactory(upstream))
+                .requestInterceptor(guard(upstream));
+    }
+
+    @Bean
+    public RestTemplate expoRestTemplate() {
+        return restTemplate(EXPO);
+    }
+
+    @Bean
+    public RestTemplate faceServiceRestTemplate() {
+        return restTemplate(FACE_SERVICE);
+    }
+
+    @Bean
+    public RestTemplate payosRestTemplate() {
+        return restTemplate(PAYOS);
+    }
+
+    @Bean
+    public RestTemplate vnptEkycRestTemplate() {
+        return restTemplate(VNPT_EKYC);
+    }
+
+    // Clients of one upstream share its pool, bulkhead and breaker
+    private ClientHttpRequestFactory requestFactory(String upstream) {
+        return requestFactories.computeIfAbsent(upstream, name -> {
+            OutboundHttpProperties.Settings settings = properties.resolve(name);
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(settings.connectTimeout())
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .build();
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+            factory.setReadTimeout(settings.readTimeout());
+            return factory;
+        });
+    }
+
+    private UpstreamGuard guard(String upstream) {
+        return guards.computeIfAbsent(upstream,
+                name -> new UpstreamGuard(name, properties.resolve(name), meterRegistry));
+    }
+}
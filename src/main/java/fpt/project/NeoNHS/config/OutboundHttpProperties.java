@@ -0,0 +1,72 @@
+package fpt.project.NeoNHS.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of the outbound HTTP clients: {@code http.outbound.defaults} applies to every upstream,
+ * {@code http.outbound.upstreams.<name>} overrides single values for one of them.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "http.outbound")
+public class OutboundHttpProperties {
+
+    private Upstream defaults = new Upstream();
+
+    private Map<String, Upstream> upstreams = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Upstream {
+        private Duration connectTimeout;
+        private Duration readTimeout;
+        /** Bulkhead: concurrent requests allowed to this upstream. */
+        private Integer maxConcurrent;
+        /** How long a caller may wait for a bulkhead slot before being rejected. */
+        private Duration bulkheadWait;
+        /** Total attempts, 1 = no retry. */
+        private Integer maxAttempts;
+        /** Also retry POST/PATCH; only for upstreams where repeating a call is harmless. */
+        private Boolean retryNonIdempotent;
+        private Duration retryBackoff;
+        private Duration retryMaxBackoff;
+        /** Circuit opens when this percentage of the last {@code slidingWindow} calls failed. */
+        private Integer failureRateThreshold;
+        private Integer slidingWindow;
+        private Integer minimumCalls;
+        private Duration openDuration;
+    }
+
+    public record Settings(Duration connectTimeout, Duration readTimeout, int maxConcurrent, Duration bulkheadWait,
+                           int maxAttempts, boolean retryNonIdempotent, Duration retryBackoff,
+                           Duration retryMaxBackoff, int failureRateThreshold, int slidingWindow, int minimumCalls,
+                           Duration openDuration) {
+    }
+
+    public Settings resolve(String upstream) {
+        Upstream own = upstreams.getOrDefault(upstream, new Upstream());
+        return new Settings(
+                pick(own.connectTimeout, defaults.connectTimeout, Duration.ofSeconds(2)),
+                pick(own.readTimeout, defaults.readTimeout, Duration.ofSeconds(10)),
+                pick(own.maxConcurrent, defaults.maxConcurrent, 20),
+                pick(own.bulkheadWait, defaults.bulkheadWait, Duration.ofMillis(100)),
+                pick(own.maxAttempts, defaults.maxAttempts, 1),
+                pick(own.retryNonIdempotent, defaults.retryNonIdempotent, false),
+                pick(own.retryBackoff, defaults.retryBackoff, Duration.ofMillis(200)),
+                pick(own.retryMaxBackoff, defaults.retryMaxBackoff, Duration.ofSeconds(2)),
+                pick(own.failureRateThreshold, defaults.failureRateThreshold, 50),
+                pick(own.slidingWindow, defaults.slidingWindow, 20),
+                pick(own.minimumCalls, defaults.minimumCalls, 10),
+                pick(own.openDuration, defaults.openDuration, Duration.ofSeconds(30)));
+    }
+
+    private static <T> T pick(T own, T fallback, T builtIn) {
+        return own != null ? own : fallback != null ? fallback : builtIn;
+    }
+}
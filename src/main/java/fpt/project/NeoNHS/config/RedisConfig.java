@@ -32,6 +32,8 @@ public class RedisConfig {
                 .cacheDefaults(
                         RedisCacheConfiguration.defaultCacheConfig()
                                 .entryTtl(Duration.ofMinutes(CacheConstants.DEFAULT_CACHE_TTL_MINUTES)))
+                // Evictions inside a transaction only apply after commit, so readers never re-cache stale rows
+                .transactionAware()
                 .build();
     }
 
@@ -62,7 +62,8 @@ public class SecurityConfig {
 
         // Admin only
         private static final String[] ADMIN_APIS = {
-                        "/api/admin/**"
+                        "/api/admin/**",
+                        "/actuator/**"
         };
 
         @Bean
@@ -78,6 +79,7 @@ public class SecurityConfig {
                                                 .requestMatchers(AUTH_APIS).permitAll()
                                                 .requestMatchers(PUBLIC_APIS).permitAll()
                                                 .requestMatchers(SWAGGER_APIS).permitAll()
+                                                .requestMatchers("/actuator/health").permitAll()
                                                 .requestMatchers(ADMIN_APIS).hasRole("ADMIN")
                                                 .anyRequest().authenticated()
                                 )
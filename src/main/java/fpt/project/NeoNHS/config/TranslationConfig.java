@@ -1,13 +1,17 @@
 package fpt.project.NeoNHS.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
+@RequiredArgsConstructor
 public class TranslationConfig {
 
+    private final OutboundHttpConfig outboundHttp;
+
     @Value("${translation.endpoint}")
     private String endpoint;
 
@@ -17,6 +21,6 @@ public class TranslationConfig {
 
     @Bean(name = "translationRestTemplate")
     public RestTemplate translationRestTemplate() {
-        return new RestTemplate();
+        return outboundHttp.restTemplate(OutboundHttpConfig.TRANSLATION);
     }
 }
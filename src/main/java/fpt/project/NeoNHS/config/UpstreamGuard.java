@@ -0,0 +1,242 @@
+package fpt.project.NeoNHS.config;
+
+import fpt.project.NeoNHS.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps every call to one upstream: circuit breaker, bulkhead, retry with jittered backoff, and
+ * an {@code http.client.upstream} timer tagged by outcome (error rate = non-SUCCESS / all).
+ * <p>
+ * The breaker counts I/O errors and 5xx over a sliding window of the last calls; once open it
+ * rejects for {@code openDuration}, then lets a single trial call decide whether to close again.
+ * Timing and the bulkhead cover the call up to the response headers, not reading the body.
+ */
+@Slf4j
+public class UpstreamGuard implements ClientHttpRequestInterceptor {
+
+    static final String METRIC = "http.client.upstream";
+
+    private static final Set<HttpMethod> IDEMPOTENT = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS,
+            HttpMethod.PUT, HttpMethod.DELETE);
+
+    enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final String upstream;
+    private final OutboundHttpProperties.Settings settings;
+    private final Semaphore bulkhead;
+    private final MeterRegistry registry;
+    private final Counter retries;
+
+    // Breaker state, guarded by this
+    private final boolean[] window;
+    private int windowNext;
+    private int windowCalls;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+
+    public UpstreamGuard(String upstream, OutboundHttpProperties.Settings settings, MeterRegistry registry) {
+        this.upstream = upstream;
+        this.settings = settings;
+        this.bulkhead = new Semaphore(settings.maxConcurrent());
+        this.registry = registry;
+        this.window = new boolean[settings.slidingWindow()];
+        this.retries = Counter.builder(METRIC + ".retries").tag("upstream", upstream).register(registry);
+        Gauge.builder(METRIC + ".circuit.state", this, guard -> guard.state().ordinal())
+                .description("0 = closed, 1 = half-open, 2 = open")
+                .tag("upstream", upstream)
+                .register(registry);
+        Gauge.builder(METRIC + ".bulkhead.in.use", bulkhead,
+                        slots -> settings.maxConcurrent() - slots.availablePermits())
+                .tag("upstream", upstream)
+                .register(registry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!tryEnter()) {
+            record(request, "CIRCUIT_OPEN", 0);
+            throw new UpstreamUnavailableException(upstream + " is unavailable, please try again later");
+        }
+        if (!acquireSlot()) {
+            abandonTrial();
+            record(request, "REJECTED", 0);
+            throw new UpstreamUnavailableException(upstream + " is busy, please try again later");
+        }
+
+        try {
+            for (int attempt = 1; ; attempt++) {
+                long start = System.nanoTime();
+                ClientHttpResponse response;
+                try {
+                    response = execution.execute(request, body);
+                } catch (IOException e) {
+                    record(request, "IO_ERROR", System.nanoTime() - start);
+                    onResult(false);
+                    if (!shouldRetry(request, attempt)) {
+                        throw e;
+                    }
+                    log.warn("[HTTP] {} {} failed (attempt {}): {}", upstream, request.getMethod(), attempt,
+                            e.getMessage());
+                    backoff(attempt);
+                    continue;
+                }
+
+                int status = response.getStatusCode().value();
+                record(request, outcome(status), System.nanoTime() - start);
+                onResult(status < 500);
+                if ((status >= 500 || status == 429) && shouldRetry(request, attempt)) {
+                    response.close();
+                    log.warn("[HTTP] {} {} returned {} (attempt {})", upstream, request.getMethod(), status, attempt);
+                    backoff(attempt);
+                    continue;
+                }
+                return response;
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    synchronized State state() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= settings.openDuration().toNanos()) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        return state;
+    }
+
+    private synchronized boolean tryEnter() {
+        return switch (state()) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    private synchronized void abandonTrial() {
+        trialInFlight = false;
+    }
+
+    synchronized void onResult(boolean success) {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            if (success) {
+                log.info("[HTTP] Circuit of {} closed", upstream);
+                state = State.CLOSED;
+                resetWindow();
+            } else {
+                open();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+
+        if (windowCalls == window.length) {
+            if (!window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowNext] = success;
+        if (!success) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+
+        if (windowCalls >= settings.minimumCalls()
+                && windowFailures * 100 >= settings.failureRateThreshold() * windowCalls) {
+            log.warn("[HTTP] Circuit of {} opened: {} of the last {} calls failed", upstream, windowFailures,
+                    windowCalls);
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        windowNext = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+    }
+
+    private boolean acquireSlot() {
+        try {
+            return bulkhead.tryAcquire(settings.bulkheadWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean shouldRetry(HttpRequest request, int attempt) {
+        return attempt < settings.maxAttempts()
+                && (settings.retryNonIdempotent() || IDEMPOTENT.contains(request.getMethod()))
+                && state() == State.CLOSED;
+    }
+
+    /** Equal jitter: half the exponential delay fixed, the other half random. */
+    private void backoff(int attempt) throws IOException {
+        retries.increment();
+        long cap = Math.min(settings.retryMaxBackoff().toMillis(),
+                settings.retryBackoff().toMillis() << Math.min(attempt - 1, 20));
+        long delay = cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backing off " + upstream);
+        }
+    }
+
+    private void record(HttpRequest request, String outcome, long nanos) {
+        Timer.builder(METRIC)
+                .tag("upstream", upstream)
+                .tag("method", request.getMethod().name())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcome(int status) {
+        if (status >= 500) {
+            return "SERVER_ERROR";
+        }
+        if (status >= 400) {
+            return "CLIENT_ERROR";
+        }
+        return "SUCCESS";
+    }
+}
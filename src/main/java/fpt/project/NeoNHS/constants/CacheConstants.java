@@ -2,4 +2,10 @@ package fpt.project.NeoNHS.constants;
 
 public class CacheConstants {
     public static final int DEFAULT_CACHE_TTL_MINUTES = 10;
+
+    /** Assembled CartResponse per user, keyed by email. */
+    public static final String CART_CACHE = "cart";
+
+    /** PriceQuote keyed by the hash of its pricing inputs. */
+    public static final String PRICE_QUOTE_CACHE = "price-quote";
 }
@@ -7,6 +7,7 @@ import fpt.project.NeoNHS.dto.response.ApiResponse;
 import fpt.project.NeoNHS.dto.response.cart.CartResponse;
 import fpt.project.NeoNHS.dto.response.cart.CheckoutResponse;
 import fpt.project.NeoNHS.service.CartService;
+import fpt.project.NeoNHS.service.WaitingRoomService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -23,6 +24,7 @@ import java.util.List;
 public class CartController {
 
     private final CartService cartService;
+    private final WaitingRoomService waitingRoomService;
 
     @GetMapping
     public ResponseEntity<ApiResponse<CartResponse>> getCart(Principal principal) {
@@ -34,6 +36,8 @@ public class CartController {
     public ResponseEntity<ApiResponse<CartResponse>> addToCart(
             Principal principal,
             @Valid @RequestBody AddToCartRequest request) {
+        // High-demand catalogs: checked in Redis before the cart service opens a transaction
+        waitingRoomService.requireAdmission(request.getTicketCatalogId(), principal.getName());
         CartResponse response = cartService.addToCart(principal.getName(), request);
         return ResponseEntity.ok(ApiResponse.success(HttpStatus.OK, "Added to cart successfully", response));
     }
@@ -0,0 +1,50 @@
+package fpt.project.NeoNHS.controller;
+
+import fpt.project.NeoNHS.enums.ExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Runs file downloads on the bounded export executor rather than the shared MVC async pool, so a
+ * burst of large exports queues (then fails with 503) instead of starving API traffic. Headers are
+ * set on the export thread, so a rejected export still gets a plain JSON error.
+ */
+@Component
+public class ExportDownloads {
+
+    @FunctionalInterface
+    public interface Body {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private final AsyncTaskExecutor exportExecutor;
+    private final long timeoutMs;
+
+    public ExportDownloads(@Qualifier("exportExecutor") AsyncTaskExecutor exportExecutor,
+                           @Value("${export.timeout-ms:600000}") long timeoutMs) {
+        this.exportExecutor = exportExecutor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public WebAsyncTask<Void> start(String baseName, ExportFormat format, HttpServletResponse response, Body body) {
+        return new WebAsyncTask<>(timeoutMs, exportExecutor, () -> {
+            response.setContentType(format.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(baseName + "." + format.getExtension())
+                    .build()
+                    .toString());
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package fpt.project.NeoNHS.controller;
+
+import fpt.project.NeoNHS.dto.request.cart.AddToCartRequest;
+import fpt.project.NeoNHS.dto.request.cart.UpdateCartItemRequest;
+import fpt.project.NeoNHS.dto.response.ApiResponse;
+import fpt.project.NeoNHS.dto.response.cart.CartResponse;
+import fpt.project.NeoNHS.service.GuestCartService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * Cart for visitors who are not logged in yet. The client generates the token and sends it
+ * as {@code guestCartToken} when logging in to merge this cart into the user's cart.
+ */
+@RestController
+@RequestMapping("/api/public/guest-cart/{guestToken}")
+@ConditionalOnProperty(name = "cart.storage", havingValue = "redis")
+@RequiredArgsConstructor
+public class GuestCartController {
+
+    private final GuestCartService guestCartService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<CartResponse>> getCart(@PathVariable UUID guestToken) {
+        CartResponse response = guestCartService.getGuestCart(guestToken);
+        return ResponseEntity.ok(ApiResponse.success(HttpStatus.OK, "Get cart successfully", response));
+    }
+
+    @PostMapping("/add")
+    public ResponseEntity<ApiResponse<CartResponse>> addToCart(
+            @PathVariable UUID guestToken,
+            @Valid @RequestBody AddToCartRequest request) {
+        CartResponse response = guestCartService.addToGuestCart(guestToken, request);
+        return ResponseEntity.ok(ApiResponse.success(HttpStatus.OK, "Added to cart successfully", response));
+    }
+
+    @PutMapping("/items/{itemId}")
+    public ResponseEntity<ApiResponse<CartResponse>> updateCartItem(
+            @PathVariable UUID guestToken,
+            @PathVariable UUID itemId,
+            @Valid @RequestBody UpdateCartItemRequest request) {
+        CartResponse response = guestCartService.updateGuestCartItem(guestToken, itemId, request);
+        return ResponseEntity.ok(ApiResponse.success(HttpStatus.OK, "Updated cart item successfully", response));
+    }
+
+    @DeleteMapping("/items/{itemId}")
+    public ResponseEntity<ApiResponse<String>> removeFromCart(
+            @PathVariable UUID guestToken,
+            @PathVariable UUID itemId) {
+        guestCartService.removeFromGuestCart(guestToken, itemId);
+        return ResponseEntity.ok(ApiResponse.success(HttpStatus.OK, "Removed item from cart successfully", "Removed"));
+    }
+}
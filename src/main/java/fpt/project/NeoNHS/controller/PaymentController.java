@@ -37,16 +37,16 @@ public class PaymentController {
             Principal principal,
             @RequestBody CreateOrderRequest request) {
 
-        // 1. Create Order and Transaction in DB
+        // 1. Create Order and Transaction in DB, once the waiting room lets the user through
+        orderService.requireCheckoutAdmission(principal.getName(), request);
         Order order = orderService.createOrder(principal.getName(), request);
         Transaction transaction = order.getTransactions().get(0);
 
-        // 2. Extract orderCode from transaction (saved as "PAYOS_orderCode")
-        if (transaction.getPaymentGateway() == null || !transaction.getPaymentGateway().startsWith("PAYOS_")) {
-            throw new RuntimeException("Invalid transaction payment gateway format");
+        // 2. Numeric PayOS order code allocated by OrderCodeService
+        if (transaction.getOrderCode() == null) {
+            throw new RuntimeException("Transaction has no PayOS order code");
         }
-        String paymentGateway = transaction.getPaymentGateway();
-        long orderCode = Long.parseLong(paymentGateway.replace("PAYOS_", ""));
+        long orderCode = transaction.getOrderCode();
 
         // Use long for amount as required by PayOS SDK
         long totalAmount = order.getFinalAmount().longValue();
@@ -34,7 +34,7 @@ public class PayoutController {
         private String payosChecksumKey;
 
         private static final String PAYOS_API_BASE_URL = "https://api-merchant.payos.vn";
-        private final RestTemplate restTemplate = new RestTemplate();
+        private final RestTemplate payosRestTemplate;
 
         @PostMapping
         public ResponseEntity<ApiResponse<PayoutResponse>> createPayout(
@@ -78,7 +78,7 @@ public class PayoutController {
                         HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payoutData, headers);
 
                         // Gọi PayOS API
-                        ResponseEntity<Map> response = restTemplate.exchange(
+                        ResponseEntity<Map> response = payosRestTemplate.exchange(
                                         PAYOS_API_BASE_URL + "/v1/payouts",
                                         HttpMethod.POST,
                                         entity,
@@ -168,7 +168,7 @@ public class PayoutController {
                         HttpEntity<Void> entity = new HttpEntity<>(headers);
 
                         // Gọi PayOS API
-                        ResponseEntity<Map> response = restTemplate.exchange(
+                        ResponseEntity<Map> response = payosRestTemplate.exchange(
                                         PAYOS_API_BASE_URL + "/v1/payouts/" + payoutId,
                                         HttpMethod.GET,
                                         entity,
@@ -1,16 +1,32 @@
 package fpt.project.NeoNHS.controller;
 
+import fpt.project.NeoNHS.dto.request.ticket.CheckinSyncRequest;
 import fpt.project.NeoNHS.dto.request.ticket.VerifyTicketRequest;
 import fpt.project.NeoNHS.dto.response.ApiResponse;
 import fpt.project.NeoNHS.dto.response.TicketDetailResponse;
+import fpt.project.NeoNHS.dto.response.ticket.CheckinSyncResponse;
+import fpt.project.NeoNHS.dto.response.ticket.ScannerKeyResponse;
+import fpt.project.NeoNHS.enums.ManifestFormat;
+import fpt.project.NeoNHS.enums.ManifestScope;
 import fpt.project.NeoNHS.service.TicketCatalogService;
+import fpt.project.NeoNHS.service.TicketManifestService;
 import fpt.project.NeoNHS.service.TicketService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/tickets")
@@ -19,6 +35,7 @@ public class TicketController {
 
     private final TicketCatalogService ticketCatalogService;
     private final TicketService ticketService;
+    private final TicketManifestService ticketManifestService;
 
     @PostMapping("/verify")
     public ResponseEntity<ApiResponse<TicketDetailResponse>> verifyTicketViaCode(
@@ -26,4 +43,55 @@ public class TicketController {
         return ResponseEntity.ok(ApiResponse.success(ticketService.verifyTicketViaCode(request.getCode())));
     }
 
+    /**
+     * Keys a gate scanner caches to verify signed QR codes offline, limited to the scopes
+     * (ticket catalogs for ADMIN, own workshop sessions for VENDOR) the caller may check in.
+     */
+    @GetMapping("/scanner-keys")
+    public ResponseEntity<ApiResponse<List<ScannerKeyResponse>>> getScannerKeys(
+            @RequestParam List<UUID> scopeIds) {
+        return ResponseEntity.ok(ApiResponse.success(ticketService.getScannerKeys(scopeIds)));
+    }
+
+    /**
+     * Valid tickets of a workshop session for offline scanning. Pass the cursor of the previous
+     * download ({@code X-Manifest-Cursor}) as {@code since} to get only what changed.
+     */
+    @GetMapping("/manifest/sessions/{sessionId}")
+    public ResponseEntity<StreamingResponseBody> getSessionManifest(
+            @PathVariable UUID sessionId,
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "NDJSON") ManifestFormat format) {
+        return manifest(ManifestScope.SESSION, sessionId, since, format);
+    }
+
+    @GetMapping("/manifest/events/{eventId}")
+    public ResponseEntity<StreamingResponseBody> getEventManifest(
+            @PathVariable UUID eventId,
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "NDJSON") ManifestFormat format) {
+        return manifest(ManifestScope.EVENT, eventId, since, format);
+    }
+
+    private ResponseEntity<StreamingResponseBody> manifest(ManifestScope scope, UUID scopeId, Long since,
+                                                           ManifestFormat format) {
+        long cursor = ticketManifestService.open(scope, scopeId);
+        StreamingResponseBody body = out -> ticketManifestService.write(scope, scopeId, since, cursor, format, out);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header("X-Manifest-Cursor", String.valueOf(cursor));
+        if (format == ManifestFormat.BINARY) {
+            return response.contentType(MediaType.APPLICATION_OCTET_STREAM).body(body);
+        }
+        return response.contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(body);
+    }
+
+    @PostMapping("/checkins/sync")
+    public ResponseEntity<ApiResponse<CheckinSyncResponse>> syncCheckins(
+            @Valid @RequestBody CheckinSyncRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(ticketService.syncCheckins(request)));
+    }
+
 }
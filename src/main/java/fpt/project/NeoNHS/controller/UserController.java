@@ -6,11 +6,12 @@ import fpt.project.NeoNHS.dto.request.payout.WithdrawRequest;
 import fpt.project.NeoNHS.dto.response.ApiResponse;
 import fpt.project.NeoNHS.dto.response.auth.UserProfileResponse;
 import fpt.project.NeoNHS.dto.response.kyc.KycResponse;
-import fpt.project.NeoNHS.dto.response.payout.PayoutResponse;
+import fpt.project.NeoNHS.dto.response.payout.WithdrawalResponse;
 import fpt.project.NeoNHS.exception.BadRequestException;
 import fpt.project.NeoNHS.repository.UserRepository;
 import fpt.project.NeoNHS.service.UserService;
 import fpt.project.NeoNHS.service.VnptEkycService;
+import fpt.project.NeoNHS.service.WithdrawalService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -29,6 +30,7 @@ public class UserController {
     private final UserService userService;
     private final UserRepository userRepository;
     private final VnptEkycService vnptEkycService;
+    private final WithdrawalService withdrawalService;
 
     @GetMapping("/profile")
     public ResponseEntity<ApiResponse<UserProfileResponse>> getMyProfile(Principal principal) {
@@ -76,11 +78,21 @@ public class UserController {
     }
 
     @PostMapping("/withdraw")
-    public ResponseEntity<ApiResponse<PayoutResponse>> withdraw(
+    public ResponseEntity<ApiResponse<WithdrawalResponse>> withdraw(
             Principal principal,
             @RequestBody WithdrawRequest withdrawRequest) {
 
-        PayoutResponse response = userService.withdraw(principal.getName(), withdrawRequest);
-        return ResponseEntity.ok(ApiResponse.success(HttpStatus.OK, "Withdrawal successful", response));
+        WithdrawalResponse response = userService.withdraw(principal.getName(), withdrawRequest);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(HttpStatus.ACCEPTED, "Withdrawal accepted", response));
+    }
+
+    @GetMapping("/withdrawals/{id}")
+    public ResponseEntity<ApiResponse<WithdrawalResponse>> getWithdrawal(
+            Principal principal,
+            @PathVariable UUID id) {
+
+        WithdrawalResponse response = withdrawalService.getWithdrawal(principal.getName(), id);
+        return ResponseEntity.ok(ApiResponse.success(HttpStatus.OK, "Withdrawal retrieved successfully", response));
     }
 }
@@ -0,0 +1,42 @@
+package fpt.project.NeoNHS.controller;
+
+import fpt.project.NeoNHS.dto.response.ApiResponse;
+import fpt.project.NeoNHS.dto.response.waitingroom.WaitingRoomStatusResponse;
+import fpt.project.NeoNHS.helpers.AuthHelper;
+import fpt.project.NeoNHS.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * Queue for high-demand ticket catalogs. Position and admission updates are also pushed
+ * over STOMP to {@code /user/queue/waiting-room}.
+ */
+@RestController
+@RequestMapping("/api/waiting-room/catalogs/{ticketCatalogId}")
+@RequiredArgsConstructor
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<WaitingRoomStatusResponse>> join(@PathVariable UUID ticketCatalogId) {
+        WaitingRoomStatusResponse response = waitingRoomService.join(ticketCatalogId, AuthHelper.getCurrentUserId());
+        return ResponseEntity.ok(ApiResponse.success(HttpStatus.OK, "Joined waiting room", response));
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<WaitingRoomStatusResponse>> getStatus(@PathVariable UUID ticketCatalogId) {
+        WaitingRoomStatusResponse response = waitingRoomService.getStatus(ticketCatalogId, AuthHelper.getCurrentUserId());
+        return ResponseEntity.ok(ApiResponse.success(HttpStatus.OK, "Get waiting room status successfully", response));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<String>> leave(@PathVariable UUID ticketCatalogId) {
+        waitingRoomService.leave(ticketCatalogId, AuthHelper.getCurrentUserId());
+        return ResponseEntity.ok(ApiResponse.success(HttpStatus.OK, "Left waiting room", "Left"));
+    }
+}
@@ -8,9 +8,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import fpt.project.NeoNHS.dto.response.admin.*;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 import fpt.project.NeoNHS.dto.response.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 
@@ -74,13 +77,17 @@ public class AdminDashboardController {
 
     @Operation(
             summary = "Get Recent Vendor Activity",
-            description = "Recent activities performed by vendors (derived from workshops, events, tickets)"
+            description = "Recent activities from the activity feed, newest first, optionally for one vendor. "
+                    + "For the next page pass the time and id of the last entry as before/beforeId."
     )
     @GetMapping("/recent-activities")
     public ResponseEntity<ApiResponse<List<VendorActivityResponse>>> getRecentVendorActivities(
+            @RequestParam(required = false) UUID vendorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(required = false) UUID beforeId,
             @RequestParam(defaultValue = "10") Integer limit
     ) {
-        List<VendorActivityResponse> data = dashboardService.getRecentVendorActivities(limit);
+        List<VendorActivityResponse> data = dashboardService.getRecentVendorActivities(vendorId, before, beforeId, limit);
         return ResponseEntity.ok(
                 ApiResponse.success("Recent vendor activities retrieved successfully", data)
         );
@@ -0,0 +1,31 @@
+package fpt.project.NeoNHS.controller.admin;
+
+import fpt.project.NeoNHS.dto.response.ApiResponse;
+import fpt.project.NeoNHS.dto.response.job.JobStatusResponse;
+import fpt.project.NeoNHS.service.JobLeaseService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/jobs")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Admin - Jobs", description = "Scheduled job run history across the cluster (requires ADMIN role)")
+public class AdminJobController {
+
+    private final JobLeaseService jobLeaseService;
+
+    @Operation(summary = "Get scheduled job status", description = "Last run, last success, counters and recent runs of every scheduled job")
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<JobStatusResponse>>> getJobStatuses() {
+        return ResponseEntity.ok(ApiResponse.success(jobLeaseService.getJobStatuses()));
+    }
+}
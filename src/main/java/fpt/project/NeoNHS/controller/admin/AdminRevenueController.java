@@ -1,15 +1,35 @@
 package fpt.project.NeoNHS.controller.admin;
 
+import fpt.project.NeoNHS.controller.ExportDownloads;
 import fpt.project.NeoNHS.dto.request.admin.RevenueReportRequest;
+import fpt.project.NeoNHS.dto.response.ApiResponse;
 import fpt.project.NeoNHS.dto.response.admin.RevenueReportResponse;
+import fpt.project.NeoNHS.dto.response.admin.TransactionDetailResponse;
+import fpt.project.NeoNHS.enums.ExportFormat;
+import fpt.project.NeoNHS.exception.BadRequestException;
+import fpt.project.NeoNHS.service.JobLeaseService;
+import fpt.project.NeoNHS.service.ReportExportService;
 import fpt.project.NeoNHS.service.RevenueAnalyticsService;
+import fpt.project.NeoNHS.service.RevenueRollupService;
+import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/admin/revenue")
@@ -18,9 +38,57 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Admin - Revenue", description = "Admin APIs for managing revenue (requires ADMIN role)")
 public class AdminRevenueController {
     private final RevenueAnalyticsService revenueAnalyticsService;
+    private final RevenueRollupService revenueRollupService;
+    private final JobLeaseService jobLeaseService;
+    private final ReportExportService reportExportService;
+    private final ExportDownloads exportDownloads;
 
     @GetMapping("/revenue-report")
     public ResponseEntity<RevenueReportResponse> getReport(RevenueReportRequest request) {
         return ResponseEntity.ok(revenueAnalyticsService.getFullReport(request));
     }
+
+    @Operation(summary = "Revenue report transactions",
+            description = "Transaction table of the report window, newest first. For the next page pass the date "
+                    + "and detailId of the last row as before/beforeId.")
+    @GetMapping("/revenue-report/transactions")
+    public ResponseEntity<List<TransactionDetailResponse>> getReportTransactions(
+            RevenueReportRequest request,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(required = false) UUID beforeId,
+            @RequestParam(defaultValue = "20") Integer limit) {
+        return ResponseEntity.ok(revenueAnalyticsService.getTransactions(request, before, beforeId, limit));
+    }
+
+    @Operation(summary = "Export revenue report",
+            description = "Every transaction of the report window as CSV or XLSX, streamed as it is read")
+    @GetMapping("/revenue-report/export")
+    public WebAsyncTask<Void> exportReport(
+            RevenueReportRequest request,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            HttpServletResponse response) {
+        return exportDownloads.start("revenue-report-" + LocalDate.now(), format, response,
+                out -> reportExportService.writeRevenueReport(request, format, out));
+    }
+
+    @Operation(summary = "Rebuild revenue rollups", description = "Recomputes the dashboard rollups of [from, to) from the orders")
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+        // The lease keeps this from overlapping the nightly repair; failures land in /api/admin/jobs
+        int[] days = {-1};
+        boolean ran = jobLeaseService.runExclusive("rollup.rebuild", Duration.ofHours(1), Duration.ZERO,
+                lease -> days[0] = revenueRollupService.rebuild(from, to));
+        if (!ran) {
+            throw new BadRequestException("A rollup rebuild is already running");
+        }
+        if (days[0] < 0) {
+            throw new IllegalStateException("Rollup rebuild failed, see /api/admin/jobs");
+        }
+        return ResponseEntity.ok(ApiResponse.success(days[0]));
+    }
 }
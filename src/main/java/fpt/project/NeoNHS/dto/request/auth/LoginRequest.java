@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.UUID;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -12,4 +14,7 @@ import lombok.NoArgsConstructor;
 public class LoginRequest {
     private String email;
     private String password;
+
+    /** Optional guest cart to merge into the user's cart after login. */
+    private UUID guestCartToken;
 }
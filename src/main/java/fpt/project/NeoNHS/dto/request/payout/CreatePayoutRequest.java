@@ -1,5 +1,6 @@
 package fpt.project.NeoNHS.dto.request.payout;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -60,4 +61,11 @@ public class CreatePayoutRequest {
      */
     @JsonProperty("category")
     private List<String> category;
+
+    /**
+     * Khóa idempotency gửi kèm header x-idempotency-key; cùng khóa thì PayOS không tạo
+     * lệnh chi thứ hai. Bỏ trống sẽ sinh khóa ngẫu nhiên.
+     */
+    @JsonIgnore
+    private String idempotencyKey;
 }
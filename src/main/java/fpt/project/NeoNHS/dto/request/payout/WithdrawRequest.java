@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.UUID;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,4 +23,10 @@ public class WithdrawRequest {
      * tiền.
      */
     private String livePhotoBase64;
+
+    /**
+     * Khóa idempotency do client sinh — gửi lại cùng requestId sẽ trả về lệnh rút
+     * tiền đã tạo thay vì tạo lệnh mới.
+     */
+    private UUID requestId;
 }
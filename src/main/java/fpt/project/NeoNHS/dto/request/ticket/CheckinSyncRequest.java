@@ -0,0 +1,37 @@
+package fpt.project.NeoNHS.dto.request.ticket;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Scans a gate scanner accepted offline, uploaded once the connection is back.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckinSyncRequest {
+
+    @NotEmpty
+    private List<@Valid Scan> scans;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Scan {
+        @NotBlank
+        private String qrCode;
+
+        /** When the scanner read the ticket; defaults to the sync time. */
+        private LocalDateTime scannedAt;
+    }
+}
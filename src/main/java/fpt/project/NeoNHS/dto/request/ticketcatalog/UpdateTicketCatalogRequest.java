@@ -38,4 +38,14 @@ public class UpdateTicketCatalogRequest {
     private Integer totalQuota;
 
     private TicketCatalogStatus status;
+
+    /**
+     * Switch the Redis flash-sale inventory mode on or off.
+     */
+    private Boolean hotInventory;
+
+    /**
+     * Put checkout for this catalog behind the waiting room.
+     */
+    private Boolean waitingRoom;
 }
@@ -25,4 +25,9 @@ public class UpdateWorkshopSessionRequest {
 
     @Positive(message = "Maximum participants must be positive")
     private Integer maxParticipants;
+
+    /**
+     * Switch the Redis flash-sale inventory mode on or off.
+     */
+    private Boolean hotInventory;
 }
@@ -5,12 +5,14 @@ import lombok.Data;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Data
 @Builder
 public class TransactionDetailResponse {
     private LocalDateTime date;
     private String id;
+    private UUID detailId; // Order line id; with date, the cursor for the next page
     private String vendor;
     private String item;
     private BigDecimal gross;
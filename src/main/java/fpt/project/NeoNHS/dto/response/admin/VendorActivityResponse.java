@@ -12,6 +12,9 @@ import java.util.UUID;
 @Builder
 public class VendorActivityResponse {
 
+    /** Feed entry id; with {@code time}, the cursor for the next page. */
+    private UUID id;
+
     private UUID vendorId;
     private String vendorName;
 
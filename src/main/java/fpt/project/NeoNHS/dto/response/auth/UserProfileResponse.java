@@ -19,7 +19,7 @@ public class UserProfileResponse {
     private String bankBin;
     private String bankAccountNumber;
     private String bankAccountName;
-    private Double balance;
+    private Long balance;
     // private Boolean isBankVerified;
 
     // KYC info
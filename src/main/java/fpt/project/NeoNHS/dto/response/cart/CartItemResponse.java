@@ -3,12 +3,13 @@ package fpt.project.NeoNHS.dto.response.cart;
 import lombok.Builder;
 import lombok.Data;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.UUID;
 
 @Data
 @Builder
-public class CartItemResponse {
+public class CartItemResponse implements Serializable {
     private UUID id;
     private UUID ticketCatalogId;
     private String itemName;
@@ -3,13 +3,14 @@ package fpt.project.NeoNHS.dto.response.cart;
 import lombok.Builder;
 import lombok.Data;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
 @Data
 @Builder
-public class CartResponse {
+public class CartResponse implements Serializable {
     private UUID id;
     private Integer totalItems;
     private BigDecimal totalPrice;
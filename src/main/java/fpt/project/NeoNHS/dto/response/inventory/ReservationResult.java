@@ -0,0 +1,25 @@
+package fpt.project.NeoNHS.dto.response.inventory;
+
+import fpt.project.NeoNHS.enums.ReservationStatus;
+
+/**
+ * Outcome of an atomic seat reservation.
+ *
+ * @param status    whether the seats were taken and, if not, why
+ * @param remaining seats left after the attempt, or null when the target has no limit
+ * @param message   human readable reason, null when reserved
+ */
+public record ReservationResult(ReservationStatus status, Integer remaining, String message) {
+
+    public static ReservationResult reserved() {
+        return new ReservationResult(ReservationStatus.RESERVED, null, null);
+    }
+
+    public static ReservationResult rejected(ReservationStatus status, Integer remaining, String message) {
+        return new ReservationResult(status, remaining, message);
+    }
+
+    public boolean isReserved() {
+        return status == ReservationStatus.RESERVED;
+    }
+}
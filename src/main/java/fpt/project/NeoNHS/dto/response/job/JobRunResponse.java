@@ -0,0 +1,21 @@
+package fpt.project.NeoNHS.dto.response.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRunResponse {
+    private LocalDateTime startedAt;
+    private String owner;
+    private Long token;
+    private Long durationMs;
+    private Integer rows;
+    private String status;
+}
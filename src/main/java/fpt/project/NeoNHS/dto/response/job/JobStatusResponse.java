@@ -0,0 +1,28 @@
+package fpt.project.NeoNHS.dto.response.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobStatusResponse {
+    private String name;
+    private String lastOwner;
+    private Long lastToken;
+    private LocalDateTime lastStartedAt;
+    private Long lastDurationMs;
+    private Integer lastRows;
+    private String lastStatus; // SUCCESS | FAILED
+    private String lastError;
+    private LocalDateTime lastSuccessAt;
+    private Long runs;
+    private Long failures;
+    private List<JobRunResponse> recentRuns;
+}
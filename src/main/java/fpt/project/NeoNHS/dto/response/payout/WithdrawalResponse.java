@@ -0,0 +1,48 @@
+package fpt.project.NeoNHS.dto.response.payout;
+
+import fpt.project.NeoNHS.enums.WithdrawalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Trạng thái một lệnh rút tiền
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WithdrawalResponse {
+
+    private UUID id;
+
+    private UUID requestId;
+
+    private Long amount;
+
+    private String toBin;
+
+    private String toAccountNumber;
+
+    /**
+     * HELD, VERIFIED, SUBMITTED, COMPLETED, FAILED
+     */
+    private WithdrawalStatus status;
+
+    private String payoutId;
+
+    /**
+     * Trạng thái phía PayOS: PROCESSING, SUCCEEDED, FAILED
+     */
+    private String payoutState;
+
+    private String failureReason;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,45 @@
+package fpt.project.NeoNHS.dto.response.pricing;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable price of a set of cart lines and vouchers, in whole VND.
+ * Identical inputs always produce the same quote, which is cached under {@code cartHash}.
+ *
+ * @param subtotal   sum of line totals before discounts
+ * @param total      amount the customer pays ({@code subtotal - discountTotal})
+ * @param commission platform fee over all workshop lines
+ * @param net        vendor share over all workshop lines
+ */
+public record PriceQuote(
+        String cartHash,
+        List<QuoteLine> lines,
+        List<QuoteDiscount> discounts,
+        long subtotal,
+        long discountTotal,
+        long total,
+        long commission,
+        long net) implements Serializable {
+
+    public PriceQuote {
+        lines = List.copyOf(lines);
+        discounts = List.copyOf(discounts);
+    }
+
+    public Optional<QuoteLine> line(UUID cartItemId) {
+        return lines.stream().filter(l -> l.cartItemId().equals(cartItemId)).findFirst();
+    }
+
+    public Optional<QuoteDiscount> discount(UUID userVoucherId) {
+        return discounts.stream().filter(d -> d.userVoucherId().equals(userVoucherId)).findFirst();
+    }
+
+    /** Amounts are stored as DECIMAL columns; VND has no minor unit, so the scale is always 0. */
+    public static BigDecimal toMoney(long amount) {
+        return BigDecimal.valueOf(amount);
+    }
+}
@@ -0,0 +1,13 @@
+package fpt.project.NeoNHS.dto.response.pricing;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Discount granted by one voucher.
+ *
+ * @param base   the part of the subtotal the voucher applies to
+ * @param amount discount in whole VND, already capped
+ */
+public record QuoteDiscount(UUID userVoucherId, UUID voucherId, long base, long amount) implements Serializable {
+}
@@ -0,0 +1,26 @@
+package fpt.project.NeoNHS.dto.response.pricing;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * One priced cart line. All amounts are whole VND.
+ *
+ * @param commission platform fee on a workshop line; 0 for tickets, which have no vendor
+ * @param net        what the vendor receives for the line ({@code lineTotal - commission})
+ */
+public record QuoteLine(
+        UUID cartItemId,
+        UUID ticketCatalogId,
+        UUID workshopSessionId,
+        UUID vendorId,
+        int quantity,
+        long unitPrice,
+        long lineTotal,
+        long commission,
+        long net) implements Serializable {
+
+    public boolean isWorkshop() {
+        return workshopSessionId != null;
+    }
+}
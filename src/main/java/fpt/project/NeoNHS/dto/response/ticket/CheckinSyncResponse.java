@@ -0,0 +1,31 @@
+package fpt.project.NeoNHS.dto.response.ticket;
+
+import fpt.project.NeoNHS.enums.CheckinScanStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckinSyncResponse {
+    private int accepted;
+    private int rejected;
+
+    /** One result per uploaded scan, in request order. */
+    private List<Result> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private int index;
+        private String ticketCode; // null when the QR code could not be read
+        private CheckinScanStatus status;
+    }
+}
@@ -0,0 +1,20 @@
+package fpt.project.NeoNHS.dto.response.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Verification key of one ticket scope (catalog or workshop session), base64url encoded.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScannerKeyResponse {
+    private UUID scopeId;
+    private String key;
+}
@@ -45,6 +45,10 @@ public class TicketCatalogResponse {
 
     private TicketCatalogStatus status;
 
+    private Boolean hotInventory;
+
+    private Boolean waitingRoom;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
@@ -73,6 +77,8 @@ public class TicketCatalogResponse {
                 .soldQuantity(soldQuantity)
                 .remainingQuantity(remainingQuantity)
                 .status(ticketCatalog.getStatus())
+                .hotInventory(ticketCatalog.getHotInventory())
+                .waitingRoom(ticketCatalog.getWaitingRoom())
                 .createdAt(ticketCatalog.getCreatedAt())
                 .updatedAt(ticketCatalog.getUpdatedAt())
                 .deletedAt(ticketCatalog.getDeletedAt())
@@ -0,0 +1,32 @@
+package fpt.project.NeoNHS.dto.response.waitingroom;
+
+import fpt.project.NeoNHS.enums.WaitingRoomStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A user's place in a catalog's waiting room; also pushed on {@code /user/queue/waiting-room}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitingRoomStatusResponse {
+
+    private UUID ticketCatalogId;
+
+    private WaitingRoomStatus status;
+
+    /** 1-based position while WAITING, null otherwise. */
+    private Long position;
+
+    private Long queueSize;
+
+    /** When the admission expires, while ADMITTED. */
+    private LocalDateTime admittedUntil;
+}
@@ -0,0 +1,54 @@
+package fpt.project.NeoNHS.entity;
+
+import fpt.project.NeoNHS.enums.ActivityAction;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Append-only admin activity feed, written in the transaction of the action itself. Actor and
+ * target names are copied in, so reading a page is one index range scan on
+ * {@code (occurred_at, id)}, optionally prefixed by the vendor, with no joins.
+ */
+@Entity
+@Immutable
+@Table(name = "activity_feed", indexes = {
+        @Index(name = "idx_activity_feed_occurred", columnList = "occurred_at, id"),
+        @Index(name = "idx_activity_feed_vendor_occurred", columnList = "vendor_id, occurred_at, id"),
+        @Index(name = "uk_activity_feed_source", columnList = "action, source_id", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActivityFeedEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30, updatable = false)
+    private ActivityAction action;
+
+    /** Vendor profile the action belongs to; null for platform (admin) actions. */
+    @Column(name = "vendor_id", updatable = false)
+    private UUID vendorId;
+
+    @Column(name = "actor_name", nullable = false, updatable = false)
+    private String actorName;
+
+    /** Workshop template, event or order detail the entry was written for; one entry per action and source. */
+    @Column(name = "source_id", nullable = false, updatable = false)
+    private UUID sourceId;
+
+    @Column(name = "target_name", updatable = false)
+    private String targetName;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+}
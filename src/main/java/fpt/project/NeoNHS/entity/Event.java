@@ -1,9 +1,11 @@
 package fpt.project.NeoNHS.entity;
 
 import fpt.project.NeoNHS.enums.EventStatus;
+import fpt.project.NeoNHS.entity.listener.KpiEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -11,6 +13,8 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(KpiEntityListener.class)
+@DynamicUpdate
 @Table(name = "events")
 @Getter
 @Setter
@@ -10,7 +10,9 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "order_details")
+@Table(name = "order_details", indexes = {
+        @Index(name = "idx_order_details_created", columnList = "created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
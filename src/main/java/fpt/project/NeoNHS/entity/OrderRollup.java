@@ -0,0 +1,45 @@
+package fpt.project.NeoNHS.entity;
+
+import fpt.project.NeoNHS.enums.RollupGranularity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order-level counterpart of {@link RevenueRollup}: paid orders and what was charged for them
+ * (after vouchers), which cannot be summed from per-vendor rows because one order can span vendors.
+ */
+@Entity
+@Table(name = "order_rollups")
+@IdClass(OrderRollupId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderRollup {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private RollupGranularity granularity;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private Long paidOrders;
+
+    /** SUM(orders.final_amount). */
+    @Column(precision = 19, scale = 2, nullable = false)
+    private BigDecimal paidAmount;
+
+    /** Orders whose payment hold ran out unpaid. */
+    @Column(nullable = false)
+    private Long failedOrders;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package fpt.project.NeoNHS.entity;
+
+import fpt.project.NeoNHS.enums.RollupGranularity;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class OrderRollupId implements Serializable {
+
+    private RollupGranularity granularity;
+
+    private LocalDateTime bucketStart;
+}
@@ -0,0 +1,47 @@
+package fpt.project.NeoNHS.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A user voucher applied to an order, burned when the order's payment succeeds.
+ */
+@Entity
+@Table(name = "order_vouchers", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_order_vouchers_order_user_voucher", columnNames = {"order_id", "user_voucher_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderVoucher {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(precision = 12, scale = 2, nullable = false)
+    private BigDecimal discountAmount;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    // Relationships
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_voucher_id", nullable = false)
+    private UserVoucher userVoucher;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "voucher_id", nullable = false)
+    private Voucher voucher;
+}
@@ -0,0 +1,63 @@
+package fpt.project.NeoNHS.entity;
+
+import fpt.project.NeoNHS.enums.OutboxEventType;
+import fpt.project.NeoNHS.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Side effect recorded in the same transaction as the change that caused it and carried out
+ * afterwards by {@code OutboxRelayTask}, so slow or failing external calls never hold that
+ * transaction open. Delivery is at-least-once.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbox_status_created", columnList = "status, created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private OutboxEventType type;
+
+    private UUID aggregateId;
+
+    /** Optional JSON body for handlers that need more than the aggregate id. */
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+}
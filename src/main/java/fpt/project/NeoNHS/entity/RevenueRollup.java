@@ -0,0 +1,66 @@
+package fpt.project.NeoNHS.entity;
+
+import fpt.project.NeoNHS.enums.RollupGranularity;
+import fpt.project.NeoNHS.enums.RollupProductType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Paid revenue per hour or day, vendor and product type, bucketed by order creation time.
+ * Incremented when a payment succeeds and recomputable from the orders by
+ * {@code RevenueRollupService#rebuild}; the dashboards read these instead of order_details.
+ */
+@Entity
+@Table(name = "revenue_rollups", indexes = {
+        @Index(name = "idx_revenue_rollups_vendor", columnList = "vendor_id, granularity, bucket_start")
+})
+@IdClass(RevenueRollupId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevenueRollup {
+
+    /** Stands in for "no vendor" (event tickets sold by the platform) so it can be part of the key. */
+    public static final UUID PLATFORM_VENDOR_ID = new UUID(0L, 0L);
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private RollupGranularity granularity;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(name = "vendor_id")
+    private UUID vendorId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "product_type", length = 20)
+    private RollupProductType productType;
+
+    /** SUM(unit_price * quantity). */
+    @Column(precision = 19, scale = 2, nullable = false)
+    private BigDecimal grossRevenue;
+
+    /** SUM(quantity). */
+    @Column(nullable = false)
+    private Long tickets;
+
+    @Column(precision = 19, scale = 2, nullable = false)
+    private BigDecimal commission;
+
+    /** What the vendor receives; zero for event tickets. */
+    @Column(precision = 19, scale = 2, nullable = false)
+    private BigDecimal netAmount;
+
+    private LocalDateTime updatedAt;
+}
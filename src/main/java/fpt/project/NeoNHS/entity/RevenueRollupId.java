@@ -0,0 +1,25 @@
+package fpt.project.NeoNHS.entity;
+
+import fpt.project.NeoNHS.enums.RollupGranularity;
+import fpt.project.NeoNHS.enums.RollupProductType;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class RevenueRollupId implements Serializable {
+
+    private RollupGranularity granularity;
+
+    private LocalDateTime bucketStart;
+
+    private UUID vendorId;
+
+    private RollupProductType productType;
+}
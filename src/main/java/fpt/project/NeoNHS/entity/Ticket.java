@@ -2,6 +2,7 @@ package fpt.project.NeoNHS.entity;
 
 import fpt.project.NeoNHS.enums.TicketStatus;
 import fpt.project.NeoNHS.enums.TicketType;
+import fpt.project.NeoNHS.entity.listener.KpiEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -10,7 +11,13 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "tickets")
+@EntityListeners(KpiEntityListener.class)
+@Table(name = "tickets", indexes = {
+        @Index(name = "uk_tickets_ticket_code", columnList = "ticket_code", unique = true),
+        @Index(name = "idx_tickets_session_updated", columnList = "workshop_session_id, updated_at"),
+        @Index(name = "idx_tickets_catalog_updated", columnList = "ticket_catalog_id, updated_at"),
+        @Index(name = "idx_tickets_status_expiry", columnList = "status, expiry_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,7 +32,8 @@ public class Ticket extends BaseEntity {
     @Column(unique = true)
     private String qrCode;
 
-    @Column(unique = true)
+    /** See {@code TicketCodeFormat}; unique index uk_tickets_ticket_code backs findByTicketCode. */
+    @Column(name = "ticket_code")
     private String ticketCode;
 
     @Enumerated(EnumType.STRING)
@@ -55,4 +63,15 @@ public class Ticket extends BaseEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_detail_id")
     private OrderDetail orderDetail;
+
+    /**
+     * Status as of {@code now}: an ACTIVE ticket past its expiry date is EXPIRED even if the
+     * expiry sweep has not reached it yet.
+     */
+    public TicketStatus statusAt(LocalDateTime now) {
+        if (status == TicketStatus.ACTIVE && expiryDate != null && expiryDate.isBefore(now)) {
+            return TicketStatus.EXPIRED;
+        }
+        return status;
+    }
 }
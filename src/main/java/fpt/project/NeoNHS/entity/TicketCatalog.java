@@ -4,6 +4,7 @@ import fpt.project.NeoNHS.enums.TicketCatalogStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -11,6 +12,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@DynamicUpdate
 @Table(name = "ticket_catalogs")
 @Getter
 @Setter
@@ -48,6 +50,19 @@ public class TicketCatalog extends BaseEntity {
     @Builder.Default
     private Integer soldQuantity = 0;
 
+    /**
+     * Flash-sale mode: remaining seats live in Redis and are written back by HotInventoryReconcileTask.
+     * Always the same for every catalog of an event, whose capacity is then counted in Redis too.
+     */
+    @Builder.Default
+    private Boolean hotInventory = false;
+
+    /**
+     * High-demand drop: buyers must be admitted through the waiting room before carting or checking out.
+     */
+    @Builder.Default
+    private Boolean waitingRoom = false;
+
     @Builder.Default
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -0,0 +1,34 @@
+package fpt.project.NeoNHS.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Shared high-water mark of ticket code sequence numbers. Nodes take blocks from it
+ * (see {@code TicketCodeServiceImpl}); a single row, id 1.
+ */
+@Entity
+@Table(name = "ticket_code_sequence")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketCodeSequence {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    /** First sequence number not handed out yet. */
+    @Column(nullable = false)
+    private Long nextValue;
+}
@@ -10,7 +10,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "uk_transactions_order_code", columnList = "order_code", unique = true)
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,6 +26,12 @@ public class Transaction extends BaseEntity {
 
     private String paymentGateway;
 
+    /**
+     * Numeric PayOS order code, the key the payment webhook resolves the transaction by.
+     */
+    @Column(name = "order_code")
+    private Long orderCode;
+
     @Column(precision = 12, scale = 2, nullable = false)
     private BigDecimal amount;
 
@@ -1,15 +1,19 @@
 package fpt.project.NeoNHS.entity;
 
+import fpt.project.NeoNHS.enums.KpiCounter;
 import fpt.project.NeoNHS.enums.UserRole;
+import fpt.project.NeoNHS.entity.listener.KpiEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(KpiEntityListener.class)
 @Table(name = "users")
 @Getter
 @Setter
@@ -51,8 +55,16 @@ public class User extends BaseEntity {
     @Column(nullable = false)
     private Boolean isBanned = false;
 
+    /**
+     * Legacy balance, only read to open the user's {@link Wallet}; balances live in {@code wallets}
+     * and {@code wallet_entries} since.
+     */
     private Double balance;
 
+    /** KPI counters this user was counted in when loaded, see {@code KpiEntityListener}. */
+    @Transient
+    private transient Set<KpiCounter> kpiCounters;
+
     @Builder.Default
     @Column(nullable = false)
     private Integer rewardPoints = 0;
@@ -1,5 +1,6 @@
 package fpt.project.NeoNHS.entity;
 
+import fpt.project.NeoNHS.entity.listener.KpiEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -9,6 +10,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(KpiEntityListener.class)
 @Table(name = "vendor_profiles")
 @Getter
 @Setter
@@ -0,0 +1,43 @@
+package fpt.project.NeoNHS.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Running balance of a user's wallet in whole VND, kept in step with {@link WalletEntry} by the
+ * conditional updates in {@code WalletRepository}. Replaces {@code users.balance}, which is only
+ * read once to open the wallet.
+ */
+@Entity
+@Table(name = "wallets")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Wallet {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    /** Spendable / withdrawable amount. */
+    @Column(nullable = false)
+    private Long balance;
+
+    /** Reserved for withdrawals that have not settled yet. */
+    @Column(nullable = false)
+    private Long held;
+
+    private LocalDateTime updatedAt;
+}
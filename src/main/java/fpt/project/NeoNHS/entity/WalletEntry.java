@@ -0,0 +1,61 @@
+package fpt.project.NeoNHS.entity;
+
+import fpt.project.NeoNHS.enums.WalletEntryType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Append-only wallet ledger. Entries are never updated or deleted; the same (user, type, reference)
+ * is recorded at most once, which makes credits for a given session or order idempotent.
+ */
+@Entity
+@Immutable
+@Table(name = "wallet_entries", indexes = {
+        @Index(name = "uk_wallet_entries_reference", columnList = "user_id, type, reference_id", unique = true),
+        @Index(name = "idx_wallet_entries_user_created", columnList = "user_id, created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WalletEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20, updatable = false)
+    private WalletEntryType type;
+
+    /** Always positive, whole VND; the type gives the direction. */
+    @Column(nullable = false, updatable = false)
+    private Long amount;
+
+    /** Wallet balance and held amount right after this entry. */
+    @Column(nullable = false, updatable = false)
+    private Long balanceAfter;
+
+    @Column(nullable = false, updatable = false)
+    private Long heldAfter;
+
+    /** Session, order or withdrawal the entry belongs to. */
+    @Column(name = "reference_id", updatable = false)
+    private UUID referenceId;
+
+    @Column(length = 255, updatable = false)
+    private String description;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,74 @@
+package fpt.project.NeoNHS.entity;
+
+import fpt.project.NeoNHS.enums.WithdrawalStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One withdrawal request moving through {@link WithdrawalStatus}. Every step commits on its own
+ * through a conditional status update, so a step retried by another node or a duplicate request
+ * never applies twice. Bank details are copied at request time.
+ */
+@Entity
+@Table(name = "withdrawals", indexes = {
+        @Index(name = "uk_withdrawals_user_request", columnList = "user_id, request_key", unique = true),
+        @Index(name = "idx_withdrawals_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_withdrawals_user_created", columnList = "user_id, created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Withdrawal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    /** Client-supplied idempotency key; a retried request with the same key returns this row. */
+    @Column(name = "request_key", nullable = false, updatable = false)
+    private UUID requestKey;
+
+    @Column(nullable = false, updatable = false)
+    private Long amount;
+
+    @Column(nullable = false, updatable = false, length = 20)
+    private String toBin;
+
+    @Column(nullable = false, updatable = false, length = 50)
+    private String toAccountNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private WithdrawalStatus status;
+
+    private String payoutId;
+
+    /** Last approval state reported by PayOS (PROCESSING, SUCCEEDED, FAILED). */
+    @Column(length = 20)
+    private String payoutState;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    /** When the background task should next look at this withdrawal. */
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String failureReason;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -4,6 +4,7 @@ import fpt.project.NeoNHS.enums.SessionStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -11,6 +12,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@DynamicUpdate
 @Table(name = "workshop_sessions")
 @Getter
 @Setter
@@ -37,6 +39,12 @@ public class WorkshopSession extends BaseEntity {
     @Builder.Default
     private Integer currentEnrolled = 0;
 
+    /**
+     * Flash-sale mode: remaining seats live in Redis and are written back by HotInventoryReconcileTask.
+     */
+    @Builder.Default
+    private Boolean hotInventory = false;
+
     @Builder.Default
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
@@ -1,6 +1,7 @@
 package fpt.project.NeoNHS.entity;
 
 import fpt.project.NeoNHS.enums.WorkshopStatus;
+import fpt.project.NeoNHS.entity.listener.KpiEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -11,6 +12,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(KpiEntityListener.class)
 @Table(name = "workshop_templates")
 @Getter
 @Setter
@@ -0,0 +1,125 @@
+package fpt.project.NeoNHS.entity.listener;
+
+import fpt.project.NeoNHS.entity.Event;
+import fpt.project.NeoNHS.entity.Ticket;
+import fpt.project.NeoNHS.entity.User;
+import fpt.project.NeoNHS.entity.VendorProfile;
+import fpt.project.NeoNHS.entity.WorkshopTemplate;
+import fpt.project.NeoNHS.enums.KpiCounter;
+import fpt.project.NeoNHS.service.KpiCounterService;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Turns entity lifecycle events into KPI counter deltas: user registered / status changed,
+ * vendor created, ticket issued, workshop or event created, and their deletes. Catches every
+ * write path that goes through JPA; bulk SQL is left to the periodic reconciliation.
+ * <p>
+ * Instantiated by Hibernate through Spring, hence constructor injection; the service is looked up
+ * lazily because it depends on repositories that need the entity manager this listener is part of.
+ */
+public class KpiEntityListener {
+
+    private final ObjectProvider<KpiCounterService> kpiCounterService;
+
+    public KpiEntityListener(ObjectProvider<KpiCounterService> kpiCounterService) {
+        this.kpiCounterService = kpiCounterService;
+    }
+
+    @PostLoad
+    public void loaded(Object entity) {
+        if (entity instanceof User user) {
+            user.setKpiCounters(userCounters(user));
+        }
+    }
+
+    @PostPersist
+    public void created(Object entity) {
+        if (entity instanceof User user) {
+            Set<KpiCounter> counters = userCounters(user);
+            counters.forEach(counter -> add(counter, 1));
+            user.setKpiCounters(counters);
+        } else {
+            KpiCounter counter = counterOf(entity);
+            if (counter != null) {
+                add(counter, 1);
+            }
+        }
+    }
+
+    @PostUpdate
+    public void updated(Object entity) {
+        if (!(entity instanceof User user)) {
+            return;
+        }
+        Set<KpiCounter> after = userCounters(user);
+        Set<KpiCounter> before = user.getKpiCounters();
+        if (before != null) {
+            for (KpiCounter counter : KpiCounter.values()) {
+                add(counter, (after.contains(counter) ? 1 : 0) - (before.contains(counter) ? 1 : 0));
+            }
+        }
+        user.setKpiCounters(after);
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        if (entity instanceof User user) {
+            Set<KpiCounter> counters = user.getKpiCounters() != null ? user.getKpiCounters() : userCounters(user);
+            counters.forEach(counter -> add(counter, -1));
+        } else {
+            KpiCounter counter = counterOf(entity);
+            if (counter != null) {
+                add(counter, -1);
+            }
+        }
+    }
+
+    /** Counters a user is part of, matching the queries the reconciliation runs. */
+    static Set<KpiCounter> userCounters(User user) {
+        boolean active = Boolean.TRUE.equals(user.getIsActive());
+        boolean banned = Boolean.TRUE.equals(user.getIsBanned());
+        Set<KpiCounter> counters = EnumSet.of(KpiCounter.USERS_TOTAL);
+        if (active && !banned) {
+            counters.add(KpiCounter.USERS_ACTIVE);
+        }
+        if (banned) {
+            counters.add(KpiCounter.USERS_BANNED);
+        }
+        if (!Boolean.TRUE.equals(user.getIsVerified())) {
+            counters.add(KpiCounter.USERS_UNVERIFIED);
+        }
+        if (!active && !banned) {
+            counters.add(KpiCounter.USERS_INACTIVE);
+        }
+        return counters;
+    }
+
+    private static KpiCounter counterOf(Object entity) {
+        if (entity instanceof VendorProfile) {
+            return KpiCounter.VENDORS_TOTAL;
+        }
+        if (entity instanceof Ticket) {
+            return KpiCounter.TICKETS_ISSUED;
+        }
+        if (entity instanceof WorkshopTemplate) {
+            return KpiCounter.WORKSHOPS_TOTAL;
+        }
+        if (entity instanceof Event) {
+            return KpiCounter.EVENTS_TOTAL;
+        }
+        return null;
+    }
+
+    private void add(KpiCounter counter, long delta) {
+        if (delta != 0) {
+            kpiCounterService.getObject().add(counter, delta);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package fpt.project.NeoNHS.enums;
+
+public enum ActivityAction {
+    CREATE_WORKSHOP,
+    APPROVE_WORKSHOP,
+    CREATE_EVENT,
+    SELL_TICKET
+}
@@ -0,0 +1,10 @@
+package fpt.project.NeoNHS.enums;
+
+public enum CheckinScanStatus {
+    ACCEPTED,
+    ALREADY_USED,
+    EXPIRED,
+    NOT_YET_VALID,
+    INVALID,
+    FORBIDDEN
+}
@@ -0,0 +1,28 @@
+package fpt.project.NeoNHS.enums;
+
+/**
+ * Admin dashboard counters kept in Redis by {@code KpiCounterService}. Each one mirrors a MySQL
+ * aggregate, which the reconciliation recomputes to correct drift.
+ */
+public enum KpiCounter {
+    // users.count()
+    USERS_TOTAL,
+    // is_active AND NOT is_banned
+    USERS_ACTIVE,
+    // is_banned
+    USERS_BANNED,
+    // NOT is_verified
+    USERS_UNVERIFIED,
+    // NOT is_active AND NOT is_banned
+    USERS_INACTIVE,
+    // vendor_profiles.count()
+    VENDORS_TOTAL,
+    // tickets.count()
+    TICKETS_ISSUED,
+    // Paid order amount in whole VND
+    REVENUE,
+    // workshop_templates.count()
+    WORKSHOPS_TOTAL,
+    // events.count()
+    EVENTS_TOTAL
+}
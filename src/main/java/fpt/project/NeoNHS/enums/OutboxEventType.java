@@ -0,0 +1,6 @@
+package fpt.project.NeoNHS.enums;
+
+public enum OutboxEventType {
+    // aggregateId is the saved Notification; delivery is the WebSocket push plus the Expo push
+    NOTIFICATION_DELIVERY
+}
@@ -0,0 +1,7 @@
+package fpt.project.NeoNHS.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
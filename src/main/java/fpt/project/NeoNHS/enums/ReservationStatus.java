@@ -0,0 +1,8 @@
+package fpt.project.NeoNHS.enums;
+
+public enum ReservationStatus {
+    RESERVED,
+    INSUFFICIENT_QUOTA,
+    CAPACITY_EXCEEDED,
+    NOT_AVAILABLE
+}
@@ -0,0 +1,6 @@
+package fpt.project.NeoNHS.enums;
+
+public enum RollupGranularity {
+    HOUR,
+    DAY
+}
@@ -0,0 +1,8 @@
+package fpt.project.NeoNHS.enums;
+
+public enum RollupProductType {
+    // Admin-run event tickets
+    EVENT,
+    // Vendor workshop sessions
+    WORKSHOP
+}
@@ -0,0 +1,8 @@
+package fpt.project.NeoNHS.enums;
+
+public enum WaitingRoomStatus {
+    NOT_REQUIRED,   // Catalog is not behind the waiting room
+    WAITING,        // In the queue
+    ADMITTED,       // May cart and check out until the admission expires
+    SOLD_OUT        // Quota exhausted, the queue was closed
+}
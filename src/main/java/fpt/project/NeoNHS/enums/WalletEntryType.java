@@ -0,0 +1,20 @@
+package fpt.project.NeoNHS.enums;
+
+/**
+ * Effect of a ledger entry on the wallet: {@code available} and {@code held} are both derived
+ * from the entries, see {@code WalletEntryRepository#sumByUserIdIn}.
+ */
+public enum WalletEntryType {
+    // Balance carried over from users.balance when the wallet was first opened
+    OPENING,
+    // available += amount
+    CREDIT,
+    // available -= amount
+    DEBIT,
+    // available -= amount, held += amount (money reserved for a pending withdrawal)
+    HOLD,
+    // held -= amount, available += amount (withdrawal failed or cancelled)
+    HOLD_RELEASE,
+    // held -= amount (withdrawal paid out)
+    HOLD_CAPTURE
+}
@@ -0,0 +1,17 @@
+package fpt.project.NeoNHS.enums;
+
+/**
+ * Withdrawal saga: HELD → VERIFIED → SUBMITTED → COMPLETED, or FAILED from any step before
+ * COMPLETED (the hold is then released back to the wallet).
+ */
+public enum WithdrawalStatus {
+    // Amount moved to the wallet's held balance, waiting for face verification
+    HELD,
+    // Face matched, payout not accepted by PayOS yet
+    VERIFIED,
+    // Payout sent to PayOS, waiting for the bank transfer to finish; with no payout id yet the
+    // response was lost and the payout is looked up by its reference id
+    SUBMITTED,
+    COMPLETED,
+    FAILED
+}
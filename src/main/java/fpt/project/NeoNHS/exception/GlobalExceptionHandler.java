@@ -4,6 +4,7 @@ import fpt.project.NeoNHS.dto.response.ApiResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -197,6 +198,30 @@ public class GlobalExceptionHandler {
                 .body("AI service returned an unexpected response. Please try again later.");
     }
 
+    /**
+     * Handles UpstreamUnavailableException (503 Service Unavailable)
+     * Thrown when an external service's circuit is open or its concurrency limit is reached
+     */
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleUpstreamUnavailableException(UpstreamUnavailableException ex) {
+        log.warn("Upstream unavailable: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
+    /**
+     * Handles TaskRejectedException (503 Service Unavailable)
+     * Thrown when a bounded executor (e.g. report exports) has no room left in its queue
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTaskRejectedException(TaskRejectedException ex) {
+        log.warn("Task rejected: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please try again later"));
+    }
+
     @ExceptionHandler(AiServiceUnavailableException.class)
     public ResponseEntity<String> handleAIServiceUnavailable() {
         return ResponseEntity
@@ -0,0 +1,10 @@
+package fpt.project.NeoNHS.exception;
+
+/**
+ * PayOS answered a payout request with an error code: the payout was definitely not created.
+ */
+public class PayoutRejectedException extends RuntimeException {
+    public PayoutRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package fpt.project.NeoNHS.exception;
+
+/**
+ * Thrown instead of calling an external service whose circuit is open or whose concurrency limit
+ * is reached, so the request fails fast rather than tying up a server thread.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+}
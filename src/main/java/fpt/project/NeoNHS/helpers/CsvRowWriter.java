@@ -0,0 +1,78 @@
+package fpt.project.NeoNHS.helpers;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * RFC 4180 CSV in UTF-8 with a byte order mark, so Excel opens Vietnamese names correctly. Text
+ * starting with {@code = + - @} is prefixed with a quote so a spreadsheet never evaluates it as a formula.
+ */
+public final class CsvRowWriter implements ExportRowWriter {
+
+    static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Writer writer;
+
+    public CsvRowWriter(OutputStream out, String... header) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192);
+        writer.write('\uFEFF');
+        row((Object[]) header);
+        // Push the header out now so the download starts before the first database row arrives
+        writer.flush();
+    }
+
+    @Override
+    public void row(Object... cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCell(cells[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeCell(Object cell) throws IOException {
+        if (cell == null) {
+            return;
+        }
+        if (cell instanceof BigDecimal decimal) {
+            writer.write(decimal.toPlainString());
+            return;
+        }
+        if (cell instanceof Number) {
+            writer.write(cell.toString());
+            return;
+        }
+        if (cell instanceof LocalDateTime dateTime) {
+            writer.write(DATE_TIME.format(dateTime));
+            return;
+        }
+
+        String text = cell.toString();
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,27 @@
+package fpt.project.NeoNHS.helpers;
+
+import fpt.project.NeoNHS.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes spreadsheet rows straight to an output stream as they are produced, keeping nothing but
+ * a fixed-size buffer, so an export of any length starts sending bytes with its first row.
+ * <p>
+ * Cells may be {@code null}, a {@link Number}, a {@link java.time.LocalDateTime} or anything else,
+ * which is written as its {@code toString()}.
+ */
+public interface ExportRowWriter {
+
+    void row(Object... cells) throws IOException;
+
+    /** Completes the file and flushes it; the output stream itself is left open. */
+    void finish() throws IOException;
+
+    static ExportRowWriter open(ExportFormat format, OutputStream out, String... header) throws IOException {
+        return format == ExportFormat.XLSX
+                ? new XlsxRowWriter(out, header)
+                : new CsvRowWriter(out, header);
+    }
+}
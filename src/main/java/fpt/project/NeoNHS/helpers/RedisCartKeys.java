@@ -0,0 +1,27 @@
+package fpt.project.NeoNHS.helpers;
+
+import java.util.UUID;
+
+/**
+ * Redis keys for carts held in Redis ({@code cart.storage=redis}).
+ * Each cart is one hash: field = cart item id, value = encoded line.
+ */
+public final class RedisCartKeys {
+    private RedisCartKeys() {}
+
+    /** Users whose Redis cart has changes not yet written to MySQL. */
+    public static final String DIRTY_SET = "cart:dirty";
+
+    /** Hash field holding the MySQL cart id; its presence marks a loaded user cart. */
+    public static final String CART_ID_FIELD = "_cart";
+
+    public static String user(String email) {
+        return "cart:user:" + email;
+    }
+
+    public static final String GUEST_PREFIX = "cart:guest:";
+
+    public static String guest(UUID token) {
+        return GUEST_PREFIX + token;
+    }
+}
@@ -0,0 +1,33 @@
+package fpt.project.NeoNHS.helpers;
+
+import java.util.UUID;
+
+/**
+ * Redis keys for hot (flash-sale) inventory counters.
+ * A member identifies one counted row, e.g. {@code catalog:<uuid>}.
+ */
+public final class RedisInventoryKeys {
+    private RedisInventoryKeys() {}
+
+    public static final String CATALOG = "catalog";
+    public static final String EVENT = "event";
+    public static final String SESSION = "session";
+
+    /** Members whose pending delta has not been written back to MySQL yet. */
+    public static final String DIRTY_SET = "inventory:dirty";
+
+    /** Members currently loaded into Redis. */
+    public static final String HOT_SET = "inventory:hot";
+
+    public static String member(String kind, UUID id) {
+        return kind + ":" + id;
+    }
+
+    public static String remaining(String member) {
+        return "inventory:remaining:" + member;
+    }
+
+    public static String pending(String member) {
+        return "inventory:pending:" + member;
+    }
+}
@@ -0,0 +1,36 @@
+package fpt.project.NeoNHS.helpers;
+
+/**
+ * Redis keys of the scheduled job coordination (leases, fencing counters, run history).
+ */
+public final class RedisJobKeys {
+    private RedisJobKeys() {}
+
+    /** SET of every job (and job shard) that has recorded a run. */
+    public static final String NAMES = "job:names";
+
+    /** Current holder, {@code owner|token}, with the lease TTL. */
+    public static String lease(String job) {
+        return "job:lease:" + job;
+    }
+
+    /** Monotonic fencing counter, incremented on every acquisition. */
+    public static String fence(String job) {
+        return "job:fence:" + job;
+    }
+
+    /** HASH of the latest run and counters. */
+    public static String stats(String job) {
+        return "job:stats:" + job;
+    }
+
+    /** LIST of recent runs, newest first. */
+    public static String history(String job) {
+        return "job:history:" + job;
+    }
+
+    /** Job name of one shard; each shard has its own lease. */
+    public static String shard(String job, int shard) {
+        return job + "#" + shard;
+    }
+}
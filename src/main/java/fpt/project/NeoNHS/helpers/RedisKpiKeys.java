@@ -0,0 +1,11 @@
+package fpt.project.NeoNHS.helpers;
+
+/**
+ * Redis keys of the admin dashboard KPI counters.
+ */
+public final class RedisKpiKeys {
+    private RedisKpiKeys() {}
+
+    /** HASH of {@code KpiCounter} name to its current value. */
+    public static final String COUNTERS = "kpi:counters";
+}
@@ -0,0 +1,32 @@
+package fpt.project.NeoNHS.helpers;
+
+import java.util.UUID;
+
+/**
+ * Redis keys of the checkout waiting room, one queue per high-demand ticket catalog.
+ */
+public final class RedisWaitingRoomKeys {
+    private RedisWaitingRoomKeys() {}
+
+    /** Catalog ids currently behind the waiting room. */
+    public static final String CATALOGS = "waitroom:catalogs";
+
+    /** ZSET userId -> join sequence (FIFO). */
+    public static String queue(UUID catalogId) {
+        return "waitroom:queue:" + catalogId;
+    }
+
+    public static String sequence(UUID catalogId) {
+        return "waitroom:seq:" + catalogId;
+    }
+
+    /** ZSET userId -> admission expiry (epoch millis). */
+    public static String admitted(UUID catalogId) {
+        return "waitroom:admitted:" + catalogId;
+    }
+
+    /** Remaining seats as of the last admission tick. */
+    public static String remaining(UUID catalogId) {
+        return "waitroom:remaining:" + catalogId;
+    }
+}
@@ -0,0 +1,101 @@
+package fpt.project.NeoNHS.helpers;
+
+/**
+ * Ticket codes: 8 Crockford base32 characters carrying a 40-bit number, plus a Luhn mod 32 check
+ * character (e.g. {@code 7KQ3XM2DF}). Crockford's alphabet has no I, L, O or U, so a code read out
+ * loud or typed from paper cannot be confused, and the check character catches every single-character
+ * typo and most swaps of adjacent characters before any database lookup.
+ * <p>
+ * Sequence numbers are scrambled with a fixed bijection of the 40-bit space, so consecutive tickets
+ * do not get guessable neighbouring codes while distinct numbers still always give distinct codes.
+ */
+public final class TicketCodeFormat {
+    private TicketCodeFormat() {}
+
+    public static final int BODY_LENGTH = 8;
+    public static final int LENGTH = BODY_LENGTH + 1;
+    public static final long MAX_VALUE = (1L << 40) - 1;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int BASE = ALPHABET.length;
+    private static final int[] DIGITS = new int[128];
+
+    static {
+        java.util.Arrays.fill(DIGITS, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DIGITS[ALPHABET[i]] = i;
+        }
+    }
+
+    /** Code of the {@code sequence}-th ticket; sequence must be in {@code [0, MAX_VALUE]}. */
+    public static String encode(long sequence) {
+        if (sequence < 0 || sequence > MAX_VALUE) {
+            throw new IllegalArgumentException("Ticket code sequence out of range: " + sequence);
+        }
+        long value = scramble(sequence);
+        char[] code = new char[LENGTH];
+        for (int i = BODY_LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET[(int) (value & (BASE - 1))];
+            value >>>= 5;
+        }
+        code[BODY_LENGTH] = ALPHABET[checkDigit(code, BODY_LENGTH)];
+        return new String(code);
+    }
+
+    /**
+     * Canonical form of a code typed by a person: upper case, without spaces or hyphens, with the
+     * look-alikes I/L read as 1 and O as 0. Codes issued before this format (8 hex characters)
+     * are unchanged by it.
+     */
+    public static String normalize(String code) {
+        if (code == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(code.length());
+        for (int i = 0; i < code.length(); i++) {
+            char c = Character.toUpperCase(code.charAt(i));
+            switch (c) {
+                case ' ', '-' -> { }
+                case 'I', 'L' -> sb.append('1');
+                case 'O' -> sb.append('0');
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /** True for a normalized code of this format whose check character matches. */
+    public static boolean isValid(String code) {
+        if (code == null || code.length() != LENGTH) {
+            return false;
+        }
+        char[] chars = code.toCharArray();
+        for (char c : chars) {
+            if (c >= 128 || DIGITS[c] < 0) {
+                return false;
+            }
+        }
+        return DIGITS[chars[BODY_LENGTH]] == checkDigit(chars, BODY_LENGTH);
+    }
+
+    /** Luhn mod N over the first {@code length} characters. */
+    static int checkDigit(char[] code, int length) {
+        int factor = 2;
+        int sum = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            int addend = factor * DIGITS[code[i]];
+            factor = factor == 2 ? 1 : 2;
+            sum += addend / BASE + addend % BASE;
+        }
+        return (BASE - sum % BASE) % BASE;
+    }
+
+    /** Multiply by odd constants and xor-shift, each step invertible modulo 2^40. */
+    static long scramble(long x) {
+        x = (x * 0x9E3779B97FL) & MAX_VALUE;
+        x ^= x >>> 19;
+        x = (x * 0xC2B2AE3D27L) & MAX_VALUE;
+        x ^= x >>> 21;
+        return x;
+    }
+}
@@ -0,0 +1,150 @@
+package fpt.project.NeoNHS.helpers;
+
+import fpt.project.NeoNHS.enums.TicketType;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Signed QR payload of a ticket: {@code base64url(payload).base64url(mac)}.
+ * <p>
+ * Payload layout (big-endian): version (1 byte), ticket type ordinal (1), scope id (16),
+ * valid from and valid to as unsigned epoch seconds (4 + 4, 0 = open), then the UTF-8 ticket code.
+ * The MAC is HMAC-SHA256 truncated to 16 bytes, keyed with the key of the scope
+ * (ticket catalog or workshop session), so a gate scanner holding only the keys of its own
+ * scopes can verify a ticket without calling the server.
+ */
+public final class TicketQrCodec {
+    private TicketQrCodec() {}
+
+    public static final byte VERSION = 1;
+
+    private static final String HMAC = "HmacSHA256";
+    private static final int MAC_LENGTH = 16;
+    private static final int HEADER_LENGTH = 1 + 1 + 16 + 4 + 4;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public record Payload(String ticketCode, UUID scopeId, TicketType type,
+                          LocalDateTime validFrom, LocalDateTime validTo) {
+
+        public boolean isValidAt(LocalDateTime time) {
+            return (validFrom == null || !time.isBefore(validFrom))
+                    && (validTo == null || !time.isAfter(validTo));
+        }
+
+        public boolean isExpiredAt(LocalDateTime time) {
+            return validTo != null && time.isAfter(validTo);
+        }
+
+        /** Whether {@code time} is earlier than the check-in window opening {@code window} before validFrom. */
+        public boolean isNotYetValidAt(LocalDateTime time, Duration window) {
+            return validFrom != null && time.isBefore(validFrom.minus(window));
+        }
+    }
+
+    /** Key lookup by scope id; returns null for scopes the caller holds no key for. */
+    @FunctionalInterface
+    public interface KeyResolver {
+        byte[] keyFor(UUID scopeId);
+    }
+
+    public static String encode(Payload payload, byte[] scopeKey) {
+        byte[] code = payload.ticketCode().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + code.length);
+        buffer.put(VERSION);
+        buffer.put((byte) payload.type().ordinal());
+        buffer.putLong(payload.scopeId().getMostSignificantBits());
+        buffer.putLong(payload.scopeId().getLeastSignificantBits());
+        buffer.putInt((int) toEpochSeconds(payload.validFrom()));
+        buffer.putInt((int) toEpochSeconds(payload.validTo()));
+        buffer.put(code);
+
+        byte[] bytes = buffer.array();
+        return ENCODER.encodeToString(bytes) + "." + ENCODER.encodeToString(mac(scopeKey, bytes));
+    }
+
+    /**
+     * Parses and authenticates a token. Empty when the token is malformed, from an unknown
+     * version, for a scope without a key, or when the MAC does not match.
+     */
+    public static Optional<Payload> decode(String token, KeyResolver keys) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return Optional.empty();
+        }
+
+        byte[] bytes;
+        byte[] mac;
+        try {
+            bytes = DECODER.decode(token.substring(0, dot));
+            mac = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (bytes.length <= HEADER_LENGTH || bytes[0] != VERSION || mac.length != MAC_LENGTH) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.get();
+        int typeOrdinal = buffer.get();
+        UUID scopeId = new UUID(buffer.getLong(), buffer.getLong());
+        long validFrom = Integer.toUnsignedLong(buffer.getInt());
+        long validTo = Integer.toUnsignedLong(buffer.getInt());
+        if (typeOrdinal < 0 || typeOrdinal >= TicketType.values().length) {
+            return Optional.empty();
+        }
+
+        byte[] key = keys.keyFor(scopeId);
+        if (key == null || !MessageDigest.isEqual(mac, mac(key, bytes))) {
+            return Optional.empty();
+        }
+
+        String ticketCode = new String(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, StandardCharsets.UTF_8);
+        return Optional.of(new Payload(ticketCode, scopeId, TicketType.values()[typeOrdinal],
+                fromEpochSeconds(validFrom), fromEpochSeconds(validTo)));
+    }
+
+    /** Tells a signed QR payload apart from a plain ticket code typed in by hand. */
+    public static boolean looksSigned(String value) {
+        return value != null && value.indexOf('.') > 0;
+    }
+
+    public static byte[] hmac(byte[] key, byte[] data) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(key, HMAC));
+            return mac.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] mac(byte[] key, byte[] data) {
+        return Arrays.copyOf(hmac(key, data), MAC_LENGTH);
+    }
+
+    private static long toEpochSeconds(LocalDateTime time) {
+        return time == null ? 0 : time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static LocalDateTime fromEpochSeconds(long seconds) {
+        return seconds == 0 ? null : LocalDateTime.ofInstant(Instant.ofEpochSecond(seconds), ZoneId.systemDefault());
+    }
+}
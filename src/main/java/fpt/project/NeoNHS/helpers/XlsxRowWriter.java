@@ -0,0 +1,193 @@
+package fpt.project.NeoNHS.helpers;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Minimal SpreadsheetML (.xlsx) written as a forward-only zip: worksheets are streamed first with
+ * inline strings (no shared string table to hold in memory), and the workbook, styles, relationships
+ * and content types are added at {@link #finish()}, once the number of sheets is known. A sheet that
+ * reaches Excel's row limit continues on a new one with the header repeated.
+ */
+public final class XlsxRowWriter implements ExportRowWriter {
+
+    static final int MAX_ROWS_PER_SHEET = 1_048_576;
+
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String PKG_REL_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String XML_DECL = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    // Cell styles, indexes into cellXfs of styles.xml
+    private static final int STYLE_DATE_TIME = 1;
+    private static final int STYLE_HEADER = 2;
+
+    // Day 0 of Excel's 1900 date system, with its 1900-02-29 leap bug folded in
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+    private final String[] header;
+    private int sheets;
+    private int rowsInSheet;
+
+    public XlsxRowWriter(OutputStream out, String... header) throws IOException {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 8192);
+        this.header = header;
+        startSheet();
+        // Push the zip header out now so the download starts before the first database row arrives
+        writer.flush();
+    }
+
+    @Override
+    public void row(Object... cells) throws IOException {
+        if (rowsInSheet == MAX_ROWS_PER_SHEET) {
+            endSheet();
+            startSheet();
+        }
+        writeRow(cells, false);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        endSheet();
+        entry("xl/workbook.xml", workbook());
+        entry("xl/_rels/workbook.xml.rels", workbookRels());
+        entry("xl/styles.xml", STYLES);
+        entry("_rels/.rels", XML_DECL
+                + "<Relationships xmlns=\"" + PKG_REL_NS + "\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+        entry("[Content_Types].xml", contentTypes());
+        zip.finish();
+        zip.flush();
+    }
+
+    private void startSheet() throws IOException {
+        sheets++;
+        rowsInSheet = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheets + ".xml"));
+        writer.write(XML_DECL);
+        writer.write("<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData>");
+        writeRow(header, true);
+    }
+
+    private void endSheet() throws IOException {
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void writeRow(Object[] cells, boolean isHeader) throws IOException {
+        writer.write("<row>");
+        for (Object cell : cells) {
+            if (cell == null) {
+                writer.write("<c/>");
+            } else if (cell instanceof Number number) {
+                writer.write("<c><v>");
+                writer.write(number instanceof BigDecimal decimal ? decimal.toPlainString() : number.toString());
+                writer.write("</v></c>");
+            } else if (cell instanceof LocalDateTime dateTime) {
+                writer.write("<c s=\"" + STYLE_DATE_TIME + "\"><v>");
+                writer.write(Double.toString(toSerial(dateTime)));
+                writer.write("</v></c>");
+            } else {
+                writer.write(isHeader ? "<c t=\"inlineStr\" s=\"" + STYLE_HEADER + "\">" : "<c t=\"inlineStr\">");
+                writer.write("<is><t xml:space=\"preserve\">");
+                writeEscaped(cell.toString());
+                writer.write("</t></is></c>");
+            }
+        }
+        writer.write("</row>");
+        rowsInSheet++;
+    }
+
+    private void writeEscaped(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                default -> {
+                    // Control characters other than tab and line breaks are not allowed in XML 1.0
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private void entry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    static double toSerial(LocalDateTime dateTime) {
+        return ChronoUnit.DAYS.between(EXCEL_EPOCH, dateTime.toLocalDate())
+                + dateTime.toLocalTime().toSecondOfDay() / 86_400.0;
+    }
+
+    private String workbook() {
+        StringBuilder xml = new StringBuilder(XML_DECL)
+                .append("<workbook xmlns=\"").append(MAIN_NS).append("\" xmlns:r=\"").append(REL_NS).append("\"><sheets>");
+        for (int i = 1; i <= sheets; i++) {
+            xml.append("<sheet name=\"Sheet").append(i).append("\" sheetId=\"").append(i)
+                    .append("\" r:id=\"rId").append(i).append("\"/>");
+        }
+        return xml.append("</sheets></workbook>").toString();
+    }
+
+    private String workbookRels() {
+        StringBuilder xml = new StringBuilder(XML_DECL).append("<Relationships xmlns=\"").append(PKG_REL_NS).append("\">");
+        for (int i = 1; i <= sheets; i++) {
+            xml.append("<Relationship Id=\"rId").append(i).append("\" Type=\"").append(REL_NS)
+                    .append("/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        }
+        xml.append("<Relationship Id=\"rId").append(sheets + 1).append("\" Type=\"").append(REL_NS)
+                .append("/styles\" Target=\"styles.xml\"/>");
+        return xml.append("</Relationships>").toString();
+    }
+
+    private String contentTypes() {
+        StringBuilder xml = new StringBuilder(XML_DECL)
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+                .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 1; i <= sheets; i++) {
+            xml.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        return xml.append("</Types>").toString();
+    }
+
+    private static final String STYLES = XML_DECL
+            + "<styleSheet xmlns=\"" + MAIN_NS + "\">"
+            + "<numFmts count=\"1\"><numFmt numFmtId=\"164\" formatCode=\"yyyy-mm-dd hh:mm:ss\"/></numFmts>"
+            + "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+            + "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+            + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+            + "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+            + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+            + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+            + "<cellXfs count=\"3\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+            + "<xf numFmtId=\"164\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+            + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/></cellXfs>"
+            + "</styleSheet>";
+}
@@ -0,0 +1,73 @@
+package fpt.project.NeoNHS.repository;
+
+import fpt.project.NeoNHS.entity.ActivityFeedEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ActivityFeedRepository extends JpaRepository<ActivityFeedEntry, UUID> {
+
+    List<ActivityFeedEntry> findAllByOrderByOccurredAtDescIdDesc(Pageable pageable);
+
+    List<ActivityFeedEntry> findByVendorIdOrderByOccurredAtDescIdDesc(UUID vendorId, Pageable pageable);
+
+    /** Next page after the cursor {@code (before, beforeId)}, newest first. */
+    @Query("SELECT a FROM ActivityFeedEntry a " +
+            "WHERE a.occurredAt < :before OR (a.occurredAt = :before AND a.id < :beforeId) " +
+            "ORDER BY a.occurredAt DESC, a.id DESC")
+    List<ActivityFeedEntry> findPageBefore(@Param("before") LocalDateTime before, @Param("beforeId") UUID beforeId,
+                                           Pageable pageable);
+
+    @Query("SELECT a FROM ActivityFeedEntry a " +
+            "WHERE a.vendorId = :vendorId " +
+            "AND (a.occurredAt < :before OR (a.occurredAt = :before AND a.id < :beforeId)) " +
+            "ORDER BY a.occurredAt DESC, a.id DESC")
+    List<ActivityFeedEntry> findVendorPageBefore(@Param("vendorId") UUID vendorId, @Param("before") LocalDateTime before,
+                                                 @Param("beforeId") UUID beforeId, Pageable pageable);
+
+    boolean existsBy();
+
+    // One-off backfill from the existing rows; INSERT IGNORE skips anything already written live
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO activity_feed (id, action, vendor_id, actor_name, source_id, target_name, occurred_at) " +
+            "SELECT UUID_TO_BIN(UUID()), 'CREATE_WORKSHOP', v.id, v.business_name, w.id, w.name, w.created_at " +
+            "FROM workshop_templates w JOIN vendor_profiles v ON v.id = w.vendor_id " +
+            "WHERE w.created_at IS NOT NULL", nativeQuery = true)
+    int backfillWorkshopsCreated();
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO activity_feed (id, action, vendor_id, actor_name, source_id, target_name, occurred_at) " +
+            "SELECT UUID_TO_BIN(UUID()), 'APPROVE_WORKSHOP', v.id, v.business_name, w.id, w.name, w.reviewed_at " +
+            "FROM workshop_templates w JOIN vendor_profiles v ON v.id = w.vendor_id " +
+            "WHERE w.reviewed_at IS NOT NULL AND w.status <> 'REJECTED'", nativeQuery = true)
+    int backfillWorkshopsApproved();
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO activity_feed (id, action, vendor_id, actor_name, source_id, target_name, occurred_at) " +
+            "SELECT UUID_TO_BIN(UUID()), 'CREATE_EVENT', NULL, :adminName, e.id, e.name, e.created_at " +
+            "FROM events e WHERE e.created_at IS NOT NULL", nativeQuery = true)
+    int backfillEventsCreated(@Param("adminName") String adminName);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO activity_feed (id, action, vendor_id, actor_name, source_id, target_name, occurred_at) " +
+            "SELECT UUID_TO_BIN(UUID()), 'SELL_TICKET', v.id, COALESCE(v.business_name, :adminName), t.order_detail_id, " +
+            "       COALESCE(w.name, e.name), MIN(t.created_at) " +
+            "FROM tickets t " +
+            "LEFT JOIN workshop_sessions s ON s.id = t.workshop_session_id " +
+            "LEFT JOIN workshop_templates w ON w.id = s.workshop_id " +
+            "LEFT JOIN vendor_profiles v ON v.id = w.vendor_id " +
+            "LEFT JOIN ticket_catalogs c ON c.id = t.ticket_catalog_id " +
+            "LEFT JOIN events e ON e.id = c.event_id " +
+            "WHERE t.order_detail_id IS NOT NULL AND t.created_at IS NOT NULL " +
+            "GROUP BY t.order_detail_id, v.id, v.business_name, w.name, e.name", nativeQuery = true)
+    int backfillTicketsSold(@Param("adminName") String adminName);
+}
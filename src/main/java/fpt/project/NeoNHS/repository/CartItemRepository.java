@@ -2,10 +2,41 @@ package fpt.project.NeoNHS.repository;
 
 import fpt.project.NeoNHS.entity.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem, UUID> {
+
+    /**
+     * Insert-or-update one line of a Redis cart, keeping the id the client already holds.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO cart_items (id, cart_id, ticket_catalog_id, workshop_session_id, quantity, created_at, updated_at)
+            VALUES (:id, :cartId, :ticketCatalogId, :workshopSessionId, :quantity, NOW(), NOW())
+            ON DUPLICATE KEY UPDATE quantity = VALUES(quantity), updated_at = NOW()
+            """, nativeQuery = true)
+    int upsertLine(@Param("id") UUID id,
+                   @Param("cartId") UUID cartId,
+                   @Param("ticketCatalogId") UUID ticketCatalogId,
+                   @Param("workshopSessionId") UUID workshopSessionId,
+                   @Param("quantity") int quantity);
+
+    @Query("SELECT DISTINCT ci.ticketCatalog.id FROM CartItem ci WHERE ci.id IN :ids AND ci.ticketCatalog IS NOT NULL")
+    List<UUID> findTicketCatalogIdsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.id = :cartId AND ci.id NOT IN :keepIds")
+    int deleteByCartIdAndIdNotIn(@Param("cartId") UUID cartId, @Param("keepIds") Collection<UUID> keepIds);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.id = :cartId")
+    int deleteAllByCartId(@Param("cartId") UUID cartId);
 }
@@ -2,7 +2,11 @@ package fpt.project.NeoNHS.repository;
 
 import fpt.project.NeoNHS.entity.Cart;
 import fpt.project.NeoNHS.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 import java.util.UUID;
@@ -10,4 +14,22 @@ import java.util.UUID;
 @Repository
 public interface CartRepository extends JpaRepository<Cart, UUID> {
     Optional<Cart> findByUser(User user);
+
+    /**
+     * Whole cart for the cart page in one query: items plus the catalog/event and
+     * session/template each line needs, so mapping never triggers a lazy load.
+     */
+    @EntityGraph(attributePaths = {
+            "cartItems",
+            "cartItems.ticketCatalog",
+            "cartItems.ticketCatalog.event",
+            "cartItems.workshopSession",
+            "cartItems.workshopSession.workshopTemplate"
+    })
+    @Query("SELECT c FROM Cart c WHERE c.user.email = :email")
+    Optional<Cart> findWithItemsByUserEmail(@Param("email") String email);
+
+    @Modifying
+    @Query("UPDATE Cart c SET c.totalItem = :totalItem WHERE c.id = :id")
+    int updateTotalItem(@Param("id") UUID id, @Param("totalItem") int totalItem);
 }
@@ -4,10 +4,13 @@ import fpt.project.NeoNHS.entity.Event;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -34,4 +37,44 @@ public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecific
   List<Event> findRecentCreated(Pageable pageable);
 
   List<Event> findAllByStatusInAndDeletedAtIsNull(java.util.Collection<fpt.project.NeoNHS.enums.EventStatus> statuses);
+
+  /**
+   * Atomically enroll participants into an event, refusing when maxParticipants would be exceeded.
+   *
+   * @return 1 if enrolled, 0 if the event is closed, over or full
+   */
+  @Modifying
+  @Query("""
+        UPDATE Event e
+        SET e.currentEnrolled = COALESCE(e.currentEnrolled, 0) + :quantity
+        WHERE e.id = :id
+          AND e.status NOT IN (fpt.project.NeoNHS.enums.EventStatus.CANCELLED, fpt.project.NeoNHS.enums.EventStatus.COMPLETED)
+          AND e.endTime > :now
+          AND (e.maxParticipants IS NULL OR COALESCE(e.currentEnrolled, 0) + :quantity <= e.maxParticipants)
+    """)
+  int enrollParticipants(@Param("id") UUID id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("""
+        UPDATE Event e
+        SET e.currentEnrolled = CASE
+                WHEN COALESCE(e.currentEnrolled, 0) >= :quantity THEN COALESCE(e.currentEnrolled, 0) - :quantity
+                ELSE 0 END
+        WHERE e.id = :id
+    """)
+  int releaseParticipants(@Param("id") UUID id, @Param("quantity") int quantity);
+
+  @Query("SELECT e.maxParticipants - COALESCE(e.currentEnrolled, 0) FROM Event e WHERE e.id = :id")
+  Integer findRemainingSlots(@Param("id") UUID id);
+
+  @Modifying
+  @Transactional
+  @Query("""
+        UPDATE Event e
+        SET e.currentEnrolled = CASE
+                WHEN COALESCE(e.currentEnrolled, 0) + :delta > 0 THEN COALESCE(e.currentEnrolled, 0) + :delta
+                ELSE 0 END
+        WHERE e.id = :id
+    """)
+  int adjustEnrolled(@Param("id") UUID id, @Param("delta") long delta);
 }
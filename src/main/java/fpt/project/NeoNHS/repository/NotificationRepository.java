@@ -5,8 +5,11 @@ import fpt.project.NeoNHS.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,4 +18,8 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     Page<Notification> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
 
     List<Notification> findByUserAndIsReadFalse(User user);
+
+    // Users and their push tokens in the same statement, for batched outbox delivery
+    @Query("SELECT DISTINCT n FROM Notification n JOIN FETCH n.user u LEFT JOIN FETCH u.deviceTokens WHERE n.id IN :ids")
+    List<Notification> findAllWithUserByIdIn(@Param("ids") Collection<UUID> ids);
 }
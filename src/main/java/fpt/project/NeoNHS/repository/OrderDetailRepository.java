@@ -1,15 +1,21 @@
 package fpt.project.NeoNHS.repository;
 
 import fpt.project.NeoNHS.entity.OrderDetail;
+import fpt.project.NeoNHS.repository.projection.RevenueDetailProjection;
+import fpt.project.NeoNHS.repository.projection.RevenueReportTotalsProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderDetailRepository extends JpaRepository<OrderDetail, UUID> {
@@ -18,98 +24,66 @@ public interface OrderDetailRepository extends JpaRepository<OrderDetail, UUID>
 
         boolean existsByTicketCatalog_EventId(UUID eventId);
 
-        // Lấy danh sách giao dịch chi tiết cho bảng
-        @Query("SELECT od FROM OrderDetail od " +
-                        "JOIN FETCH od.order o " +
-                        "LEFT JOIN FETCH od.workshopSession ws " +
-                        "LEFT JOIN FETCH ws.workshopTemplate wt " +
-                        "LEFT JOIN FETCH wt.vendor v " +
-                        "WHERE od.createdAt BETWEEN :start AND :end " +
-                        "ORDER BY od.createdAt DESC")
-        List<OrderDetail> findRevenueDetails(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
-
-        // Thống kê doanh thu theo từng Vendor (cho biểu đồ thanh)
-        @Query("SELECT COALESCE(v.businessName, 'Admin'), SUM(od.unitPrice * od.quantity) " +
+        /*
+         * Revenue report. KPIs are one aggregate over the window; the transaction table is read in
+         * keyset pages on (createdAt, id), newest first, as flat projections (no managed entities).
+         */
+
+        @Query("SELECT COUNT(od) AS transactions, " +
+                        "COALESCE(SUM(od.unitPrice * od.quantity), 0) AS gross, " +
+                        "COALESCE(SUM(CASE WHEN od.workshopSession IS NOT NULL THEN COALESCE(od.commissionAmount, 0) " +
+                        "                  ELSE od.unitPrice * od.quantity END), 0) AS adminEarnings, " +
+                        "COALESCE(SUM(CASE WHEN od.workshopSession IS NOT NULL " +
+                        "                  THEN COALESCE(od.netAmount, od.unitPrice * od.quantity) ELSE 0 END), 0) AS vendorPayouts " +
                         "FROM OrderDetail od " +
-                        "LEFT JOIN od.workshopSession ws " + // Dùng LEFT JOIN để không mất record Admin Event
-                        "LEFT JOIN ws.workshopTemplate wt " +
-                        "LEFT JOIN wt.vendor v " +
-                        "WHERE od.createdAt BETWEEN :start AND :end " +
-                        "GROUP BY v.businessName")
-        List<Object[]> getRevenueByVendor(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
-
-        @Query(value = "SELECT COALESCE(SUM(od.unit_price * od.quantity), 0) " +
-                        "FROM order_details od " +
-                        "JOIN workshop_sessions ws ON od.workshop_session_id = ws.id " +
-                        "JOIN workshop_templates wt ON ws.workshop_id = wt.id " +
-                        "JOIN orders o ON od.order_id = o.id " +
-                        "JOIN transactions t ON o.id = t.order_id " +
-                        "WHERE wt.vendor_id = :vendorId " +
-                        "AND t.status = 'SUCCESS' " +
-                        "AND od.created_at >= :start " +
-                        "AND od.created_at < :end", nativeQuery = true)
-        java.math.BigDecimal sumRevenueByVendorIdBetween(
-                        @Param("vendorId") UUID vendorId,
-                        @Param("start") LocalDateTime start,
+                        "WHERE od.createdAt BETWEEN :start AND :end")
+        RevenueReportTotalsProjection sumRevenueReport(@Param("start") LocalDateTime start,
                         @Param("end") LocalDateTime end);
 
-        @Query(value = "SELECT COALESCE(SUM(od.unit_price * od.quantity), 0) " +
-                        "FROM order_details od " +
-                        "JOIN workshop_sessions ws ON od.workshop_session_id = ws.id " +
-                        "JOIN workshop_templates wt ON ws.workshop_id = wt.id " +
-                        "JOIN orders o ON od.order_id = o.id " +
-                        "JOIN transactions t ON o.id = t.order_id " +
-                        "WHERE wt.vendor_id = :vendorId " +
-                        "AND t.status = 'SUCCESS'", nativeQuery = true)
-        java.math.BigDecimal sumTotalRevenueByVendorId(@Param("vendorId") UUID vendorId);
-
-        @Query(value = "SELECT DATE(od.created_at) as day, COALESCE(SUM(od.unit_price * od.quantity), 0) as revenue " +
-                        "FROM order_details od " +
-                        "JOIN workshop_sessions ws ON od.workshop_session_id = ws.id " +
-                        "JOIN workshop_templates wt ON ws.workshop_id = wt.id " +
-                        "JOIN orders o ON od.order_id = o.id " +
-                        "JOIN transactions t ON o.id = t.order_id " +
-                        "WHERE wt.vendor_id = :vendorId " +
-                        "AND t.status = 'SUCCESS' " +
-                        "AND od.created_at >= :start " +
-                        "AND od.created_at < :end " +
-                        "GROUP BY DATE(od.created_at) " +
-                        "ORDER BY day", nativeQuery = true)
-        List<Object[]> getDailyRevenueByVendorId(
-                        @Param("vendorId") UUID vendorId,
-                        @Param("start") LocalDateTime start,
-                        @Param("end") LocalDateTime end);
+        String REVENUE_DETAIL_SELECT = "SELECT od.id AS id, od.createdAt AS createdAt, od.unitPrice AS unitPrice, " +
+                        "od.quantity AS quantity, od.commissionAmount AS commissionAmount, od.netAmount AS netAmount, " +
+                        "ws.id AS workshopSessionId, v.businessName AS vendorName, wt.name AS workshopName, " +
+                        "e.name AS eventName " +
+                        "FROM OrderDetail od " +
+                        "LEFT JOIN od.workshopSession ws " +
+                        "LEFT JOIN ws.workshopTemplate wt " +
+                        "LEFT JOIN wt.vendor v " +
+                        "LEFT JOIN od.ticketCatalog tc " +
+                        "LEFT JOIN tc.event e " +
+                        "WHERE od.createdAt BETWEEN :start AND :end ";
+
+        String REVENUE_DETAIL_ORDER = "ORDER BY od.createdAt DESC, od.id DESC";
+
+        @Query(REVENUE_DETAIL_SELECT + REVENUE_DETAIL_ORDER)
+        List<RevenueDetailProjection> findRevenueDetails(@Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end, Pageable pageable);
+
+        @Query(REVENUE_DETAIL_SELECT +
+                        "AND (od.createdAt < :before OR (od.createdAt = :before AND od.id < :beforeId)) " +
+                        REVENUE_DETAIL_ORDER)
+        List<RevenueDetailProjection> findRevenueDetailsBefore(@Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end, @Param("before") LocalDateTime before,
+                        @Param("beforeId") UUID beforeId, Pageable pageable);
+
+        /*
+         * Exports read the whole window forward-only: MySQL streams rows instead of buffering the
+         * result set, and projections keep the persistence context empty. Consume inside a
+         * read-only transaction and close the stream.
+         */
 
-        @Query(value = "SELECT DATE_FORMAT(od.created_at, '%Y-%m') as month, COALESCE(SUM(od.unit_price * od.quantity), 0) as revenue "
-                        +
-                        "FROM order_details od " +
-                        "JOIN workshop_sessions ws ON od.workshop_session_id = ws.id " +
-                        "JOIN workshop_templates wt ON ws.workshop_id = wt.id " +
-                        "JOIN orders o ON od.order_id = o.id " +
-                        "JOIN transactions t ON o.id = t.order_id " +
-                        "WHERE wt.vendor_id = :vendorId " +
-                        "AND t.status = 'SUCCESS' " +
-                        "AND od.created_at >= :start " +
-                        "AND od.created_at < :end " +
-                        "GROUP BY DATE_FORMAT(od.created_at, '%Y-%m') " +
-                        "ORDER BY month", nativeQuery = true)
-        List<Object[]> getMonthlyRevenueByVendorId(
-                        @Param("vendorId") UUID vendorId,
-                        @Param("start") LocalDateTime start,
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+        @Query(REVENUE_DETAIL_SELECT + REVENUE_DETAIL_ORDER)
+        Stream<RevenueDetailProjection> streamRevenueDetails(@Param("start") LocalDateTime start,
                         @Param("end") LocalDateTime end);
 
-        @Query(value = "SELECT COALESCE(SUM(od.unit_price * od.quantity), 0) " +
-                        "FROM order_details od " +
-                        "WHERE od.created_at BETWEEN :start AND :end", nativeQuery = true)
-        BigDecimal sumRevenueBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
-
-        @Query(value = "SELECT DATE_FORMAT(od.created_at, '%Y-%m-%d') as day, SUM(od.unit_price * od.quantity) as revenue, COUNT(*) as count "
-                        +
-                        "FROM order_details od " +
-                        "WHERE od.created_at BETWEEN :start AND :end " +
-                        "GROUP BY day " +
-                        "ORDER BY day", nativeQuery = true)
-        List<Object[]> getGlobalDailyRevenue(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+        /** Vendor lines of paid orders only, like the rollups and the session payout. */
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+        @Query(REVENUE_DETAIL_SELECT + "AND v.id = :vendorId " +
+                        "AND EXISTS (SELECT t.id FROM Transaction t WHERE t.order = od.order " +
+                        "AND t.status = fpt.project.NeoNHS.enums.TransactionStatus.SUCCESS) " +
+                        REVENUE_DETAIL_ORDER)
+        Stream<RevenueDetailProjection> streamVendorRevenueDetails(@Param("vendorId") UUID vendorId,
+                        @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
         /**
          * Lấy tất cả OrderDetail của một WorkshopSession
@@ -123,61 +97,7 @@ public interface OrderDetailRepository extends JpaRepository<OrderDetail, UUID>
                         "AND t.status = fpt.project.NeoNHS.enums.TransactionStatus.SUCCESS")
         List<OrderDetail> findPaidDetailsByWorkshopSessionId(@Param("sessionId") UUID sessionId);
 
-        /**
-         * Tính tổng netAmount cho vendor (tiền vendor thực nhận sau commission)
-         * Chỉ tính từ workshop sessions (có netAmount)
-         */
-        @Query(value = "SELECT COALESCE(SUM(od.net_amount), 0) " +
-                        "FROM order_details od " +
-                        "JOIN workshop_sessions ws ON od.workshop_session_id = ws.id " +
-                        "JOIN workshop_templates wt ON ws.workshop_id = wt.id " +
-                        "JOIN orders o ON od.order_id = o.id " +
-                        "JOIN transactions t ON o.id = t.order_id " +
-                        "WHERE wt.vendor_id = :vendorId " +
-                        "AND t.status = 'SUCCESS' " +
-                        "AND od.net_amount IS NOT NULL", nativeQuery = true)
-        java.math.BigDecimal sumTotalNetAmountByVendorId(@Param("vendorId") UUID vendorId);
-
-        /**
-         * Lấy daily netAmount (tiền vendor nhận) cho vendor
-         */
-        @Query(value = "SELECT DATE(od.created_at) as day, COALESCE(SUM(od.net_amount), 0) as netAmount " +
-                        "FROM order_details od " +
-                        "JOIN workshop_sessions ws ON od.workshop_session_id = ws.id " +
-                        "JOIN workshop_templates wt ON ws.workshop_id = wt.id " +
-                        "JOIN orders o ON od.order_id = o.id " +
-                        "JOIN transactions t ON o.id = t.order_id " +
-                        "WHERE wt.vendor_id = :vendorId " +
-                        "AND t.status = 'SUCCESS' " +
-                        "AND od.created_at >= :start " +
-                        "AND od.created_at < :end " +
-                        "AND od.net_amount IS NOT NULL " +
-                        "GROUP BY DATE(od.created_at) " +
-                        "ORDER BY day", nativeQuery = true)
-        List<Object[]> getDailyNetAmountByVendorId(
-                        @Param("vendorId") UUID vendorId,
-                        @Param("start") LocalDateTime start,
-                        @Param("end") LocalDateTime end);
-
-        /**
-         * Lấy monthly netAmount (tiền vendor nhận) cho vendor
-         */
-        @Query(value = "SELECT DATE_FORMAT(od.created_at, '%Y-%m') as month, COALESCE(SUM(od.net_amount), 0) as netAmount "
-                        +
-                        "FROM order_details od " +
-                        "JOIN workshop_sessions ws ON od.workshop_session_id = ws.id " +
-                        "JOIN workshop_templates wt ON ws.workshop_id = wt.id " +
-                        "JOIN orders o ON od.order_id = o.id " +
-                        "JOIN transactions t ON o.id = t.order_id " +
-                        "WHERE wt.vendor_id = :vendorId " +
-                        "AND t.status = 'SUCCESS' " +
-                        "AND od.created_at >= :start " +
-                        "AND od.created_at < :end " +
-                        "AND od.net_amount IS NOT NULL " +
-                        "GROUP BY DATE_FORMAT(od.created_at, '%Y-%m') " +
-                        "ORDER BY month", nativeQuery = true)
-        List<Object[]> getMonthlyNetAmountByVendorId(
-                        @Param("vendorId") UUID vendorId,
-                        @Param("start") LocalDateTime start,
-                        @Param("end") LocalDateTime end);
+        /** Number of tickets an order issues, one per purchased seat. */
+        @Query("SELECT COALESCE(SUM(od.quantity), 0) FROM OrderDetail od WHERE od.order.id = :orderId")
+        int sumQuantityByOrderId(@Param("orderId") UUID orderId);
 }
@@ -0,0 +1,83 @@
+package fpt.project.NeoNHS.repository;
+
+import fpt.project.NeoNHS.entity.OrderRollup;
+import fpt.project.NeoNHS.entity.OrderRollupId;
+import fpt.project.NeoNHS.enums.RollupGranularity;
+import fpt.project.NeoNHS.repository.projection.PaidOrderBucketProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OrderRollupRepository extends JpaRepository<OrderRollup, OrderRollupId> {
+
+    /** Adds the selected orders to their HOUR and DAY buckets; the signs say which counters move. */
+    String UPSERT_ORDERS = "INSERT INTO order_rollups " +
+            "(granularity, bucket_start, paid_orders, paid_amount, failed_orders, updated_at) " +
+            "SELECT g.granularity, " +
+            "       TIMESTAMP(DATE(o.created_at), MAKETIME(IF(g.granularity = 'HOUR', HOUR(o.created_at), 0), 0, 0)), " +
+            "       :paidSign * COUNT(*), :paidSign * COALESCE(SUM(o.final_amount), 0), :failedSign * COUNT(*), :now " +
+            "FROM orders o " +
+            "CROSS JOIN (SELECT 'HOUR' AS granularity UNION ALL SELECT 'DAY') g ";
+
+    String UPSERT_ORDERS_GROUP = "GROUP BY 1, 2 " +
+            "ON DUPLICATE KEY UPDATE paid_orders = paid_orders + VALUES(paid_orders), " +
+            "paid_amount = paid_amount + VALUES(paid_amount), failed_orders = failed_orders + VALUES(failed_orders), " +
+            "updated_at = VALUES(updated_at)";
+
+    @Modifying
+    @Query(value = UPSERT_ORDERS + "WHERE o.id IN :orderIds " + UPSERT_ORDERS_GROUP, nativeQuery = true)
+    int addOrders(@Param("orderIds") Collection<UUID> orderIds, @Param("paidSign") int paidSign,
+                  @Param("failedSign") int failedSign, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = UPSERT_ORDERS +
+            "WHERE o.created_at >= :from AND o.created_at < :to " +
+            "AND EXISTS (SELECT 1 FROM transactions t WHERE t.order_id = o.id AND t.status = 'SUCCESS') " +
+            UPSERT_ORDERS_GROUP, nativeQuery = true)
+    int addPaidOrdersBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                             @Param("paidSign") int paidSign, @Param("failedSign") int failedSign,
+                             @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = UPSERT_ORDERS +
+            "WHERE o.created_at >= :from AND o.created_at < :to " +
+            "AND EXISTS (SELECT 1 FROM transactions t WHERE t.order_id = o.id AND t.status = 'FAILED') " +
+            "AND NOT EXISTS (SELECT 1 FROM transactions t WHERE t.order_id = o.id AND t.status = 'SUCCESS') " +
+            UPSERT_ORDERS_GROUP, nativeQuery = true)
+    int addFailedOrdersBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                               @Param("paidSign") int paidSign, @Param("failedSign") int failedSign,
+                               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_rollups WHERE bucket_start >= :from AND bucket_start < :to", nativeQuery = true)
+    int deleteBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    List<OrderRollup> findByGranularityAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+            RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Paid revenue (rounded to whole VND) and orders of {@code [from, to)} per chart bucket, see
+     * {@code DashboardTrends}; {@code fromPeriod} is the first month as {@code YYYYMM}.
+     */
+    @Query(value = "SELECT PERIOD_DIFF(DATE_FORMAT(r.bucket_start, '%Y%m'), :fromPeriod) * :monthWidth " +
+            "       + IF(:monthWidth > 1, FLOOR((DAYOFMONTH(r.bucket_start) - 1) / 7), 0) AS bucket, " +
+            "       ROUND(COALESCE(SUM(r.paid_amount), 0)) AS revenue, COALESCE(SUM(r.paid_orders), 0) AS orders " +
+            "FROM order_rollups r " +
+            "WHERE r.granularity = 'DAY' AND r.bucket_start >= :from AND r.bucket_start < :to " +
+            "GROUP BY bucket", nativeQuery = true)
+    List<PaidOrderBucketProjection> sumPaidByBucket(@Param("fromPeriod") int fromPeriod, @Param("monthWidth") int monthWidth,
+                                                  @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT COALESCE(SUM(r.paidAmount), 0) FROM OrderRollup r " +
+            "WHERE r.granularity = fpt.project.NeoNHS.enums.RollupGranularity.DAY")
+    BigDecimal sumPaidAmount();
+}
@@ -0,0 +1,13 @@
+package fpt.project.NeoNHS.repository;
+
+import fpt.project.NeoNHS.entity.OrderVoucher;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface OrderVoucherRepository extends JpaRepository<OrderVoucher, UUID> {
+
+    boolean existsByOrder_Id(UUID orderId);
+}
@@ -0,0 +1,45 @@
+package fpt.project.NeoNHS.repository;
+
+import fpt.project.NeoNHS.entity.OutboxEvent;
+import fpt.project.NeoNHS.enums.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = :status AND e.nextAttemptAt <= :now " +
+            "ORDER BY e.nextAttemptAt, e.createdAt")
+    List<OutboxEvent> findDue(@Param("status") OutboxStatus status, @Param("now") LocalDateTime now,
+                              Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.sentAt = :now, e.attempts = e.attempts + 1, " +
+            "e.lastError = NULL WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("status") OutboxStatus status,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.attempts = e.attempts + 1, " +
+            "e.nextAttemptAt = :nextAttemptAt, e.lastError = :error WHERE e.id = :id")
+    int markAttemptFailed(@Param("id") UUID id, @Param("status") OutboxStatus status,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM outbox_events WHERE status = 'SENT' AND created_at < :cutoff LIMIT :limit",
+            nativeQuery = true)
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
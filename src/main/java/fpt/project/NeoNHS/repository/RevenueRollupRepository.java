@@ -0,0 +1,105 @@
+package fpt.project.NeoNHS.repository;
+
+import fpt.project.NeoNHS.entity.RevenueRollup;
+import fpt.project.NeoNHS.entity.RevenueRollupId;
+import fpt.project.NeoNHS.enums.RollupGranularity;
+import fpt.project.NeoNHS.repository.projection.ProductTypeRevenueProjection;
+import fpt.project.NeoNHS.repository.projection.RevenueBucketProjection;
+import fpt.project.NeoNHS.repository.projection.VendorRevenueProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, RevenueRollupId> {
+
+    /**
+     * One row per (HOUR|DAY bucket, vendor, product type) of the selected orders' lines,
+     * added onto the existing rollup rows; {@code :sign} -1 takes an order back out.
+     */
+    String UPSERT_LINES = "INSERT INTO revenue_rollups " +
+            "(granularity, bucket_start, vendor_id, product_type, gross_revenue, tickets, commission, net_amount, updated_at) " +
+            "SELECT g.granularity, " +
+            "       TIMESTAMP(DATE(o.created_at), MAKETIME(IF(g.granularity = 'HOUR', HOUR(o.created_at), 0), 0, 0)), " +
+            "       COALESCE(wt.vendor_id, :platformVendorId), " +
+            "       IF(od.ticket_catalog_id IS NOT NULL, 'EVENT', 'WORKSHOP'), " +
+            "       :sign * SUM(od.unit_price * od.quantity), " +
+            "       :sign * SUM(od.quantity), " +
+            "       :sign * SUM(COALESCE(od.commission_amount, 0)), " +
+            "       :sign * SUM(COALESCE(od.net_amount, 0)), " +
+            "       :now " +
+            "FROM orders o " +
+            "JOIN order_details od ON od.order_id = o.id " +
+            "LEFT JOIN workshop_sessions ws ON od.workshop_session_id = ws.id " +
+            "LEFT JOIN workshop_templates wt ON ws.workshop_id = wt.id " +
+            "CROSS JOIN (SELECT 'HOUR' AS granularity UNION ALL SELECT 'DAY') g ";
+
+    String UPSERT_LINES_GROUP = "GROUP BY 1, 2, 3, 4 " +
+            "ON DUPLICATE KEY UPDATE gross_revenue = gross_revenue + VALUES(gross_revenue), " +
+            "tickets = tickets + VALUES(tickets), commission = commission + VALUES(commission), " +
+            "net_amount = net_amount + VALUES(net_amount), updated_at = VALUES(updated_at)";
+
+    @Modifying
+    @Query(value = UPSERT_LINES + "WHERE o.id = :orderId " + UPSERT_LINES_GROUP, nativeQuery = true)
+    int addOrder(@Param("orderId") UUID orderId, @Param("sign") int sign,
+                 @Param("platformVendorId") UUID platformVendorId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = UPSERT_LINES +
+            "WHERE o.created_at >= :from AND o.created_at < :to " +
+            "AND EXISTS (SELECT 1 FROM transactions t WHERE t.order_id = o.id AND t.status = 'SUCCESS') " +
+            UPSERT_LINES_GROUP, nativeQuery = true)
+    int addPaidOrdersBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("sign") int sign,
+                             @Param("platformVendorId") UUID platformVendorId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM revenue_rollups WHERE bucket_start >= :from AND bucket_start < :to", nativeQuery = true)
+    int deleteBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    boolean existsByGranularity(RollupGranularity granularity);
+
+    @Query("SELECT r.bucketStart AS bucketStart, SUM(r.grossRevenue) AS revenue, SUM(r.tickets) AS tickets, " +
+            "SUM(r.commission) AS commission, SUM(r.netAmount) AS netAmount " +
+            "FROM RevenueRollup r " +
+            "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to " +
+            "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<RevenueBucketProjection> findSeries(@Param("granularity") RollupGranularity granularity,
+                                             @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT r.bucketStart AS bucketStart, SUM(r.grossRevenue) AS revenue, SUM(r.tickets) AS tickets, " +
+            "SUM(r.commission) AS commission, SUM(r.netAmount) AS netAmount " +
+            "FROM RevenueRollup r " +
+            "WHERE r.vendorId = :vendorId AND r.granularity = :granularity " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+            "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<RevenueBucketProjection> findVendorSeries(@Param("vendorId") UUID vendorId,
+                                                   @Param("granularity") RollupGranularity granularity,
+                                                   @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT COALESCE(SUM(r.grossRevenue), 0) FROM RevenueRollup r " +
+            "WHERE r.vendorId = :vendorId AND r.granularity = fpt.project.NeoNHS.enums.RollupGranularity.DAY")
+    BigDecimal sumVendorRevenue(@Param("vendorId") UUID vendorId);
+
+    @Query("SELECT COALESCE(SUM(r.grossRevenue), 0) FROM RevenueRollup r " +
+            "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to")
+    BigDecimal sumRevenue(@Param("granularity") RollupGranularity granularity,
+                          @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT r.vendorId AS vendorId, SUM(r.grossRevenue) AS revenue FROM RevenueRollup r " +
+            "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to " +
+            "GROUP BY r.vendorId")
+    List<VendorRevenueProjection> sumRevenueByVendor(@Param("granularity") RollupGranularity granularity,
+                                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT r.productType AS productType, SUM(r.tickets) AS tickets, SUM(r.grossRevenue) AS revenue " +
+            "FROM RevenueRollup r WHERE r.granularity = fpt.project.NeoNHS.enums.RollupGranularity.DAY " +
+            "GROUP BY r.productType")
+    List<ProductTypeRevenueProjection> sumByProductType();
+}
@@ -1,9 +1,16 @@
 package fpt.project.NeoNHS.repository;
 
 import fpt.project.NeoNHS.entity.TicketCatalog;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,4 +23,87 @@ public interface TicketCatalogRepository extends JpaRepository<TicketCatalog, UU
     List<TicketCatalog> findByEventIdAndDeletedAtIsNull(UUID eventId);
 
     Optional<TicketCatalog> findByEventIdAndId(UUID eventId, UUID id);
+
+    /**
+     * Atomically reserve seats on a catalog. The quota check and the increment happen in one
+     * conditional UPDATE, so concurrent checkouts can never push soldQuantity past totalQuota.
+     * The status assignment comes first because MySQL evaluates single-table SET clauses left to right.
+     *
+     * @return 1 if the seats were reserved, 0 if the catalog is not on sale or has too few seats left
+     */
+    @Modifying
+    @Query("""
+            UPDATE TicketCatalog tc
+            SET tc.status = CASE
+                    WHEN tc.totalQuota IS NOT NULL AND COALESCE(tc.soldQuantity, 0) + :quantity >= tc.totalQuota
+                    THEN fpt.project.NeoNHS.enums.TicketCatalogStatus.SOLD_OUT
+                    ELSE tc.status END,
+                tc.soldQuantity = COALESCE(tc.soldQuantity, 0) + :quantity
+            WHERE tc.id = :id
+              AND tc.deletedAt IS NULL
+              AND tc.status = fpt.project.NeoNHS.enums.TicketCatalogStatus.ACTIVE
+              AND (tc.validFromDate IS NULL OR tc.validFromDate <= :now)
+              AND (tc.validToDate IS NULL OR tc.validToDate >= :now)
+              AND (tc.totalQuota IS NULL OR COALESCE(tc.soldQuantity, 0) + :quantity <= tc.totalQuota)
+        """)
+    int reserveSeats(@Param("id") UUID id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    /**
+     * Atomically give seats back to a catalog, re-opening it if it was marked SOLD_OUT.
+     */
+    @Modifying
+    @Query("""
+            UPDATE TicketCatalog tc
+            SET tc.status = CASE
+                    WHEN tc.status = fpt.project.NeoNHS.enums.TicketCatalogStatus.SOLD_OUT
+                         AND (tc.totalQuota IS NULL OR COALESCE(tc.soldQuantity, 0) - :quantity < tc.totalQuota)
+                    THEN fpt.project.NeoNHS.enums.TicketCatalogStatus.ACTIVE
+                    ELSE tc.status END,
+                tc.soldQuantity = CASE
+                    WHEN COALESCE(tc.soldQuantity, 0) >= :quantity THEN COALESCE(tc.soldQuantity, 0) - :quantity
+                    ELSE 0 END
+            WHERE tc.id = :id
+        """)
+    int releaseSeats(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    /**
+     * Fresh read of the remaining seats, bypassing the persistence context.
+     * Returns null when the catalog has no quota.
+     */
+    @Query("SELECT tc.totalQuota - COALESCE(tc.soldQuantity, 0) FROM TicketCatalog tc WHERE tc.id = :id")
+    Integer findRemainingSeats(@Param("id") UUID id);
+
+    /**
+     * Write-behind for hot inventory: apply a delta already enforced by Redis, keeping status in sync.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE TicketCatalog tc
+            SET tc.status = CASE
+                    WHEN tc.status = fpt.project.NeoNHS.enums.TicketCatalogStatus.ACTIVE
+                         AND tc.totalQuota IS NOT NULL AND COALESCE(tc.soldQuantity, 0) + :delta >= tc.totalQuota
+                    THEN fpt.project.NeoNHS.enums.TicketCatalogStatus.SOLD_OUT
+                    WHEN tc.status = fpt.project.NeoNHS.enums.TicketCatalogStatus.SOLD_OUT
+                         AND (tc.totalQuota IS NULL OR COALESCE(tc.soldQuantity, 0) + :delta < tc.totalQuota)
+                    THEN fpt.project.NeoNHS.enums.TicketCatalogStatus.ACTIVE
+                    ELSE tc.status END,
+                tc.soldQuantity = CASE
+                    WHEN COALESCE(tc.soldQuantity, 0) + :delta > 0 THEN COALESCE(tc.soldQuantity, 0) + :delta
+                    ELSE 0 END
+            WHERE tc.id = :id
+        """)
+    int adjustSoldQuantity(@Param("id") UUID id, @Param("delta") long delta);
+
+    /**
+     * Catalogs of a Redis cart with their event, in one query.
+     */
+    @EntityGraph(attributePaths = "event")
+    List<TicketCatalog> findAllWithEventByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT tc.id FROM TicketCatalog tc WHERE tc.waitingRoom = true AND tc.deletedAt IS NULL")
+    List<UUID> findWaitingRoomCatalogIds();
+
+    @Query("SELECT tc.id FROM TicketCatalog tc WHERE tc.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,19 @@
+package fpt.project.NeoNHS.repository;
+
+import fpt.project.NeoNHS.entity.TicketCodeSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TicketCodeSequenceRepository extends JpaRepository<TicketCodeSequence, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TicketCodeSequence s WHERE s.id = :id")
+    Optional<TicketCodeSequence> findForUpdate(@Param("id") Integer id);
+}
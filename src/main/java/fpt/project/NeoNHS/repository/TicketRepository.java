@@ -2,17 +2,26 @@ package fpt.project.NeoNHS.repository;
 
 import fpt.project.NeoNHS.entity.Ticket;
 import fpt.project.NeoNHS.enums.TicketStatus;
+import fpt.project.NeoNHS.repository.projection.TicketCodeStatusProjection;
+import fpt.project.NeoNHS.repository.projection.TicketExpiryKeyProjection;
+import fpt.project.NeoNHS.repository.projection.TicketManifestProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, UUID> {
@@ -30,14 +39,110 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
     """)
     List<Ticket> findRecentSold(Pageable pageable);
 
+    /*
+     * Expiry sweep, in keyset order over idx_tickets_status_expiry (InnoDB appends the id to it).
+     */
+
+    @Query("""
+        SELECT t.id AS id, t.expiryDate AS expiryDate FROM Ticket t
+        WHERE t.status = :activeStatus AND t.expiryDate < :now
+        ORDER BY t.expiryDate, t.id
+    """)
+    List<TicketExpiryKeyProjection> findExpiredKeys(
+            @Param("activeStatus") TicketStatus activeStatus,
+            @Param("now") LocalDateTime now,
+            Pageable pageable
+    );
+
+    @Query("""
+        SELECT t.id AS id, t.expiryDate AS expiryDate FROM Ticket t
+        WHERE t.status = :activeStatus AND t.expiryDate < :now
+          AND (t.expiryDate > :lastExpiry OR (t.expiryDate = :lastExpiry AND t.id > :lastId))
+        ORDER BY t.expiryDate, t.id
+    """)
+    List<TicketExpiryKeyProjection> findExpiredKeysAfter(
+            @Param("activeStatus") TicketStatus activeStatus,
+            @Param("now") LocalDateTime now,
+            @Param("lastExpiry") LocalDateTime lastExpiry,
+            @Param("lastId") UUID lastId,
+            Pageable pageable
+    );
+
     @Modifying
-    @Query("UPDATE Ticket t SET t.status = :expiredStatus WHERE t.status = :activeStatus AND t.expiryDate < :now")
-    int updateExpiredTickets(
+    @Transactional
+    @Query("UPDATE Ticket t SET t.status = :expiredStatus, t.updatedAt = :now WHERE t.id IN :ids AND t.status = :activeStatus")
+    int expireByIds(
+            @Param("ids") Collection<UUID> ids,
             @Param("expiredStatus") TicketStatus expiredStatus,
             @Param("activeStatus") TicketStatus activeStatus,
             @Param("now") LocalDateTime now
     );
 
+    @Query("SELECT t.ticketCode AS ticketCode, t.status AS status FROM Ticket t WHERE t.ticketCode IN :codes")
+    List<TicketCodeStatusProjection> findStatusesByTicketCodeIn(@Param("codes") Collection<String> codes);
+
+    /**
+     * Set-based check-in of scans synced by gate scanners; never redeems a USED ticket twice.
+     */
+    @Modifying
+    @Query("""
+        UPDATE Ticket t SET t.status = :usedStatus, t.redeemedAt = :redeemedAt, t.updatedAt = :now
+        WHERE t.ticketCode IN :codes AND t.status IN :redeemable
+    """)
+    int redeemByTicketCodes(
+            @Param("codes") Collection<String> codes,
+            @Param("usedStatus") TicketStatus usedStatus,
+            @Param("redeemable") Collection<TicketStatus> redeemable,
+            @Param("redeemedAt") LocalDateTime redeemedAt,
+            @Param("now") LocalDateTime now
+    );
+
+    /*
+     * Gate manifests. Full downloads list the ACTIVE tickets of a scope; deltas list every ticket
+     * of the scope touched since the cursor (bulk updates above keep updatedAt current), so the
+     * device can drop used, expired and deleted codes. Rows are streamed from MySQL, not buffered.
+     */
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+        SELECT t.ticketCode AS ticketCode, t.status AS status, t.deletedAt AS deletedAt
+        FROM Ticket t
+        WHERE t.workshopSession.id = :sessionId AND t.status = :status AND t.deletedAt IS NULL
+          AND (t.expiryDate IS NULL OR t.expiryDate >= :now)
+    """)
+    Stream<TicketManifestProjection> streamSessionManifest(@Param("sessionId") UUID sessionId,
+                                                           @Param("status") TicketStatus status,
+                                                           @Param("now") LocalDateTime now);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+        SELECT t.ticketCode AS ticketCode, t.status AS status, t.deletedAt AS deletedAt
+        FROM Ticket t
+        WHERE t.workshopSession.id = :sessionId AND t.updatedAt >= :since
+    """)
+    Stream<TicketManifestProjection> streamSessionManifestDelta(@Param("sessionId") UUID sessionId,
+                                                                @Param("since") LocalDateTime since);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+        SELECT t.ticketCode AS ticketCode, t.status AS status, t.deletedAt AS deletedAt
+        FROM Ticket t JOIN t.ticketCatalog tc
+        WHERE tc.event.id = :eventId AND t.status = :status AND t.deletedAt IS NULL
+          AND (t.expiryDate IS NULL OR t.expiryDate >= :now)
+    """)
+    Stream<TicketManifestProjection> streamEventManifest(@Param("eventId") UUID eventId,
+                                                         @Param("status") TicketStatus status,
+                                                         @Param("now") LocalDateTime now);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+        SELECT t.ticketCode AS ticketCode, t.status AS status, t.deletedAt AS deletedAt
+        FROM Ticket t JOIN t.ticketCatalog tc
+        WHERE tc.event.id = :eventId AND t.updatedAt >= :since
+    """)
+    Stream<TicketManifestProjection> streamEventManifestDelta(@Param("eventId") UUID eventId,
+                                                              @Param("since") LocalDateTime since);
+
     @Query("""
         SELECT COUNT(t) > 0 FROM Ticket t
         JOIN t.orderDetail od
@@ -1,14 +1,18 @@
 package fpt.project.NeoNHS.repository;
 
 import fpt.project.NeoNHS.entity.Transaction;
+import fpt.project.NeoNHS.enums.TransactionStatus;
+import fpt.project.NeoNHS.repository.projection.TransactionHoldProjection;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,7 +25,9 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>,
 
   org.springframework.data.domain.Page<Transaction> findAll(Specification<Transaction> spec, Pageable pageable);
 
-  Optional<Transaction> findByPaymentGateway(String paymentGateway);
+  Optional<Transaction> findFirstByPaymentGatewayOrderByCreatedAtDesc(String paymentGateway);
+
+  Optional<Transaction> findByOrderCode(Long orderCode);
 
   List<Transaction> findByStatusAndTransactionDateBefore(fpt.project.NeoNHS.enums.TransactionStatus status, java.time.LocalDateTime dateTime);
 
@@ -55,4 +61,38 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>,
           "WHERE wt.vendor_id = :vendorId AND t.status = 'SUCCESS' " +
           "ORDER BY t.created_at DESC", nativeQuery = true)
   List<Object[]> findRecentTransactionsWithTicketsByVendorIdNative(@Param("vendorId") UUID vendorId, Pageable pageable);
+
+  /**
+   * Ids and creation time of all transactions in a status, used to rebuild the hold queue on startup.
+   */
+  @Query("SELECT t.id AS id, t.transactionDate AS transactionDate FROM Transaction t WHERE t.status = :status")
+  List<TransactionHoldProjection> findHoldsByStatus(@Param("status") TransactionStatus status);
+
+  @Query("""
+          SELECT t.id FROM Transaction t
+          WHERE t.status = :status AND t.transactionDate < :cutoff
+          ORDER BY t.transactionDate ASC
+      """)
+  List<UUID> findIdsByStatusAndTransactionDateBefore(
+          @Param("status") TransactionStatus status,
+          @Param("cutoff") LocalDateTime cutoff,
+          Pageable pageable);
+
+  @Query("""
+          SELECT DISTINCT t FROM Transaction t
+          JOIN FETCH t.order o
+          LEFT JOIN FETCH o.orderDetails od
+          LEFT JOIN FETCH od.ticketCatalog
+          LEFT JOIN FETCH od.workshopSession
+          WHERE t.id IN :ids
+      """)
+  List<Transaction> findAllWithOrderDetailsByIdIn(@Param("ids") List<UUID> ids);
+
+  /**
+   * Compare-and-set on the status so a hold is released, and a payment settled, at most once even when
+   * the two race.
+   */
+  @Modifying
+  @Query("UPDATE Transaction t SET t.status = :to WHERE t.id = :id AND t.status = :from")
+  int transitionStatus(@Param("id") UUID id, @Param("from") TransactionStatus from, @Param("to") TransactionStatus to);
 }
@@ -2,6 +2,7 @@ package fpt.project.NeoNHS.repository;
 
 import fpt.project.NeoNHS.entity.User;
 import fpt.project.NeoNHS.enums.UserRole;
+import fpt.project.NeoNHS.repository.projection.RegistrationBucketProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -29,16 +30,6 @@ public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificat
                         "FROM users GROUP BY period ORDER BY period DESC LIMIT :limit", nativeQuery = true)
         List<Map<String, Object>> getMonthlyRegistrationStats(@Param("limit") Integer limit);
 
-        @Query(value = "SELECT DATE_FORMAT(created_at, '%Y-%m') as period, COUNT(*) as count " +
-                        "FROM users " +
-                        "WHERE role = 'TOURIST' " +
-                        "  AND created_at >= :start " +
-                        "  AND created_at < :end " +
-                        "GROUP BY period", nativeQuery = true)
-        List<Map<String, Object>> getMonthlyTouristRegistrationStatsBetween(
-                        @Param("start") LocalDateTime start,
-                        @Param("end") LocalDateTime end);
-
         @Query(value = "SELECT DATE_FORMAT(created_at, '%Y-Week %u') as period, COUNT(*) as count " +
                         "FROM users " +
                         "WHERE role = 'TOURIST' " +
@@ -49,15 +40,26 @@ public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificat
                         @Param("start") LocalDateTime start,
                         @Param("end") LocalDateTime end);
 
-        @Query(value = "SELECT CONCAT(DATE_FORMAT(created_at, '%Y-%m'), '-W', (FLOOR((DAYOFMONTH(created_at) - 1) / 7) + 1)) as period, "
-                        +
-                        "COUNT(*) as count " +
-                        "FROM users " +
-                        "WHERE role = 'TOURIST' " +
-                        "  AND created_at >= :start " +
-                        "  AND created_at < :end " +
-                        "GROUP BY period", nativeQuery = true)
-        List<Map<String, Object>> getMonthWeekTouristRegistrationStatsBetween(
+        /**
+         * Tourist and vendor sign-ups of {@code [start, end)} per chart bucket in one pass, see
+         * {@code DashboardTrends}; {@code fromPeriod} is the first month as {@code YYYYMM}.
+         */
+        @Query(value = "SELECT PERIOD_DIFF(DATE_FORMAT(u.created_at, '%Y%m'), :fromPeriod) * :monthWidth " +
+                        "       + IF(:monthWidth > 1, FLOOR((DAYOFMONTH(u.created_at) - 1) / 7), 0) AS bucket, " +
+                        "       0 AS kind, COUNT(*) AS count " +
+                        "FROM users u " +
+                        "WHERE u.role = 'TOURIST' AND u.created_at >= :start AND u.created_at < :end " +
+                        "GROUP BY bucket " +
+                        "UNION ALL " +
+                        "SELECT PERIOD_DIFF(DATE_FORMAT(v.created_at, '%Y%m'), :fromPeriod) * :monthWidth " +
+                        "       + IF(:monthWidth > 1, FLOOR((DAYOFMONTH(v.created_at) - 1) / 7), 0) AS bucket, " +
+                        "       1 AS kind, COUNT(*) AS count " +
+                        "FROM vendor_profiles v " +
+                        "WHERE v.created_at >= :start AND v.created_at < :end " +
+                        "GROUP BY bucket", nativeQuery = true)
+        List<RegistrationBucketProjection> countRegistrationsByBucket(
+                        @Param("fromPeriod") int fromPeriod,
+                        @Param("monthWidth") int monthWidth,
                         @Param("start") LocalDateTime start,
                         @Param("end") LocalDateTime end);
 
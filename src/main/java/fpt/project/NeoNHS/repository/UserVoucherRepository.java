@@ -1,13 +1,16 @@
 package fpt.project.NeoNHS.repository;
 
+import fpt.project.NeoNHS.entity.Order;
 import fpt.project.NeoNHS.entity.UserVoucher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,4 +38,16 @@ public interface UserVoucherRepository extends JpaRepository<UserVoucher, UUID>
     boolean existsByVoucher_IdAndIsUsedTrue(UUID voucherId);
 
     void deleteByVoucher_Id(UUID voucherId);
+
+    /**
+     * Burn every still-unused user voucher recorded for the order in one statement.
+     */
+    @Modifying
+    @Query("""
+        UPDATE UserVoucher uv
+        SET uv.isUsed = true, uv.usedDate = :now, uv.usedInOrder = :order
+        WHERE uv.isUsed = false
+          AND uv.id IN (SELECT ov.userVoucher.id FROM OrderVoucher ov WHERE ov.order = :order)
+    """)
+    int burnForOrder(@Param("order") Order order, @Param("now") LocalDateTime now);
 }
@@ -57,16 +57,6 @@ public interface VendorProfileRepository extends JpaRepository<VendorProfile, UU
                         "FROM vendor_profiles GROUP BY period ORDER BY period DESC LIMIT :limit", nativeQuery = true)
         List<Map<String, Object>> getMonthlyRegistrationStats(@Param("limit") Integer limit);
 
-        @Query(value = "SELECT DATE_FORMAT(created_at, '%Y-%m') as period, COUNT(*) as count " +
-                        "FROM vendor_profiles " +
-                        "WHERE created_at >= :start " +
-                        "  AND created_at < :end " +
-                        "GROUP BY period", nativeQuery = true)
-        List<Map<String, Object>> getMonthlyRegistrationStatsBetween(
-                        @Param("start") LocalDateTime start,
-                        @Param("end") LocalDateTime end
-        );
-
         @Query(value = "SELECT DATE_FORMAT(created_at, '%Y-Week %u') as period, COUNT(*) as count " +
                         "FROM vendor_profiles " +
                         "WHERE created_at >= :start " +
@@ -77,17 +67,6 @@ public interface VendorProfileRepository extends JpaRepository<VendorProfile, UU
                         @Param("end") LocalDateTime end
         );
 
-        @Query(value = "SELECT CONCAT(DATE_FORMAT(created_at, '%Y-%m'), '-W', (FLOOR((DAYOFMONTH(created_at) - 1) / 7) + 1)) as period, " +
-                        "COUNT(*) as count " +
-                        "FROM vendor_profiles " +
-                        "WHERE created_at >= :start " +
-                        "  AND created_at < :end " +
-                        "GROUP BY period", nativeQuery = true)
-        List<Map<String, Object>> getMonthWeekRegistrationStatsBetween(
-                        @Param("start") LocalDateTime start,
-                        @Param("end") LocalDateTime end
-        );
-
         long countByUserIsActiveTrueAndUserIsBannedFalse();
 
         long countByUserIsActiveTrue();
@@ -4,6 +4,9 @@ import fpt.project.NeoNHS.entity.Voucher;
 import fpt.project.NeoNHS.enums.VoucherStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -24,4 +27,20 @@ public interface VoucherRepository extends JpaRepository<Voucher, UUID>, JpaSpec
     long countByVendorIdAndDeletedAtIsNullAndCreatedAtAfter(UUID vendorId, LocalDateTime since);
 
     java.util.List<Voucher> findAllByStatusAndDeletedAtIsNull(VoucherStatus status);
+
+    /**
+     * Add the order's not-yet-burned user vouchers to each voucher's usage count, in SQL.
+     * Must run before {@link UserVoucherRepository#burnForOrder}, which flips the rows it counts.
+     */
+    @Modifying
+    @Query("""
+        UPDATE Voucher v
+        SET v.usageCount = COALESCE(v.usageCount, 0) + (
+            SELECT COUNT(ov) FROM OrderVoucher ov
+            WHERE ov.order.id = :orderId AND ov.voucher = v AND ov.userVoucher.isUsed = false)
+        WHERE v.id IN (
+            SELECT ov.voucher.id FROM OrderVoucher ov
+            WHERE ov.order.id = :orderId AND ov.userVoucher.isUsed = false)
+    """)
+    int incrementUsageForOrder(@Param("orderId") UUID orderId);
 }
@@ -0,0 +1,38 @@
+package fpt.project.NeoNHS.repository;
+
+import fpt.project.NeoNHS.entity.WalletEntry;
+import fpt.project.NeoNHS.enums.WalletEntryType;
+import fpt.project.NeoNHS.repository.projection.WalletBalanceProjection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface WalletEntryRepository extends JpaRepository<WalletEntry, UUID> {
+
+    boolean existsByUserIdAndTypeAndReferenceId(UUID userId, WalletEntryType type, UUID referenceId);
+
+    Page<WalletEntry> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
+
+    /** Balance and held amount as the ledger says they should be, for reconciliation. */
+    @Query("SELECT e.userId AS userId, " +
+            "SUM(CASE WHEN e.type IN (fpt.project.NeoNHS.enums.WalletEntryType.OPENING, " +
+            "                         fpt.project.NeoNHS.enums.WalletEntryType.CREDIT, " +
+            "                         fpt.project.NeoNHS.enums.WalletEntryType.HOLD_RELEASE) THEN e.amount " +
+            "         WHEN e.type IN (fpt.project.NeoNHS.enums.WalletEntryType.DEBIT, " +
+            "                         fpt.project.NeoNHS.enums.WalletEntryType.HOLD) THEN -e.amount " +
+            "         ELSE 0L END) AS balance, " +
+            "SUM(CASE WHEN e.type = fpt.project.NeoNHS.enums.WalletEntryType.HOLD THEN e.amount " +
+            "         WHEN e.type IN (fpt.project.NeoNHS.enums.WalletEntryType.HOLD_RELEASE, " +
+            "                         fpt.project.NeoNHS.enums.WalletEntryType.HOLD_CAPTURE) THEN -e.amount " +
+            "         ELSE 0L END) AS held " +
+            "FROM WalletEntry e WHERE e.userId IN :userIds GROUP BY e.userId")
+    List<WalletBalanceProjection> sumByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+}
@@ -0,0 +1,61 @@
+package fpt.project.NeoNHS.repository;
+
+import fpt.project.NeoNHS.entity.Wallet;
+import fpt.project.NeoNHS.repository.projection.WalletBalanceProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Every balance change is one conditional UPDATE: the row lock it takes serialises concurrent
+ * changes, and the WHERE clause is the overdraft check, so there is no read-modify-write.
+ */
+@Repository
+public interface WalletRepository extends JpaRepository<Wallet, UUID> {
+
+    /** Opens the wallet from the legacy users.balance (rounded to whole VND); 0 if it already exists. */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO wallets (user_id, balance, held, updated_at) " +
+            "SELECT u.id, ROUND(COALESCE(u.balance, 0)), 0, :now FROM users u WHERE u.id = :userId",
+            nativeQuery = true)
+    int open(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Wallet w SET w.balance = w.balance + :amount, w.updatedAt = :now WHERE w.userId = :userId")
+    int credit(@Param("userId") UUID userId, @Param("amount") long amount, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Wallet w SET w.balance = w.balance - :amount, w.updatedAt = :now " +
+            "WHERE w.userId = :userId AND w.balance >= :amount")
+    int debit(@Param("userId") UUID userId, @Param("amount") long amount, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Wallet w SET w.balance = w.balance - :amount, w.held = w.held + :amount, w.updatedAt = :now " +
+            "WHERE w.userId = :userId AND w.balance >= :amount")
+    int hold(@Param("userId") UUID userId, @Param("amount") long amount, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Wallet w SET w.held = w.held - :amount, w.balance = w.balance + :amount, w.updatedAt = :now " +
+            "WHERE w.userId = :userId AND w.held >= :amount")
+    int releaseHold(@Param("userId") UUID userId, @Param("amount") long amount, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Wallet w SET w.held = w.held - :amount, w.updatedAt = :now " +
+            "WHERE w.userId = :userId AND w.held >= :amount")
+    int captureHold(@Param("userId") UUID userId, @Param("amount") long amount, @Param("now") LocalDateTime now);
+
+    /** Reads the row itself, not a possibly stale managed {@link Wallet}, right after an update. */
+    @Query("SELECT w.userId AS userId, w.balance AS balance, w.held AS held FROM Wallet w WHERE w.userId = :userId")
+    Optional<WalletBalanceProjection> findSnapshot(@Param("userId") UUID userId);
+
+    @Query("SELECT w FROM Wallet w WHERE w.userId > :after ORDER BY w.userId")
+    List<Wallet> findPageAfter(@Param("after") UUID after, Pageable pageable);
+}
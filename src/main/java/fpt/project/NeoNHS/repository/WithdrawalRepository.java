@@ -0,0 +1,75 @@
+package fpt.project.NeoNHS.repository;
+
+import fpt.project.NeoNHS.entity.Withdrawal;
+import fpt.project.NeoNHS.enums.WithdrawalStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Status changes are compare-and-set on the current status: the caller that gets 1 back owns
+ * the transition and its side effects, everyone else backs off.
+ */
+@Repository
+public interface WithdrawalRepository extends JpaRepository<Withdrawal, UUID> {
+
+    Optional<Withdrawal> findByUserIdAndRequestKey(UUID userId, UUID requestKey);
+
+    Optional<Withdrawal> findByIdAndUserId(UUID id, UUID userId);
+
+    Page<Withdrawal> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
+
+    @Query("SELECT w FROM Withdrawal w WHERE w.status = :status AND w.nextAttemptAt <= :now ORDER BY w.nextAttemptAt")
+    List<Withdrawal> findDue(@Param("status") WithdrawalStatus status, @Param("now") LocalDateTime now,
+                             Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Withdrawal w SET w.status = :to, w.attempts = 0, w.nextAttemptAt = :nextAttemptAt, " +
+            "w.updatedAt = :now WHERE w.id = :id AND w.status = :from")
+    int transition(@Param("id") UUID id, @Param("from") WithdrawalStatus from, @Param("to") WithdrawalStatus to,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("now") LocalDateTime now);
+
+    /**
+     * Moves a VERIFIED withdrawal to SUBMITTED, or fills in the payout of one submitted with an
+     * unknown outcome. A null payout id records the unknown outcome itself.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Withdrawal w SET w.status = fpt.project.NeoNHS.enums.WithdrawalStatus.SUBMITTED, " +
+            "w.payoutId = :payoutId, w.payoutState = :payoutState, w.attempts = 0, " +
+            "w.nextAttemptAt = :nextAttemptAt, w.updatedAt = :now " +
+            "WHERE w.id = :id AND w.payoutId IS NULL AND w.status IN " +
+            "(fpt.project.NeoNHS.enums.WithdrawalStatus.VERIFIED, fpt.project.NeoNHS.enums.WithdrawalStatus.SUBMITTED)")
+    int markSubmitted(@Param("id") UUID id, @Param("payoutId") String payoutId,
+                      @Param("payoutState") String payoutState, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Withdrawal w SET w.status = fpt.project.NeoNHS.enums.WithdrawalStatus.FAILED, " +
+            "w.failureReason = :reason, w.nextAttemptAt = NULL, w.updatedAt = :now " +
+            "WHERE w.id = :id AND w.status = :from")
+    int markFailed(@Param("id") UUID id, @Param("from") WithdrawalStatus from, @Param("reason") String reason,
+                   @Param("now") LocalDateTime now);
+
+    /** Records an attempt that neither advanced nor failed the withdrawal, and when to look again. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Withdrawal w SET w.attempts = w.attempts + 1, w.payoutState = COALESCE(:payoutState, w.payoutState), " +
+            "w.failureReason = :error, w.nextAttemptAt = :nextAttemptAt, w.updatedAt = :now " +
+            "WHERE w.id = :id AND w.status = :status")
+    int postpone(@Param("id") UUID id, @Param("status") WithdrawalStatus status,
+                 @Param("payoutState") String payoutState, @Param("error") String error,
+                 @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("now") LocalDateTime now);
+}
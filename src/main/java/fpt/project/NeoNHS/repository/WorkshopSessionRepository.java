@@ -5,13 +5,17 @@ import fpt.project.NeoNHS.enums.SessionStatus;
 import fpt.project.NeoNHS.repository.projection.VendorCountProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -110,4 +114,58 @@ public interface WorkshopSessionRepository
   List<WorkshopSession> findUpcomingByTemplateId(
       @Param("templateId") UUID templateId,
       @Param("now") LocalDateTime now);
+
+  /**
+   * Atomically enroll participants into a scheduled session that has not started yet.
+   * The capacity check and the increment are a single conditional UPDATE.
+   *
+   * @return 1 if enrolled, 0 if the session is not bookable or is full
+   */
+  @Modifying
+  @Query("""
+          UPDATE WorkshopSession ws
+          SET ws.currentEnrolled = COALESCE(ws.currentEnrolled, 0) + :quantity
+          WHERE ws.id = :id
+            AND ws.deletedAt IS NULL
+            AND ws.status = fpt.project.NeoNHS.enums.SessionStatus.SCHEDULED
+            AND ws.startTime > :now
+            AND (ws.maxParticipants IS NULL OR COALESCE(ws.currentEnrolled, 0) + :quantity <= ws.maxParticipants)
+      """)
+  int enrollParticipants(@Param("id") UUID id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("""
+          UPDATE WorkshopSession ws
+          SET ws.currentEnrolled = CASE
+                  WHEN COALESCE(ws.currentEnrolled, 0) >= :quantity THEN COALESCE(ws.currentEnrolled, 0) - :quantity
+                  ELSE 0 END
+          WHERE ws.id = :id
+      """)
+  int releaseParticipants(@Param("id") UUID id, @Param("quantity") int quantity);
+
+  @Query("SELECT ws.maxParticipants - COALESCE(ws.currentEnrolled, 0) FROM WorkshopSession ws WHERE ws.id = :id")
+  Integer findRemainingSlots(@Param("id") UUID id);
+
+  @Modifying
+  @Transactional
+  @Query("""
+          UPDATE WorkshopSession ws
+          SET ws.currentEnrolled = CASE
+                  WHEN COALESCE(ws.currentEnrolled, 0) + :delta > 0 THEN COALESCE(ws.currentEnrolled, 0) + :delta
+                  ELSE 0 END
+          WHERE ws.id = :id
+      """)
+  int adjustEnrolled(@Param("id") UUID id, @Param("delta") long delta);
+
+  /**
+   * Sessions of a Redis cart with their template, in one query.
+   */
+  @EntityGraph(attributePaths = "workshopTemplate")
+  List<WorkshopSession> findAllWithTemplateByIdIn(Collection<UUID> ids);
+
+  /**
+   * The given sessions that belong to the vendor with this user id.
+   */
+  @Query("SELECT ws.id FROM WorkshopSession ws WHERE ws.id IN :ids AND ws.workshopTemplate.vendor.user.id = :userId")
+  List<UUID> findIdsOwnedByVendorUser(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
 }
@@ -0,0 +1,10 @@
+package fpt.project.NeoNHS.repository.projection;
+
+public interface PaidOrderBucketProjection {
+    Integer getBucket();
+
+    /** Whole VND. */
+    Long getRevenue();
+
+    Long getOrders();
+}
@@ -0,0 +1,13 @@
+package fpt.project.NeoNHS.repository.projection;
+
+import fpt.project.NeoNHS.enums.RollupProductType;
+
+import java.math.BigDecimal;
+
+public interface ProductTypeRevenueProjection {
+    RollupProductType getProductType();
+
+    Long getTickets();
+
+    BigDecimal getRevenue();
+}
@@ -0,0 +1,10 @@
+package fpt.project.NeoNHS.repository.projection;
+
+public interface RegistrationBucketProjection {
+    Integer getBucket();
+
+    /** 0 = tourist, 1 = vendor. */
+    Integer getKind();
+
+    Long getCount();
+}
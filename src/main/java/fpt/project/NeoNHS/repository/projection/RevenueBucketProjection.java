@@ -0,0 +1,16 @@
+package fpt.project.NeoNHS.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface RevenueBucketProjection {
+    LocalDateTime getBucketStart();
+
+    BigDecimal getRevenue();
+
+    Long getTickets();
+
+    BigDecimal getCommission();
+
+    BigDecimal getNetAmount();
+}
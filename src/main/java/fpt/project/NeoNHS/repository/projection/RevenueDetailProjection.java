@@ -0,0 +1,29 @@
+package fpt.project.NeoNHS.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** One order line of the revenue report, with the names it is shown under. */
+public interface RevenueDetailProjection {
+    UUID getId();
+
+    LocalDateTime getCreatedAt();
+
+    BigDecimal getUnitPrice();
+
+    Integer getQuantity();
+
+    BigDecimal getCommissionAmount();
+
+    BigDecimal getNetAmount();
+
+    /** Set for workshop (vendor) lines, null for event tickets. */
+    UUID getWorkshopSessionId();
+
+    String getVendorName();
+
+    String getWorkshopName();
+
+    String getEventName();
+}
@@ -0,0 +1,13 @@
+package fpt.project.NeoNHS.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface RevenueReportTotalsProjection {
+    Long getTransactions();
+
+    BigDecimal getGross();
+
+    BigDecimal getAdminEarnings();
+
+    BigDecimal getVendorPayouts();
+}
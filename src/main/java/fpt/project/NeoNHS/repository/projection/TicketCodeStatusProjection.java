@@ -0,0 +1,9 @@
+package fpt.project.NeoNHS.repository.projection;
+
+import fpt.project.NeoNHS.enums.TicketStatus;
+
+public interface TicketCodeStatusProjection {
+    String getTicketCode();
+
+    TicketStatus getStatus();
+}
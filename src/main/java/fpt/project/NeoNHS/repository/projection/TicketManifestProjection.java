@@ -0,0 +1,13 @@
+package fpt.project.NeoNHS.repository.projection;
+
+import fpt.project.NeoNHS.enums.TicketStatus;
+
+import java.time.LocalDateTime;
+
+public interface TicketManifestProjection {
+    String getTicketCode();
+
+    TicketStatus getStatus();
+
+    LocalDateTime getDeletedAt();
+}
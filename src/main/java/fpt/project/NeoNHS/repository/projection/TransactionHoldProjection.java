@@ -0,0 +1,10 @@
+package fpt.project.NeoNHS.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface TransactionHoldProjection {
+    UUID getId();
+
+    LocalDateTime getTransactionDate();
+}
@@ -0,0 +1,10 @@
+package fpt.project.NeoNHS.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface VendorRevenueProjection {
+    UUID getVendorId();
+
+    BigDecimal getRevenue();
+}
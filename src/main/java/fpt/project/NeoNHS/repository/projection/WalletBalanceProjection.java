@@ -0,0 +1,11 @@
+package fpt.project.NeoNHS.repository.projection;
+
+import java.util.UUID;
+
+public interface WalletBalanceProjection {
+    UUID getUserId();
+
+    Long getBalance();
+
+    Long getHeld();
+}
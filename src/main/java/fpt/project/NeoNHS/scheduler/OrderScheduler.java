@@ -1,27 +1,110 @@
 package fpt.project.NeoNHS.scheduler;
 
+import fpt.project.NeoNHS.enums.TransactionStatus;
+import fpt.project.NeoNHS.repository.TransactionRepository;
+import fpt.project.NeoNHS.service.JobLeaseService;
 import fpt.project.NeoNHS.service.OrderService;
+import fpt.project.NeoNHS.service.ReservationHoldService;
+import fpt.project.NeoNHS.service.ReservationHoldService.Hold;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class OrderScheduler {
 
     private final OrderService orderService;
+    private final ReservationHoldService reservationHoldService;
+    private final TransactionRepository transactionRepository;
+    private final JobLeaseService jobLeaseService;
 
-    // Run every 1 minute
-    @Scheduled(fixedRate = 300000)
-    public void cancelExpiredOrdersJob() {
-        log.info("Running OrderScheduler to cancel expired pending orders...");
+    @Value("${order.hold.batch-size:50}")
+    private int batchSize;
+
+    /**
+     * The hold queue lives in Redis; re-seed it from the PENDING transactions so a flushed
+     * or replaced Redis never strands seats.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildHoldQueue() {
         try {
-            orderService.cancelExpiredOrders();
-            log.info("Completed cancelling expired pending orders.");
+            var holds = transactionRepository.findHoldsByStatus(TransactionStatus.PENDING);
+            holds.forEach(h -> reservationHoldService.register(h.getId(), h.getTransactionDate()));
+            log.info("Rebuilt reservation hold queue with {} pending transactions.", holds.size());
         } catch (Exception e) {
-            log.error("Error occurred while cancelling expired orders: ", e);
+            log.error("Error occurred while rebuilding the reservation hold queue: ", e);
         }
     }
+
+    // Poll every second; each due batch is released in its own short transaction, on one node at a time
+    @Scheduled(fixedDelayString = "${order.hold.poll-interval-ms:1000}")
+    public void releaseDueHoldsJob() {
+        jobLeaseService.runExclusive("order.release-holds", Duration.ofSeconds(30), Duration.ZERO, lease -> {
+            int total = 0;
+            List<Hold> due;
+            while (jobLeaseService.isHeld(lease) && !(due = reservationHoldService.claimDue(batchSize)).isEmpty()) {
+                try {
+                    List<UUID> released = orderService.releaseHolds(due.stream().map(Hold::transactionId).toList());
+                    due.stream().filter(h -> released.contains(h.transactionId()))
+                            .forEach(reservationHoldService::markReleased);
+                    if (!released.isEmpty()) {
+                        log.info("Released seats of {} expired pending orders.", released.size());
+                    }
+                    total += released.size();
+                } catch (Exception e) {
+                    // Find the transaction that breaks the batch instead of retrying all of them
+                    log.warn("Releasing {} expired holds failed, retrying them one by one: {}", due.size(), e.getMessage());
+                    total += releaseEach(due);
+                }
+            }
+            return total;
+        });
+    }
+
+    private int releaseEach(List<Hold> holds) {
+        int released = 0;
+        for (Hold hold : holds) {
+            try {
+                if (!orderService.releaseHolds(List.of(hold.transactionId())).isEmpty()) {
+                    reservationHoldService.markReleased(hold);
+                    released++;
+                }
+            } catch (Exception e) {
+                log.error("Releasing the hold of transaction {} failed, backing off: ", hold.transactionId(), e);
+                reservationHoldService.requeue(List.of(hold));
+            }
+        }
+        return released;
+    }
+
+    // Safety net for holds that never made it into the queue (e.g. Redis was unavailable at checkout)
+    @Scheduled(fixedRate = 300000)
+    public void sweepMissedHoldsJob() {
+        jobLeaseService.runExclusive("order.sweep-missed-holds", Duration.ofMinutes(4), Duration.ofMinutes(1), lease -> {
+            List<UUID> expired;
+            int released = 0;
+            do {
+                expired = transactionRepository.findIdsByStatusAndTransactionDateBefore(
+                        TransactionStatus.PENDING, reservationHoldService.expiryCutoff(), PageRequest.of(0, batchSize));
+                if (!expired.isEmpty()) {
+                    released += orderService.releaseHolds(expired).size();
+                }
+            } while (expired.size() == batchSize && jobLeaseService.isHeld(lease));
+            if (released > 0) {
+                log.info("Sweep released {} expired pending orders missed by the hold queue.", released);
+            }
+            return released;
+        });
+    }
 }
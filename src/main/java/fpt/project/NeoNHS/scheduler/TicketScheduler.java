@@ -1,27 +1,30 @@
 package fpt.project.NeoNHS.scheduler;
 
+import fpt.project.NeoNHS.service.JobLeaseService;
 import fpt.project.NeoNHS.service.TicketService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class TicketScheduler {
 
     private final TicketService ticketService;
+    private final JobLeaseService jobLeaseService;
 
-    // Chạy mỗi 30 phút (30 * 60 * 1000 = 1800000 ms)
-    @Scheduled(fixedRate = 1800000)
+    // Mặc định mỗi 30 phút; vé quá hạn đã được coi là EXPIRED khi đọc, job này chỉ ghi trạng thái xuống DB
+    @Scheduled(fixedDelayString = "${ticket.expiry.interval-ms:1800000}")
     public void checkAndExpireTickets() {
-        log.info("Running TicketScheduler to check and update expired tickets...");
-        try {
-            ticketService.expireOutdatedTickets();
+        jobLeaseService.runExclusive("ticket.expire", Duration.ofMinutes(10), Duration.ofMinutes(5), lease -> {
+            log.info("Running TicketScheduler to check and update expired tickets...");
+            int expired = ticketService.expireOutdatedTickets();
             log.info("Completed checking and updating expired tickets.");
-        } catch (Exception e) {
-            log.error("Error occurred while checking for expired tickets: ", e);
-        }
+            return expired;
+        });
     }
 }
@@ -0,0 +1,35 @@
+package fpt.project.NeoNHS.service;
+
+import fpt.project.NeoNHS.dto.response.admin.VendorActivityResponse;
+import fpt.project.NeoNHS.entity.Event;
+import fpt.project.NeoNHS.entity.OrderDetail;
+import fpt.project.NeoNHS.entity.WorkshopTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Admin activity feed. Entries are appended in the caller's transaction, so an action that
+ * rolls back leaves no trace in the feed.
+ */
+public interface ActivityFeedService {
+
+    void workshopCreated(WorkshopTemplate template);
+
+    void workshopApproved(WorkshopTemplate template);
+
+    void eventCreated(Event event);
+
+    /** One entry per order line, not per seat. */
+    void ticketsSold(List<OrderDetail> orderDetails);
+
+    /**
+     * Newest entries first, optionally for one vendor. Pass the {@code time} and {@code id} of the
+     * last entry of the previous page as {@code before}/{@code beforeId} to get the next one.
+     */
+    List<VendorActivityResponse> getFeed(UUID vendorId, LocalDateTime before, UUID beforeId, int limit);
+
+    /** Fills an empty feed from the existing workshops, events and tickets; returns the rows written. */
+    int backfill();
+}
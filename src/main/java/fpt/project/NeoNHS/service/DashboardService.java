@@ -1,7 +1,9 @@
 package fpt.project.NeoNHS.service;
 
 import fpt.project.NeoNHS.dto.response.admin.*;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
         
 public interface DashboardService {
 
@@ -17,5 +19,6 @@ public interface DashboardService {
 
     RegistrationGrowthResponse getRegistrations(String type, String periodType, Integer limit);
 
-    List<VendorActivityResponse> getRecentVendorActivities(Integer limit);
+    List<VendorActivityResponse> getRecentVendorActivities(UUID vendorId, LocalDateTime before, UUID beforeId,
+                                                           Integer limit);
 }
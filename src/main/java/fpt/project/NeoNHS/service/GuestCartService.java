@@ -0,0 +1,21 @@
+package fpt.project.NeoNHS.service;
+
+import fpt.project.NeoNHS.dto.request.cart.AddToCartRequest;
+import fpt.project.NeoNHS.dto.request.cart.UpdateCartItemRequest;
+import fpt.project.NeoNHS.dto.response.cart.CartResponse;
+
+import java.util.UUID;
+
+/**
+ * Cart of a visitor who has not logged in yet, identified by a client-generated token.
+ * Only available with {@code cart.storage=redis}; merged into the user's cart on login.
+ */
+public interface GuestCartService {
+    CartResponse getGuestCart(UUID guestToken);
+
+    CartResponse addToGuestCart(UUID guestToken, AddToCartRequest request);
+
+    CartResponse updateGuestCartItem(UUID guestToken, UUID cartItemId, UpdateCartItemRequest request);
+
+    void removeFromGuestCart(UUID guestToken, UUID cartItemId);
+}
@@ -0,0 +1,34 @@
+package fpt.project.NeoNHS.service;
+
+import fpt.project.NeoNHS.dto.response.inventory.ReservationResult;
+import fpt.project.NeoNHS.entity.TicketCatalog;
+import fpt.project.NeoNHS.entity.WorkshopSession;
+
+/**
+ * Redis-backed inventory for catalogs and sessions flagged with {@code hotInventory}.
+ * Reservations only touch Redis; committed counts are written back to MySQL by {@link #flushPending()}.
+ */
+public interface HotInventoryService {
+
+    ReservationResult reserveTicket(TicketCatalog ticketCatalog, int quantity);
+
+    ReservationResult reserveWorkshop(WorkshopSession workshopSession, int quantity);
+
+    void releaseTicket(TicketCatalog ticketCatalog, int quantity);
+
+    void releaseWorkshop(WorkshopSession workshopSession, int quantity);
+
+    /**
+     * Write pending deltas back to MySQL and correct any drift between Redis and the database.
+     *
+     * @return number of rows written back
+     */
+    int flushPending();
+
+    /**
+     * Flush and drop the Redis counters of a catalog, e.g. when hot mode is switched off or the quota changes.
+     */
+    void evictTicket(TicketCatalog ticketCatalog);
+
+    void evictWorkshop(WorkshopSession workshopSession);
+}
@@ -0,0 +1,21 @@
+package fpt.project.NeoNHS.service;
+
+import fpt.project.NeoNHS.dto.response.inventory.ReservationResult;
+import fpt.project.NeoNHS.entity.TicketCatalog;
+import fpt.project.NeoNHS.entity.WorkshopSession;
+
+/**
+ * Seat inventory for ticket catalogs (and their events) and workshop sessions.
+ * Every reserve/release is a single conditional SQL update, never a read-modify-write in Java.
+ * Targets flagged with {@code hotInventory} are delegated to {@link HotInventoryService}.
+ */
+public interface InventoryService {
+
+    ReservationResult reserveTicket(TicketCatalog ticketCatalog, int quantity);
+
+    ReservationResult reserveWorkshop(WorkshopSession workshopSession, int quantity);
+
+    void releaseTicket(TicketCatalog ticketCatalog, int quantity);
+
+    void releaseWorkshop(WorkshopSession workshopSession, int quantity);
+}
@@ -0,0 +1,53 @@
+package fpt.project.NeoNHS.service;
+
+import fpt.project.NeoNHS.dto.response.job.JobStatusResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs scheduled jobs on one node of the cluster at a time.
+ * <p>
+ * Every instance still fires its {@code @Scheduled} methods; the first one to take the job's Redis
+ * lease runs the body, the others skip the tick. Each acquisition gets a new fencing token, so a node
+ * that stalled past its lease can tell (via {@link #isHeld}) that it was superseded, and its late run
+ * report never overwrites the newer one.
+ */
+public interface JobLeaseService {
+
+    record JobLease(String job, long token, String owner) {}
+
+    /** Body of a job; returns the number of rows it touched. */
+    @FunctionalInterface
+    interface JobBody {
+        int run(JobLease lease) throws Exception;
+    }
+
+    @FunctionalInterface
+    interface ShardBody {
+        int run(JobLease lease, int shard, int shardCount) throws Exception;
+    }
+
+    /**
+     * Runs {@code body} if this node wins the lease. Failures are logged and recorded, not thrown.
+     *
+     * @param leaseTtl upper bound of one run; the lease frees itself after it if the node dies
+     * @param minHold  how long the lease is kept after a short run, so nodes whose cron fired a little
+     *                 later do not run the same tick again; {@link Duration#ZERO} for polling jobs
+     * @return whether this node ran the job
+     */
+    boolean runExclusive(String job, Duration leaseTtl, Duration minHold, JobBody body);
+
+    /**
+     * Splits a job into {@code shardCount} independently leased shards. Each node walks the shards
+     * from a different starting point and runs those it can lease, so several nodes share the work.
+     *
+     * @return the number of shards this node ran
+     */
+    int runSharded(String job, int shardCount, Duration leaseTtl, Duration minHold, ShardBody body);
+
+    /** False once the lease expired or another node took it over; long jobs check it between batches. */
+    boolean isHeld(JobLease lease);
+
+    List<JobStatusResponse> getJobStatuses();
+}
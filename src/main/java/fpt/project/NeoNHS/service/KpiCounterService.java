@@ -0,0 +1,23 @@
+package fpt.project.NeoNHS.service;
+
+import fpt.project.NeoNHS.enums.KpiCounter;
+
+import java.util.Map;
+
+public interface KpiCounterService {
+
+    /**
+     * Adds {@code delta} to a counter. Inside a transaction the deltas are collected and applied
+     * in one atomic Redis call after commit, so rolled-back work is never counted.
+     */
+    void add(KpiCounter counter, long delta);
+
+    /** Current value of every counter; seeds Redis from MySQL when the counters are missing. */
+    Map<KpiCounter, Long> getCounters();
+
+    /**
+     * Recomputes every counter from MySQL and moves the Redis value onto it.
+     * Returns the corrections that were applied (empty when nothing drifted).
+     */
+    Map<KpiCounter, Long> reconcile();
+}
@@ -8,6 +8,12 @@ import java.util.UUID;
 public interface NotificationService {
     void createAndSendNotification(User user, String title, String message, String type, UUID referenceId);
 
+    /**
+     * Saves the notification in the caller's transaction and leaves the WebSocket and Expo
+     * pushes to the outbox relay, so no network call happens inside that transaction.
+     */
+    void queueNotification(User user, String title, String message, String type, UUID referenceId);
+
     PagedResponse<NotificationResponse> getUserNotifications(String email, int page, int size);
 
     void markAsRead(UUID notificationId, String email);
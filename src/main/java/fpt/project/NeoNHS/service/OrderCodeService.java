@@ -0,0 +1,10 @@
+package fpt.project.NeoNHS.service;
+
+public interface OrderCodeService {
+
+    /**
+     * Next PayOS order code. Codes are unique across nodes and fit in 53 bits,
+     * the largest integer PayOS accepts.
+     */
+    long nextOrderCode();
+}
@@ -3,10 +3,26 @@ package fpt.project.NeoNHS.service;
 import fpt.project.NeoNHS.dto.request.order.CreateOrderRequest;
 import fpt.project.NeoNHS.entity.Order;
 
+import java.util.List;
+import java.util.UUID;
+
 public interface OrderService {
     Order createOrder(String userEmail, CreateOrderRequest request);
 
+    /**
+     * Throw unless the user is admitted to every waiting-room catalog among the selected cart lines.
+     * Call before {@link #createOrder}: it opens no transaction, so rejected checkouts never hold a
+     * connection or flush the cart.
+     */
+    void requireCheckoutAdmission(String userEmail, CreateOrderRequest request);
+
     void handlePaymentSuccess(long orderCode);
 
-    void cancelExpiredOrders();
+    /**
+     * Fail the given PENDING transactions and give their seats back, all in one short transaction.
+     * Transactions that were paid or released in the meantime are skipped.
+     *
+     * @return ids of the transactions that were actually released
+     */
+    List<UUID> releaseHolds(List<UUID> transactionIds);
 }
@@ -0,0 +1,23 @@
+package fpt.project.NeoNHS.service;
+
+import fpt.project.NeoNHS.entity.OutboxEvent;
+import fpt.project.NeoNHS.enums.OutboxEventType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Carries out one type of outbox event. Handlers receive the whole due batch of their type so
+ * they can batch external calls; they must tolerate seeing an event again after a crash.
+ */
+public interface OutboxEventHandler {
+
+    OutboxEventType type();
+
+    /**
+     * @return the events that failed, keyed by id, with the reason; everything else counts as done.
+     *         Throwing fails the whole batch.
+     */
+    Map<UUID, String> handle(List<OutboxEvent> events);
+}
@@ -0,0 +1,20 @@
+package fpt.project.NeoNHS.service;
+
+import fpt.project.NeoNHS.enums.OutboxEventType;
+
+import java.util.UUID;
+
+public interface OutboxService {
+
+    /**
+     * Records an event in the caller's transaction; it is dispatched only if that transaction
+     * commits. Must be called inside a transaction.
+     */
+    void publish(OutboxEventType type, UUID aggregateId, Object payload);
+
+    /** Dispatches up to {@code batchSize} due events; returns how many were picked up. */
+    int relayDue(int batchSize);
+
+    /** Deletes up to {@code limit} delivered events older than the retention period. */
+    int purgeSent(int limit);
+}
@@ -3,7 +3,10 @@ package fpt.project.NeoNHS.service;
 import fpt.project.NeoNHS.dto.request.payout.CreatePayoutRequest;
 import fpt.project.NeoNHS.dto.response.payout.PayoutResponse;
 
+import java.util.Optional;
+
 public interface PayoutService {
     PayoutResponse createPayout(CreatePayoutRequest request);
     PayoutResponse getPayoutById(String payoutId);
+    Optional<PayoutResponse> findPayoutByReferenceId(String referenceId);
 }
@@ -0,0 +1,20 @@
+package fpt.project.NeoNHS.service;
+
+import fpt.project.NeoNHS.dto.response.pricing.PriceQuote;
+import fpt.project.NeoNHS.entity.CartItem;
+import fpt.project.NeoNHS.entity.UserVoucher;
+
+import java.util.List;
+
+/**
+ * Single source of cart prices for pre-checkout, voucher application and order creation.
+ * Vouchers are priced as given; checking that they may be used is up to the caller.
+ */
+public interface PricingService {
+
+    /**
+     * Price the items with the vouchers applied in list order. Quotes are cached by a hash of
+     * every input, so pricing the same cart again (e.g. pre-checkout then order) is a cache hit.
+     */
+    PriceQuote quote(List<CartItem> cartItems, List<UserVoucher> userVouchers);
+}
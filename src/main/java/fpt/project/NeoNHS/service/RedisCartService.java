@@ -0,0 +1,65 @@
+package fpt.project.NeoNHS.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cart lines kept in a Redis hash per user (or per guest token), with MySQL as the
+ * write-behind copy that checkout and order processing read from.
+ * Every method is a no-op when {@code cart.storage} is not {@code redis}.
+ */
+public interface RedisCartService {
+
+    /**
+     * One cart line; exactly one of the two target ids is set. The id is also the id of the
+     * matching {@code cart_items} row once the cart has been flushed.
+     */
+    record CartLine(UUID id, UUID ticketCatalogId, UUID workshopSessionId, int quantity) {}
+
+    boolean isEnabled();
+
+    /**
+     * Key of the user's cart hash, loading it from MySQL first if it is not in Redis.
+     */
+    String openUserCart(String userEmail);
+
+    String guestCartKey(UUID guestToken);
+
+    /**
+     * MySQL cart id stored in a user cart hash, or {@code null} for guest carts.
+     */
+    UUID getCartId(String cartKey);
+
+    List<CartLine> getLines(String cartKey);
+
+    Optional<CartLine> getLine(String cartKey, UUID lineId);
+
+    void putLine(String cartKey, CartLine line);
+
+    boolean removeLine(String cartKey, UUID lineId);
+
+    void markDirty(String userEmail);
+
+    /**
+     * Remove and return up to {@code limit} users with unwritten cart changes.
+     */
+    List<String> popDirty(int limit);
+
+    /**
+     * Write the user's Redis cart to {@code cart_items}: upsert every line and delete rows
+     * that are no longer in the cart. Called by the write-behind task and before checkout.
+     */
+    void flush(String userEmail);
+
+    /**
+     * Drop lines that have already been removed from MySQL, e.g. after a paid order.
+     */
+    void removeItems(String userEmail, Collection<UUID> cartItemIds);
+
+    /**
+     * Move a guest cart into the user's cart; quantities of the same item are added up.
+     */
+    void mergeGuestCart(UUID guestToken, String userEmail);
+}
@@ -0,0 +1,25 @@
+package fpt.project.NeoNHS.service;
+
+import fpt.project.NeoNHS.dto.request.admin.RevenueReportRequest;
+import fpt.project.NeoNHS.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+/**
+ * Spreadsheet exports of the revenue report. Rows are streamed from a database cursor to
+ * {@code out} as they are read, so memory use does not depend on the size of the window.
+ */
+public interface ReportExportService {
+
+    /** Vendor profile of the current user; resolve it before the response starts so errors still return JSON. */
+    UUID currentVendorId();
+
+    /** Every order line of the admin revenue report window, newest first. */
+    void writeRevenueReport(RevenueReportRequest request, ExportFormat format, OutputStream out) throws IOException;
+
+    /** The vendor's workshop order lines in the window, newest first. */
+    void writeVendorTransactions(UUID vendorId, RevenueReportRequest request, ExportFormat format,
+                                 OutputStream out) throws IOException;
+}
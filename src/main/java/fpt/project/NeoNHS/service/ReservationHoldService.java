@@ -0,0 +1,44 @@
+package fpt.project.NeoNHS.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delay queue of seat holds for unpaid orders. Each hold is keyed by its transaction id and
+ * becomes due exactly when its payment window closes.
+ */
+public interface ReservationHoldService {
+
+    record Hold(UUID transactionId, long deadlineMillis) {}
+
+    /**
+     * Schedule the release of a transaction's seats at {@code createdAt} plus the hold duration.
+     */
+    void register(UUID transactionId, LocalDateTime createdAt);
+
+    void cancel(UUID transactionId);
+
+    /**
+     * Atomically remove and return up to {@code limit} holds whose deadline has passed.
+     * Safe to call from several nodes: every hold is handed to exactly one caller.
+     */
+    List<Hold> claimDue(int limit);
+
+    /**
+     * Put claimed holds back after a failed release, due again after a backoff that doubles with
+     * every failure of the same hold. A hold that keeps failing is eventually dropped from the
+     * queue and left to the missed-holds sweep.
+     */
+    void requeue(List<Hold> holds);
+
+    /**
+     * Record that a claimed hold has been released, for the release-lag metric.
+     */
+    void markReleased(Hold hold);
+
+    /**
+     * Transactions created before this instant are past their payment window.
+     */
+    LocalDateTime expiryCutoff();
+}
@@ -2,7 +2,20 @@ package fpt.project.NeoNHS.service;
 
 import fpt.project.NeoNHS.dto.request.admin.RevenueReportRequest;
 import fpt.project.NeoNHS.dto.response.admin.RevenueReportResponse;
+import fpt.project.NeoNHS.dto.response.admin.TransactionDetailResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
 public interface RevenueAnalyticsService {
+    /** KPIs, charts and the first page of the transaction table. */
     RevenueReportResponse getFullReport(RevenueReportRequest request);
+
+    /**
+     * Page of the report's transaction table, newest first. Pass the {@code date} and
+     * {@code detailId} of the last row as {@code before}/{@code beforeId} to get the next one.
+     */
+    List<TransactionDetailResponse> getTransactions(RevenueReportRequest request, LocalDateTime before, UUID beforeId,
+                                                    Integer limit);
 }
\ No newline at end of file
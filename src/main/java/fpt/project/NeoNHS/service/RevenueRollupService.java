@@ -0,0 +1,23 @@
+package fpt.project.NeoNHS.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.UUID;
+
+public interface RevenueRollupService {
+
+    /**
+     * Adds a just-settled order to the revenue and order rollups, in the caller's transaction.
+     * {@code previouslyFailed} moves it out of the failed count (payment landed after its hold ran out).
+     */
+    void recordPayment(UUID orderId, boolean previouslyFailed);
+
+    /** Counts orders whose payment hold expired unpaid, in the caller's transaction. */
+    void recordFailedPayments(Collection<UUID> orderIds);
+
+    /**
+     * Recomputes the rollups of {@code [from, to)} from the orders, one day per transaction.
+     * Returns the number of days rebuilt.
+     */
+    int rebuild(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,15 @@
+package fpt.project.NeoNHS.service;
+
+import java.util.List;
+
+public interface TicketCodeService {
+
+    /**
+     * {@code count} ticket codes that were never handed out before, on any node.
+     * Usually served from memory; the shared sequence is only touched when the local block runs out.
+     * Must be called outside any transaction, as that takes a connection of its own.
+     *
+     * @throws IllegalStateException when called inside a transaction
+     */
+    List<String> nextCodes(int count);
+}
@@ -0,0 +1,17 @@
+package fpt.project.NeoNHS.service;
+
+import fpt.project.NeoNHS.entity.OrderDetail;
+import fpt.project.NeoNHS.entity.Ticket;
+
+import java.util.List;
+
+public interface TicketIssuanceService {
+
+    /**
+     * Build one ticket per purchased seat and persist all of them in a single batched write.
+     *
+     * @param ticketCodes one code per seat, taken from {@code TicketCodeService} before the caller's
+     *                    transaction was opened
+     */
+    List<Ticket> issueTickets(List<OrderDetail> orderDetails, List<String> ticketCodes);
+}
@@ -0,0 +1,24 @@
+package fpt.project.NeoNHS.service;
+
+import fpt.project.NeoNHS.enums.ManifestFormat;
+import fpt.project.NeoNHS.enums.ManifestScope;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+public interface TicketManifestService {
+
+    /**
+     * Checks that the current user scans this scope and returns the cursor of a manifest taken now.
+     * Runs on the request thread, before the body is streamed.
+     */
+    long open(ManifestScope scope, UUID scopeId);
+
+    /**
+     * Writes the manifest: every ACTIVE ticket when {@code since} is null, otherwise every ticket
+     * of the scope changed since that cursor.
+     */
+    void write(ManifestScope scope, UUID scopeId, Long since, long cursor, ManifestFormat format,
+               OutputStream out) throws IOException;
+}
@@ -0,0 +1,19 @@
+package fpt.project.NeoNHS.service;
+
+import fpt.project.NeoNHS.entity.Ticket;
+import fpt.project.NeoNHS.helpers.TicketQrCodec;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TicketQrService {
+
+    /** Signed QR payload for a ticket whose code, type and catalog/session are already set. */
+    String sign(Ticket ticket);
+
+    /** Authenticated payload, or empty when the QR code is not one we signed. */
+    Optional<TicketQrCodec.Payload> verify(String qrCode);
+
+    /** Key a scanner needs to verify the tickets of one scope offline, base64url encoded. */
+    String scopeKey(UUID scopeId);
+}
@@ -1,8 +1,17 @@
 package fpt.project.NeoNHS.service;
 
+import fpt.project.NeoNHS.dto.request.ticket.CheckinSyncRequest;
 import fpt.project.NeoNHS.dto.response.TicketDetailResponse;
+import fpt.project.NeoNHS.dto.response.ticket.CheckinSyncResponse;
+import fpt.project.NeoNHS.dto.response.ticket.ScannerKeyResponse;
+
+import java.util.List;
+import java.util.UUID;
 
 public interface TicketService {
     TicketDetailResponse verifyTicketViaCode(String code);
-    void expireOutdatedTickets();
+    List<ScannerKeyResponse> getScannerKeys(List<UUID> scopeIds);
+    CheckinSyncResponse syncCheckins(CheckinSyncRequest request);
+    /** @return number of tickets moved to EXPIRED */
+    int expireOutdatedTickets();
 }
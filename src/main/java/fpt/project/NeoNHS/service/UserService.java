@@ -6,7 +6,7 @@ import fpt.project.NeoNHS.dto.response.admin.UserStatsResponse;
 import fpt.project.NeoNHS.dto.response.auth.UserProfileResponse;
 import fpt.project.NeoNHS.dto.response.kyc.KycResponse;
 import fpt.project.NeoNHS.dto.request.payout.WithdrawRequest;
-import fpt.project.NeoNHS.dto.response.payout.PayoutResponse;
+import fpt.project.NeoNHS.dto.response.payout.WithdrawalResponse;
 import fpt.project.NeoNHS.dto.response.user.UserResponse;
 import fpt.project.NeoNHS.entity.User;
 import fpt.project.NeoNHS.enums.UserRole;
@@ -33,7 +33,7 @@ public interface UserService {
 
     KycResponse performEkyc(UUID userId, KycRequest request);
 
-    PayoutResponse withdraw(String email, WithdrawRequest request);
+    WithdrawalResponse withdraw(String email, WithdrawRequest request);
 
     Page<UserResponse> getAllUsersWithPagination(
             int page, int size, String sortBy, String sortDir,
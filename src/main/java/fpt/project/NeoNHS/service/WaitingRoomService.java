@@ -0,0 +1,41 @@
+package fpt.project.NeoNHS.service;
+
+import fpt.project.NeoNHS.dto.response.waitingroom.WaitingRoomStatusResponse;
+import fpt.project.NeoNHS.entity.TicketCatalog;
+
+import java.util.UUID;
+
+/**
+ * Admission control in front of cart and checkout for catalogs flagged {@code waitingRoom}.
+ * Users queue in Redis and are admitted at a fixed rate with a cap on concurrent admissions,
+ * so the database only sees a bounded number of checkouts per catalog.
+ */
+public interface WaitingRoomService {
+
+    WaitingRoomStatusResponse join(UUID ticketCatalogId, UUID userId);
+
+    WaitingRoomStatusResponse getStatus(UUID ticketCatalogId, UUID userId);
+
+    void leave(UUID ticketCatalogId, UUID userId);
+
+    /**
+     * Throw unless the catalog is open to everyone or the user holds a live admission.
+     * Only Redis is read, so rejected requests never reach the database.
+     */
+    void requireAdmission(UUID ticketCatalogId, String userEmail);
+
+    /**
+     * Hand the user's admission back once their order is placed, freeing the slot for the next in line.
+     */
+    void complete(UUID ticketCatalogId, UUID userId);
+
+    /**
+     * Admit the next users of every queue, push positions, and close queues whose quota is exhausted.
+     */
+    void admitNext();
+
+    /**
+     * Mirror the catalog's {@code waitingRoom} flag into Redis.
+     */
+    void sync(TicketCatalog ticketCatalog);
+}
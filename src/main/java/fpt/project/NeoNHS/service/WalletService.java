@@ -0,0 +1,32 @@
+package fpt.project.NeoNHS.service;
+
+import java.util.UUID;
+
+/**
+ * User wallet in whole VND. Every change is one conditional UPDATE of the wallet row plus one
+ * {@code wallet_entries} row, both in the caller's transaction; a wallet is opened on first use
+ * from the legacy {@code users.balance}.
+ */
+public interface WalletService {
+
+    /**
+     * Adds {@code amount} to the available balance. Idempotent per {@code referenceId}: returns
+     * false, changing nothing, if this credit was already recorded.
+     */
+    boolean credit(UUID userId, long amount, UUID referenceId, String description);
+
+    /** Takes {@code amount} from the available balance; fails when it would go negative. */
+    void debit(UUID userId, long amount, UUID referenceId, String description);
+
+    /** Moves {@code amount} from available to held, e.g. while a withdrawal is being paid out. */
+    void hold(UUID userId, long amount, UUID referenceId, String description);
+
+    /** Returns a held amount to the available balance. */
+    void releaseHold(UUID userId, long amount, UUID referenceId, String description);
+
+    /** Removes a held amount for good once the money has left the platform. */
+    void captureHold(UUID userId, long amount, UUID referenceId, String description);
+
+    /** Available balance, read from the running snapshot. */
+    long getBalance(UUID userId);
+}
@@ -0,0 +1,29 @@
+package fpt.project.NeoNHS.service;
+
+import fpt.project.NeoNHS.dto.request.payout.WithdrawRequest;
+import fpt.project.NeoNHS.dto.response.payout.WithdrawalResponse;
+import fpt.project.NeoNHS.entity.User;
+
+import java.util.UUID;
+
+/**
+ * Withdrawals as a saga: hold the amount, verify the face, submit the payout, then settle or
+ * release the hold. Each step commits on its own and no transaction is open during the calls to
+ * the face service or PayOS.
+ */
+public interface WithdrawalService {
+
+    /**
+     * Holds the amount and hands the rest of the saga to a background thread. Idempotent per
+     * {@code request.requestId}: a retry returns the withdrawal created by the first call.
+     */
+    WithdrawalResponse start(User user, WithdrawRequest request);
+
+    WithdrawalResponse getWithdrawal(String email, UUID withdrawalId);
+
+    /**
+     * Moves due withdrawals forward: expires holds whose verification never finished, retries
+     * payout submission and polls PayOS for submitted payouts. Returns the number looked at.
+     */
+    int advanceDue(int batchSize);
+}
@@ -0,0 +1,61 @@
+package fpt.project.NeoNHS.service.dashboard;
+
+import fpt.project.NeoNHS.repository.projection.RegistrationBucketProjection;
+import fpt.project.NeoNHS.repository.projection.PaidOrderBucketProjection;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Fills dashboard chart series from grouped query rows into arrays indexed by bucket.
+ * <p>
+ * The current and the comparison window come back from one query, with buckets numbered from
+ * the start of the comparison window: {@code monthOffset * monthWidth + weekOfMonth}, where
+ * {@code monthWidth} is 1 for monthly charts (one bucket per month) and {@link #WEEKS_PER_MONTH}
+ * for weekly ones (week of month = (day - 1) / 7). Point {@code i} of the current window is then
+ * bucket {@code stride + i} and its comparison point is bucket {@code i}.
+ */
+public final class DashboardTrends {
+    private DashboardTrends() {}
+
+    public static final int WEEKS_PER_MONTH = 5;
+
+    public static final int KIND_TOURIST = 0;
+    public static final int KIND_VENDOR = 1;
+
+    /** Revenue (whole VND) and paid orders per bucket. */
+    public record RevenueSeries(long[] revenue, long[] orders) {}
+
+    /** Registrations per bucket, by kind. */
+    public record RegistrationSeries(long[] tourists, long[] vendors) {}
+
+    /** Month as the {@code YYYYMM} number MySQL's {@code PERIOD_DIFF} takes. */
+    public static int period(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    public static RevenueSeries revenue(List<PaidOrderBucketProjection> rows, int buckets) {
+        long[] revenue = new long[buckets];
+        long[] orders = new long[buckets];
+        for (PaidOrderBucketProjection row : rows) {
+            int bucket = row.getBucket();
+            if (bucket >= 0 && bucket < buckets) {
+                revenue[bucket] += row.getRevenue();
+                orders[bucket] += row.getOrders();
+            }
+        }
+        return new RevenueSeries(revenue, orders);
+    }
+
+    public static RegistrationSeries registrations(List<RegistrationBucketProjection> rows, int buckets) {
+        long[] tourists = new long[buckets];
+        long[] vendors = new long[buckets];
+        for (RegistrationBucketProjection row : rows) {
+            int bucket = row.getBucket();
+            if (bucket >= 0 && bucket < buckets) {
+                (row.getKind() == KIND_VENDOR ? vendors : tourists)[bucket] += row.getCount();
+            }
+        }
+        return new RegistrationSeries(tourists, vendors);
+    }
+}
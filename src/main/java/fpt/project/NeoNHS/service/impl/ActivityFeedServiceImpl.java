@@ -0,0 +1,140 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.dto.response.admin.VendorActivityResponse;
+import fpt.project.NeoNHS.entity.ActivityFeedEntry;
+import fpt.project.NeoNHS.entity.Event;
+import fpt.project.NeoNHS.entity.OrderDetail;
+import fpt.project.NeoNHS.entity.VendorProfile;
+import fpt.project.NeoNHS.entity.WorkshopTemplate;
+import fpt.project.NeoNHS.enums.ActivityAction;
+import fpt.project.NeoNHS.exception.BadRequestException;
+import fpt.project.NeoNHS.repository.ActivityFeedRepository;
+import fpt.project.NeoNHS.service.ActivityFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ActivityFeedServiceImpl implements ActivityFeedService {
+
+    static final String ADMIN_NAME = "Admin";
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final ActivityFeedRepository activityFeedRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void workshopCreated(WorkshopTemplate template) {
+        activityFeedRepository.save(vendorEntry(ActivityAction.CREATE_WORKSHOP, template.getVendor(),
+                template.getId(), template.getName(), LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void workshopApproved(WorkshopTemplate template) {
+        LocalDateTime reviewedAt = template.getReviewedAt() != null ? template.getReviewedAt() : LocalDateTime.now();
+        activityFeedRepository.save(vendorEntry(ActivityAction.APPROVE_WORKSHOP, template.getVendor(),
+                template.getId(), template.getName(), reviewedAt));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventCreated(Event event) {
+        activityFeedRepository.save(ActivityFeedEntry.builder()
+                .action(ActivityAction.CREATE_EVENT)
+                .actorName(ADMIN_NAME)
+                .sourceId(event.getId())
+                .targetName(event.getName())
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ticketsSold(List<OrderDetail> orderDetails) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ActivityFeedEntry> entries = new ArrayList<>(orderDetails.size());
+        for (OrderDetail detail : orderDetails) {
+            if (detail.getWorkshopSession() != null) {
+                WorkshopTemplate template = detail.getWorkshopSession().getWorkshopTemplate();
+                entries.add(vendorEntry(ActivityAction.SELL_TICKET, template.getVendor(),
+                        detail.getId(), template.getName(), now));
+            } else if (detail.getTicketCatalog() != null) {
+                Event event = detail.getTicketCatalog().getEvent();
+                entries.add(ActivityFeedEntry.builder()
+                        .action(ActivityAction.SELL_TICKET)
+                        .actorName(ADMIN_NAME)
+                        .sourceId(detail.getId())
+                        .targetName(event != null ? event.getName() : detail.getTicketCatalog().getName())
+                        .occurredAt(now)
+                        .build());
+            }
+        }
+        activityFeedRepository.saveAll(entries);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<VendorActivityResponse> getFeed(UUID vendorId, LocalDateTime before, UUID beforeId, int limit) {
+        if ((before == null) != (beforeId == null)) {
+            throw new BadRequestException("before and beforeId must be given together");
+        }
+        Pageable page = PageRequest.of(0, Math.clamp(limit, 1, MAX_PAGE_SIZE));
+
+        List<ActivityFeedEntry> entries;
+        if (before == null) {
+            entries = vendorId == null
+                    ? activityFeedRepository.findAllByOrderByOccurredAtDescIdDesc(page)
+                    : activityFeedRepository.findByVendorIdOrderByOccurredAtDescIdDesc(vendorId, page);
+        } else {
+            entries = vendorId == null
+                    ? activityFeedRepository.findPageBefore(before, beforeId, page)
+                    : activityFeedRepository.findVendorPageBefore(vendorId, before, beforeId, page);
+        }
+        return entries.stream().map(ActivityFeedServiceImpl::toResponse).toList();
+    }
+
+    @Override
+    @Transactional
+    public int backfill() {
+        if (activityFeedRepository.existsBy()) {
+            return 0;
+        }
+        return activityFeedRepository.backfillWorkshopsCreated()
+                + activityFeedRepository.backfillWorkshopsApproved()
+                + activityFeedRepository.backfillEventsCreated(ADMIN_NAME)
+                + activityFeedRepository.backfillTicketsSold(ADMIN_NAME);
+    }
+
+    private static ActivityFeedEntry vendorEntry(ActivityAction action, VendorProfile vendor, UUID sourceId,
+                                                 String targetName, LocalDateTime occurredAt) {
+        return ActivityFeedEntry.builder()
+                .action(action)
+                .vendorId(vendor.getId())
+                .actorName(vendor.getBusinessName())
+                .sourceId(sourceId)
+                .targetName(targetName)
+                .occurredAt(occurredAt)
+                .build();
+    }
+
+    private static VendorActivityResponse toResponse(ActivityFeedEntry entry) {
+        return VendorActivityResponse.builder()
+                .id(entry.getId())
+                .vendorId(entry.getVendorId())
+                .vendorName(entry.getActorName())
+                .action(entry.getAction().name())
+                .targetName(entry.getTargetName())
+                .time(entry.getOccurredAt())
+                .build();
+    }
+}
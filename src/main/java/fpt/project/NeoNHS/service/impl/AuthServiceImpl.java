@@ -20,6 +20,7 @@ import fpt.project.NeoNHS.security.UserPrincipal;
 import fpt.project.NeoNHS.service.AuthService;
 import fpt.project.NeoNHS.service.MailService;
 import fpt.project.NeoNHS.service.RedisAuthService;
+import fpt.project.NeoNHS.service.RedisCartService;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -46,6 +47,7 @@ public class AuthServiceImpl implements AuthService {
     private final GoogleTokenVerifier googleTokenVerifier;
     private final MailService mailService;
     private final RedisAuthService redisAuthService;
+    private final RedisCartService redisCartService;
 
     @Value("${app.fe-url}")
     private String appUrl;
@@ -71,6 +73,8 @@ public class AuthServiceImpl implements AuthService {
             throw new BadRequestException("not activated");
         }
 
+        redisCartService.mergeGuestCart(request.getGuestCartToken(), user.getEmail());
+
         return getAuthResponse(user, authentication);
     }
 
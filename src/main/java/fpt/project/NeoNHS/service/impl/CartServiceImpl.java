@@ -1,11 +1,14 @@
 package fpt.project.NeoNHS.service.impl;
 
+import fpt.project.NeoNHS.constants.CacheConstants;
 import fpt.project.NeoNHS.dto.request.cart.AddToCartRequest;
 import fpt.project.NeoNHS.dto.request.cart.CheckoutRequest;
 import fpt.project.NeoNHS.dto.request.cart.UpdateCartItemRequest;
 import fpt.project.NeoNHS.dto.response.cart.CartItemResponse;
 import fpt.project.NeoNHS.dto.response.cart.CartResponse;
 import fpt.project.NeoNHS.dto.response.cart.CheckoutResponse;
+import fpt.project.NeoNHS.dto.response.pricing.PriceQuote;
+import fpt.project.NeoNHS.dto.response.pricing.QuoteLine;
 import fpt.project.NeoNHS.dto.response.voucher.UserVoucherRespone;
 import fpt.project.NeoNHS.dto.response.voucher.VoucherClassificationResult;
 import fpt.project.NeoNHS.entity.Cart;
@@ -23,11 +26,14 @@ import fpt.project.NeoNHS.repository.UserRepository;
 import fpt.project.NeoNHS.repository.UserVoucherRepository;
 import fpt.project.NeoNHS.repository.WorkshopSessionRepository;
 import fpt.project.NeoNHS.service.CartService;
+import fpt.project.NeoNHS.service.PricingService;
 import fpt.project.NeoNHS.enums.VoucherType;
 import fpt.project.NeoNHS.service.VoucherService;
 import java.time.LocalDateTime;
 import fpt.project.NeoNHS.entity.Event;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
@@ -49,17 +55,20 @@ public class CartServiceImpl implements CartService {
     private final WorkshopSessionRepository workshopSessionRepository;
     private final AvailabilityValidator avai;
     private final VoucherService voucherService;
+    private final PricingService pricingService;
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = CacheConstants.CART_CACHE, key = "#userEmail")
     public CartResponse getCart(String userEmail) {
-        User user = getUserByEmail(userEmail);
-        Cart cart = getOrCreateCart(user);
+        Cart cart = cartRepository.findWithItemsByUserEmail(userEmail)
+                .orElseGet(() -> getOrCreateCart(getUserByEmail(userEmail)));
         return mapToCartResponse(cart);
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = CacheConstants.CART_CACHE, key = "#userEmail")
     public CartResponse addToCart(String userEmail, AddToCartRequest request) {
         User user = getUserByEmail(userEmail);
         Cart cart = getOrCreateCart(user);
@@ -143,6 +152,7 @@ public class CartServiceImpl implements CartService {
 
     @Override
     @Transactional
+    @CacheEvict(value = CacheConstants.CART_CACHE, key = "#userEmail")
     public CartResponse updateCartItem(String userEmail, UUID cartItemId, UpdateCartItemRequest request) {
         User user = getUserByEmail(userEmail);
         Cart cart = getOrCreateCart(user);
@@ -168,6 +178,7 @@ public class CartServiceImpl implements CartService {
 
     @Override
     @Transactional
+    @CacheEvict(value = CacheConstants.CART_CACHE, key = "#userEmail")
     public void removeFromCart(String userEmail, UUID cartItemId) {
         User user = getUserByEmail(userEmail);
         Cart cart = getOrCreateCart(user);
@@ -204,11 +215,18 @@ public class CartServiceImpl implements CartService {
     }
 
     private CartResponse mapToCartResponse(Cart cart) {
+        return toCartResponse(cart.getId(), cart.getCartItems());
+    }
+
+    /**
+     * Shared with {@link RedisBackedCartServiceImpl}, which maps transient items built from Redis lines.
+     */
+    static CartResponse toCartResponse(UUID cartId, List<CartItem> cartItems) {
         BigDecimal totalPrice = BigDecimal.ZERO;
         var items = new ArrayList<CartItemResponse>();
 
-        if (cart.getCartItems() != null) {
-            for (CartItem item : cart.getCartItems()) {
+        if (cartItems != null) {
+            for (CartItem item : cartItems) {
                 BigDecimal itemPrice = BigDecimal.ZERO;
                 String itemName = "";
                 UUID ticketId = null;
@@ -264,7 +282,7 @@ public class CartServiceImpl implements CartService {
         }
 
         return CartResponse.builder()
-                .id(cart.getId())
+                .id(cartId)
                 .totalItems(items.size())
                 .totalPrice(totalPrice)
                 .items(items)
@@ -287,7 +305,8 @@ public class CartServiceImpl implements CartService {
             throw new BadRequestException("Some cart items not found");
         }
 
-        BigDecimal totalPrice = BigDecimal.ZERO;
+        PriceQuote quote = pricingService.quote(selectedItems, List.of());
+        BigDecimal totalPrice = PriceQuote.toMoney(quote.subtotal());
         List<CartItemResponse> itemResponses = new ArrayList<>();
 
         for (CartItem item : selectedItems) {
@@ -302,13 +321,9 @@ public class CartServiceImpl implements CartService {
                 avai.validateWorkshopAvailability(item.getWorkshopSession(), item.getQuantity());
             }
 
-            BigDecimal itemPrice = item.getTicketCatalog() != null
-                    ? item.getTicketCatalog().getPrice()
-                    : (item.getWorkshopSession() != null && item.getWorkshopSession().getPrice() != null
-                            ? item.getWorkshopSession().getPrice()
-                            : BigDecimal.ZERO);
-            BigDecimal subTotal = itemPrice.multiply(BigDecimal.valueOf(item.getQuantity()));
-            totalPrice = totalPrice.add(subTotal);
+            QuoteLine line = quote.line(item.getId()).orElseThrow();
+            BigDecimal itemPrice = PriceQuote.toMoney(line.unitPrice());
+            BigDecimal subTotal = PriceQuote.toMoney(line.lineTotal());
 
             // Extract event info
             UUID eventId = null;
@@ -385,16 +400,7 @@ public class CartServiceImpl implements CartService {
         Cart cart = getOrCreateCart(user);
         List<CartItem> cartItems = cart.getCartItems() != null ? cart.getCartItems() : new ArrayList<>();
 
-        BigDecimal totalPrice = BigDecimal.ZERO;
-        for (CartItem item : cartItems) {
-            BigDecimal itemPrice = item.getTicketCatalog() != null
-                    ? item.getTicketCatalog().getPrice()
-                    : (item.getWorkshopSession() != null && item.getWorkshopSession().getPrice() != null
-                            ? item.getWorkshopSession().getPrice()
-                            : BigDecimal.ZERO);
-            BigDecimal subTotal = itemPrice.multiply(BigDecimal.valueOf(item.getQuantity()));
-            totalPrice = totalPrice.add(subTotal);
-        }
+        BigDecimal totalPrice = PriceQuote.toMoney(pricingService.quote(cartItems, List.of()).subtotal());
 
         VoucherClassificationResult classification = voucherService.classifyVouchersForCart(user, cartItems, totalPrice);
 
@@ -1,27 +1,32 @@
 package fpt.project.NeoNHS.service.impl;
 
 import fpt.project.NeoNHS.dto.response.admin.*;
+import fpt.project.NeoNHS.enums.KpiCounter;
+import fpt.project.NeoNHS.enums.RollupProductType;
 import fpt.project.NeoNHS.exception.BadRequestException;
 import fpt.project.NeoNHS.enums.UserRole;
 import fpt.project.NeoNHS.repository.*;
+import fpt.project.NeoNHS.repository.projection.ProductTypeRevenueProjection;
+import fpt.project.NeoNHS.service.ActivityFeedService;
 import fpt.project.NeoNHS.service.DashboardService;
+import fpt.project.NeoNHS.service.KpiCounterService;
+import fpt.project.NeoNHS.service.dashboard.DashboardTrends;
+import fpt.project.NeoNHS.service.dashboard.DashboardTrends.RegistrationSeries;
+import fpt.project.NeoNHS.service.dashboard.DashboardTrends.RevenueSeries;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.DayOfWeek;
-import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.sql.Blob;
 import java.util.*;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,22 +35,23 @@ public class DashboardServiceImpl implements DashboardService {
 
     private final UserRepository userRepository;
     private final VendorProfileRepository vendorRepository;
-    private final OrderRepository orderRepository;
-    private final TicketRepository ticketRepository;
     private final WorkshopTemplateRepository workshopRepository;
     private final EventRepository eventRepository;
+    private final OrderRollupRepository orderRollupRepository;
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final KpiCounterService kpiCounterService;
+    private final ActivityFeedService activityFeedService;
     private static final DateTimeFormatter YEAR_MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
     private static final DateTimeFormatter MONTH_LABEL_FORMATTER = DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH);
 
     @Override
-    @Transactional(readOnly = true)
     public KpiOverviewResponse getKpiOverview() {
-        Double totalRevenue = orderRepository.sumTotalRevenue();
+        Map<KpiCounter, Long> counters = kpiCounterService.getCounters();
         return KpiOverviewResponse.builder()
-                .totalUsers((int) userRepository.count())
-                .activeVendors((int) vendorRepository.count())
-                .ticketsSold((int) ticketRepository.count())
-                .revenue(BigDecimal.valueOf(totalRevenue != null ? totalRevenue : 0.0))
+                .totalUsers(counters.getOrDefault(KpiCounter.USERS_TOTAL, 0L).intValue())
+                .activeVendors(counters.getOrDefault(KpiCounter.VENDORS_TOTAL, 0L).intValue())
+                .ticketsSold(counters.getOrDefault(KpiCounter.TICKETS_ISSUED, 0L).intValue())
+                .revenue(BigDecimal.valueOf(counters.getOrDefault(KpiCounter.REVENUE, 0L)))
                 .build();
     }
 
@@ -57,95 +63,58 @@ public class DashboardServiceImpl implements DashboardService {
 
         if ("MONTHLY".equalsIgnoreCase(normalizedPeriodType)) {
             int pointCount = requestedPointCount;
-            YearMonth now = YearMonth.now();
-            YearMonth startCurrent = now.minusMonths(pointCount - 1L);
-
-            LocalDate startCurrentDate = startCurrent.atDay(1);
-            LocalDate endCurrentDateExclusive = now.plusMonths(1).atDay(1);
-            LocalDate startPreviousDate = startCurrentDate.minusMonths(pointCount);
-
-            List<Map<String, Object>> rawData = orderRepository.getMonthlyRevenueTrendsBetween(
-                    startPreviousDate.atStartOfDay(),
-                    endCurrentDateExclusive.atStartOfDay()
-            );
-
-            Map<String, BigDecimal> revenueByPeriod = new HashMap<>();
-            Map<String, Long> transactionCountByPeriod = new HashMap<>();
-            for (Map<String, Object> row : rawData) {
-                String key = (String) getIgnoreCase(row, "period");
-                if (key == null) {
-                    continue;
-                }
-                revenueByPeriod.merge(key, coerceBigDecimal(getIgnoreCase(row, "amount")), BigDecimal::add);
-
-                Object countValue = getIgnoreCase(row, "transactionCount");
-                if (countValue instanceof Number number) {
-                    transactionCountByPeriod.merge(key, number.longValue(), Long::sum);
-                }
-            }
+            YearMonth startCurrent = YearMonth.now().minusMonths(pointCount - 1L);
+            YearMonth startPrevious = startCurrent.minusMonths(pointCount);
 
-            return buildRevenueTrendsMonthly(pointCount, startCurrent, revenueByPeriod, transactionCountByPeriod);
+            RevenueSeries series = DashboardTrends.revenue(orderRollupRepository.sumPaidByBucket(
+                    DashboardTrends.period(startPrevious), 1,
+                    startPrevious.atDay(1).atStartOfDay(),
+                    startCurrent.plusMonths(pointCount).atDay(1).atStartOfDay()), 2 * pointCount);
+
+            return buildRevenueTrends(pointCount, pointCount, series, "MONTHLY",
+                    i -> startCurrent.plusMonths(i).format(YEAR_MONTH_FORMATTER),
+                    i -> startCurrent.plusMonths(i).format(MONTH_LABEL_FORMATTER));
         }
 
         if ("WEEKLY".equalsIgnoreCase(normalizedPeriodType)) {
             YearMonth currentMonth = YearMonth.now();
-            int weekBuckets = weekBucketsInMonth(currentMonth);
-            int pointCount = Math.min(requestedPointCount, weekBuckets);
-
-            LocalDate startPreviousMonth = currentMonth.minusMonths(1).atDay(1);
-            LocalDate endCurrentMonthExclusive = currentMonth.plusMonths(1).atDay(1);
-
-            List<Map<String, Object>> rawData = orderRepository.getMonthWeekRevenueTrendsBetween(
-                    startPreviousMonth.atStartOfDay(),
-                    endCurrentMonthExclusive.atStartOfDay());
-
-            Map<String, BigDecimal> revenueByPeriod = new HashMap<>();
-            Map<String, Long> transactionCountByPeriod = new HashMap<>();
-            for (Map<String, Object> row : rawData) {
-                String key = (String) getIgnoreCase(row, "period");
-                if (key == null) {
-                    continue;
-                }
-                revenueByPeriod.merge(key, coerceBigDecimal(getIgnoreCase(row, "amount")), BigDecimal::add);
-
-                Object countValue = getIgnoreCase(row, "transactionCount");
-                if (countValue instanceof Number number) {
-                    transactionCountByPeriod.merge(key, number.longValue(), Long::sum);
-                }
-            }
+            int pointCount = Math.min(requestedPointCount, weekBucketsInMonth(currentMonth));
+            YearMonth previousMonth = currentMonth.minusMonths(1);
 
-            return buildRevenueTrendsMonthWeekly(currentMonth, pointCount, revenueByPeriod, transactionCountByPeriod);
+            RevenueSeries series = DashboardTrends.revenue(orderRollupRepository.sumPaidByBucket(
+                    DashboardTrends.period(previousMonth), DashboardTrends.WEEKS_PER_MONTH,
+                    previousMonth.atDay(1).atStartOfDay(),
+                    currentMonth.plusMonths(1).atDay(1).atStartOfDay()), 2 * DashboardTrends.WEEKS_PER_MONTH);
+
+            return buildRevenueTrends(pointCount, DashboardTrends.WEEKS_PER_MONTH, series, "WEEKLY",
+                    i -> formatMonthWeekKey(currentMonth, i + 1),
+                    i -> "Week " + (i + 1));
         }
 
         throw new BadRequestException("Invalid period type. Supported: MONTHLY, WEEKLY");
     }
 
     @Override
-    @Transactional(readOnly = true)
     public StatusCountResponse getActivityStatus() {
+        Map<KpiCounter, Long> counters = kpiCounterService.getCounters();
         return StatusCountResponse.builder()
-                .workshop(Map.of("TOTAL", workshopRepository.count()))
-                .event(Map.of("TOTAL", eventRepository.count()))
+                .workshop(Map.of("TOTAL", counters.getOrDefault(KpiCounter.WORKSHOPS_TOTAL, 0L)))
+                .event(Map.of("TOTAL", counters.getOrDefault(KpiCounter.EVENTS_TOTAL, 0L)))
                 .build();
     }
 
     @Override
     @Transactional(readOnly = true)
     public SalesByTypeResponse getSalesByType() {
-        List<Map<String, Object>> salesData = orderRepository.getRevenueByTicketType();
-
         SalesByTypeResponse.Type workshopType = new SalesByTypeResponse.Type(0L, BigDecimal.ZERO);
         SalesByTypeResponse.Type eventType = new SalesByTypeResponse.Type(0L, BigDecimal.ZERO);
 
-        for (Map<String, Object> m : salesData) {
-            String type = (String) m.get("type");
-            long sold = ((Number) m.get("totalQuantity")).longValue();
-            BigDecimal rev = BigDecimal.valueOf(((Number) m.get("totalRevenue")).doubleValue());
-
-            if ("WORKSHOP".equalsIgnoreCase(type)) {
-                workshopType = new SalesByTypeResponse.Type(sold, rev);
-            } else if ("EVENT".equalsIgnoreCase(type)) {
-                eventType = new SalesByTypeResponse.Type(sold, rev);
+        for (ProductTypeRevenueProjection row : revenueRollupRepository.sumByProductType()) {
+            SalesByTypeResponse.Type type = new SalesByTypeResponse.Type(row.getTickets(), row.getRevenue());
+            if (row.getProductType() == RollupProductType.WORKSHOP) {
+                workshopType = type;
+            } else if (row.getProductType() == RollupProductType.EVENT) {
+                eventType = type;
             }
         }
 
@@ -269,129 +238,42 @@ public class DashboardServiceImpl implements DashboardService {
 
         if ("MONTHLY".equalsIgnoreCase(normalizedPeriodType)) {
             int pointCount = requestedPointCount;
-            YearMonth now = YearMonth.now();
-            YearMonth startCurrent = now.minusMonths(pointCount - 1L);
-
-            LocalDate startCurrentDate = startCurrent.atDay(1);
-            LocalDate endCurrentDateExclusive = now.plusMonths(1).atDay(1);
-            LocalDate startPreviousDate = startCurrentDate.minusMonths(pointCount);
-
-            Map<String, Long> touristByPeriod = toCountMap(
-                    userRepository.getMonthlyTouristRegistrationStatsBetween(
-                            startPreviousDate.atStartOfDay(),
-                            endCurrentDateExclusive.atStartOfDay()
-                    )
-            );
-            Map<String, Long> vendorByPeriod = toCountMap(
-                    vendorRepository.getMonthlyRegistrationStatsBetween(
-                            startPreviousDate.atStartOfDay(),
-                            endCurrentDateExclusive.atStartOfDay()
-                    )
-            );
-
-            return buildRegistrationGrowthMonthly(pointCount, startCurrent, normalizedType, touristByPeriod, vendorByPeriod, activePercentage);
+            YearMonth startCurrent = YearMonth.now().minusMonths(pointCount - 1L);
+            YearMonth startPrevious = startCurrent.minusMonths(pointCount);
+
+            RegistrationSeries series = DashboardTrends.registrations(userRepository.countRegistrationsByBucket(
+                    DashboardTrends.period(startPrevious), 1,
+                    startPrevious.atDay(1).atStartOfDay(),
+                    startCurrent.plusMonths(pointCount).atDay(1).atStartOfDay()), 2 * pointCount);
+
+            return buildRegistrationGrowth(pointCount, pointCount, series, normalizedType, activePercentage,
+                    i -> startCurrent.plusMonths(i).format(YEAR_MONTH_FORMATTER),
+                    i -> startCurrent.plusMonths(i).format(MONTH_LABEL_FORMATTER));
         }
 
         if ("WEEKLY".equalsIgnoreCase(normalizedPeriodType)) {
             YearMonth currentMonth = YearMonth.now();
-            int weekBuckets = weekBucketsInMonth(currentMonth);
-            int pointCount = Math.min(requestedPointCount, weekBuckets);
-
-            LocalDate startPreviousMonth = currentMonth.minusMonths(1).atDay(1);
-            LocalDate endCurrentMonthExclusive = currentMonth.plusMonths(1).atDay(1);
-
-            Map<String, Long> touristByPeriod = toCountMap(
-                    userRepository.getMonthWeekTouristRegistrationStatsBetween(
-                            startPreviousMonth.atStartOfDay(),
-                            endCurrentMonthExclusive.atStartOfDay()
-                    )
-            );
-            Map<String, Long> vendorByPeriod = toCountMap(
-                    vendorRepository.getMonthWeekRegistrationStatsBetween(
-                            startPreviousMonth.atStartOfDay(),
-                            endCurrentMonthExclusive.atStartOfDay()
-                    )
-            );
-
-            return buildRegistrationGrowthMonthWeekly(currentMonth, pointCount, normalizedType, touristByPeriod, vendorByPeriod, activePercentage);
+            int pointCount = Math.min(requestedPointCount, weekBucketsInMonth(currentMonth));
+            YearMonth previousMonth = currentMonth.minusMonths(1);
+
+            RegistrationSeries series = DashboardTrends.registrations(userRepository.countRegistrationsByBucket(
+                    DashboardTrends.period(previousMonth), DashboardTrends.WEEKS_PER_MONTH,
+                    previousMonth.atDay(1).atStartOfDay(),
+                    currentMonth.plusMonths(1).atDay(1).atStartOfDay()), 2 * DashboardTrends.WEEKS_PER_MONTH);
+
+            return buildRegistrationGrowth(pointCount, DashboardTrends.WEEKS_PER_MONTH, series, normalizedType,
+                    activePercentage,
+                    i -> formatMonthWeekKey(currentMonth, i + 1),
+                    i -> "Week " + (i + 1));
         }
 
         throw new BadRequestException("Invalid period type. Supported: MONTHLY, WEEKLY");
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<VendorActivityResponse> getRecentVendorActivities(Integer limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        List<VendorActivityResponse> activities = new ArrayList<>();
-
-        // 1️⃣ Workshop created (Hoạt động của Vendor)
-        workshopRepository.findRecentCreated(pageable)
-                .forEach(w -> activities.add(
-                        VendorActivityResponse.builder()
-                                .vendorId(w.getVendor().getId())
-                                .vendorName(w.getVendor().getBusinessName())
-                                .action("CREATE_WORKSHOP")
-                                .targetName(w.getName())
-                                .time(w.getCreatedAt())
-                                .build()
-                ));
-
-        // 2️⃣ Event created (Hoạt động của Hệ thống/Admin)
-        eventRepository.findRecentCreated(pageable)
-                .forEach(e -> activities.add(
-                        VendorActivityResponse.builder()
-                                .vendorId(null)
-                                .vendorName("Admin")
-                                .action("CREATE_EVENT")
-                                .targetName(e.getName())
-                                .time(e.getCreatedAt())
-                                .build()
-                ));
-
-        // 3️⃣ Ticket sold (Hoạt động bán vé)
-        ticketRepository.findRecentSold(pageable)
-                .forEach(t -> {
-                    String name;
-                    UUID id = null;
-                    String target;
-
-                    if (t.getWorkshopSession() != null) {
-                        var vendor = t.getWorkshopSession().getWorkshopTemplate().getVendor();
-                        id = vendor.getId();
-                        name = vendor.getBusinessName();
-                        target = t.getWorkshopSession().getWorkshopTemplate().getName();
-                    } else {
-                        name = "Admin";
-                        target = t.getTicketCatalog().getEvent().getName();
-                    }
-
-                    activities.add(VendorActivityResponse.builder()
-                            .vendorId(id)
-                            .vendorName(name)
-                            .action("SELL_TICKET")
-                            .targetName(target)
-                            .time(t.getCreatedAt())
-                            .build());
-                });
-
-        // 4️⃣ Workshop approved (Hoạt động Admin phê duyệt cho Vendor)
-        workshopRepository.findRecentApprovedReviews(pageable)
-                .forEach(w -> activities.add(
-                        VendorActivityResponse.builder()
-                                .vendorId(w.getVendor().getId())
-                                .vendorName(w.getVendor().getBusinessName())
-                                .action("APPROVE_WORKSHOP")
-                                .targetName(w.getName())
-                                .time(w.getReviewedAt())
-                                .build()
-                ));
-
-        // 5️⃣ Sắp xếp và giới hạn
-        return activities.stream()
-                .sorted(Comparator.comparing(VendorActivityResponse::getTime, Comparator.nullsLast(Comparator.reverseOrder())))
-                .limit(limit)
-                .collect(Collectors.toList());
+    public List<VendorActivityResponse> getRecentVendorActivities(UUID vendorId, LocalDateTime before, UUID beforeId,
+                                                                  Integer limit) {
+        return activityFeedService.getFeed(vendorId, before, beforeId, limit != null ? limit : 10);
     }
 
     private static String normalizePeriodType(String periodType) {
@@ -410,36 +292,10 @@ public class DashboardServiceImpl implements DashboardService {
         throw new BadRequestException("Invalid type. Supported: ALL, USER, VENDOR");
     }
 
-    private static Map<String, Long> toCountMap(List<Map<String, Object>> rawData) {
-        Map<String, Long> map = new HashMap<>();
-        for (Map<String, Object> row : rawData) {
-            String period = (String) getIgnoreCase(row, "period");
-            Object countValue = getIgnoreCase(row, "count");
-            if (period != null && countValue instanceof Number number) {
-                map.merge(period, number.longValue(), Long::sum);
-            }
-        }
-        return map;
-    }
-
     private static double roundTo1Decimal(double value) {
         return BigDecimal.valueOf(value).setScale(1, RoundingMode.HALF_UP).doubleValue();
     }
 
-    private static Double growthRate(BigDecimal current, BigDecimal previous) {
-        if (previous == null || previous.compareTo(BigDecimal.ZERO) == 0) {
-            if (current == null || current.compareTo(BigDecimal.ZERO) == 0) {
-                return 0.0;
-            }
-            return 100.0;
-        }
-
-        BigDecimal rate = current.subtract(previous)
-                .multiply(BigDecimal.valueOf(100))
-                .divide(previous, 4, RoundingMode.HALF_UP);
-        return roundTo1Decimal(rate.doubleValue());
-    }
-
     private static Double growthRate(long current, long previous) {
         if (previous == 0) {
             return current == 0 ? 0.0 : 100.0;
@@ -447,412 +303,102 @@ public class DashboardServiceImpl implements DashboardService {
         return roundTo1Decimal((current - previous) * 100.0 / previous);
     }
 
-    private static String toWeekLabel(String mysqlWeekKey) {
-        if (mysqlWeekKey == null || mysqlWeekKey.isBlank()) {
-            return mysqlWeekKey;
-        }
-        String lower = mysqlWeekKey.toLowerCase(Locale.ROOT);
-        int weekIndex = lower.indexOf("week");
-        if (weekIndex < 0) {
-            return mysqlWeekKey;
-        }
-
-        String suffix = mysqlWeekKey.substring(weekIndex + 4).trim();
-        if (suffix.isEmpty()) {
-            return mysqlWeekKey;
-        }
-
-        try {
-            String digits = suffix.replaceFirst("^0+", "");
-            if (digits.isEmpty()) {
-                digits = "0";
-            }
-            int weekNumber = Integer.parseInt(digits);
-            return "Week " + weekNumber;
-        } catch (NumberFormatException ignored) {
-            return mysqlWeekKey;
-        }
-    }
-
-    private static RevenueTrendsResponse buildRevenueTrendsMonthly(
+    /**
+     * One chart over bucketed series: point {@code i} reads bucket {@code stride + i}
+     * and compares against bucket {@code i}.
+     */
+    private static RevenueTrendsResponse buildRevenueTrends(
             int pointCount,
-            YearMonth startCurrent,
-            Map<String, BigDecimal> revenueByPeriod,
-            Map<String, Long> transactionCountByPeriod
+            int stride,
+            RevenueSeries series,
+            String periodType,
+            IntFunction<String> periodKey,
+            IntFunction<String> periodLabel
     ) {
         List<RevenueTrendsResponse.TrendPoint> trends = new ArrayList<>(pointCount);
 
-        BigDecimal currentTotal = BigDecimal.ZERO;
-        BigDecimal previousTotal = BigDecimal.ZERO;
-        BigDecimal peakValue = BigDecimal.ZERO;
-        String peakPeriod = null;
-
-        for (int i = 0; i < pointCount; i++) {
-            YearMonth currentYm = startCurrent.plusMonths(i);
-            YearMonth previousYm = currentYm.minusMonths(pointCount);
-
-            String periodKey = currentYm.format(YEAR_MONTH_FORMATTER);
-            String previousPeriodKey = previousYm.format(YEAR_MONTH_FORMATTER);
-
-            BigDecimal revenue = revenueByPeriod.getOrDefault(periodKey, BigDecimal.ZERO);
-            BigDecimal previousRevenue = revenueByPeriod.getOrDefault(previousPeriodKey, BigDecimal.ZERO);
-            long transactionCount = transactionCountByPeriod.getOrDefault(periodKey, 0L);
-
-            String label = currentYm.format(MONTH_LABEL_FORMATTER);
-
-            currentTotal = currentTotal.add(revenue);
-            previousTotal = previousTotal.add(previousRevenue);
-
-            if (peakPeriod == null || revenue.compareTo(peakValue) > 0) {
-                peakValue = revenue;
-                peakPeriod = label;
-            }
-
-            trends.add(RevenueTrendsResponse.TrendPoint.builder()
-                    .periodKey(periodKey)
-                    .period(label)
-                    .revenue(revenue)
-                    .previousRevenue(previousRevenue)
-                    .transactionCount(transactionCount)
-                    .build());
-        }
-
-        BigDecimal averageValue = pointCount == 0
-                ? BigDecimal.ZERO
-                : currentTotal.divide(BigDecimal.valueOf(pointCount), 0, RoundingMode.HALF_UP);
-
-        return RevenueTrendsResponse.builder()
-                .summary(RevenueTrendsResponse.Summary.builder()
-                        .currentTotal(currentTotal)
-                        .previousTotal(previousTotal)
-                        .growthRate(growthRate(currentTotal, previousTotal))
-                        .averageValue(averageValue)
-                        .peakValue(peakValue)
-                        .peakPeriod(peakPeriod)
-                        .build())
-                .trends(trends)
-                .metadata(RevenueTrendsResponse.Metadata.builder()
-                        .currency("VND")
-                        .periodType("MONTHLY")
-                        .pointCount(pointCount)
-                        .build())
-                .build();
-    }
-
-    private static RevenueTrendsResponse buildRevenueTrendsWeekly(
-            int pointCount,
-            LocalDate startCurrentMonday,
-            Map<String, BigDecimal> revenueByPeriod,
-            Map<String, Long> transactionCountByPeriod
-    ) {
-        List<RevenueTrendsResponse.TrendPoint> trends = new ArrayList<>(pointCount);
-
-        BigDecimal currentTotal = BigDecimal.ZERO;
-        BigDecimal previousTotal = BigDecimal.ZERO;
-        BigDecimal peakValue = BigDecimal.ZERO;
+        long currentTotal = 0;
+        long previousTotal = 0;
+        long peakValue = 0;
         String peakPeriod = null;
 
         for (int i = 0; i < pointCount; i++) {
-            LocalDate currentWeekStart = startCurrentMonday.plusWeeks(i);
-            LocalDate previousWeekStart = currentWeekStart.minusWeeks(pointCount);
-
-            String periodKey = formatMysqlWeekU(currentWeekStart);
-            String previousPeriodKey = formatMysqlWeekU(previousWeekStart);
+            long revenue = series.revenue()[stride + i];
+            long previousRevenue = series.revenue()[i];
+            String label = periodLabel.apply(i);
 
-            BigDecimal revenue = revenueByPeriod.getOrDefault(periodKey, BigDecimal.ZERO);
-            BigDecimal previousRevenue = revenueByPeriod.getOrDefault(previousPeriodKey, BigDecimal.ZERO);
-            long transactionCount = transactionCountByPeriod.getOrDefault(periodKey, 0L);
+            currentTotal += revenue;
+            previousTotal += previousRevenue;
 
-            String label = toWeekLabel(periodKey);
-
-            currentTotal = currentTotal.add(revenue);
-            previousTotal = previousTotal.add(previousRevenue);
-
-            if (peakPeriod == null || revenue.compareTo(peakValue) > 0) {
+            if (peakPeriod == null || revenue > peakValue) {
                 peakValue = revenue;
                 peakPeriod = label;
             }
 
             trends.add(RevenueTrendsResponse.TrendPoint.builder()
-                    .periodKey(periodKey)
+                    .periodKey(periodKey.apply(i))
                     .period(label)
-                    .revenue(revenue)
-                    .previousRevenue(previousRevenue)
-                    .transactionCount(transactionCount)
+                    .revenue(BigDecimal.valueOf(revenue))
+                    .previousRevenue(BigDecimal.valueOf(previousRevenue))
+                    .transactionCount(series.orders()[stride + i])
                     .build());
         }
 
         BigDecimal averageValue = pointCount == 0
                 ? BigDecimal.ZERO
-                : currentTotal.divide(BigDecimal.valueOf(pointCount), 0, RoundingMode.HALF_UP);
+                : BigDecimal.valueOf(currentTotal).divide(BigDecimal.valueOf(pointCount), 0, RoundingMode.HALF_UP);
 
         return RevenueTrendsResponse.builder()
                 .summary(RevenueTrendsResponse.Summary.builder()
-                        .currentTotal(currentTotal)
-                        .previousTotal(previousTotal)
+                        .currentTotal(BigDecimal.valueOf(currentTotal))
+                        .previousTotal(BigDecimal.valueOf(previousTotal))
                         .growthRate(growthRate(currentTotal, previousTotal))
                         .averageValue(averageValue)
-                        .peakValue(peakValue)
+                        .peakValue(BigDecimal.valueOf(peakValue))
                         .peakPeriod(peakPeriod)
                         .build())
                 .trends(trends)
                 .metadata(RevenueTrendsResponse.Metadata.builder()
                         .currency("VND")
-                        .periodType("WEEKLY")
+                        .periodType(periodType)
                         .pointCount(pointCount)
                         .build())
                 .build();
     }
 
-    private static RevenueTrendsResponse buildRevenueTrendsMonthWeekly(
-            YearMonth currentMonth,
+    private static RegistrationGrowthResponse buildRegistrationGrowth(
             int pointCount,
-            Map<String, BigDecimal> revenueByPeriod,
-            Map<String, Long> transactionCountByPeriod
-    ) {
-        List<RevenueTrendsResponse.TrendPoint> trends = new ArrayList<>(pointCount);
-
-        YearMonth previousMonth = currentMonth.minusMonths(1);
-
-        BigDecimal currentTotal = BigDecimal.ZERO;
-        BigDecimal previousTotal = BigDecimal.ZERO;
-        BigDecimal peakValue = BigDecimal.ZERO;
-        String peakPeriod = null;
-
-        for (int weekBucket = 1; weekBucket <= pointCount; weekBucket++) {
-            String periodKey = formatMonthWeekKey(currentMonth, weekBucket);
-            String previousPeriodKey = formatMonthWeekKey(previousMonth, weekBucket);
-
-            BigDecimal revenue = revenueByPeriod.getOrDefault(periodKey, BigDecimal.ZERO);
-            BigDecimal previousRevenue = revenueByPeriod.getOrDefault(previousPeriodKey, BigDecimal.ZERO);
-            long transactionCount = transactionCountByPeriod.getOrDefault(periodKey, 0L);
-
-            String label = "Week " + weekBucket;
-
-            currentTotal = currentTotal.add(revenue);
-            previousTotal = previousTotal.add(previousRevenue);
-
-            if (peakPeriod == null || revenue.compareTo(peakValue) > 0) {
-                peakValue = revenue;
-                peakPeriod = label;
-            }
-
-            trends.add(RevenueTrendsResponse.TrendPoint.builder()
-                    .periodKey(periodKey)
-                    .period(label)
-                    .revenue(revenue)
-                    .previousRevenue(previousRevenue)
-                    .transactionCount(transactionCount)
-                    .build());
-        }
-
-        BigDecimal averageValue = pointCount == 0
-                ? BigDecimal.ZERO
-                : currentTotal.divide(BigDecimal.valueOf(pointCount), 0, RoundingMode.HALF_UP);
-
-        return RevenueTrendsResponse.builder()
-                .summary(RevenueTrendsResponse.Summary.builder()
-                        .currentTotal(currentTotal)
-                        .previousTotal(previousTotal)
-                        .growthRate(growthRate(currentTotal, previousTotal))
-                        .averageValue(averageValue)
-                        .peakValue(peakValue)
-                        .peakPeriod(peakPeriod)
-                        .build())
-                .trends(trends)
-                .metadata(RevenueTrendsResponse.Metadata.builder()
-                        .currency("VND")
-                        .periodType("WEEKLY")
-                        .pointCount(pointCount)
-                        .build())
-                .build();
-    }
-
-    private static RegistrationGrowthResponse buildRegistrationGrowthMonthly(
-            int pointCount,
-            YearMonth startCurrent,
-            String normalizedType,
-            Map<String, Long> touristByPeriod,
-            Map<String, Long> vendorByPeriod,
-            Double activePercentage
-    ) {
-        List<RegistrationGrowthResponse.TrendPoint> trends = new ArrayList<>(pointCount);
-
-        long currentTotal = 0;
-        long previousTotal = 0;
-
-        for (int i = 0; i < pointCount; i++) {
-            YearMonth currentYm = startCurrent.plusMonths(i);
-            YearMonth previousYm = currentYm.minusMonths(pointCount);
-
-            String periodKey = currentYm.format(YEAR_MONTH_FORMATTER);
-            String previousPeriodKey = previousYm.format(YEAR_MONTH_FORMATTER);
-
-            long currentIndividuals = touristByPeriod.getOrDefault(periodKey, 0L);
-            long currentOrganizations = vendorByPeriod.getOrDefault(periodKey, 0L);
-            long previousIndividuals = touristByPeriod.getOrDefault(previousPeriodKey, 0L);
-            long previousOrganizations = vendorByPeriod.getOrDefault(previousPeriodKey, 0L);
-
-            long breakdownIndividuals = switch (normalizedType) {
-                case "VENDOR" -> 0L;
-                default -> currentIndividuals;
-            };
-            long breakdownOrganizations = switch (normalizedType) {
-                case "USER" -> 0L;
-                default -> currentOrganizations;
-            };
-
-            long count = breakdownIndividuals + breakdownOrganizations;
-            long previousCount = switch (normalizedType) {
-                case "USER" -> previousIndividuals;
-                case "VENDOR" -> previousOrganizations;
-                default -> previousIndividuals + previousOrganizations;
-            };
-
-            currentTotal += count;
-            previousTotal += previousCount;
-
-            trends.add(RegistrationGrowthResponse.TrendPoint.builder()
-                    .periodKey(periodKey)
-                    .period(currentYm.format(MONTH_LABEL_FORMATTER))
-                    .count(count)
-                    .previousCount(previousCount)
-                    .breakdown(RegistrationGrowthResponse.Breakdown.builder()
-                            .individual(breakdownIndividuals)
-                            .organization(breakdownOrganizations)
-                            .build())
-                    .build());
-        }
-
-        return RegistrationGrowthResponse.builder()
-                .summary(RegistrationGrowthResponse.Summary.builder()
-                        .totalJoined(currentTotal)
-                        .previousTotal(previousTotal)
-                        .growthRate(growthRate(currentTotal, previousTotal))
-                        .activePercentage(activePercentage)
-                        .build())
-                .trends(trends)
-                .build();
-    }
-
-    private static RegistrationGrowthResponse buildRegistrationGrowthWeekly(
-            int pointCount,
-            LocalDate startCurrentMonday,
+            int stride,
+            RegistrationSeries series,
             String normalizedType,
-            Map<String, Long> touristByPeriod,
-            Map<String, Long> vendorByPeriod,
-            Double activePercentage
+            Double activePercentage,
+            IntFunction<String> periodKey,
+            IntFunction<String> periodLabel
     ) {
         List<RegistrationGrowthResponse.TrendPoint> trends = new ArrayList<>(pointCount);
+        boolean withTourists = !"VENDOR".equals(normalizedType);
+        boolean withVendors = !"USER".equals(normalizedType);
 
         long currentTotal = 0;
         long previousTotal = 0;
 
         for (int i = 0; i < pointCount; i++) {
-            LocalDate currentWeekStart = startCurrentMonday.plusWeeks(i);
-            LocalDate previousWeekStart = currentWeekStart.minusWeeks(pointCount);
-
-            String periodKey = formatMysqlWeekU(currentWeekStart);
-            String previousPeriodKey = formatMysqlWeekU(previousWeekStart);
-
-            long currentIndividuals = touristByPeriod.getOrDefault(periodKey, 0L);
-            long currentOrganizations = vendorByPeriod.getOrDefault(periodKey, 0L);
-            long previousIndividuals = touristByPeriod.getOrDefault(previousPeriodKey, 0L);
-            long previousOrganizations = vendorByPeriod.getOrDefault(previousPeriodKey, 0L);
-
-            long breakdownIndividuals = switch (normalizedType) {
-                case "VENDOR" -> 0L;
-                default -> currentIndividuals;
-            };
-            long breakdownOrganizations = switch (normalizedType) {
-                case "USER" -> 0L;
-                default -> currentOrganizations;
-            };
-
-            long count = breakdownIndividuals + breakdownOrganizations;
-            long previousCount = switch (normalizedType) {
-                case "USER" -> previousIndividuals;
-                case "VENDOR" -> previousOrganizations;
-                default -> previousIndividuals + previousOrganizations;
-            };
-
-            currentTotal += count;
-            previousTotal += previousCount;
-
-            trends.add(RegistrationGrowthResponse.TrendPoint.builder()
-                    .periodKey(periodKey)
-                    .period(toWeekLabel(periodKey))
-                    .count(count)
-                    .previousCount(previousCount)
-                    .breakdown(RegistrationGrowthResponse.Breakdown.builder()
-                            .individual(breakdownIndividuals)
-                            .organization(breakdownOrganizations)
-                            .build())
-                    .build());
-        }
-
-        return RegistrationGrowthResponse.builder()
-                .summary(RegistrationGrowthResponse.Summary.builder()
-                        .totalJoined(currentTotal)
-                        .previousTotal(previousTotal)
-                        .growthRate(growthRate(currentTotal, previousTotal))
-                        .activePercentage(activePercentage)
-                        .build())
-                .trends(trends)
-                .build();
-    }
-
-    private static RegistrationGrowthResponse buildRegistrationGrowthMonthWeekly(
-            YearMonth currentMonth,
-            int pointCount,
-            String normalizedType,
-            Map<String, Long> touristByPeriod,
-            Map<String, Long> vendorByPeriod,
-            Double activePercentage
-    ) {
-        List<RegistrationGrowthResponse.TrendPoint> trends = new ArrayList<>(pointCount);
-
-        YearMonth previousMonth = currentMonth.minusMonths(1);
-
-        long currentTotal = 0;
-        long previousTotal = 0;
-
-        for (int weekBucket = 1; weekBucket <= pointCount; weekBucket++) {
-            String periodKey = formatMonthWeekKey(currentMonth, weekBucket);
-            String previousPeriodKey = formatMonthWeekKey(previousMonth, weekBucket);
-
-            long currentIndividuals = touristByPeriod.getOrDefault(periodKey, 0L);
-            long currentOrganizations = vendorByPeriod.getOrDefault(periodKey, 0L);
-            long previousIndividuals = touristByPeriod.getOrDefault(previousPeriodKey, 0L);
-            long previousOrganizations = vendorByPeriod.getOrDefault(previousPeriodKey, 0L);
-
-            long breakdownIndividuals = switch (normalizedType) {
-                case "VENDOR" -> 0L;
-                default -> currentIndividuals;
-            };
-            long breakdownOrganizations = switch (normalizedType) {
-                case "USER" -> 0L;
-                default -> currentOrganizations;
-            };
-
-            long count = breakdownIndividuals + breakdownOrganizations;
-            long previousCount = switch (normalizedType) {
-                case "USER" -> previousIndividuals;
-                case "VENDOR" -> previousOrganizations;
-                default -> previousIndividuals + previousOrganizations;
-            };
+            long individuals = withTourists ? series.tourists()[stride + i] : 0L;
+            long organizations = withVendors ? series.vendors()[stride + i] : 0L;
+            long count = individuals + organizations;
+            long previousCount = (withTourists ? series.tourists()[i] : 0L) + (withVendors ? series.vendors()[i] : 0L);
 
             currentTotal += count;
             previousTotal += previousCount;
 
             trends.add(RegistrationGrowthResponse.TrendPoint.builder()
-                    .periodKey(periodKey)
-                    .period("Week " + weekBucket)
+                    .periodKey(periodKey.apply(i))
+                    .period(periodLabel.apply(i))
                     .count(count)
                     .previousCount(previousCount)
                     .breakdown(RegistrationGrowthResponse.Breakdown.builder()
-                            .individual(breakdownIndividuals)
-                            .organization(breakdownOrganizations)
+                            .individual(individuals)
+                            .organization(organizations)
                             .build())
                     .build());
         }
@@ -868,24 +414,6 @@ public class DashboardServiceImpl implements DashboardService {
                 .build();
     }
 
-    // Matches MySQL DATE_FORMAT(..., '%Y-Week %u'): week number 00-53, Monday as first day,
-    // week 1 starts on the first Monday of the year; days before that are week 0.
-    private static String formatMysqlWeekU(LocalDate date) {
-        int year = date.getYear();
-        LocalDate firstMonday = LocalDate.of(year, 1, 1);
-        while (firstMonday.getDayOfWeek() != DayOfWeek.MONDAY) {
-            firstMonday = firstMonday.plusDays(1);
-        }
-
-        int week = 0;
-        if (!date.isBefore(firstMonday)) {
-            long days = ChronoUnit.DAYS.between(firstMonday, date);
-            week = (int) (days / 7) + 1;
-        }
-
-        return String.format("%d-Week %02d", year, week);
-    }
-
     private static String formatMonthWeekKey(YearMonth month, int weekBucket) {
         return month.format(YEAR_MONTH_FORMATTER) + "-W" + weekBucket;
     }
@@ -896,17 +424,4 @@ public class DashboardServiceImpl implements DashboardService {
         }
         return (month.lengthOfMonth() + 6) / 7;
     }
-
-    private static BigDecimal coerceBigDecimal(Object value) {
-        if (value == null) {
-            return BigDecimal.ZERO;
-        }
-        if (value instanceof BigDecimal decimal) {
-            return decimal;
-        }
-        if (value instanceof Number number) {
-            return BigDecimal.valueOf(number.doubleValue());
-        }
-        return new BigDecimal(value.toString());
-    }
 }
@@ -19,6 +19,7 @@ import fpt.project.NeoNHS.repository.EventRepository;
 import fpt.project.NeoNHS.repository.EventTagRepository;
 import fpt.project.NeoNHS.repository.OrderDetailRepository;
 import fpt.project.NeoNHS.repository.UserRepository;
+import fpt.project.NeoNHS.service.ActivityFeedService;
 import fpt.project.NeoNHS.service.EventService;
 import fpt.project.NeoNHS.service.NotificationService;
 import fpt.project.NeoNHS.specification.EventSpecification;
@@ -45,6 +46,7 @@ public class EventServiceImpl implements EventService {
     private final OrderDetailRepository orderDetailRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final ActivityFeedService activityFeedService;
 
     @Override
     @Transactional
@@ -73,6 +75,7 @@ public class EventServiceImpl implements EventService {
                 .build();
 
         Event savedEvent = eventRepository.save(event);
+        activityFeedService.eventCreated(savedEvent);
 
         // Create thumbnail image (required)
         EventImage thumbnail = EventImage.builder()
@@ -1,5 +1,7 @@
 package fpt.project.NeoNHS.service.impl;
 
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -12,15 +14,30 @@ import java.util.List;
 import java.util.Map;
 
 @Service
+@RequiredArgsConstructor
+@Slf4j
 public class ExpoPushService {
-    private final RestTemplate restTemplate = new RestTemplate();
+    /** Expo accepts at most 100 messages per request. */
+    public static final int MAX_MESSAGES_PER_REQUEST = 100;
+
+    private final RestTemplate expoRestTemplate;
     private final String EXPO_PUSH_URL = "https://exp.host/--/api/v2/push/send";
 
     public void sendPushNotification(List<String> expoPushTokens, String title, String body, Map<String, Object> data) {
-        if (expoPushTokens == null || expoPushTokens.isEmpty())
-            return;
+        List<Map<String, Object>> messages = buildMessages(expoPushTokens, title, body, data);
+        try {
+            send(messages);
+        } catch (Exception e) {
+            log.warn("[Push] Failed to send {} Expo push message(s)", messages.size(), e);
+        }
+    }
 
+    public List<Map<String, Object>> buildMessages(List<String> expoPushTokens, String title, String body,
+                                                   Map<String, Object> data) {
         List<Map<String, Object>> messages = new ArrayList<>();
+        if (expoPushTokens == null) {
+            return messages;
+        }
         for (String token : expoPushTokens) {
             if (token != null && token.startsWith("ExponentPushToken")) {
                 Map<String, Object> message = new HashMap<>();
@@ -32,16 +49,19 @@ public class ExpoPushService {
                 messages.add(message);
             }
         }
+        return messages;
+    }
 
-        if (!messages.isEmpty()) {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<List<Map<String, Object>>> request = new HttpEntity<>(messages, headers);
-            try {
-                restTemplate.postForObject(EXPO_PUSH_URL, request, String.class);
-            } catch (Exception e) {
-                System.err.println("Failed to send Expo push: " + e.getMessage());
-            }
+    /**
+     * Sends up to {@link #MAX_MESSAGES_PER_REQUEST} messages in one request; unlike
+     * {@link #sendPushNotification} a failure is thrown so the caller can retry.
+     */
+    public void send(List<Map<String, Object>> messages) {
+        if (messages.isEmpty()) {
+            return;
         }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        expoRestTemplate.postForObject(EXPO_PUSH_URL, new HttpEntity<>(messages, headers), String.class);
     }
 }
@@ -2,6 +2,7 @@ package fpt.project.NeoNHS.service.impl;
 
 import fpt.project.NeoNHS.service.FaceVerificationService;
 import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.*;
@@ -17,12 +18,13 @@ import java.util.Map;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class FaceVerificationServiceImpl implements FaceVerificationService {
 
     @Value("${face-service.base-url}")
     private String faceServiceBaseUrl;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate faceServiceRestTemplate;
 
     @Override
     public String extractEmbedding(String imageBase64) {
@@ -43,7 +45,7 @@ public class FaceVerificationServiceImpl implements FaceVerificationService {
 
         HttpEntity<MultiValueMap<String, Object>> entity = new HttpEntity<>(body, headers);
 
-        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+        ResponseEntity<Map<String, Object>> response = faceServiceRestTemplate.exchange(
                 faceServiceBaseUrl + "/api/face/extract",
                 HttpMethod.POST,
                 entity,
@@ -93,7 +95,7 @@ public class FaceVerificationServiceImpl implements FaceVerificationService {
 
         HttpEntity<MultiValueMap<String, Object>> entity = new HttpEntity<>(body, headers);
 
-        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+        ResponseEntity<Map<String, Object>> response = faceServiceRestTemplate.exchange(
                 faceServiceBaseUrl + "/api/face/compare",
                 HttpMethod.POST,
                 entity,
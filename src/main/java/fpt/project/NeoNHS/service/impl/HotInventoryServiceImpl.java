@@ -0,0 +1,351 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.dto.response.inventory.ReservationResult;
+import fpt.project.NeoNHS.entity.Event;
+import fpt.project.NeoNHS.entity.TicketCatalog;
+import fpt.project.NeoNHS.entity.WorkshopSession;
+import fpt.project.NeoNHS.enums.EventStatus;
+import fpt.project.NeoNHS.enums.ReservationStatus;
+import fpt.project.NeoNHS.enums.SessionStatus;
+import fpt.project.NeoNHS.enums.TicketCatalogStatus;
+import fpt.project.NeoNHS.helpers.RedisInventoryKeys;
+import fpt.project.NeoNHS.repository.EventRepository;
+import fpt.project.NeoNHS.repository.TicketCatalogRepository;
+import fpt.project.NeoNHS.repository.WorkshopSessionRepository;
+import fpt.project.NeoNHS.service.HotInventoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static fpt.project.NeoNHS.helpers.RedisInventoryKeys.CATALOG;
+import static fpt.project.NeoNHS.helpers.RedisInventoryKeys.EVENT;
+import static fpt.project.NeoNHS.helpers.RedisInventoryKeys.SESSION;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HotInventoryServiceImpl implements HotInventoryService {
+
+    /** Stand-in for "no quota" so unlimited targets share the same script path. */
+    private static final long UNLIMITED = 1_000_000_000L;
+
+    /**
+     * KEYS: (remaining, pending) pairs followed by the dirty set. ARGV: quantity followed by one member per pair.
+     * Returns {1} when reserved, {-1, i} when pair i is not loaded, {0, i, remaining} when pair i is short.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            local qty = tonumber(ARGV[1])
+            local n = (#KEYS - 1) / 2
+            for i = 1, n do
+              local remaining = redis.call('GET', KEYS[2 * i - 1])
+              if not remaining then
+                return {-1, i}
+              end
+              if tonumber(remaining) < qty then
+                return {0, i, tonumber(remaining)}
+              end
+            end
+            for i = 1, n do
+              redis.call('DECRBY', KEYS[2 * i - 1], qty)
+              redis.call('INCRBY', KEYS[2 * i], qty)
+              redis.call('SADD', KEYS[#KEYS], ARGV[i + 1])
+            end
+            return {1}
+            """, List.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            local qty = tonumber(ARGV[1])
+            local n = (#KEYS - 1) / 2
+            for i = 1, n do
+              if redis.call('EXISTS', KEYS[2 * i - 1]) == 1 then
+                redis.call('INCRBY', KEYS[2 * i - 1], qty)
+              end
+              redis.call('DECRBY', KEYS[2 * i], qty)
+              redis.call('SADD', KEYS[#KEYS], ARGV[i + 1])
+            end
+            return 1
+            """, Long.class);
+
+    /** Atomically hand the pending delta of one member over to the caller. */
+    private static final RedisScript<Long> TAKE_PENDING_SCRIPT = new DefaultRedisScript<>("""
+            local delta = tonumber(redis.call('GET', KEYS[1]) or '0')
+            redis.call('SET', KEYS[1], 0)
+            redis.call('SREM', KEYS[2], ARGV[1])
+            return delta
+            """, Long.class);
+
+    /** Reset remaining to (database remaining - still pending), the only value consistent with MySQL. */
+    private static final RedisScript<Long> RESYNC_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+              return 0
+            end
+            local pending = tonumber(redis.call('GET', KEYS[2]) or '0')
+            redis.call('SET', KEYS[1], tonumber(ARGV[1]) - pending)
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final TicketCatalogRepository ticketCatalogRepository;
+    private final EventRepository eventRepository;
+    private final WorkshopSessionRepository workshopSessionRepository;
+
+    @Override
+    public ReservationResult reserveTicket(TicketCatalog ticketCatalog, int quantity) {
+        LocalDateTime now = LocalDateTime.now();
+        if (ticketCatalog.getStatus() != TicketCatalogStatus.ACTIVE
+                || (ticketCatalog.getValidFromDate() != null && now.isBefore(ticketCatalog.getValidFromDate()))
+                || (ticketCatalog.getValidToDate() != null && now.isAfter(ticketCatalog.getValidToDate()))) {
+            return ReservationResult.rejected(ReservationStatus.NOT_AVAILABLE, null,
+                    "Ticket is not available for sale: " + ticketCatalog.getName());
+        }
+
+        Event event = ticketCatalog.getEvent();
+        List<String> members = new ArrayList<>();
+        members.add(RedisInventoryKeys.member(CATALOG, ticketCatalog.getId()));
+        if (event != null) {
+            if (event.getStatus() == EventStatus.CANCELLED || event.getStatus() == EventStatus.COMPLETED
+                    || (event.getEndTime() != null && now.isAfter(event.getEndTime()))) {
+                return ReservationResult.rejected(ReservationStatus.NOT_AVAILABLE, null,
+                        "Event is not available for booking: " + event.getName());
+            }
+            members.add(RedisInventoryKeys.member(EVENT, event.getId()));
+        }
+
+        List<?> outcome = reserve(members, quantity);
+        if (isReserved(outcome)) {
+            undoOnRollback(members, quantity);
+            return ReservationResult.reserved();
+        }
+        int remaining = (int) Math.max(0, (Long) outcome.get(2));
+        if ((Long) outcome.get(1) == 1L) {
+            return ReservationResult.rejected(ReservationStatus.INSUFFICIENT_QUOTA, remaining,
+                    "Exceeds available tickets! Remaining: " + remaining);
+        }
+        return ReservationResult.rejected(ReservationStatus.CAPACITY_EXCEEDED, remaining,
+                "Event is full! Remaining slots: " + remaining);
+    }
+
+    @Override
+    public ReservationResult reserveWorkshop(WorkshopSession workshopSession, int quantity) {
+        if (workshopSession.getStatus() != SessionStatus.SCHEDULED
+                || !LocalDateTime.now().isBefore(workshopSession.getStartTime())) {
+            return ReservationResult.rejected(ReservationStatus.NOT_AVAILABLE, null,
+                    "Workshop is not available for booking: " + workshopSession.getWorkshopTemplate().getName());
+        }
+
+        List<String> members = List.of(RedisInventoryKeys.member(SESSION, workshopSession.getId()));
+        List<?> outcome = reserve(members, quantity);
+        if (isReserved(outcome)) {
+            undoOnRollback(members, quantity);
+            return ReservationResult.reserved();
+        }
+        int remaining = (int) Math.max(0, (Long) outcome.get(2));
+        return ReservationResult.rejected(ReservationStatus.CAPACITY_EXCEEDED, remaining,
+                "Workshop is full! Remaining slots: " + remaining);
+    }
+
+    @Override
+    public void releaseTicket(TicketCatalog ticketCatalog, int quantity) {
+        List<String> members = new ArrayList<>();
+        members.add(RedisInventoryKeys.member(CATALOG, ticketCatalog.getId()));
+        if (ticketCatalog.getEvent() != null) {
+            members.add(RedisInventoryKeys.member(EVENT, ticketCatalog.getEvent().getId()));
+        }
+        releaseAfterCommit(members, quantity);
+    }
+
+    @Override
+    public void releaseWorkshop(WorkshopSession workshopSession, int quantity) {
+        List<String> members = List.of(RedisInventoryKeys.member(SESSION, workshopSession.getId()));
+        releaseAfterCommit(members, quantity);
+    }
+
+    @Override
+    public int flushPending() {
+        int written = 0;
+        Set<String> dirty = redis.opsForSet().members(RedisInventoryKeys.DIRTY_SET);
+        if (dirty != null) {
+            for (String member : dirty) {
+                if (flush(member)) {
+                    written++;
+                }
+            }
+        }
+
+        Set<String> hot = redis.opsForSet().members(RedisInventoryKeys.HOT_SET);
+        if (hot != null) {
+            for (String member : hot) {
+                resync(member);
+            }
+        }
+        return written;
+    }
+
+    @Override
+    public void evictTicket(TicketCatalog ticketCatalog) {
+        evict(RedisInventoryKeys.member(CATALOG, ticketCatalog.getId()));
+        if (ticketCatalog.getEvent() != null) {
+            evict(RedisInventoryKeys.member(EVENT, ticketCatalog.getEvent().getId()));
+        }
+    }
+
+    @Override
+    public void evictWorkshop(WorkshopSession workshopSession) {
+        evict(RedisInventoryKeys.member(SESSION, workshopSession.getId()));
+    }
+
+    private List<?> reserve(List<String> members, int quantity) {
+        List<?> outcome = redis.execute(RESERVE_SCRIPT, keysFor(members), argsFor(members, quantity));
+        if (outcome != null && (Long) outcome.get(0) == -1L) {
+            // First checkout since the target became hot: load it from MySQL and try once more
+            members.forEach(this::prime);
+            outcome = redis.execute(RESERVE_SCRIPT, keysFor(members), argsFor(members, quantity));
+        }
+        if (outcome == null || (Long) outcome.get(0) == -1L) {
+            throw new IllegalStateException("Hot inventory counters could not be loaded for " + members);
+        }
+        return outcome;
+    }
+
+    /**
+     * Redis is not enlisted in the JPA transaction: a reservation taken inside one that rolls back
+     * is handed back here, or its seats would stay taken and the flush would record them as sold.
+     */
+    private void undoOnRollback(List<String> members, int quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    release(members, quantity);
+                } else if (status == STATUS_UNKNOWN) {
+                    // Keep the seats: a leaked hold is safer than an oversold one
+                    log.warn("[HotInventory] Outcome unknown, keeping reservation of {} for {}", quantity, members);
+                }
+            }
+        });
+    }
+
+    /**
+     * Releases only take effect once the caller's transaction (e.g. the PENDING -> FAILED transition
+     * of a hold) has committed, so a rolled-back or retried release cannot hand the seats back twice.
+     */
+    private void releaseAfterCommit(List<String> members, int quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(members, quantity);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(members, quantity);
+            }
+        });
+    }
+
+    private void release(List<String> members, int quantity) {
+        try {
+            redis.execute(RELEASE_SCRIPT, keysFor(members), argsFor(members, quantity));
+        } catch (RuntimeException e) {
+            // The release is already committed in MySQL; log what has to be handed back by hand
+            log.error("[HotInventory] Failed to release {} for {}", quantity, members, e);
+        }
+    }
+
+    private boolean isReserved(List<?> outcome) {
+        return (Long) outcome.get(0) == 1L;
+    }
+
+    private void prime(String member) {
+        Long remaining = databaseRemaining(member);
+        redis.opsForValue().setIfAbsent(RedisInventoryKeys.remaining(member),
+                String.valueOf(remaining != null ? remaining : UNLIMITED));
+        redis.opsForSet().add(RedisInventoryKeys.HOT_SET, member);
+    }
+
+    private boolean flush(String member) {
+        String pendingKey = RedisInventoryKeys.pending(member);
+        Long delta = redis.execute(TAKE_PENDING_SCRIPT,
+                List.of(pendingKey, RedisInventoryKeys.DIRTY_SET), member);
+        if (delta == null || delta == 0) {
+            return false;
+        }
+        try {
+            applyDelta(member, delta);
+            return true;
+        } catch (RuntimeException e) {
+            // Hand the delta back so the next run retries it
+            redis.opsForValue().increment(pendingKey, delta);
+            redis.opsForSet().add(RedisInventoryKeys.DIRTY_SET, member);
+            log.error("[HotInventory] Failed to write back {} for {}", delta, member, e);
+            return false;
+        }
+    }
+
+    private void resync(String member) {
+        Long remaining = databaseRemaining(member);
+        redis.execute(RESYNC_SCRIPT,
+                List.of(RedisInventoryKeys.remaining(member), RedisInventoryKeys.pending(member)),
+                String.valueOf(remaining != null ? remaining : UNLIMITED));
+    }
+
+    private void evict(String member) {
+        flush(member);
+        redis.opsForSet().remove(RedisInventoryKeys.HOT_SET, member);
+        redis.delete(List.of(RedisInventoryKeys.remaining(member), RedisInventoryKeys.pending(member)));
+    }
+
+    private void applyDelta(String member, long delta) {
+        UUID id = UUID.fromString(member.substring(member.indexOf(':') + 1));
+        switch (member.substring(0, member.indexOf(':'))) {
+            case CATALOG -> ticketCatalogRepository.adjustSoldQuantity(id, delta);
+            case EVENT -> eventRepository.adjustEnrolled(id, delta);
+            case SESSION -> workshopSessionRepository.adjustEnrolled(id, delta);
+            default -> throw new IllegalArgumentException("Unknown inventory member " + member);
+        }
+    }
+
+    private Long databaseRemaining(String member) {
+        UUID id = UUID.fromString(member.substring(member.indexOf(':') + 1));
+        Integer remaining = switch (member.substring(0, member.indexOf(':'))) {
+            case CATALOG -> ticketCatalogRepository.findRemainingSeats(id);
+            case EVENT -> eventRepository.findRemainingSlots(id);
+            case SESSION -> workshopSessionRepository.findRemainingSlots(id);
+            default -> throw new IllegalArgumentException("Unknown inventory member " + member);
+        };
+        return remaining != null ? remaining.longValue() : null;
+    }
+
+    private List<String> keysFor(List<String> members) {
+        List<String> keys = new ArrayList<>();
+        for (String member : members) {
+            keys.add(RedisInventoryKeys.remaining(member));
+            keys.add(RedisInventoryKeys.pending(member));
+        }
+        keys.add(RedisInventoryKeys.DIRTY_SET);
+        return keys;
+    }
+
+    private Object[] argsFor(List<String> members, int quantity) {
+        Object[] args = new Object[members.size() + 1];
+        args[0] = String.valueOf(quantity);
+        for (int i = 0; i < members.size(); i++) {
+            args[i + 1] = members.get(i);
+        }
+        return args;
+    }
+}
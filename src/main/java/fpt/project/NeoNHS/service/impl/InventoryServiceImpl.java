@@ -0,0 +1,105 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.dto.response.inventory.ReservationResult;
+import fpt.project.NeoNHS.entity.Event;
+import fpt.project.NeoNHS.entity.TicketCatalog;
+import fpt.project.NeoNHS.entity.WorkshopSession;
+import fpt.project.NeoNHS.enums.ReservationStatus;
+import fpt.project.NeoNHS.repository.EventRepository;
+import fpt.project.NeoNHS.repository.TicketCatalogRepository;
+import fpt.project.NeoNHS.repository.WorkshopSessionRepository;
+import fpt.project.NeoNHS.service.HotInventoryService;
+import fpt.project.NeoNHS.service.InventoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryServiceImpl implements InventoryService {
+
+    private final TicketCatalogRepository ticketCatalogRepository;
+    private final EventRepository eventRepository;
+    private final WorkshopSessionRepository workshopSessionRepository;
+    private final HotInventoryService hotInventoryService;
+
+    @Override
+    @Transactional
+    public ReservationResult reserveTicket(TicketCatalog ticketCatalog, int quantity) {
+        if (Boolean.TRUE.equals(ticketCatalog.getHotInventory())) {
+            return hotInventoryService.reserveTicket(ticketCatalog, quantity);
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        if (ticketCatalogRepository.reserveSeats(ticketCatalog.getId(), quantity, now) == 0) {
+            Integer remaining = ticketCatalogRepository.findRemainingSeats(ticketCatalog.getId());
+            if (remaining != null && remaining < quantity) {
+                return ReservationResult.rejected(ReservationStatus.INSUFFICIENT_QUOTA, remaining,
+                        "Exceeds available tickets! Remaining: " + Math.max(0, remaining));
+            }
+            return ReservationResult.rejected(ReservationStatus.NOT_AVAILABLE, remaining,
+                    "Ticket is not available for sale: " + ticketCatalog.getName());
+        }
+
+        Event event = ticketCatalog.getEvent();
+        if (event != null && eventRepository.enrollParticipants(event.getId(), quantity, now) == 0) {
+            // Give the catalog seats back so a rejected result never leaves a half-applied reservation
+            ticketCatalogRepository.releaseSeats(ticketCatalog.getId(), quantity);
+
+            Integer remaining = eventRepository.findRemainingSlots(event.getId());
+            if (remaining != null && remaining < quantity) {
+                return ReservationResult.rejected(ReservationStatus.CAPACITY_EXCEEDED, remaining,
+                        "Event is full! Remaining slots: " + Math.max(0, remaining));
+            }
+            return ReservationResult.rejected(ReservationStatus.NOT_AVAILABLE, remaining,
+                    "Event is not available for booking: " + event.getName());
+        }
+
+        return ReservationResult.reserved();
+    }
+
+    @Override
+    @Transactional
+    public ReservationResult reserveWorkshop(WorkshopSession workshopSession, int quantity) {
+        if (Boolean.TRUE.equals(workshopSession.getHotInventory())) {
+            return hotInventoryService.reserveWorkshop(workshopSession, quantity);
+        }
+        if (workshopSessionRepository.enrollParticipants(workshopSession.getId(), quantity, LocalDateTime.now()) == 0) {
+            Integer remaining = workshopSessionRepository.findRemainingSlots(workshopSession.getId());
+            if (remaining != null && remaining < quantity) {
+                return ReservationResult.rejected(ReservationStatus.CAPACITY_EXCEEDED, remaining,
+                        "Workshop is full! Remaining slots: " + Math.max(0, remaining));
+            }
+            return ReservationResult.rejected(ReservationStatus.NOT_AVAILABLE, remaining,
+                    "Workshop is not available for booking: " + workshopSession.getWorkshopTemplate().getName());
+        }
+        return ReservationResult.reserved();
+    }
+
+    @Override
+    @Transactional
+    public void releaseTicket(TicketCatalog ticketCatalog, int quantity) {
+        if (Boolean.TRUE.equals(ticketCatalog.getHotInventory())) {
+            hotInventoryService.releaseTicket(ticketCatalog, quantity);
+            return;
+        }
+        ticketCatalogRepository.releaseSeats(ticketCatalog.getId(), quantity);
+        if (ticketCatalog.getEvent() != null) {
+            eventRepository.releaseParticipants(ticketCatalog.getEvent().getId(), quantity);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void releaseWorkshop(WorkshopSession workshopSession, int quantity) {
+        if (Boolean.TRUE.equals(workshopSession.getHotInventory())) {
+            hotInventoryService.releaseWorkshop(workshopSession, quantity);
+            return;
+        }
+        workshopSessionRepository.releaseParticipants(workshopSession.getId(), quantity);
+    }
+}
@@ -0,0 +1,255 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.dto.response.job.JobRunResponse;
+import fpt.project.NeoNHS.dto.response.job.JobStatusResponse;
+import fpt.project.NeoNHS.helpers.RedisJobKeys;
+import fpt.project.NeoNHS.service.JobLeaseService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class JobLeaseServiceImpl implements JobLeaseService {
+
+    private static final String SUCCESS = "SUCCESS";
+    private static final String FAILED = "FAILED";
+
+    /**
+     * Takes the lease if free and returns the new fencing token, otherwise 0.
+     */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+              return 0
+            end
+            local token = redis.call('INCR', KEYS[2])
+            redis.call('SET', KEYS[1], ARGV[1] .. '|' .. token, 'PX', ARGV[2])
+            return token
+            """, Long.class);
+
+    /**
+     * Frees the lease (or shortens it to the remaining minimum hold) only if it is still ours.
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+              return 0
+            end
+            if tonumber(ARGV[2]) > 0 then
+              redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            else
+              redis.call('DEL', KEYS[1])
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * Records a run unless a newer token already reported (a stalled node finishing late).
+     */
+    private static final RedisScript<Long> RECORD_SCRIPT = new DefaultRedisScript<>("""
+            local last = tonumber(redis.call('HGET', KEYS[1], 'lastToken') or '0')
+            if tonumber(ARGV[1]) < last then
+              return 0
+            end
+            redis.call('HSET', KEYS[1], 'lastToken', ARGV[1], 'lastOwner', ARGV[2], 'lastStartedAt', ARGV[3],
+                       'lastDurationMs', ARGV[4], 'lastRows', ARGV[5], 'lastStatus', ARGV[6], 'lastError', ARGV[7])
+            redis.call('HINCRBY', KEYS[1], 'runs', 1)
+            if ARGV[6] == 'SUCCESS' then
+              redis.call('HSET', KEYS[1], 'lastSuccessAt', ARGV[3])
+            else
+              redis.call('HINCRBY', KEYS[1], 'failures', 1)
+            end
+            redis.call('LPUSH', KEYS[2], ARGV[8])
+            redis.call('LTRIM', KEYS[2], 0, tonumber(ARGV[9]) - 1)
+            redis.call('SADD', KEYS[3], ARGV[10])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final String owner;
+    private final int historySize;
+
+    public JobLeaseServiceImpl(StringRedisTemplate redis,
+                               @Value("${jobs.history-size:50}") int historySize) {
+        this.redis = redis;
+        this.owner = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+        this.historySize = historySize;
+        log.info("[Job] Node owner id {}", owner);
+    }
+
+    @Override
+    public boolean runExclusive(String job, Duration leaseTtl, Duration minHold, JobBody body) {
+        Optional<JobLease> acquired = acquire(job, leaseTtl);
+        if (acquired.isEmpty()) {
+            return false;
+        }
+
+        JobLease lease = acquired.get();
+        long startedAt = System.currentTimeMillis();
+        int rows = 0;
+        String error = null;
+        try {
+            rows = body.run(lease);
+        } catch (Exception e) {
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            log.error("[Job] {} failed (token {}): ", job, lease.token(), e);
+        } finally {
+            long duration = System.currentTimeMillis() - startedAt;
+            record(lease, startedAt, duration, rows, error);
+            release(lease, Math.max(0, minHold.toMillis() - duration));
+        }
+        return true;
+    }
+
+    @Override
+    public int runSharded(String job, int shardCount, Duration leaseTtl, Duration minHold, ShardBody body) {
+        // Nodes start on different shards so they rarely compete for the same lease
+        int first = Math.floorMod(owner.hashCode(), shardCount);
+        int ran = 0;
+        for (int i = 0; i < shardCount; i++) {
+            int shard = (first + i) % shardCount;
+            if (runExclusive(RedisJobKeys.shard(job, shard), leaseTtl, minHold,
+                    lease -> body.run(lease, shard, shardCount))) {
+                ran++;
+            }
+        }
+        return ran;
+    }
+
+    @Override
+    public boolean isHeld(JobLease lease) {
+        try {
+            return leaseValue(lease).equals(redis.opsForValue().get(RedisJobKeys.lease(lease.job())));
+        } catch (Exception e) {
+            // Cannot prove we still hold it: stop, the next holder picks the work up
+            log.warn("[Job] Could not check lease of {}: {}", lease.job(), e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public List<JobStatusResponse> getJobStatuses() {
+        Set<String> names = redis.opsForSet().members(RedisJobKeys.NAMES);
+        List<JobStatusResponse> statuses = new ArrayList<>();
+        if (names == null) {
+            return statuses;
+        }
+
+        for (String name : new TreeSet<>(names)) {
+            Map<Object, Object> stats = redis.opsForHash().entries(RedisJobKeys.stats(name));
+            List<String> history = redis.opsForList().range(RedisJobKeys.history(name), 0, 9);
+            statuses.add(JobStatusResponse.builder()
+                    .name(name)
+                    .lastOwner(string(stats.get("lastOwner")))
+                    .lastToken(number(stats.get("lastToken")))
+                    .lastStartedAt(time(number(stats.get("lastStartedAt"))))
+                    .lastDurationMs(number(stats.get("lastDurationMs")))
+                    .lastRows(integer(stats.get("lastRows")))
+                    .lastStatus(string(stats.get("lastStatus")))
+                    .lastError(string(stats.get("lastError")))
+                    .lastSuccessAt(time(number(stats.get("lastSuccessAt"))))
+                    .runs(number(stats.get("runs")))
+                    .failures(number(stats.get("failures")))
+                    .recentRuns(history == null ? List.of() : history.stream().map(this::toRun).toList())
+                    .build());
+        }
+        return statuses;
+    }
+
+    private Optional<JobLease> acquire(String job, Duration leaseTtl) {
+        try {
+            Long token = redis.execute(ACQUIRE_SCRIPT,
+                    List.of(RedisJobKeys.lease(job), RedisJobKeys.fence(job)),
+                    owner, String.valueOf(leaseTtl.toMillis()));
+            return token != null && token > 0 ? Optional.of(new JobLease(job, token, owner)) : Optional.empty();
+        } catch (Exception e) {
+            // Without Redis no node can prove it is alone: skip the tick rather than risk a double run
+            log.warn("[Job] Could not acquire lease of {}, skipping this run: {}", job, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void release(JobLease lease, long holdMillis) {
+        try {
+            Long released = redis.execute(RELEASE_SCRIPT, List.of(RedisJobKeys.lease(lease.job())),
+                    leaseValue(lease), String.valueOf(holdMillis));
+            if (released == null || released == 0) {
+                log.warn("[Job] Lease of {} (token {}) expired before the run finished", lease.job(), lease.token());
+            }
+        } catch (Exception e) {
+            log.warn("[Job] Could not release lease of {}: {}", lease.job(), e.getMessage());
+        }
+    }
+
+    private void record(JobLease lease, long startedAt, long durationMs, int rows, String error) {
+        String status = error == null ? SUCCESS : FAILED;
+        String entry = startedAt + "|" + owner + "|" + lease.token() + "|" + durationMs + "|" + rows + "|" + status;
+        try {
+            Long recorded = redis.execute(RECORD_SCRIPT,
+                    List.of(RedisJobKeys.stats(lease.job()), RedisJobKeys.history(lease.job()), RedisJobKeys.NAMES),
+                    String.valueOf(lease.token()), owner, String.valueOf(startedAt), String.valueOf(durationMs),
+                    String.valueOf(rows), status, error == null ? "" : error, entry, String.valueOf(historySize),
+                    lease.job());
+            if (recorded == null || recorded == 0) {
+                log.warn("[Job] Run of {} with stale token {} was superseded by a newer run", lease.job(), lease.token());
+            }
+        } catch (Exception e) {
+            log.warn("[Job] Could not record run of {}: {}", lease.job(), e.getMessage());
+        }
+    }
+
+    private JobRunResponse toRun(String entry) {
+        String[] parts = entry.split("\\|");
+        return JobRunResponse.builder()
+                .startedAt(time(Long.parseLong(parts[0])))
+                .owner(parts[1])
+                .token(Long.parseLong(parts[2]))
+                .durationMs(Long.parseLong(parts[3]))
+                .rows(Integer.parseInt(parts[4]))
+                .status(parts[5])
+                .build();
+    }
+
+    private String leaseValue(JobLease lease) {
+        return lease.owner() + "|" + lease.token();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+
+    private static String string(Object value) {
+        return value == null || value.toString().isEmpty() ? null : value.toString();
+    }
+
+    private static Long number(Object value) {
+        return value == null ? null : Long.valueOf(value.toString());
+    }
+
+    private static Integer integer(Object value) {
+        return value == null ? null : Integer.valueOf(value.toString());
+    }
+
+    private static LocalDateTime time(Long epochMillis) {
+        return epochMillis == null ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
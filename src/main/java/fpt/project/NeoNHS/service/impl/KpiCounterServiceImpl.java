@@ -0,0 +1,165 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.enums.KpiCounter;
+import fpt.project.NeoNHS.enums.UserRole;
+import fpt.project.NeoNHS.helpers.RedisKpiKeys;
+import fpt.project.NeoNHS.repository.EventRepository;
+import fpt.project.NeoNHS.repository.OrderRollupRepository;
+import fpt.project.NeoNHS.repository.TicketRepository;
+import fpt.project.NeoNHS.repository.UserRepository;
+import fpt.project.NeoNHS.repository.VendorProfileRepository;
+import fpt.project.NeoNHS.repository.WorkshopTemplateRepository;
+import fpt.project.NeoNHS.service.KpiCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KpiCounterServiceImpl implements KpiCounterService {
+
+    /** Applies field/delta pairs to the hash in one step. */
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>("""
+            for i = 1, #ARGV, 2 do
+              redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            return #ARGV / 2
+            """, Long.class);
+
+    // Per-transaction pending deltas
+    private static final Object PENDING_KEY = new Object();
+
+    private final StringRedisTemplate redis;
+    private final UserRepository userRepository;
+    private final VendorProfileRepository vendorProfileRepository;
+    private final TicketRepository ticketRepository;
+    private final WorkshopTemplateRepository workshopTemplateRepository;
+    private final EventRepository eventRepository;
+    private final OrderRollupRepository orderRollupRepository;
+
+    @Override
+    public void add(KpiCounter counter, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(Map.of(counter, delta));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<KpiCounter, Long> pending = (Map<KpiCounter, Long>) TransactionSynchronizationManager.getResource(PENDING_KEY);
+        if (pending == null) {
+            Map<KpiCounter, Long> deltas = new EnumMap<>(KpiCounter.class);
+            TransactionSynchronizationManager.bindResource(PENDING_KEY, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_KEY);
+                    if (status == STATUS_COMMITTED) {
+                        apply(deltas);
+                    }
+                }
+            });
+            pending = deltas;
+        }
+        pending.merge(counter, delta, Long::sum);
+    }
+
+    @Override
+    public Map<KpiCounter, Long> getCounters() {
+        try {
+            Map<KpiCounter, Long> counters = read();
+            if (counters.size() < KpiCounter.values().length) {
+                // First start or Redis was flushed; HSETNX so concurrent seeders cannot double count
+                countInDatabase().forEach((counter, value) ->
+                        redis.opsForHash().putIfAbsent(RedisKpiKeys.COUNTERS, counter.name(), String.valueOf(value)));
+                counters = read();
+            }
+            return counters;
+        } catch (Exception e) {
+            log.warn("[KPI] Redis unavailable, counting in MySQL: {}", e.getMessage());
+            return countInDatabase();
+        }
+    }
+
+    @Override
+    public Map<KpiCounter, Long> reconcile() {
+        Map<KpiCounter, Long> actual = countInDatabase();
+        Map<KpiCounter, Long> current = read();
+
+        // HINCRBY by the difference rather than HSET, so increments landing meanwhile are kept
+        Map<KpiCounter, Long> corrections = new EnumMap<>(KpiCounter.class);
+        actual.forEach((counter, value) -> {
+            long diff = value - current.getOrDefault(counter, 0L);
+            if (diff != 0) {
+                corrections.put(counter, diff);
+            }
+        });
+        if (!corrections.isEmpty()) {
+            apply(corrections);
+            log.info("[KPI] Corrected counter drift: {}", corrections);
+        }
+        return corrections;
+    }
+
+    private void apply(Map<KpiCounter, Long> deltas) {
+        List<String> args = new ArrayList<>(deltas.size() * 2);
+        deltas.forEach((counter, delta) -> {
+            if (delta != 0) {
+                args.add(counter.name());
+                args.add(String.valueOf(delta));
+            }
+        });
+        if (args.isEmpty()) {
+            return;
+        }
+        try {
+            redis.execute(INCREMENT_SCRIPT, List.of(RedisKpiKeys.COUNTERS), args.toArray());
+        } catch (Exception e) {
+            // Lost deltas are restored by the next reconciliation
+            log.warn("[KPI] Could not apply {}: {}", deltas, e.getMessage());
+        }
+    }
+
+    private Map<KpiCounter, Long> read() {
+        Map<Object, Object> raw = redis.opsForHash().entries(RedisKpiKeys.COUNTERS);
+        Map<KpiCounter, Long> counters = new EnumMap<>(KpiCounter.class);
+        for (KpiCounter counter : KpiCounter.values()) {
+            Object value = raw.get(counter.name());
+            if (value != null) {
+                counters.put(counter, Long.parseLong(value.toString()));
+            }
+        }
+        return counters;
+    }
+
+    private Map<KpiCounter, Long> countInDatabase() {
+        BigDecimal revenue = orderRollupRepository.sumPaidAmount();
+        Map<KpiCounter, Long> counts = new EnumMap<>(KpiCounter.class);
+        counts.put(KpiCounter.USERS_TOTAL, userRepository.count());
+        counts.put(KpiCounter.USERS_ACTIVE, userRepository.countByIsActiveTrueAndIsBannedFalse());
+        counts.put(KpiCounter.USERS_BANNED, userRepository.countByIsBannedTrue());
+        counts.put(KpiCounter.USERS_UNVERIFIED, userRepository.countByIsVerifiedFalse());
+        counts.put(KpiCounter.USERS_INACTIVE, userRepository.countByIsActiveFalseAndIsBannedFalse(UserRole.TOURIST));
+        counts.put(KpiCounter.VENDORS_TOTAL, vendorProfileRepository.count());
+        counts.put(KpiCounter.TICKETS_ISSUED, ticketRepository.count());
+        counts.put(KpiCounter.REVENUE, revenue != null ? revenue.setScale(0, RoundingMode.HALF_UP).longValue() : 0L);
+        counts.put(KpiCounter.WORKSHOPS_TOTAL, workshopTemplateRepository.count());
+        counts.put(KpiCounter.EVENTS_TOTAL, eventRepository.count());
+        return counts;
+    }
+}
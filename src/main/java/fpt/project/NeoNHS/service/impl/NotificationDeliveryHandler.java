@@ -0,0 +1,104 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.dto.response.notification.NotificationResponse;
+import fpt.project.NeoNHS.entity.Notification;
+import fpt.project.NeoNHS.entity.OutboxEvent;
+import fpt.project.NeoNHS.enums.OutboxEventType;
+import fpt.project.NeoNHS.repository.NotificationRepository;
+import fpt.project.NeoNHS.service.OutboxEventHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes queued notifications over WebSocket and Expo. The notifications of a batch are loaded
+ * in one query and their Expo messages go out 100 per request; only the events whose messages
+ * were in a failed request are retried.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationDeliveryHandler implements OutboxEventHandler {
+
+    private final NotificationRepository notificationRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ExpoPushService expoPushService;
+
+    @Override
+    public OutboxEventType type() {
+        return OutboxEventType.NOTIFICATION_DELIVERY;
+    }
+
+    @Override
+    public Map<UUID, String> handle(List<OutboxEvent> events) {
+        Map<UUID, Notification> notifications = notificationRepository
+                .findAllWithUserByIdIn(events.stream().map(OutboxEvent::getAggregateId).toList()).stream()
+                .collect(Collectors.toMap(Notification::getId, Function.identity()));
+
+        Map<UUID, String> failures = new HashMap<>();
+        List<Map<String, Object>> chunk = new ArrayList<>();
+        Set<UUID> chunkEvents = new HashSet<>();
+
+        for (OutboxEvent event : events) {
+            Notification notif = notifications.get(event.getAggregateId());
+            if (notif == null) {
+                // Deleted before it was delivered; nothing left to push
+                continue;
+            }
+
+            try {
+                messagingTemplate.convertAndSendToUser(
+                        notif.getUser().getId().toString(),
+                        "/queue/notifications",
+                        NotificationResponse.fromEntity(notif));
+            } catch (Exception e) {
+                failures.put(event.getId(), "WebSocket: " + e.getMessage());
+            }
+
+            for (Map<String, Object> message : expoPushService.buildMessages(notif.getUser().getDeviceTokens(),
+                    notif.getTitle(), notif.getMessage(), pushData(notif))) {
+                chunk.add(message);
+                chunkEvents.add(event.getId());
+                if (chunk.size() == ExpoPushService.MAX_MESSAGES_PER_REQUEST) {
+                    sendChunk(chunk, chunkEvents, failures);
+                    chunk = new ArrayList<>();
+                    chunkEvents = new HashSet<>();
+                }
+            }
+        }
+        sendChunk(chunk, chunkEvents, failures);
+        return failures;
+    }
+
+    private void sendChunk(List<Map<String, Object>> chunk, Set<UUID> chunkEvents, Map<UUID, String> failures) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            expoPushService.send(chunk);
+        } catch (Exception e) {
+            log.warn("[Outbox] Expo push of {} messages failed: {}", chunk.size(), e.getMessage());
+            chunkEvents.forEach(id -> failures.putIfAbsent(id, "Expo: " + e.getMessage()));
+        }
+    }
+
+    private Map<String, Object> pushData(Notification notif) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("notificationId", notif.getId());
+        data.put("type", notif.getType());
+        if (notif.getReferenceId() != null)
+            data.put("referenceId", notif.getReferenceId().toString());
+        return data;
+    }
+}
@@ -4,15 +4,19 @@ import fpt.project.NeoNHS.dto.response.PagedResponse;
 import fpt.project.NeoNHS.dto.response.notification.NotificationResponse;
 import fpt.project.NeoNHS.entity.Notification;
 import fpt.project.NeoNHS.entity.User;
+import fpt.project.NeoNHS.enums.OutboxEventType;
 import fpt.project.NeoNHS.exception.ResourceNotFoundException;
 import fpt.project.NeoNHS.repository.NotificationRepository;
 import fpt.project.NeoNHS.repository.UserRepository;
 import fpt.project.NeoNHS.service.NotificationService;
+import fpt.project.NeoNHS.service.OutboxService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.List;
@@ -28,6 +32,7 @@ public class NotificationServiceImpl implements NotificationService {
     private final UserRepository userRepository;
     private final SimpMessagingTemplate messagingTemplate;
     private final ExpoPushService expoPushService;
+    private final OutboxService outboxService;
 
     @Override
     public void createAndSendNotification(User user, String title, String message, String type, UUID referenceId) {
@@ -60,6 +65,20 @@ public class NotificationServiceImpl implements NotificationService {
         }
     }
 
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void queueNotification(User user, String title, String message, String type, UUID referenceId) {
+        Notification notif = notificationRepository.save(Notification.builder()
+                .user(user)
+                .title(title)
+                .message(message)
+                .type(type)
+                .referenceId(referenceId)
+                .isRead(false)
+                .build());
+        outboxService.publish(OutboxEventType.NOTIFICATION_DELIVERY, notif.getId(), null);
+    }
+
     private User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
@@ -1,25 +1,48 @@
 package fpt.project.NeoNHS.service.impl;
 
+import fpt.project.NeoNHS.constants.CacheConstants;
 import fpt.project.NeoNHS.constants.NotificationMessages;
 import fpt.project.NeoNHS.dto.request.order.CreateOrderRequest;
+import fpt.project.NeoNHS.dto.response.inventory.ReservationResult;
+import fpt.project.NeoNHS.dto.response.pricing.PriceQuote;
+import fpt.project.NeoNHS.dto.response.pricing.QuoteLine;
 import fpt.project.NeoNHS.entity.*;
 import fpt.project.NeoNHS.enums.*;
 import fpt.project.NeoNHS.exception.BadRequestException;
 import fpt.project.NeoNHS.repository.*;
+import fpt.project.NeoNHS.service.ActivityFeedService;
+import fpt.project.NeoNHS.service.InventoryService;
+import fpt.project.NeoNHS.service.KpiCounterService;
+import fpt.project.NeoNHS.service.OrderCodeService;
 import fpt.project.NeoNHS.service.OrderService;
+import fpt.project.NeoNHS.service.PricingService;
+import fpt.project.NeoNHS.service.RedisCartService;
+import fpt.project.NeoNHS.service.ReservationHoldService;
+import fpt.project.NeoNHS.service.RevenueRollupService;
+import fpt.project.NeoNHS.service.TicketCodeService;
+import fpt.project.NeoNHS.service.TicketIssuanceService;
+import fpt.project.NeoNHS.service.WalletService;
+import fpt.project.NeoNHS.service.WaitingRoomService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import fpt.project.NeoNHS.service.validator.AvailabilityValidator;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
@@ -28,15 +51,49 @@ public class OrderServiceImpl implements OrderService {
     private final CartItemRepository cartItemRepository;
     private final UserRepository userRepository;
     private final UserVoucherRepository userVoucherRepository;
+    private final OrderVoucherRepository orderVoucherRepository;
+    private final VoucherRepository voucherRepository;
     private final TransactionRepository transactionRepository;
-    private final TicketRepository ticketRepository;
     private final OrderDetailRepository orderDetailRepository;
     private final CartRepository cartRepository;
-    private final EventRepository eventRepository;
-    private final TicketCatalogRepository ticketCatalogRepository;
-    private final WorkshopSessionRepository workshopSessionRepository;
     private final fpt.project.NeoNHS.service.NotificationService notificationService;
-    private final AvailabilityValidator avai;
+    private final InventoryService inventoryService;
+    private final ReservationHoldService reservationHoldService;
+    private final TicketIssuanceService ticketIssuanceService;
+    private final TicketCodeService ticketCodeService;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderCodeService orderCodeService;
+    private final CacheManager cacheManager;
+    private final PricingService pricingService;
+    private final WaitingRoomService waitingRoomService;
+    private final RedisCartService redisCartService;
+    private final RevenueRollupService revenueRollupService;
+    private final KpiCounterService kpiCounterService;
+    private final ActivityFeedService activityFeedService;
+    private final WalletService walletService;
+
+    @Override
+    public void requireCheckoutAdmission(String userEmail, CreateOrderRequest request) {
+        if (request.getCartItemIds() == null || request.getCartItemIds().isEmpty()) {
+            return;
+        }
+        for (UUID catalogId : checkoutCatalogIds(userEmail, request.getCartItemIds())) {
+            waitingRoomService.requireAdmission(catalogId, userEmail);
+        }
+    }
+
+    /** Ticket catalogs of the selected lines, from the Redis cart when there is one. */
+    private List<UUID> checkoutCatalogIds(String userEmail, List<UUID> cartItemIds) {
+        if (!redisCartService.isEnabled()) {
+            return cartItemRepository.findTicketCatalogIdsByIdIn(cartItemIds);
+        }
+        Set<UUID> selected = Set.copyOf(cartItemIds);
+        return redisCartService.getLines(redisCartService.openUserCart(userEmail)).stream()
+                .filter(line -> selected.contains(line.id()) && line.ticketCatalogId() != null)
+                .map(RedisCartService.CartLine::ticketCatalogId)
+                .distinct()
+                .toList();
+    }
 
     @Override
     @Transactional
@@ -48,34 +105,50 @@ public class OrderServiceImpl implements OrderService {
             throw new BadRequestException("No items selected");
         }
 
+        // Redis carts are written behind; make sure cart_items holds the lines being checked out
+        redisCartService.flush(userEmail);
+
         List<CartItem> cartItems = cartItemRepository.findAllById(request.getCartItemIds());
         if (cartItems.size() != request.getCartItemIds().size()) {
             throw new BadRequestException("Some items not found");
         }
 
-        BigDecimal totalAmount = BigDecimal.ZERO;
+        // Admission was checked by requireCheckoutAdmission; hand it back once the order commits
+        List<UUID> catalogIds = cartItems.stream()
+                .filter(item -> item.getTicketCatalog() != null)
+                .map(item -> item.getTicketCatalog().getId())
+                .distinct()
+                .toList();
+        if (!catalogIds.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            UUID userId = user.getId();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    catalogIds.forEach(catalogId -> waitingRoomService.complete(catalogId, userId));
+                }
+            });
+        }
+
         for (CartItem item : cartItems) {
             if (!item.getCart().getUser().getId().equals(user.getId())) {
                 throw new BadRequestException("Item " + item.getId() + " does not belong to user");
             }
 
-            // Validate Availability before creating order
-            BigDecimal price = BigDecimal.ZERO;
+            // Reserve seats atomically; any rejection rolls back the seats already taken for this order
+            ReservationResult reservation = null;
             if (item.getTicketCatalog() != null) {
-                avai.validateTicketAvailability(item.getTicketCatalog(), item.getQuantity());
-                price = item.getTicketCatalog().getPrice();
+                reservation = inventoryService.reserveTicket(item.getTicketCatalog(), item.getQuantity());
             } else if (item.getWorkshopSession() != null) {
-                avai.validateWorkshopAvailability(item.getWorkshopSession(), item.getQuantity());
-                price = item.getWorkshopSession().getPrice() != null ? item.getWorkshopSession().getPrice()
-                        : BigDecimal.ZERO;
+                reservation = inventoryService.reserveWorkshop(item.getWorkshopSession(), item.getQuantity());
+            }
+            if (reservation != null && !reservation.isReserved()) {
+                throw new BadRequestException(reservation.message());
             }
-
-            totalAmount = totalAmount.add(price.multiply(BigDecimal.valueOf(item.getQuantity())));
         }
 
-        BigDecimal discountAmount = BigDecimal.ZERO;
+        BigDecimal totalAmount = PriceQuote.toMoney(pricingService.quote(cartItems, List.of()).subtotal());
         Voucher primaryVoucher = null;
-        List<UUID> usedUserVoucherIds = new ArrayList<>();
+        List<UserVoucher> appliedVouchers = new ArrayList<>();
 
         // Handle list of vouchers
         if (request.getVoucherIds() != null && !request.getVoucherIds().isEmpty()) {
@@ -107,31 +180,27 @@ public class OrderServiceImpl implements OrderService {
                     throw new BadRequestException("Order amount not sufficient for voucher " + voucher.getCode());
                 }
 
-                BigDecimal currentDiscount = BigDecimal.ZERO;
-                if (voucher.getDiscountType() == DiscountType.PERCENT) {
-                    currentDiscount = totalAmount.multiply(voucher.getDiscountValue()).divide(BigDecimal.valueOf(100));
-                    if (voucher.getMaxDiscountValue() != null
-                            && currentDiscount.compareTo(voucher.getMaxDiscountValue()) > 0) {
-                        currentDiscount = voucher.getMaxDiscountValue();
-                    }
-                } else {
-                    currentDiscount = voucher.getDiscountValue();
-                }
-
-                discountAmount = discountAmount.add(currentDiscount);
-                usedUserVoucherIds.add(userVoucher.getId());
-
-                if (primaryVoucher == null) {
-                    primaryVoucher = voucher;
-                }
+                appliedVouchers.add(userVoucher);
             }
 
-            if (discountAmount.compareTo(totalAmount) > 0) {
-                discountAmount = totalAmount;
-            }
+            // Apply in the order the customer picked them, which also keeps the quote hash stable
+            appliedVouchers.sort(Comparator.comparingInt(uv -> request.getVoucherIds().indexOf(uv.getId())));
+            primaryVoucher = appliedVouchers.get(0).getVoucher();
         }
 
-        BigDecimal finalAmount = totalAmount.subtract(discountAmount);
+        // Same inputs as pre-checkout, so this is normally the quote the customer was shown
+        PriceQuote quote = pricingService.quote(cartItems, appliedVouchers);
+        BigDecimal discountAmount = PriceQuote.toMoney(quote.discountTotal());
+        BigDecimal finalAmount = PriceQuote.toMoney(quote.total());
+
+        List<OrderVoucher> orderVouchers = new ArrayList<>();
+        for (UserVoucher userVoucher : appliedVouchers) {
+            orderVouchers.add(OrderVoucher.builder()
+                    .userVoucher(userVoucher)
+                    .voucher(userVoucher.getVoucher())
+                    .discountAmount(PriceQuote.toMoney(quote.discount(userVoucher.getId()).orElseThrow().amount()))
+                    .build());
+        }
 
         Order order = Order.builder()
                 .user(user)
@@ -146,56 +215,11 @@ public class OrderServiceImpl implements OrderService {
 
         List<OrderDetail> orderDetails = new ArrayList<>();
         for (CartItem item : cartItems) {
-            BigDecimal unitPrice = BigDecimal.ZERO;
-            BigDecimal commissionAmount = null;
-            BigDecimal netAmount = null;
-
-            if (item.getTicketCatalog() != null) {
-                unitPrice = item.getTicketCatalog().getPrice();
-                
-                // 1. RESERVE TICKET: Update TicketCatalog Sold Quantity
-                TicketCatalog ticketCatalog = item.getTicketCatalog();
-                int currentSold = ticketCatalog.getSoldQuantity() != null ? ticketCatalog.getSoldQuantity() : 0;
-                ticketCatalog.setSoldQuantity(currentSold + item.getQuantity());
-
-                if (ticketCatalog.getTotalQuota() != null && ticketCatalog.getSoldQuantity() >= ticketCatalog.getTotalQuota()) {
-                    ticketCatalog.setStatus(TicketCatalogStatus.SOLD_OUT);
-                }
-                ticketCatalogRepository.save(ticketCatalog);
-
-                // Update Event Current Enrolled
-                Event event = ticketCatalog.getEvent();
-                if (event != null) {
-                    int currentEnrolled = event.getCurrentEnrolled() != null ? event.getCurrentEnrolled() : 0;
-                    event.setCurrentEnrolled(currentEnrolled + item.getQuantity());
-                    eventRepository.save(event);
-                }
-            } else if (item.getWorkshopSession() != null && item.getWorkshopSession().getPrice() != null) {
-                unitPrice = item.getWorkshopSession().getPrice();
-
-                // RESERVE TICKET: Update WorkshopSession Enrolled
-                WorkshopSession session = item.getWorkshopSession();
-                int currentEnrolled = session.getCurrentEnrolled() != null ? session.getCurrentEnrolled() : 0;
-                session.setCurrentEnrolled(currentEnrolled + item.getQuantity());
-                workshopSessionRepository.save(session);
-
-                // Tính commission từ VendorProfile.commissionRate
-                try {
-                    BigDecimal commissionRate = item.getWorkshopSession()
-                            .getWorkshopTemplate()
-                            .getVendor()
-                            .getCommissionRate();
-
-                    if (commissionRate == null) {
-                        commissionRate = BigDecimal.valueOf(0.1);
-                    }
-
-                    BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(item.getQuantity()));
-                    commissionAmount = lineTotal.multiply(commissionRate);
-                    netAmount = lineTotal.subtract(commissionAmount);
-                } catch (Exception e) {
-                }
-            }
+            // Seats were already reserved by InventoryService above; prices come from the quote
+            QuoteLine line = quote.line(item.getId()).orElseThrow();
+            BigDecimal unitPrice = PriceQuote.toMoney(line.unitPrice());
+            BigDecimal commissionAmount = line.isWorkshop() ? PriceQuote.toMoney(line.commission()) : null;
+            BigDecimal netAmount = line.isWorkshop() ? PriceQuote.toMoney(line.net()) : null;
 
             OrderDetail detail = OrderDetail.builder()
                     .order(order)
@@ -211,20 +235,22 @@ public class OrderServiceImpl implements OrderService {
         orderDetailRepository.saveAll(orderDetails);
         order.setOrderDetails(orderDetails);
 
-        long orderCode = System.currentTimeMillis() / 1000;
+        // Record the applied vouchers; they are burned when the payment succeeds
+        if (!orderVouchers.isEmpty()) {
+            for (OrderVoucher orderVoucher : orderVouchers) {
+                orderVoucher.setOrder(order);
+            }
+            orderVoucherRepository.saveAll(orderVouchers);
+        }
 
-        // Encode vouchers in description
+        long orderCode = orderCodeService.nextOrderCode();
         String description = "Payment for order " + order.getId();
-        if (!usedUserVoucherIds.isEmpty()) {
-            // Simply join IDs with comma
-            String encodedIds = usedUserVoucherIds.stream().map(UUID::toString).collect(Collectors.joining(","));
-            description += " | Vouchers: " + encodedIds;
-        }
 
         Transaction transaction = Transaction.builder()
                 .order(order)
                 .amount(finalAmount)
-                .paymentGateway("PAYOS_" + orderCode)
+                .paymentGateway("PAYOS")
+                .orderCode(orderCode)
                 .transactionDate(LocalDateTime.now())
                 .status(TransactionStatus.PENDING)
                 .description(description)
@@ -232,6 +258,7 @@ public class OrderServiceImpl implements OrderService {
                 .build();
 
         transactionRepository.save(transaction);
+        reservationHoldService.register(transaction.getId(), transaction.getTransactionDate());
         List<Transaction> transactions = new ArrayList<>();
         transactions.add(transaction);
         order.setTransactions(transactions);
@@ -240,49 +267,57 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Transactional
     public void handlePaymentSuccess(long orderCode) {
-        Transaction transaction = transactionRepository.findByPaymentGateway("PAYOS_" + orderCode)
+        // Older legacy rows whose code collided with a newer one are still keyed by "PAYOS_<code>"
+        Transaction transaction = transactionRepository.findByOrderCode(orderCode)
+                .or(() -> transactionRepository.findFirstByPaymentGatewayOrderByCreatedAtDesc("PAYOS_" + orderCode))
                 .orElseThrow(() -> new BadRequestException("Transaction not found"));
-
-        if (transaction.getStatus() == TransactionStatus.SUCCESS) {
+        if (transaction.getStatus() != TransactionStatus.PENDING && transaction.getStatus() != TransactionStatus.FAILED) {
             return;
         }
 
-        Order order = transaction.getOrder();
-        transaction.setStatus(TransactionStatus.SUCCESS);
+        // Taken before the settlement transaction opens: a new code block is reserved in a transaction of
+        // its own, which from inside this one would need a second pool connection per webhook
+        List<String> ticketCodes = ticketCodeService.nextCodes(
+                orderDetailRepository.sumQuantityByOrderId(transaction.getOrder().getId()));
+        transactionTemplate.executeWithoutResult(status -> settlePayment(transaction.getId(), ticketCodes));
+    }
 
-        orderRepository.save(order);
-        transactionRepository.save(transaction);
+    private void settlePayment(UUID transactionId, List<String> ticketCodes) {
+        Transaction transaction = transactionRepository.findById(transactionId)
+                .orElseThrow(() -> new BadRequestException("Transaction not found"));
 
-        // Decode Vouchers from Description to mark as used
-        String desc = transaction.getDescription();
-        if (desc != null && desc.contains("| Vouchers: ")) {
-            try {
-                String vouchersPart = desc.split("\\| Vouchers: ")[1];
-                if (vouchersPart != null && !vouchersPart.isEmpty()) {
-                    List<UUID> voucherIds = Arrays.stream(vouchersPart.split(","))
-                            .map(String::trim)
-                            .map(UUID::fromString)
-                            .collect(Collectors.toList());
-
-                    for (UUID uvId : voucherIds) {
-                        UserVoucher uv = userVoucherRepository.findById(uvId).orElse(null);
-                        if (uv != null && !uv.getIsUsed()) {
-                            uv.setIsUsed(true);
-                            uv.getVoucher().setUsageCount(uv.getVoucher().getUsageCount() + 1);
-                            userVoucherRepository.save(uv);
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                System.err.println("Failed to parse used vouchers: " + e.getMessage());
+        Order order = transaction.getOrder();
+        // Settle exactly once, even if PayOS calls back concurrently
+        boolean previouslyFailed = false;
+        if (transactionRepository.transitionStatus(transaction.getId(),
+                TransactionStatus.PENDING, TransactionStatus.SUCCESS) == 0) {
+            // Paid after its hold was released: the seats may be gone by now
+            if (transactionRepository.transitionStatus(transaction.getId(),
+                    TransactionStatus.FAILED, TransactionStatus.SUCCESS) == 0) {
+                return;
+            }
+            if (!reserveAgain(order)) {
+                refundLatePayment(transaction, order);
+                return;
             }
+            previouslyFailed = true;
         }
-        // Fallback for primary voucher if not in description (legacy/safety)
+        transaction.setStatus(TransactionStatus.SUCCESS);
+        revenueRollupService.recordPayment(order.getId(), previouslyFailed);
+        if (order.getFinalAmount() != null) {
+            kpiCounterService.add(KpiCounter.REVENUE, order.getFinalAmount().setScale(0, RoundingMode.HALF_UP).longValue());
+        }
+        reservationHoldService.cancel(transaction.getId());
+
+        // Burn the order's vouchers with two set-based updates; usage is counted before the rows are flipped
+        if (orderVoucherRepository.existsByOrder_Id(order.getId())) {
+            voucherRepository.incrementUsageForOrder(order.getId());
+            userVoucherRepository.burnForOrder(order, LocalDateTime.now());
+        }
+        // Fallback for orders created before order_vouchers existed (legacy/safety)
         else if (order.getVoucher() != null) {
             Voucher v = order.getVoucher();
-            // Try to find one unused user voucher to burn?
             UserVoucher uv = userVoucherRepository.findByUser_IdAndVoucher_Id(order.getUser().getId(), v.getId())
                     .stream().filter(u -> !u.getIsUsed()).findFirst().orElse(null);
             if (uv != null) {
@@ -292,36 +327,9 @@ public class OrderServiceImpl implements OrderService {
             }
         }
 
-        for (OrderDetail detail : order.getOrderDetails()) {
-
-            // We no longer increment soldQuantity and currentEnrolled here.
-            // It is already done in createOrder() (Reservation logic).
-
-            for (int i = 0; i < detail.getQuantity(); i++) {
-                TicketType type = TicketType.ENTRANCE;
-                LocalDateTime expiryDate = null;
-                if (detail.getWorkshopSession() != null) {
-                    type = TicketType.WORKSHOP;
-                    expiryDate= detail.getWorkshopSession().getEndTime();
-                } else if (detail.getTicketCatalog() != null && detail.getTicketCatalog().getEvent() != null) {
-                    type = TicketType.EVENT;
-                    expiryDate = detail.getTicketCatalog().getEvent().getEndTime();
-                }
-
-                Ticket ticket = Ticket.builder()
-                        .ticketCatalog(detail.getTicketCatalog())
-                        .orderDetail(detail)
-                        .workshopSession(detail.getWorkshopSession())
-                        .status(TicketStatus.ACTIVE)
-                        .ticketType(type)
-                        .ticketCode(generateTicketCode())
-                        .qrCode(UUID.randomUUID().toString())
-                        .issueDate(LocalDateTime.now())
-                        .expiryDate(expiryDate)
-                        .build();
-                ticketRepository.save(ticket);
-            }
-        }
+        // Seats were reserved in createOrder(); here we only issue the tickets, in one batched write
+        ticketIssuanceService.issueTickets(order.getOrderDetails(), ticketCodes);
+        activityFeedService.ticketsSold(order.getOrderDetails());
 
         Cart cart = cartRepository.findByUser(order.getUser()).orElse(null);
         if (cart != null && cart.getCartItems() != null) {
@@ -346,10 +354,18 @@ public class OrderServiceImpl implements OrderService {
             cartItemRepository.deleteAll(itemsToRemove);
             cart.setTotalItem(cart.getCartItems().size());
             cartRepository.save(cart);
+
+            Cache cartCache = cacheManager.getCache(CacheConstants.CART_CACHE);
+            if (cartCache != null) {
+                cartCache.evict(order.getUser().getEmail());
+            }
+            redisCartService.removeItems(order.getUser().getEmail(),
+                    itemsToRemove.stream().map(CartItem::getId).toList());
         }
 
         // --- NOTIFICATION TRIGGER ---
-        notificationService.createAndSendNotification(
+        // Only the row is written here; the pushes go out through the outbox after commit
+        notificationService.queueNotification(
                 order.getUser(),
                 NotificationMessages.orderSuccessTitle(),
                 NotificationMessages.orderSuccessMessage(order.getFinalAmount()),
@@ -357,49 +373,70 @@ public class OrderServiceImpl implements OrderService {
                 order.getId());
     }
 
-    private String generateTicketCode() {
-        return UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    /**
+     * Takes the seats of an order whose hold was already released, with the same conditional
+     * decrements as checkout. All or nothing: seats taken before a rejection are handed back.
+     */
+    private boolean reserveAgain(Order order) {
+        List<OrderDetail> reserved = new ArrayList<>();
+        for (OrderDetail detail : order.getOrderDetails()) {
+            ReservationResult reservation = null;
+            if (detail.getTicketCatalog() != null) {
+                reservation = inventoryService.reserveTicket(detail.getTicketCatalog(), detail.getQuantity());
+            } else if (detail.getWorkshopSession() != null) {
+                reservation = inventoryService.reserveWorkshop(detail.getWorkshopSession(), detail.getQuantity());
+            }
+            if (reservation != null && !reservation.isReserved()) {
+                reserved.forEach(this::releaseSeats);
+                return false;
+            }
+            reserved.add(detail);
+        }
+        return true;
+    }
+
+    /**
+     * A late payment whose seats were sold in the meantime: no tickets are issued and the amount
+     * goes back to the buyer's wallet, the same way cancelled sessions are refunded.
+     */
+    private void refundLatePayment(Transaction transaction, Order order) {
+        transactionRepository.transitionStatus(transaction.getId(), TransactionStatus.SUCCESS, TransactionStatus.REFUNDED);
+        reservationHoldService.cancel(transaction.getId());
+        long refund = order.getFinalAmount() != null
+                ? order.getFinalAmount().setScale(0, RoundingMode.HALF_UP).longValueExact() : 0;
+        if (refund > 0) {
+            walletService.credit(order.getUser().getId(), refund, order.getId(),
+                    "Refund for late payment of order " + order.getId());
+        }
+        log.warn("[Payment] Order {} was paid after its seats were released and sold; refunded {} VND to the wallet",
+                order.getId(), refund);
+    }
+
+    private void releaseSeats(OrderDetail detail) {
+        if (detail.getTicketCatalog() != null) {
+            inventoryService.releaseTicket(detail.getTicketCatalog(), detail.getQuantity());
+        } else if (detail.getWorkshopSession() != null) {
+            inventoryService.releaseWorkshop(detail.getWorkshopSession(), detail.getQuantity());
+        }
     }
 
     @Override
     @Transactional
-    public void cancelExpiredOrders() {
-        // Find all transactions that are PENDING and older than 10 minutes
-        LocalDateTime tenMinutesAgo = LocalDateTime.now().minusMinutes(10);
-        List<Transaction> expiredTransactions = transactionRepository.findByStatusAndTransactionDateBefore(TransactionStatus.PENDING, tenMinutesAgo);
-
-        for (Transaction transaction : expiredTransactions) {
-            transaction.setStatus(TransactionStatus.FAILED);
-            transactionRepository.save(transaction);
-
-            Order order = transaction.getOrder();
-            if (order != null) {
-                // 1. Revert ticket reservation
-                for (OrderDetail detail : order.getOrderDetails()) {
-                    if (detail.getTicketCatalog() != null) {
-                        TicketCatalog ticketCatalog = detail.getTicketCatalog();
-                        int currentSold = ticketCatalog.getSoldQuantity() != null ? ticketCatalog.getSoldQuantity() : 0;
-                        ticketCatalog.setSoldQuantity(Math.max(0, currentSold - detail.getQuantity()));
-                        
-                        if (ticketCatalog.getStatus() == TicketCatalogStatus.SOLD_OUT && ticketCatalog.getTotalQuota() != null && ticketCatalog.getSoldQuantity() < ticketCatalog.getTotalQuota()) {
-                            ticketCatalog.setStatus(TicketCatalogStatus.ACTIVE);
-                        }
-                        ticketCatalogRepository.save(ticketCatalog);
-
-                        Event event = ticketCatalog.getEvent();
-                        if (event != null) {
-                            int currentEnrolled = event.getCurrentEnrolled() != null ? event.getCurrentEnrolled() : 0;
-                            event.setCurrentEnrolled(Math.max(0, currentEnrolled - detail.getQuantity()));
-                            eventRepository.save(event);
-                        }
-                    } else if (detail.getWorkshopSession() != null) {
-                        WorkshopSession session = detail.getWorkshopSession();
-                        int currentEnrolled = session.getCurrentEnrolled() != null ? session.getCurrentEnrolled() : 0;
-                        session.setCurrentEnrolled(Math.max(0, currentEnrolled - detail.getQuantity()));
-                        workshopSessionRepository.save(session);
-                    }
-                }
+    public List<UUID> releaseHolds(List<UUID> transactionIds) {
+        List<UUID> released = new ArrayList<>();
+        List<UUID> failedOrderIds = new ArrayList<>();
+        for (Transaction transaction : transactionRepository.findAllWithOrderDetailsByIdIn(transactionIds)) {
+            // Lose the race gracefully if the payment webhook settled this transaction first
+            if (transactionRepository.transitionStatus(transaction.getId(),
+                    TransactionStatus.PENDING, TransactionStatus.FAILED) == 0) {
+                continue;
             }
+
+            transaction.getOrder().getOrderDetails().forEach(this::releaseSeats);
+            released.add(transaction.getId());
+            failedOrderIds.add(transaction.getOrder().getId());
         }
+        revenueRollupService.recordFailedPayments(failedOrderIds);
+        return released;
     }
 }
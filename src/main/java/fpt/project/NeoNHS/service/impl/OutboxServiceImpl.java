@@ -0,0 +1,140 @@
+package fpt.project.NeoNHS.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fpt.project.NeoNHS.entity.OutboxEvent;
+import fpt.project.NeoNHS.enums.OutboxEventType;
+import fpt.project.NeoNHS.enums.OutboxStatus;
+import fpt.project.NeoNHS.repository.OutboxEventRepository;
+import fpt.project.NeoNHS.service.OutboxEventHandler;
+import fpt.project.NeoNHS.service.OutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<OutboxEventType, OutboxEventHandler> handlers = new EnumMap<>(OutboxEventType.class);
+    private final int maxAttempts;
+    private final long retryBaseMs;
+    private final long retryMaxMs;
+    private final int retentionDays;
+
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository,
+                             ObjectMapper objectMapper,
+                             List<OutboxEventHandler> handlers,
+                             @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                             @Value("${outbox.relay.retry-base-ms:5000}") long retryBaseMs,
+                             @Value("${outbox.relay.retry-max-ms:600000}") long retryMaxMs,
+                             @Value("${outbox.retention-days:7}") int retentionDays) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        handlers.forEach(handler -> this.handlers.put(handler.type(), handler));
+        this.maxAttempts = maxAttempts;
+        this.retryBaseMs = retryBaseMs;
+        this.retryMaxMs = retryMaxMs;
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType type, UUID aggregateId, Object payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .type(type)
+                .aggregateId(aggregateId)
+                .payload(toJson(payload))
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Override
+    public int relayDue(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> due = outboxEventRepository.findDue(OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Map<OutboxEventType, List<OutboxEvent>> byType = due.stream()
+                .collect(Collectors.groupingBy(OutboxEvent::getType, LinkedHashMap::new, Collectors.toList()));
+
+        List<UUID> sent = new ArrayList<>();
+        for (Map.Entry<OutboxEventType, List<OutboxEvent>> entry : byType.entrySet()) {
+            List<OutboxEvent> events = entry.getValue();
+            Map<UUID, String> failures;
+            OutboxEventHandler handler = handlers.get(entry.getKey());
+            if (handler == null) {
+                failures = events.stream().collect(Collectors.toMap(OutboxEvent::getId, e -> "No handler for " + e.getType()));
+            } else {
+                try {
+                    failures = handler.handle(events);
+                } catch (Exception e) {
+                    log.warn("[Outbox] {} handler failed for a batch of {}: {}", entry.getKey(), events.size(), e.getMessage());
+                    String reason = e.getClass().getSimpleName() + ": " + e.getMessage();
+                    failures = events.stream().collect(Collectors.toMap(OutboxEvent::getId, ev -> reason));
+                }
+            }
+
+            for (OutboxEvent event : events) {
+                String error = failures.get(event.getId());
+                if (error == null) {
+                    sent.add(event.getId());
+                } else {
+                    scheduleRetry(event, error, now);
+                }
+            }
+        }
+
+        if (!sent.isEmpty()) {
+            outboxEventRepository.markSent(sent, OutboxStatus.SENT, LocalDateTime.now());
+        }
+        return due.size();
+    }
+
+    @Override
+    public int purgeSent(int limit) {
+        return outboxEventRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays), limit);
+    }
+
+    /** Exponential backoff from the base delay, capped; parked as FAILED after the last attempt. */
+    private void scheduleRetry(OutboxEvent event, String error, LocalDateTime now) {
+        int attempt = event.getAttempts() + 1;
+        String reason = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (attempt >= maxAttempts) {
+            log.error("[Outbox] Giving up on {} event {} after {} attempts: {}", event.getType(), event.getId(), attempt, reason);
+            outboxEventRepository.markAttemptFailed(event.getId(), OutboxStatus.FAILED, now, reason);
+            return;
+        }
+        long delay = Math.min(retryMaxMs, retryBaseMs << Math.min(attempt - 1, 20));
+        outboxEventRepository.markAttemptFailed(event.getId(), OutboxStatus.PENDING, now.plusNanos(delay * 1_000_000), reason);
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload is not serializable", e);
+        }
+    }
+}
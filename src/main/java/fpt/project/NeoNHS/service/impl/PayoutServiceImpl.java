@@ -2,6 +2,7 @@ package fpt.project.NeoNHS.service.impl;
 
 import fpt.project.NeoNHS.dto.request.payout.CreatePayoutRequest;
 import fpt.project.NeoNHS.dto.response.payout.PayoutResponse;
+import fpt.project.NeoNHS.exception.PayoutRejectedException;
 import fpt.project.NeoNHS.service.PayoutService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +14,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 import vn.payos.PayOS;
 
 import java.time.LocalDateTime;
@@ -21,6 +23,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -40,7 +43,7 @@ public class PayoutServiceImpl implements PayoutService {
     private String payosChecksumKey;
 
     private static final String PAYOS_API_BASE_URL = "https://api-merchant.payos.vn";
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate payosRestTemplate;
 
     @Override
     public PayoutResponse createPayout(CreatePayoutRequest request) {
@@ -59,7 +62,8 @@ public class PayoutServiceImpl implements PayoutService {
 
             String signature = payOS.getCrypto().createSignature(payosChecksumKey, payoutData);
 
-            String idempotencyKey = UUID.randomUUID().toString();
+            String idempotencyKey = request.getIdempotencyKey() != null
+                    ? request.getIdempotencyKey() : UUID.randomUUID().toString();
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -70,7 +74,7 @@ public class PayoutServiceImpl implements PayoutService {
 
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payoutData, headers);
 
-            ResponseEntity<Map> response = restTemplate.exchange(
+            ResponseEntity<Map> response = payosRestTemplate.exchange(
                     PAYOS_API_BASE_URL + "/v1/payouts",
                     HttpMethod.POST,
                     entity,
@@ -81,46 +85,14 @@ public class PayoutServiceImpl implements PayoutService {
             if (payosResponse != null && "00".equals(payosResponse.get("code"))) {
                 @SuppressWarnings("unchecked")
                 Map<String, Object> data = (Map<String, Object>) payosResponse.get("data");
-
-                List<PayoutResponse.PayoutTransaction> transactions = new ArrayList<>();
-                Object txnsObj = data.get("transactions");
-
-                if (txnsObj instanceof List) {
-                    @SuppressWarnings("unchecked")
-                    List<Map<String, Object>> txnsList = (List<Map<String, Object>>) txnsObj;
-                    for (Map<String, Object> txn : txnsList) {
-                        PayoutResponse.PayoutTransaction transaction = PayoutResponse.PayoutTransaction
-                                .builder()
-                                .id((String) txn.get("id"))
-                                .referenceId((String) txn.get("referenceId"))
-                                .amount((Integer) txn.get("amount"))
-                                .description((String) txn.get("description"))
-                                .toBin((String) txn.get("toBin"))
-                                .toAccountNumber((String) txn.get("toAccountNumber"))
-                                .toAccountName((String) txn.get("toAccountName"))
-                                .state((String) txn.get("state"))
-                                .build();
-                        transactions.add(transaction);
-                    }
-                }
-
-                @SuppressWarnings("unchecked")
-                PayoutResponse payoutResponse = PayoutResponse.builder()
-                        .id((String) data.get("id"))
-                        .referenceId((String) data.get("referenceId"))
-                        .transactions(transactions)
-                        .category((List<String>) data.get("category"))
-                        .approvalState((String) data.get("approvalState"))
-                        .createdAt(data.get("createdAt") != null
-                                ? OffsetDateTime.parse((String) data.get("createdAt")).toLocalDateTime()
-                                : LocalDateTime.now())
-                        .build();
-
-                return payoutResponse;
+                return toPayoutResponse(data);
+            } else if (payosResponse != null) {
+                String errorCode = String.valueOf(payosResponse.get("code"));
+                String errorMsg = (String) payosResponse.get("desc");
+                throw new PayoutRejectedException("PayOS error [" + errorCode + "]: " + errorMsg);
             } else {
-                String errorCode = payosResponse != null ? String.valueOf(payosResponse.get("code")) : "N/A";
-                String errorMsg = payosResponse != null ? (String) payosResponse.get("desc") : "Unknown error";
-                throw new RuntimeException("PayOS error [" + errorCode + "]: " + errorMsg);
+                // No body says nothing about whether the payout was created
+                throw new RuntimeException("PayOS error [N/A]: Unknown error");
             }
 
         } catch (RuntimeException e) {
@@ -139,7 +111,7 @@ public class PayoutServiceImpl implements PayoutService {
 
             HttpEntity<Void> entity = new HttpEntity<>(headers);
 
-            ResponseEntity<Map> response = restTemplate.exchange(
+            ResponseEntity<Map> response = payosRestTemplate.exchange(
                     PAYOS_API_BASE_URL + "/v1/payouts/" + payoutId,
                     HttpMethod.GET,
                     entity,
@@ -150,42 +122,54 @@ public class PayoutServiceImpl implements PayoutService {
             if (payosResponse != null && "00".equals(payosResponse.get("code"))) {
                 @SuppressWarnings("unchecked")
                 Map<String, Object> data = (Map<String, Object>) payosResponse.get("data");
+                return toPayoutResponse(data);
+            } else {
+                String errorMsg = payosResponse != null ? (String) payosResponse.get("desc") : "Unknown error";
+                throw new RuntimeException("PayOS error: " + errorMsg);
+            }
 
-                List<PayoutResponse.PayoutTransaction> transactions = new ArrayList<>();
-                Object txnsObj = data.get("transactions");
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to get payout: " + e.getMessage(), e);
+        }
+    }
 
-                if (txnsObj instanceof List) {
-                    @SuppressWarnings("unchecked")
-                    List<Map<String, Object>> txnsList = (List<Map<String, Object>>) txnsObj;
-                    for (Map<String, Object> txn : txnsList) {
-                        PayoutResponse.PayoutTransaction transaction = PayoutResponse.PayoutTransaction
-                                .builder()
-                                .id((String) txn.get("id"))
-                                .referenceId((String) txn.get("referenceId"))
-                                .amount((Integer) txn.get("amount"))
-                                .description((String) txn.get("description"))
-                                .toBin((String) txn.get("toBin"))
-                                .toAccountNumber((String) txn.get("toAccountNumber"))
-                                .toAccountName((String) txn.get("toAccountName"))
-                                .state((String) txn.get("state"))
-                                .build();
-                        transactions.add(transaction);
-                    }
-                }
+    /**
+     * Looks a payout up by the reference id it was created with, for a submission whose response
+     * was lost. Empty when PayOS has no such payout.
+     */
+    @Override
+    public Optional<PayoutResponse> findPayoutByReferenceId(String referenceId) {
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("x-client-id", payosClientId);
+            headers.set("x-api-key", payosApiKey);
 
-                @SuppressWarnings("unchecked")
-                PayoutResponse payoutResponse = PayoutResponse.builder()
-                        .id((String) data.get("id"))
-                        .referenceId((String) data.get("referenceId"))
-                        .transactions(transactions)
-                        .category((List<String>) data.get("category"))
-                        .approvalState((String) data.get("approvalState"))
-                        .createdAt(data.get("createdAt") != null
-                                ? OffsetDateTime.parse((String) data.get("createdAt")).toLocalDateTime()
-                                : LocalDateTime.now())
-                        .build();
+            HttpEntity<Void> entity = new HttpEntity<>(headers);
+
+            ResponseEntity<Map> response = payosRestTemplate.exchange(
+                    UriComponentsBuilder.fromUriString(PAYOS_API_BASE_URL + "/v1/payouts")
+                            .queryParam("referenceId", referenceId)
+                            .queryParam("limit", 1)
+                            .build()
+                            .toUri(),
+                    HttpMethod.GET,
+                    entity,
+                    Map.class);
 
-                return payoutResponse;
+            Map<String, Object> payosResponse = response.getBody();
+
+            if (payosResponse != null && "00".equals(payosResponse.get("code"))) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> data = (Map<String, Object>) payosResponse.get("data");
+                Object payoutsObj = data != null ? data.get("payouts") : null;
+                if (payoutsObj instanceof List<?> payouts && !payouts.isEmpty()) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> payout = (Map<String, Object>) payouts.get(0);
+                    return Optional.of(toPayoutResponse(payout));
+                }
+                return Optional.empty();
             } else {
                 String errorMsg = payosResponse != null ? (String) payosResponse.get("desc") : "Unknown error";
                 throw new RuntimeException("PayOS error: " + errorMsg);
@@ -194,7 +178,44 @@ public class PayoutServiceImpl implements PayoutService {
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
-            throw new RuntimeException("Failed to get payout: " + e.getMessage(), e);
+            throw new RuntimeException("Failed to find payout: " + e.getMessage(), e);
         }
     }
+
+    private PayoutResponse toPayoutResponse(Map<String, Object> data) {
+        List<PayoutResponse.PayoutTransaction> transactions = new ArrayList<>();
+        Object txnsObj = data.get("transactions");
+
+        if (txnsObj instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> txnsList = (List<Map<String, Object>>) txnsObj;
+            for (Map<String, Object> txn : txnsList) {
+                PayoutResponse.PayoutTransaction transaction = PayoutResponse.PayoutTransaction
+                        .builder()
+                        .id((String) txn.get("id"))
+                        .referenceId((String) txn.get("referenceId"))
+                        .amount((Integer) txn.get("amount"))
+                        .description((String) txn.get("description"))
+                        .toBin((String) txn.get("toBin"))
+                        .toAccountNumber((String) txn.get("toAccountNumber"))
+                        .toAccountName((String) txn.get("toAccountName"))
+                        .state((String) txn.get("state"))
+                        .build();
+                transactions.add(transaction);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        List<String> category = (List<String>) data.get("category");
+        return PayoutResponse.builder()
+                .id((String) data.get("id"))
+                .referenceId((String) data.get("referenceId"))
+                .transactions(transactions)
+                .category(category)
+                .approvalState((String) data.get("approvalState"))
+                .createdAt(data.get("createdAt") != null
+                        ? OffsetDateTime.parse((String) data.get("createdAt")).toLocalDateTime()
+                        : LocalDateTime.now())
+                .build();
+    }
 }
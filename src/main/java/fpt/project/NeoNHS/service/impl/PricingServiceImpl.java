@@ -0,0 +1,81 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.constants.CacheConstants;
+import fpt.project.NeoNHS.dto.response.pricing.PriceQuote;
+import fpt.project.NeoNHS.entity.CartItem;
+import fpt.project.NeoNHS.entity.UserVoucher;
+import fpt.project.NeoNHS.entity.VendorProfile;
+import fpt.project.NeoNHS.entity.Voucher;
+import fpt.project.NeoNHS.entity.WorkshopSession;
+import fpt.project.NeoNHS.enums.DiscountType;
+import fpt.project.NeoNHS.service.PricingService;
+import fpt.project.NeoNHS.service.pricing.PricingEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PricingServiceImpl implements PricingService {
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public PriceQuote quote(List<CartItem> cartItems, List<UserVoucher> userVouchers) {
+        List<PricingEngine.Line> lines = new ArrayList<>(cartItems.size());
+        for (CartItem item : cartItems) {
+            lines.add(toLine(item));
+        }
+        // Line order does not change the price; sorting lets the same cart hit the same cache entry
+        lines.sort(Comparator.comparing(PricingEngine.Line::cartItemId));
+        List<PricingEngine.VoucherTerms> vouchers = new ArrayList<>(userVouchers.size());
+        for (UserVoucher userVoucher : userVouchers) {
+            vouchers.add(toTerms(userVoucher));
+        }
+
+        String cartHash = PricingEngine.cartHash(lines, vouchers);
+        Cache cache = cacheManager.getCache(CacheConstants.PRICE_QUOTE_CACHE);
+        if (cache == null) {
+            return PricingEngine.quote(cartHash, lines, vouchers);
+        }
+        try {
+            return cache.get(cartHash, () -> PricingEngine.quote(cartHash, lines, vouchers));
+        } catch (RuntimeException e) {
+            // A quote is cheap to recompute; never fail checkout because the cache is unavailable
+            log.warn("[Pricing] Quote cache unavailable: {}", e.getMessage());
+            return PricingEngine.quote(cartHash, lines, vouchers);
+        }
+    }
+
+    private PricingEngine.Line toLine(CartItem item) {
+        if (item.getTicketCatalog() != null) {
+            return new PricingEngine.Line(item.getId(), item.getTicketCatalog().getId(), null, null,
+                    item.getQuantity(), PricingEngine.toVnd(item.getTicketCatalog().getPrice()), 0);
+        }
+
+        WorkshopSession session = item.getWorkshopSession();
+        VendorProfile vendor = session.getWorkshopTemplate() != null ? session.getWorkshopTemplate().getVendor() : null;
+        int commissionBps = vendor != null && vendor.getCommissionRate() != null
+                ? PricingEngine.rateToBps(vendor.getCommissionRate())
+                : PricingEngine.DEFAULT_COMMISSION_BPS;
+        return new PricingEngine.Line(item.getId(), null, session.getId(), vendor != null ? vendor.getId() : null,
+                item.getQuantity(), PricingEngine.toVnd(session.getPrice()), commissionBps);
+    }
+
+    private PricingEngine.VoucherTerms toTerms(UserVoucher userVoucher) {
+        Voucher voucher = userVoucher.getVoucher();
+        long value = voucher.getDiscountType() == DiscountType.PERCENT
+                ? PricingEngine.percentToBps(voucher.getDiscountValue())
+                : PricingEngine.toVnd(voucher.getDiscountValue());
+        return new PricingEngine.VoucherTerms(userVoucher.getId(), voucher.getId(), voucher.getApplicableProduct(),
+                voucher.getVendor() != null ? voucher.getVendor().getId() : null, voucher.getDiscountType(), value,
+                PricingEngine.toVnd(voucher.getMaxDiscountValue()));
+    }
+}
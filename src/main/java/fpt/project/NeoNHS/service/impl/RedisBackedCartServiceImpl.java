@@ -0,0 +1,218 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.dto.request.cart.AddToCartRequest;
+import fpt.project.NeoNHS.dto.request.cart.CheckoutRequest;
+import fpt.project.NeoNHS.dto.request.cart.UpdateCartItemRequest;
+import fpt.project.NeoNHS.dto.response.cart.CartResponse;
+import fpt.project.NeoNHS.dto.response.cart.CheckoutResponse;
+import fpt.project.NeoNHS.dto.response.voucher.UserVoucherRespone;
+import fpt.project.NeoNHS.entity.CartItem;
+import fpt.project.NeoNHS.entity.TicketCatalog;
+import fpt.project.NeoNHS.entity.WorkshopSession;
+import fpt.project.NeoNHS.exception.BadRequestException;
+import fpt.project.NeoNHS.repository.TicketCatalogRepository;
+import fpt.project.NeoNHS.repository.WorkshopSessionRepository;
+import fpt.project.NeoNHS.service.CartService;
+import fpt.project.NeoNHS.service.GuestCartService;
+import fpt.project.NeoNHS.service.RedisCartService;
+import fpt.project.NeoNHS.service.RedisCartService.CartLine;
+import fpt.project.NeoNHS.service.validator.AvailabilityValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cart reads and writes go to a Redis hash; MySQL is updated behind them by
+ * {@code CartPersistTask}, and synchronously before anything that reads {@code cart_items}
+ * (pre-checkout, vouchers, order creation). Active with {@code cart.storage=redis}.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(name = "cart.storage", havingValue = "redis")
+@RequiredArgsConstructor
+public class RedisBackedCartServiceImpl implements CartService, GuestCartService {
+
+    private final RedisCartService redisCartService;
+    private final CartServiceImpl jpaCartService;
+    private final TicketCatalogRepository ticketCatalogRepository;
+    private final WorkshopSessionRepository workshopSessionRepository;
+    private final AvailabilityValidator avai;
+
+    @Override
+    @Transactional
+    public CartResponse getCart(String userEmail) {
+        return toResponse(redisCartService.openUserCart(userEmail));
+    }
+
+    @Override
+    @Transactional
+    public CartResponse addToCart(String userEmail, AddToCartRequest request) {
+        String cartKey = redisCartService.openUserCart(userEmail);
+        addLine(cartKey, request);
+        redisCartService.markDirty(userEmail);
+        return toResponse(cartKey);
+    }
+
+    @Override
+    @Transactional
+    public CartResponse updateCartItem(String userEmail, UUID cartItemId, UpdateCartItemRequest request) {
+        String cartKey = redisCartService.openUserCart(userEmail);
+        updateLine(cartKey, cartItemId, request);
+        redisCartService.markDirty(userEmail);
+        return toResponse(cartKey);
+    }
+
+    @Override
+    public void removeFromCart(String userEmail, UUID cartItemId) {
+        String cartKey = redisCartService.openUserCart(userEmail);
+        removeLine(cartKey, cartItemId);
+        redisCartService.markDirty(userEmail);
+    }
+
+    @Override
+    public CheckoutResponse preCheckoutCart(String userEmail, CheckoutRequest request) {
+        redisCartService.flush(userEmail);
+        return jpaCartService.preCheckoutCart(userEmail, request);
+    }
+
+    @Override
+    public List<UserVoucherRespone> getUserVouchers(String userEmail) {
+        redisCartService.flush(userEmail);
+        return jpaCartService.getUserVouchers(userEmail);
+    }
+
+    @Override
+    public CartResponse getGuestCart(UUID guestToken) {
+        return toResponse(redisCartService.guestCartKey(guestToken));
+    }
+
+    @Override
+    @Transactional
+    public CartResponse addToGuestCart(UUID guestToken, AddToCartRequest request) {
+        String cartKey = redisCartService.guestCartKey(guestToken);
+        addLine(cartKey, request);
+        return toResponse(cartKey);
+    }
+
+    @Override
+    @Transactional
+    public CartResponse updateGuestCartItem(UUID guestToken, UUID cartItemId, UpdateCartItemRequest request) {
+        String cartKey = redisCartService.guestCartKey(guestToken);
+        updateLine(cartKey, cartItemId, request);
+        return toResponse(cartKey);
+    }
+
+    @Override
+    public void removeFromGuestCart(UUID guestToken, UUID cartItemId) {
+        removeLine(redisCartService.guestCartKey(guestToken), cartItemId);
+    }
+
+    private void addLine(String cartKey, AddToCartRequest request) {
+        if (request.getTicketCatalogId() == null && request.getWorkshopSessionId() == null) {
+            throw new BadRequestException("Either Ticket Catalog ID or Workshop Session ID must be provided");
+        }
+
+        List<CartLine> lines = redisCartService.getLines(cartKey);
+
+        if (request.getTicketCatalogId() != null) {
+            TicketCatalog ticketCatalog = ticketCatalogRepository.findById(request.getTicketCatalogId())
+                    .orElseThrow(() -> new BadRequestException("Ticket Catalog not found"));
+
+            Optional<CartLine> existing = lines.stream()
+                    .filter(line -> ticketCatalog.getId().equals(line.ticketCatalogId()))
+                    .findFirst();
+            int quantity = request.getQuantity() + existing.map(CartLine::quantity).orElse(0);
+
+            avai.validateTicketAvailability(ticketCatalog, quantity);
+
+            UUID lineId = existing.map(CartLine::id).orElseGet(UUID::randomUUID);
+            redisCartService.putLine(cartKey, new CartLine(lineId, ticketCatalog.getId(), null, quantity));
+        } else {
+            WorkshopSession workshopSession = workshopSessionRepository
+                    .findByIdAndDeletedAtIsNull(request.getWorkshopSessionId())
+                    .orElseThrow(() -> new BadRequestException("Workshop Session not found or is no longer available"));
+
+            Optional<CartLine> existing = lines.stream()
+                    .filter(line -> workshopSession.getId().equals(line.workshopSessionId()))
+                    .findFirst();
+            int quantity = request.getQuantity() + existing.map(CartLine::quantity).orElse(0);
+
+            avai.validateWorkshopAvailability(workshopSession, quantity);
+
+            UUID lineId = existing.map(CartLine::id).orElseGet(UUID::randomUUID);
+            redisCartService.putLine(cartKey, new CartLine(lineId, null, workshopSession.getId(), quantity));
+        }
+    }
+
+    private void updateLine(String cartKey, UUID cartItemId, UpdateCartItemRequest request) {
+        CartLine line = redisCartService.getLine(cartKey, cartItemId)
+                .orElseThrow(() -> new BadRequestException("Cart item not found"));
+
+        if (line.ticketCatalogId() != null) {
+            TicketCatalog ticketCatalog = ticketCatalogRepository.findById(line.ticketCatalogId())
+                    .orElseThrow(() -> new BadRequestException("Ticket Catalog not found"));
+            avai.validateTicketAvailability(ticketCatalog, request.getQuantity());
+        } else {
+            WorkshopSession workshopSession = workshopSessionRepository.findById(line.workshopSessionId())
+                    .orElseThrow(() -> new BadRequestException("Workshop Session not found"));
+            avai.validateWorkshopAvailability(workshopSession, request.getQuantity());
+        }
+
+        redisCartService.putLine(cartKey, new CartLine(line.id(), line.ticketCatalogId(), line.workshopSessionId(),
+                request.getQuantity()));
+    }
+
+    private void removeLine(String cartKey, UUID cartItemId) {
+        if (!redisCartService.removeLine(cartKey, cartItemId)) {
+            throw new BadRequestException("Cart item not found");
+        }
+    }
+
+    /**
+     * Builds transient {@link CartItem}s from the Redis lines (two queries for all catalogs and
+     * sessions) and maps them exactly like the MySQL cart.
+     */
+    private CartResponse toResponse(String cartKey) {
+        List<CartLine> lines = redisCartService.getLines(cartKey);
+
+        List<UUID> catalogIds = lines.stream().map(CartLine::ticketCatalogId).filter(Objects::nonNull).toList();
+        List<UUID> sessionIds = lines.stream().map(CartLine::workshopSessionId).filter(Objects::nonNull).toList();
+
+        Map<UUID, TicketCatalog> catalogs = catalogIds.isEmpty() ? Map.of()
+                : ticketCatalogRepository.findAllWithEventByIdIn(catalogIds).stream()
+                        .collect(Collectors.toMap(TicketCatalog::getId, Function.identity()));
+        Map<UUID, WorkshopSession> sessions = sessionIds.isEmpty() ? Map.of()
+                : workshopSessionRepository.findAllWithTemplateByIdIn(sessionIds).stream()
+                        .collect(Collectors.toMap(WorkshopSession::getId, Function.identity()));
+
+        List<CartItem> items = new ArrayList<>();
+        for (CartLine line : lines) {
+            TicketCatalog ticketCatalog = line.ticketCatalogId() != null ? catalogs.get(line.ticketCatalogId()) : null;
+            WorkshopSession workshopSession = line.workshopSessionId() != null
+                    ? sessions.get(line.workshopSessionId()) : null;
+            if (ticketCatalog == null && workshopSession == null) {
+                // Item was deleted since it was added; drop it from the view
+                continue;
+            }
+            items.add(CartItem.builder()
+                    .id(line.id())
+                    .quantity(line.quantity())
+                    .ticketCatalog(ticketCatalog)
+                    .workshopSession(workshopSession)
+                    .build());
+        }
+
+        return CartServiceImpl.toCartResponse(redisCartService.getCartId(cartKey), items);
+    }
+}
@@ -0,0 +1,250 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.entity.Cart;
+import fpt.project.NeoNHS.entity.CartItem;
+import fpt.project.NeoNHS.entity.User;
+import fpt.project.NeoNHS.exception.BadRequestException;
+import fpt.project.NeoNHS.helpers.RedisCartKeys;
+import fpt.project.NeoNHS.repository.CartItemRepository;
+import fpt.project.NeoNHS.repository.CartRepository;
+import fpt.project.NeoNHS.repository.UserRepository;
+import fpt.project.NeoNHS.service.RedisCartService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class RedisCartServiceImpl implements RedisCartService {
+
+    private static final String TICKET = "T";
+    private static final String WORKSHOP = "W";
+
+    private final StringRedisTemplate redis;
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final Duration userTtl;
+    private final Duration guestTtl;
+
+    public RedisCartServiceImpl(StringRedisTemplate redis,
+                                CartRepository cartRepository,
+                                CartItemRepository cartItemRepository,
+                                UserRepository userRepository,
+                                @Value("${cart.storage:jpa}") String storage,
+                                @Value("${cart.redis.ttl-days:7}") long userTtlDays,
+                                @Value("${cart.redis.guest-ttl-days:3}") long guestTtlDays) {
+        this.redis = redis;
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.userRepository = userRepository;
+        this.enabled = "redis".equalsIgnoreCase(storage);
+        this.userTtl = Duration.ofDays(userTtlDays);
+        this.guestTtl = Duration.ofDays(guestTtlDays);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String openUserCart(String userEmail) {
+        String key = RedisCartKeys.user(userEmail);
+        if (Boolean.TRUE.equals(redis.hasKey(key))) {
+            return key;
+        }
+
+        Cart cart = cartRepository.findWithItemsByUserEmail(userEmail)
+                .orElseGet(() -> createCart(userEmail));
+
+        // HSETNX so a line written by a concurrent request is never overwritten by the MySQL copy
+        redis.opsForHash().putIfAbsent(key, RedisCartKeys.CART_ID_FIELD, cart.getId().toString());
+        if (cart.getCartItems() != null) {
+            for (CartItem item : cart.getCartItems()) {
+                CartLine line = new CartLine(item.getId(),
+                        item.getTicketCatalog() != null ? item.getTicketCatalog().getId() : null,
+                        item.getWorkshopSession() != null ? item.getWorkshopSession().getId() : null,
+                        item.getQuantity());
+                redis.opsForHash().putIfAbsent(key, item.getId().toString(), encode(line));
+            }
+        }
+        redis.expire(key, userTtl);
+        return key;
+    }
+
+    @Override
+    public String guestCartKey(UUID guestToken) {
+        return RedisCartKeys.guest(guestToken);
+    }
+
+    @Override
+    public UUID getCartId(String cartKey) {
+        Object cartId = redis.opsForHash().get(cartKey, RedisCartKeys.CART_ID_FIELD);
+        return cartId != null ? UUID.fromString(cartId.toString()) : null;
+    }
+
+    @Override
+    public List<CartLine> getLines(String cartKey) {
+        return decodeAll(redis.opsForHash().entries(cartKey));
+    }
+
+    @Override
+    public Optional<CartLine> getLine(String cartKey, UUID lineId) {
+        Object value = redis.opsForHash().get(cartKey, lineId.toString());
+        return value != null ? Optional.of(decode(lineId, value.toString())) : Optional.empty();
+    }
+
+    @Override
+    public void putLine(String cartKey, CartLine line) {
+        redis.opsForHash().put(cartKey, line.id().toString(), encode(line));
+        redis.expire(cartKey, isGuestKey(cartKey) ? guestTtl : userTtl);
+    }
+
+    @Override
+    public boolean removeLine(String cartKey, UUID lineId) {
+        Long removed = redis.opsForHash().delete(cartKey, lineId.toString());
+        return removed != null && removed > 0;
+    }
+
+    @Override
+    public void markDirty(String userEmail) {
+        redis.opsForSet().add(RedisCartKeys.DIRTY_SET, userEmail);
+    }
+
+    @Override
+    public List<String> popDirty(int limit) {
+        if (!enabled) {
+            return List.of();
+        }
+        List<String> emails = redis.opsForSet().pop(RedisCartKeys.DIRTY_SET, limit);
+        return emails != null ? emails : List.of();
+    }
+
+    @Override
+    @Transactional
+    public void flush(String userEmail) {
+        if (!enabled) {
+            return;
+        }
+
+        Map<Object, Object> entries = redis.opsForHash().entries(RedisCartKeys.user(userEmail));
+        Object cartIdValue = entries.get(RedisCartKeys.CART_ID_FIELD);
+        if (cartIdValue == null) {
+            // Cart was never opened in Redis (or has expired): MySQL is already current
+            return;
+        }
+
+        UUID cartId = UUID.fromString(cartIdValue.toString());
+        List<CartLine> lines = decodeAll(entries);
+        for (CartLine line : lines) {
+            cartItemRepository.upsertLine(line.id(), cartId, line.ticketCatalogId(), line.workshopSessionId(),
+                    line.quantity());
+        }
+        if (lines.isEmpty()) {
+            cartItemRepository.deleteAllByCartId(cartId);
+        } else {
+            cartItemRepository.deleteByCartIdAndIdNotIn(cartId, lines.stream().map(CartLine::id).toList());
+        }
+        cartRepository.updateTotalItem(cartId, lines.size());
+    }
+
+    @Override
+    public void removeItems(String userEmail, Collection<UUID> cartItemIds) {
+        if (!enabled || cartItemIds.isEmpty()) {
+            return;
+        }
+        redis.opsForHash().delete(RedisCartKeys.user(userEmail),
+                cartItemIds.stream().map(UUID::toString).toArray());
+    }
+
+    @Override
+    public void mergeGuestCart(UUID guestToken, String userEmail) {
+        if (!enabled || guestToken == null) {
+            return;
+        }
+
+        try {
+            String guestKey = RedisCartKeys.guest(guestToken);
+            List<CartLine> guestLines = getLines(guestKey);
+            if (guestLines.isEmpty()) {
+                return;
+            }
+
+            String userKey = openUserCart(userEmail);
+            List<CartLine> userLines = getLines(userKey);
+            for (CartLine guestLine : guestLines) {
+                CartLine merged = userLines.stream()
+                        .filter(line -> sameTarget(line, guestLine))
+                        .findFirst()
+                        .map(line -> new CartLine(line.id(), line.ticketCatalogId(), line.workshopSessionId(),
+                                line.quantity() + guestLine.quantity()))
+                        .orElse(guestLine);
+                putLine(userKey, merged);
+            }
+            redis.delete(guestKey);
+            markDirty(userEmail);
+        } catch (Exception e) {
+            // Login must not fail because of the guest cart; the guest keeps it until it expires
+            log.warn("[Cart] Could not merge guest cart {} into {}: {}", guestToken, userEmail, e.getMessage());
+        }
+    }
+
+    private Cart createCart(String userEmail) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new BadRequestException("User not found"));
+        return cartRepository.save(Cart.builder()
+                .user(user)
+                .totalItem(0)
+                .cartItems(new ArrayList<>())
+                .build());
+    }
+
+    private static boolean sameTarget(CartLine a, CartLine b) {
+        return Objects.equals(a.ticketCatalogId(), b.ticketCatalogId())
+                && Objects.equals(a.workshopSessionId(), b.workshopSessionId());
+    }
+
+    private static boolean isGuestKey(String cartKey) {
+        return cartKey.startsWith(RedisCartKeys.GUEST_PREFIX);
+    }
+
+    /** {@code T:<catalogId>:<qty>} or {@code W:<sessionId>:<qty>} */
+    private static String encode(CartLine line) {
+        return line.ticketCatalogId() != null
+                ? TICKET + ":" + line.ticketCatalogId() + ":" + line.quantity()
+                : WORKSHOP + ":" + line.workshopSessionId() + ":" + line.quantity();
+    }
+
+    private static CartLine decode(UUID id, String value) {
+        String[] parts = value.split(":");
+        UUID targetId = UUID.fromString(parts[1]);
+        int quantity = Integer.parseInt(parts[2]);
+        return TICKET.equals(parts[0])
+                ? new CartLine(id, targetId, null, quantity)
+                : new CartLine(id, null, targetId, quantity);
+    }
+
+    private static List<CartLine> decodeAll(Map<Object, Object> entries) {
+        List<CartLine> lines = new ArrayList<>();
+        for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+            String field = entry.getKey().toString();
+            if (!RedisCartKeys.CART_ID_FIELD.equals(field)) {
+                lines.add(decode(UUID.fromString(field), entry.getValue().toString()));
+            }
+        }
+        return lines;
+    }
+}
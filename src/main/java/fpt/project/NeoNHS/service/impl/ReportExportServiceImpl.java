@@ -0,0 +1,79 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.dto.request.admin.RevenueReportRequest;
+import fpt.project.NeoNHS.dto.response.admin.TransactionDetailResponse;
+import fpt.project.NeoNHS.enums.ExportFormat;
+import fpt.project.NeoNHS.exception.ResourceNotFoundException;
+import fpt.project.NeoNHS.helpers.AuthHelper;
+import fpt.project.NeoNHS.helpers.ExportRowWriter;
+import fpt.project.NeoNHS.repository.OrderDetailRepository;
+import fpt.project.NeoNHS.repository.VendorProfileRepository;
+import fpt.project.NeoNHS.repository.projection.RevenueDetailProjection;
+import fpt.project.NeoNHS.service.ReportExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ReportExportServiceImpl implements ReportExportService {
+
+    private static final String[] REVENUE_HEADER =
+            {"Date", "Transaction", "Vendor", "Item", "Quantity", "Gross", "Fee", "Net", "Status"};
+    private static final String[] VENDOR_HEADER =
+            {"Date", "Transaction", "Workshop", "Quantity", "Gross", "Commission", "Net"};
+
+    private final OrderDetailRepository orderDetailRepository;
+    private final VendorProfileRepository vendorProfileRepository;
+
+    @Override
+    public UUID currentVendorId() {
+        return vendorProfileRepository.findByUserEmail(AuthHelper.getCurrentUserEmail())
+                .orElseThrow(() -> new ResourceNotFoundException("Vendor profile not found for current user"))
+                .getId();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeRevenueReport(RevenueReportRequest request, ExportFormat format, OutputStream out)
+            throws IOException {
+        RevenueAnalyticsServiceImpl.ReportWindow window = RevenueAnalyticsServiceImpl.resolveWindow(request);
+        try (Stream<RevenueDetailProjection> rows =
+                     orderDetailRepository.streamRevenueDetails(window.start(), window.end())) {
+            ExportRowWriter writer = ExportRowWriter.open(format, out, REVENUE_HEADER);
+            Iterator<RevenueDetailProjection> it = rows.iterator();
+            while (it.hasNext()) {
+                RevenueDetailProjection row = it.next();
+                TransactionDetailResponse tx = RevenueAnalyticsServiceImpl.toTransaction(row);
+                writer.row(tx.getDate(), tx.getId(), tx.getVendor(), tx.getItem(), row.getQuantity(),
+                        tx.getGross(), tx.getFee(), tx.getNet(), tx.getStatus());
+            }
+            writer.finish();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeVendorTransactions(UUID vendorId, RevenueReportRequest request, ExportFormat format,
+                                        OutputStream out) throws IOException {
+        RevenueAnalyticsServiceImpl.ReportWindow window = RevenueAnalyticsServiceImpl.resolveWindow(request);
+        try (Stream<RevenueDetailProjection> rows =
+                     orderDetailRepository.streamVendorRevenueDetails(vendorId, window.start(), window.end())) {
+            ExportRowWriter writer = ExportRowWriter.open(format, out, VENDOR_HEADER);
+            Iterator<RevenueDetailProjection> it = rows.iterator();
+            while (it.hasNext()) {
+                RevenueDetailProjection row = it.next();
+                TransactionDetailResponse tx = RevenueAnalyticsServiceImpl.toTransaction(row);
+                writer.row(tx.getDate(), tx.getId(), tx.getItem(), row.getQuantity(),
+                        tx.getGross(), tx.getFee(), tx.getNet());
+            }
+            writer.finish();
+        }
+    }
+}
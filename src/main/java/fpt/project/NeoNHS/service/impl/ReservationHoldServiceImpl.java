@@ -0,0 +1,139 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.service.ReservationHoldService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class ReservationHoldServiceImpl implements ReservationHoldService {
+
+    private static final String HOLDS_KEY = "order:holds";
+    // Failed release attempts per transaction id, for the requeue backoff
+    private static final String RETRIES_KEY = "order:holds:retries";
+
+    /** ZRANGEBYSCORE + ZREM in one step, so two nodes never claim the same hold. */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_DUE_SCRIPT = new DefaultRedisScript<>("""
+            local items = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'WITHSCORES', 'LIMIT', 0, ARGV[2])
+            for i = 1, #items, 2 do
+              redis.call('ZREM', KEYS[1], items[i])
+            end
+            return items
+            """, List.class);
+
+    private final StringRedisTemplate redis;
+    private final long holdMinutes;
+    private final long retryBaseMs;
+    private final long retryMaxMs;
+    private final int maxRetries;
+    private final DistributionSummary releaseLag;
+
+    public ReservationHoldServiceImpl(StringRedisTemplate redis,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${order.hold.duration-minutes:10}") long holdMinutes,
+                                      @Value("${order.hold.retry-base-ms:1000}") long retryBaseMs,
+                                      @Value("${order.hold.retry-max-ms:300000}") long retryMaxMs,
+                                      @Value("${order.hold.max-retries:10}") int maxRetries) {
+        this.redis = redis;
+        this.holdMinutes = holdMinutes;
+        this.retryBaseMs = retryBaseMs;
+        this.retryMaxMs = retryMaxMs;
+        this.maxRetries = maxRetries;
+        this.releaseLag = DistributionSummary.builder("reservation.holds.release.lag")
+                .description("Time between a hold's deadline and the release of its seats")
+                .baseUnit("milliseconds")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("reservation.holds.active", this, ReservationHoldServiceImpl::activeHolds)
+                .description("Seat holds waiting for payment or expiry")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void register(UUID transactionId, LocalDateTime createdAt) {
+        try {
+            redis.opsForZSet().add(HOLDS_KEY, transactionId.toString(), toMillis(createdAt.plusMinutes(holdMinutes)));
+        } catch (Exception e) {
+            // Checkout must not fail on Redis; OrderScheduler's sweep still releases this hold
+            log.warn("[ReservationHold] Could not schedule hold {}: {}", transactionId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void cancel(UUID transactionId) {
+        redis.opsForZSet().remove(HOLDS_KEY, transactionId.toString());
+        redis.opsForHash().delete(RETRIES_KEY, transactionId.toString());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Hold> claimDue(int limit) {
+        List<Object> items = redis.execute(CLAIM_DUE_SCRIPT, List.of(HOLDS_KEY),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(limit));
+        List<Hold> holds = new ArrayList<>();
+        if (items == null) {
+            return holds;
+        }
+        for (int i = 0; i + 1 < items.size(); i += 2) {
+            holds.add(new Hold(UUID.fromString(items.get(i).toString()),
+                    (long) Double.parseDouble(items.get(i + 1).toString())));
+        }
+        return holds;
+    }
+
+    @Override
+    public void requeue(List<Hold> holds) {
+        long now = System.currentTimeMillis();
+        for (Hold hold : holds) {
+            String id = hold.transactionId().toString();
+            long attempt = redis.opsForHash().increment(RETRIES_KEY, id, 1);
+            if (attempt > maxRetries) {
+                redis.opsForHash().delete(RETRIES_KEY, id);
+                log.error("[ReservationHold] Hold {} failed to release {} times, leaving it to the sweep",
+                        id, attempt - 1);
+                continue;
+            }
+            long delay = Math.min(retryBaseMs << Math.min(attempt - 1, 20), retryMaxMs);
+            redis.opsForZSet().add(HOLDS_KEY, id, now + delay);
+        }
+    }
+
+    @Override
+    public void markReleased(Hold hold) {
+        releaseLag.record(Math.max(0, System.currentTimeMillis() - hold.deadlineMillis()));
+        redis.opsForHash().delete(RETRIES_KEY, hold.transactionId().toString());
+    }
+
+    @Override
+    public LocalDateTime expiryCutoff() {
+        return LocalDateTime.now().minusMinutes(holdMinutes);
+    }
+
+    private double activeHolds() {
+        try {
+            Long size = redis.opsForZSet().zCard(HOLDS_KEY);
+            return size != null ? size : 0;
+        } catch (Exception e) {
+            log.warn("[ReservationHold] Could not read hold count: {}", e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
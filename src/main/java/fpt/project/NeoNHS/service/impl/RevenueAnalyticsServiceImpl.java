@@ -2,18 +2,32 @@ package fpt.project.NeoNHS.service.impl;
 
 import fpt.project.NeoNHS.dto.request.admin.RevenueReportRequest;
 import fpt.project.NeoNHS.dto.response.admin.*;
-import fpt.project.NeoNHS.entity.OrderDetail;
+import fpt.project.NeoNHS.entity.OrderRollup;
+import fpt.project.NeoNHS.entity.RevenueRollup;
+import fpt.project.NeoNHS.entity.VendorProfile;
+import fpt.project.NeoNHS.enums.RollupGranularity;
+import fpt.project.NeoNHS.exception.BadRequestException;
 import fpt.project.NeoNHS.repository.OrderDetailRepository;
+import fpt.project.NeoNHS.repository.OrderRollupRepository;
+import fpt.project.NeoNHS.repository.RevenueRollupRepository;
+import fpt.project.NeoNHS.repository.VendorProfileRepository;
+import fpt.project.NeoNHS.repository.projection.RevenueDetailProjection;
+import fpt.project.NeoNHS.repository.projection.RevenueReportTotalsProjection;
+import fpt.project.NeoNHS.repository.projection.VendorRevenueProjection;
 import fpt.project.NeoNHS.service.RevenueAnalyticsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,101 +35,59 @@ import java.util.stream.Collectors;
 public class RevenueAnalyticsServiceImpl implements RevenueAnalyticsService {
 
         private final OrderDetailRepository orderDetailRepository;
+        private final RevenueRollupRepository revenueRollupRepository;
+        private final OrderRollupRepository orderRollupRepository;
+        private final VendorProfileRepository vendorProfileRepository;
+
+        static final int DEFAULT_PAGE_SIZE = 20;
+        static final int MAX_PAGE_SIZE = 100;
+
+        /** Report window, both ends inclusive. */
+        record ReportWindow(LocalDateTime start, LocalDateTime end) {
+        }
 
         @Override
+        @Transactional(readOnly = true)
         public RevenueReportResponse getFullReport(RevenueReportRequest request) {
-                LocalDateTime start;
-                LocalDateTime end;
-
                 // --- 1. XỬ LÝ THỜI GIAN ---
-                if (request.getPeriod() != null && !request.getPeriod().isEmpty()) {
-                        end = LocalDateTime.now();
-                        switch (request.getPeriod()) {
-                                case "3_MONTHS":
-                                        start = end.minusMonths(3).with(LocalTime.MIN);
-                                        break;
-                                case "6_MONTHS":
-                                        start = end.minusMonths(6).with(LocalTime.MIN);
-                                        break;
-                                case "LAST_MONTH":
-                                        start = end.minusMonths(1).with(LocalTime.MIN);
-                                        break;
-                                default:
-                                        start = end.minusDays(30).with(LocalTime.MIN);
-                                        break;
-                        }
-                } else {
-                        start = (request.getStartDate() != null)
-                                        ? request.getStartDate().atStartOfDay()
-                                        : LocalDate.now().minusDays(30).atStartOfDay();
-
-                        end = (request.getEndDate() != null)
-                                        ? request.getEndDate().atTime(23, 59, 59)
-                                        : LocalDateTime.now();
-                }
-
-                // --- 2. TRUY VẤN DỮ LIỆU ---
-                List<OrderDetail> details = orderDetailRepository.findRevenueDetails(start, end);
-
-                // --- 3. TÍNH TOÁN CHỈ SỐ (KPI) ---
-                BigDecimal totalGross = BigDecimal.ZERO;
-                BigDecimal adminEarnings = BigDecimal.ZERO;
-                BigDecimal vendorPayouts = BigDecimal.ZERO;
-
-                List<TransactionDetailResponse> txDtos = new ArrayList<>();
-
-                for (OrderDetail od : details) {
-                        BigDecimal lineGross = od.getUnitPrice().multiply(BigDecimal.valueOf(od.getQuantity()));
-                        totalGross = totalGross.add(lineGross);
-
-                        boolean isVendorProduct = (od.getWorkshopSession() != null);
-                        BigDecimal lineFeeDisplay;
-                        BigDecimal lineNetDisplay;
-
-                        if (isVendorProduct) {
-                                BigDecimal fee = od.getCommissionAmount() != null ? od.getCommissionAmount()
-                                                : BigDecimal.ZERO;
-                                BigDecimal net = od.getNetAmount() != null ? od.getNetAmount() : lineGross;
-                                adminEarnings = adminEarnings.add(fee);
-                                vendorPayouts = vendorPayouts.add(net);
-                                lineFeeDisplay = fee;
-                                lineNetDisplay = net;
-                        } else {
-                                adminEarnings = adminEarnings.add(lineGross);
-                                lineFeeDisplay = BigDecimal.ZERO;
-                                lineNetDisplay = lineGross;
-                        }
-
-                        txDtos.add(TransactionDetailResponse.builder()
-                                        .date(od.getCreatedAt())
-                                        .id("#TRX-" + od.getId().toString().substring(0, 8).toUpperCase())
-                                        .vendor(isVendorProduct
-                                                        ? od.getWorkshopSession().getWorkshopTemplate().getVendor()
-                                                                        .getBusinessName()
-                                                        : "Admin")
-                                        .item(isVendorProduct ? od.getWorkshopSession().getWorkshopTemplate().getName()
-                                                        : (od.getTicketCatalog() != null
-                                                                        ? od.getTicketCatalog().getEvent().getName()
-                                                                        : "Event Ticket"))
-                                        .gross(lineGross)
-                                        .fee(lineFeeDisplay)
-                                        .net(lineNetDisplay)
-                                        .status("SUCCESS")
-                                        .build());
-                }
+                ReportWindow window = resolveWindow(request);
+                LocalDateTime start = window.start();
+                LocalDateTime end = window.end();
+
+                // --- 2-3. KPI: one aggregate in SQL; the table only gets its first page ---
+                RevenueReportTotalsProjection totals = orderDetailRepository.sumRevenueReport(start, end);
+                long transactionCount = totals.getTransactions() != null ? totals.getTransactions() : 0L;
+                List<TransactionDetailResponse> txDtos = orderDetailRepository
+                                .findRevenueDetails(start, end, PageRequest.of(0, DEFAULT_PAGE_SIZE)).stream()
+                                .map(RevenueAnalyticsServiceImpl::toTransaction)
+                                .toList();
 
                 // --- 4. BREAKDOWN CHO BIỂU ĐỒ (VENDORS) ---
-                final BigDecimal finalTotalGross = totalGross.compareTo(BigDecimal.ZERO) > 0 ? totalGross
-                                : BigDecimal.ONE;
-                List<VendorRevenueResponse> vendorList = orderDetailRepository.getRevenueByVendor(start, end)
+                // Charts, trends and growth read the daily rollups (paid orders only), not order_details
+                LocalDateTime dayFrom = start.toLocalDate().atStartOfDay();
+                LocalDateTime dayTo = end.toLocalDate().plusDays(1).atStartOfDay();
+
+                List<VendorRevenueProjection> byVendor = revenueRollupRepository
+                                .sumRevenueByVendor(RollupGranularity.DAY, dayFrom, dayTo);
+                Map<UUID, String> vendorNames = vendorProfileRepository
+                                .findAllById(byVendor.stream().map(VendorRevenueProjection::getVendorId).toList())
                                 .stream()
-                                .map(obj -> {
-                                        BigDecimal amount = (BigDecimal) obj[1];
+                                .collect(Collectors.toMap(VendorProfile::getId, VendorProfile::getBusinessName));
+                BigDecimal rollupGross = byVendor.stream().map(VendorRevenueProjection::getRevenue)
+                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                final BigDecimal breakdownTotal = rollupGross.compareTo(BigDecimal.ZERO) > 0 ? rollupGross
+                                : BigDecimal.ONE;
+                List<VendorRevenueResponse> vendorList = byVendor.stream()
+                                .map(row -> {
+                                        BigDecimal amount = row.getRevenue();
                                         double percentage = amount.multiply(new BigDecimal("100"))
-                                                        .divide(finalTotalGross, 2, java.math.RoundingMode.HALF_UP)
+                                                        .divide(breakdownTotal, 2, java.math.RoundingMode.HALF_UP)
                                                         .doubleValue();
+                                        String vendorName = RevenueRollup.PLATFORM_VENDOR_ID.equals(row.getVendorId())
+                                                        ? "Admin"
+                                                        : vendorNames.getOrDefault(row.getVendorId(), "Admin");
                                         return VendorRevenueResponse.builder()
-                                                        .vendorName(obj[0] != null ? (String) obj[0] : "Admin")
+                                                        .vendorName(vendorName)
                                                         .amount(amount)
                                                         .percentage(percentage)
                                                         .build();
@@ -124,40 +96,46 @@ public class RevenueAnalyticsServiceImpl implements RevenueAnalyticsService {
                                 .collect(Collectors.toList());
 
                 // --- 5. TRENDS ---
-                List<RevenueTrendItem> trends = orderDetailRepository.getGlobalDailyRevenue(start, end)
+                Map<LocalDate, Long> ordersByDay = orderRollupRepository
+                                .findByGranularityAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+                                                RollupGranularity.DAY, dayFrom, dayTo)
+                                .stream()
+                                .collect(Collectors.toMap(r -> r.getBucketStart().toLocalDate(), OrderRollup::getPaidOrders));
+                List<RevenueTrendItem> trends = revenueRollupRepository.findSeries(RollupGranularity.DAY, dayFrom, dayTo)
                                 .stream()
-                                .map(obj -> RevenueTrendItem.builder()
-                                                .period((String) obj[0])
-                                                .revenue((BigDecimal) obj[1])
-                                                .transactionCount((Long) obj[2])
+                                .map(row -> RevenueTrendItem.builder()
+                                                .period(row.getBucketStart().toLocalDate().toString())
+                                                .revenue(row.getRevenue())
+                                                .transactionCount(ordersByDay.getOrDefault(
+                                                                row.getBucketStart().toLocalDate(), 0L))
                                                 .build())
                                 .collect(Collectors.toList());
 
                 // --- 6. GROWTH CALCULATIONS ---
                 long daysBetween = java.time.temporal.ChronoUnit.DAYS.between(start, end);
                 LocalDateTime prevStart = start.minusDays(daysBetween + 1);
-                LocalDateTime prevEnd = start.minusNanos(1);
-                BigDecimal prevTotalGross = orderDetailRepository.sumRevenueBetween(prevStart, prevEnd);
+                BigDecimal prevTotalGross = revenueRollupRepository.sumRevenue(RollupGranularity.DAY,
+                                prevStart.toLocalDate().atStartOfDay(), dayFrom);
 
                 double revGrowth = 0.0;
                 if (prevTotalGross.compareTo(BigDecimal.ZERO) > 0) {
-                        revGrowth = totalGross.subtract(prevTotalGross)
+                        revGrowth = rollupGross.subtract(prevTotalGross)
                                         .multiply(new BigDecimal("100"))
                                         .divide(prevTotalGross, 2, java.math.RoundingMode.HALF_UP).doubleValue();
-                } else if (totalGross.compareTo(BigDecimal.ZERO) > 0) {
+                } else if (rollupGross.compareTo(BigDecimal.ZERO) > 0) {
                         revGrowth = 100.0;
                 }
 
                 // --- 7. ĐÓNG GÓI RESPONSE ---
                 return RevenueReportResponse.builder()
                                 .summary(RevenueSummaryResponse.builder()
-                                                .totalGross(totalGross)
-                                                .adminEarnings(adminEarnings)
-                                                .vendorPayouts(vendorPayouts)
-                                                .totalTransactions((long) details.size())
+                                                .totalGross(totals.getGross())
+                                                .adminEarnings(totals.getAdminEarnings())
+                                                .vendorPayouts(totals.getVendorPayouts())
+                                                .totalTransactions(transactionCount)
                                                 .revenueGrowth(revGrowth)
                                                 .netRevenueGrowth(revGrowth * 0.8) // Simplified estimation
-                                                .avgOrderValueGrowth(details.isEmpty() ? 0.0 : 2.5) // Simplified
+                                                .avgOrderValueGrowth(transactionCount == 0 ? 0.0 : 2.5) // Simplified
                                                                                                     // estimation
                                                 .build())
                                 .vendorBreakdown(vendorList)
@@ -165,4 +143,78 @@ public class RevenueAnalyticsServiceImpl implements RevenueAnalyticsService {
                                 .revenueTrends(trends)
                                 .build();
         }
-}
\ No newline at end of file
+
+        @Override
+        @Transactional(readOnly = true)
+        public List<TransactionDetailResponse> getTransactions(RevenueReportRequest request, LocalDateTime before,
+                        UUID beforeId, Integer limit) {
+                if ((before == null) != (beforeId == null)) {
+                        throw new BadRequestException("before and beforeId must be given together");
+                }
+                ReportWindow window = resolveWindow(request);
+                Pageable page = PageRequest.of(0,
+                                Math.clamp(limit != null ? limit : DEFAULT_PAGE_SIZE, 1, MAX_PAGE_SIZE));
+
+                List<RevenueDetailProjection> rows = before == null
+                                ? orderDetailRepository.findRevenueDetails(window.start(), window.end(), page)
+                                : orderDetailRepository.findRevenueDetailsBefore(window.start(), window.end(),
+                                                before, beforeId, page);
+                return rows.stream().map(RevenueAnalyticsServiceImpl::toTransaction).toList();
+        }
+
+        static ReportWindow resolveWindow(RevenueReportRequest request) {
+                LocalDateTime start;
+                LocalDateTime end;
+                if (request.getPeriod() != null && !request.getPeriod().isEmpty()) {
+                        end = LocalDateTime.now();
+                        switch (request.getPeriod()) {
+                                case "3_MONTHS":
+                                        start = end.minusMonths(3).with(LocalTime.MIN);
+                                        break;
+                                case "6_MONTHS":
+                                        start = end.minusMonths(6).with(LocalTime.MIN);
+                                        break;
+                                case "LAST_MONTH":
+                                        start = end.minusMonths(1).with(LocalTime.MIN);
+                                        break;
+                                default:
+                                        start = end.minusDays(30).with(LocalTime.MIN);
+                                        break;
+                        }
+                } else {
+                        start = (request.getStartDate() != null)
+                                        ? request.getStartDate().atStartOfDay()
+                                        : LocalDate.now().minusDays(30).atStartOfDay();
+
+                        end = (request.getEndDate() != null)
+                                        ? request.getEndDate().atTime(23, 59, 59)
+                                        : LocalDateTime.now();
+                }
+                return new ReportWindow(start, end);
+        }
+
+        /** Table row of one order line: vendor lines show commission and net, platform tickets the full gross. */
+        static TransactionDetailResponse toTransaction(RevenueDetailProjection row) {
+                BigDecimal lineGross = row.getUnitPrice().multiply(BigDecimal.valueOf(row.getQuantity()));
+                boolean isVendorProduct = row.getWorkshopSessionId() != null;
+                BigDecimal fee = BigDecimal.ZERO;
+                BigDecimal net = lineGross;
+                if (isVendorProduct) {
+                        fee = row.getCommissionAmount() != null ? row.getCommissionAmount() : BigDecimal.ZERO;
+                        net = row.getNetAmount() != null ? row.getNetAmount() : lineGross;
+                }
+
+                return TransactionDetailResponse.builder()
+                                .date(row.getCreatedAt())
+                                .id("#TRX-" + row.getId().toString().substring(0, 8).toUpperCase())
+                                .detailId(row.getId())
+                                .vendor(isVendorProduct ? row.getVendorName() : "Admin")
+                                .item(isVendorProduct ? row.getWorkshopName()
+                                                : (row.getEventName() != null ? row.getEventName() : "Event Ticket"))
+                                .gross(lineGross)
+                                .fee(fee)
+                                .net(net)
+                                .status("SUCCESS")
+                                .build();
+        }
+}
@@ -0,0 +1,70 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.entity.RevenueRollup;
+import fpt.project.NeoNHS.exception.BadRequestException;
+import fpt.project.NeoNHS.repository.OrderRollupRepository;
+import fpt.project.NeoNHS.repository.RevenueRollupRepository;
+import fpt.project.NeoNHS.service.RevenueRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RevenueRollupServiceImpl implements RevenueRollupService {
+
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final OrderRollupRepository orderRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPayment(UUID orderId, boolean previouslyFailed) {
+        LocalDateTime now = LocalDateTime.now();
+        revenueRollupRepository.addOrder(orderId, 1, RevenueRollup.PLATFORM_VENDOR_ID, now);
+        orderRollupRepository.addOrders(List.of(orderId), 1, previouslyFailed ? -1 : 0, now);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordFailedPayments(Collection<UUID> orderIds) {
+        if (!orderIds.isEmpty()) {
+            orderRollupRepository.addOrders(orderIds, 0, 1, LocalDateTime.now());
+        }
+    }
+
+    @Override
+    public int rebuild(LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("Rebuild range is empty: from must be before to");
+        }
+
+        int days = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            LocalDateTime start = day.atStartOfDay();
+            LocalDateTime end = day.plusDays(1).atStartOfDay();
+            // Delete and recompute a day atomically so dashboards never see it half-built
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                revenueRollupRepository.deleteBetween(start, end);
+                orderRollupRepository.deleteBetween(start, end);
+                revenueRollupRepository.addPaidOrdersBetween(start, end, 1, RevenueRollup.PLATFORM_VENDOR_ID, now);
+                orderRollupRepository.addPaidOrdersBetween(start, end, 1, 0, now);
+                orderRollupRepository.addFailedOrdersBetween(start, end, 0, 1, now);
+            });
+            days++;
+        }
+        log.info("[Rollup] Rebuilt revenue rollups for {} days ({} to {})", days, from, to);
+        return days;
+    }
+}
@@ -11,6 +11,8 @@ import fpt.project.NeoNHS.exception.ResourceNotFoundException;
 import fpt.project.NeoNHS.repository.EventRepository;
 import fpt.project.NeoNHS.repository.OrderDetailRepository;
 import fpt.project.NeoNHS.repository.TicketCatalogRepository;
+import fpt.project.NeoNHS.service.HotInventoryService;
+import fpt.project.NeoNHS.service.WaitingRoomService;
 import fpt.project.NeoNHS.service.TicketCatalogService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -28,6 +30,8 @@ public class TicketCatalogServiceImpl implements TicketCatalogService {
     private final TicketCatalogRepository ticketCatalogRepository;
     private final EventRepository eventRepository;
     private final OrderDetailRepository orderDetailRepository;
+    private final HotInventoryService hotInventoryService;
+    private final WaitingRoomService waitingRoomService;
 
     @Override
     @Transactional
@@ -49,6 +53,9 @@ public class TicketCatalogServiceImpl implements TicketCatalogService {
                 .totalQuota(request.getTotalQuota())
                 .soldQuantity(0)
                 .status(request.getStatus() != null ? request.getStatus() : TicketCatalogStatus.ACTIVE)
+                // Joins the event's inventory mode, see setEventHotInventory
+                .hotInventory(ticketCatalogRepository.findByEventIdAndDeletedAtIsNull(eventId).stream()
+                        .anyMatch(sibling -> Boolean.TRUE.equals(sibling.getHotInventory())))
                 .event(event)
                 .build();
 
@@ -89,12 +96,27 @@ public class TicketCatalogServiceImpl implements TicketCatalogService {
         if (request.getValidToDate() != null) {
             ticketCatalog.setValidToDate(request.getValidToDate());
         }
+        boolean wasHot = Boolean.TRUE.equals(ticketCatalog.getHotInventory());
         if (request.getTotalQuota() != null) {
             ticketCatalog.setTotalQuota(request.getTotalQuota());
         }
         if (request.getStatus() != null) {
             ticketCatalog.setStatus(request.getStatus());
         }
+        if (request.getHotInventory() != null) {
+            ticketCatalog.setHotInventory(request.getHotInventory());
+        }
+        if (request.getWaitingRoom() != null) {
+            ticketCatalog.setWaitingRoom(request.getWaitingRoom());
+        }
+
+        // Redis counters are derived from quota and sold quantity, drop them so they reload
+        if (wasHot && (request.getTotalQuota() != null || !Boolean.TRUE.equals(ticketCatalog.getHotInventory()))) {
+            hotInventoryService.evictTicket(ticketCatalog);
+        }
+        if (request.getHotInventory() != null) {
+            setEventHotInventory(eventId, ticketCatalog, request.getHotInventory());
+        }
 
         // Validate after updates
         validateAfterUpdate(ticketCatalog);
@@ -103,6 +125,9 @@ public class TicketCatalogServiceImpl implements TicketCatalogService {
         autoUpdateSoldOutStatus(ticketCatalog);
 
         TicketCatalog updated = ticketCatalogRepository.save(ticketCatalog);
+        if (request.getWaitingRoom() != null) {
+            waitingRoomService.sync(updated);
+        }
         return TicketCatalogResponse.fromEntity(updated);
     }
 
@@ -204,6 +229,25 @@ public class TicketCatalogServiceImpl implements TicketCatalogService {
         return event;
     }
 
+    /**
+     * Event capacity has one counter: in Redis while the event is hot, in MySQL otherwise. A hot and a
+     * non-hot catalog of the same event would each enforce it against a different count and could
+     * oversell it together, so the flag is switched for every catalog of the event at once.
+     */
+    private void setEventHotInventory(UUID eventId, TicketCatalog ticketCatalog, boolean hot) {
+        List<TicketCatalog> siblings = ticketCatalogRepository.findByEventIdAndDeletedAtIsNull(eventId);
+        for (TicketCatalog sibling : siblings) {
+            if (sibling.getId().equals(ticketCatalog.getId()) || Boolean.TRUE.equals(sibling.getHotInventory()) == hot) {
+                continue;
+            }
+            if (!hot) {
+                hotInventoryService.evictTicket(sibling);
+            }
+            sibling.setHotInventory(hot);
+            ticketCatalogRepository.save(sibling);
+        }
+    }
+
     private TicketCatalog getTicketCatalogBelongingToEvent(UUID eventId, UUID ticketCatalogId) {
         return ticketCatalogRepository.findByEventIdAndId(eventId, ticketCatalogId)
                 .orElseThrow(() -> new ResourceNotFoundException(
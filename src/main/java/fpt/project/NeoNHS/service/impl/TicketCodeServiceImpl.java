@@ -0,0 +1,96 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.entity.TicketCodeSequence;
+import fpt.project.NeoNHS.helpers.TicketCodeFormat;
+import fpt.project.NeoNHS.repository.TicketCodeSequenceRepository;
+import fpt.project.NeoNHS.service.TicketCodeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Each node reserves a block of {@code ticket.code.block-size} sequence numbers from the
+ * {@code ticket_code_sequence} row and encodes them locally, so issuing tickets costs one short
+ * locked update per block instead of a lookup per code. Blocks never overlap, hence codes never
+ * collide; numbers left in a block when the node stops are simply skipped.
+ * <p>
+ * The reservation runs in a transaction of its own, so codes have to be taken before the caller opens
+ * one: from inside it the reservation would check out a second pool connection while the first is
+ * still held, and a pool full of requests waiting for their second connection never drains.
+ */
+@Slf4j
+@Service
+public class TicketCodeServiceImpl implements TicketCodeService {
+
+    private static final long FIRST_SEQUENCE = 1;
+
+    private final TicketCodeSequenceRepository sequenceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+
+    /** Current local block, {@code [next, limit)}. */
+    private long next;
+    private long limit;
+
+    public TicketCodeServiceImpl(TicketCodeSequenceRepository sequenceRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${ticket.code.block-size:1000}") int blockSize) {
+        this.sequenceRepository = sequenceRepository;
+        // The row lock is held only for the reservation, not for the whole order being issued
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public synchronized List<String> nextCodes(int count) {
+        // Checked on every call, not only when a block runs out, so a misplaced caller fails right away
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Ticket codes must be taken before a transaction is opened");
+        }
+        List<String> codes = new ArrayList<>(count);
+        while (codes.size() < count) {
+            if (next >= limit) {
+                allocateBlock(Math.max(blockSize, count - codes.size()));
+            }
+            codes.add(TicketCodeFormat.encode(next++));
+        }
+        return codes;
+    }
+
+    private void allocateBlock(int size) {
+        Long start;
+        try {
+            start = transactionTemplate.execute(status -> reserve(size));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the sequence row at the same moment; it exists now
+            start = transactionTemplate.execute(status -> reserve(size));
+        }
+        if (start == null || start + size - 1 > TicketCodeFormat.MAX_VALUE) {
+            throw new IllegalStateException("Ticket code space exhausted");
+        }
+        next = start;
+        limit = start + size;
+        log.debug("[TicketCode] Reserved sequence block [{}, {})", next, limit);
+    }
+
+    private Long reserve(int size) {
+        TicketCodeSequence sequence = sequenceRepository.findForUpdate(TicketCodeSequence.ID).orElse(null);
+        if (sequence == null) {
+            sequenceRepository.saveAndFlush(TicketCodeSequence.builder()
+                    .id(TicketCodeSequence.ID)
+                    .nextValue(FIRST_SEQUENCE + size)
+                    .build());
+            return FIRST_SEQUENCE;
+        }
+        long start = sequence.getNextValue();
+        sequence.setNextValue(start + size);
+        return start;
+    }
+}
@@ -0,0 +1,76 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.entity.OrderDetail;
+import fpt.project.NeoNHS.entity.Ticket;
+import fpt.project.NeoNHS.enums.TicketStatus;
+import fpt.project.NeoNHS.enums.TicketType;
+import fpt.project.NeoNHS.repository.TicketRepository;
+import fpt.project.NeoNHS.service.TicketIssuanceService;
+import fpt.project.NeoNHS.service.TicketQrService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Ticket ids are UUIDs generated in memory, so the whole order can go out as JDBC insert
+ * batches (hibernate.jdbc.batch_size) instead of one round trip per seat.
+ */
+@Service
+@RequiredArgsConstructor
+public class TicketIssuanceServiceImpl implements TicketIssuanceService {
+
+    private final TicketRepository ticketRepository;
+    private final TicketQrService ticketQrService;
+
+    @Override
+    @Transactional
+    public List<Ticket> issueTickets(List<OrderDetail> orderDetails, List<String> ticketCodes) {
+        int total = orderDetails.stream().mapToInt(OrderDetail::getQuantity).sum();
+        if (total == 0) {
+            return List.of();
+        }
+        if (ticketCodes.size() != total) {
+            throw new IllegalStateException("Got " + ticketCodes.size() + " ticket codes for " + total + " seats");
+        }
+
+        Iterator<String> codes = ticketCodes.iterator();
+        LocalDateTime issueDate = LocalDateTime.now();
+        List<Ticket> tickets = new ArrayList<>(total);
+
+        for (OrderDetail detail : orderDetails) {
+            // Type and expiry are the same for every seat of a line, resolve them once
+            TicketType type = TicketType.ENTRANCE;
+            LocalDateTime expiryDate = null;
+            if (detail.getWorkshopSession() != null) {
+                type = TicketType.WORKSHOP;
+                expiryDate = detail.getWorkshopSession().getEndTime();
+            } else if (detail.getTicketCatalog() != null && detail.getTicketCatalog().getEvent() != null) {
+                type = TicketType.EVENT;
+                expiryDate = detail.getTicketCatalog().getEvent().getEndTime();
+            }
+
+            for (int i = 0; i < detail.getQuantity(); i++) {
+                Ticket ticket = Ticket.builder()
+                        .ticketCatalog(detail.getTicketCatalog())
+                        .orderDetail(detail)
+                        .workshopSession(detail.getWorkshopSession())
+                        .status(TicketStatus.ACTIVE)
+                        .ticketType(type)
+                        .ticketCode(codes.next())
+                        .issueDate(issueDate)
+                        .expiryDate(expiryDate)
+                        .build();
+                // Signed over the ticket code, so it is known before the insert and costs no second write
+                ticket.setQrCode(ticketQrService.sign(ticket));
+                tickets.add(ticket);
+            }
+        }
+
+        return ticketRepository.saveAll(tickets);
+    }
+}
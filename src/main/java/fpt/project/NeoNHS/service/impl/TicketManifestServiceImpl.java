@@ -0,0 +1,158 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.enums.ManifestFormat;
+import fpt.project.NeoNHS.enums.ManifestScope;
+import fpt.project.NeoNHS.enums.TicketStatus;
+import fpt.project.NeoNHS.exception.ForbiddenException;
+import fpt.project.NeoNHS.exception.ResourceNotFoundException;
+import fpt.project.NeoNHS.helpers.AuthHelper;
+import fpt.project.NeoNHS.repository.EventRepository;
+import fpt.project.NeoNHS.repository.TicketRepository;
+import fpt.project.NeoNHS.repository.WorkshopSessionRepository;
+import fpt.project.NeoNHS.repository.projection.TicketManifestProjection;
+import fpt.project.NeoNHS.security.UserPrincipal;
+import fpt.project.NeoNHS.service.TicketManifestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gate manifests for offline scanners.
+ * <p>
+ * The cursor is the manifest time minus {@code ticket.manifest.cursor-lag-ms}, so a ticket written by a
+ * transaction that commits while the manifest is being read is sent again in the next delta instead of
+ * being missed. Devices apply rows as upserts keyed by code, which makes the overlap harmless.
+ * <p>
+ * NDJSON (gzip): a header line {@code {"scope":..,"scopeId":..,"cursor":..,"full":..}}, then one
+ * {@code {"code":..,"status":..}} line per ticket, where status is a {@link TicketStatus} or REVOKED.
+ * <p>
+ * Binary: {@code "NHGM"}, version byte, full flag byte, cursor (int64), then per ticket a status byte
+ * ({@link TicketStatus} ordinal, {@value #REVOKED} for deleted tickets), a code length byte and the ASCII code.
+ */
+@Service
+@RequiredArgsConstructor
+public class TicketManifestServiceImpl implements TicketManifestService {
+
+    private static final byte[] MAGIC = {'N', 'H', 'G', 'M'};
+    private static final byte VERSION = 1;
+    private static final int REVOKED = 0x7F;
+
+    private final TicketRepository ticketRepository;
+    private final WorkshopSessionRepository workshopSessionRepository;
+    private final EventRepository eventRepository;
+
+    @Value("${ticket.manifest.cursor-lag-ms:5000}")
+    private long cursorLagMs;
+
+    @Override
+    public long open(ManifestScope scope, UUID scopeId) {
+        UserPrincipal currentUser = AuthHelper.getCurrentUserPrincipal();
+
+        // Same split as ticket verification: ADMIN scans events, VENDOR its own workshop sessions
+        if (scope == ManifestScope.SESSION) {
+            if (!hasRole(currentUser, "ROLE_VENDOR")) {
+                throw new ForbiddenException("Only VENDOR can download workshop session manifests");
+            }
+            if (!workshopSessionRepository.existsById(scopeId)) {
+                throw new ResourceNotFoundException("Workshop session not found");
+            }
+            if (workshopSessionRepository.findIdsOwnedByVendorUser(List.of(scopeId), currentUser.getId()).isEmpty()) {
+                throw new ForbiddenException("You can only download manifests for your own workshops");
+            }
+        } else {
+            if (!hasRole(currentUser, "ROLE_ADMIN")) {
+                throw new ForbiddenException("Only ADMIN can download event manifests");
+            }
+            if (!eventRepository.existsById(scopeId)) {
+                throw new ResourceNotFoundException("Event not found");
+            }
+        }
+
+        return System.currentTimeMillis() - cursorLagMs;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void write(ManifestScope scope, UUID scopeId, Long since, long cursor, ManifestFormat format,
+                      OutputStream out) throws IOException {
+        boolean full = since == null;
+        try (Stream<TicketManifestProjection> rows = query(scope, scopeId, full ? null : toDateTime(since))) {
+            if (format == ManifestFormat.BINARY) {
+                writeBinary(rows.iterator(), full, cursor, out);
+            } else {
+                writeNdjson(rows.iterator(), scope, scopeId, full, cursor, out);
+            }
+        }
+    }
+
+    private Stream<TicketManifestProjection> query(ManifestScope scope, UUID scopeId, LocalDateTime since) {
+        if (scope == ManifestScope.SESSION) {
+            return since == null
+                    ? ticketRepository.streamSessionManifest(scopeId, TicketStatus.ACTIVE, LocalDateTime.now())
+                    : ticketRepository.streamSessionManifestDelta(scopeId, since);
+        }
+        return since == null
+                ? ticketRepository.streamEventManifest(scopeId, TicketStatus.ACTIVE, LocalDateTime.now())
+                : ticketRepository.streamEventManifestDelta(scopeId, since);
+    }
+
+    private void writeNdjson(Iterator<TicketManifestProjection> rows, ManifestScope scope, UUID scopeId,
+                             boolean full, long cursor, OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out, 8192);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8));
+        writer.write("{\"scope\":\"" + scope + "\",\"scopeId\":\"" + scopeId + "\",\"cursor\":" + cursor
+                + ",\"full\":" + full + "}\n");
+        while (rows.hasNext()) {
+            TicketManifestProjection row = rows.next();
+            // Codes are generated server-side from [A-Z0-9], no JSON escaping needed
+            writer.write("{\"code\":\"" + row.getTicketCode() + "\",\"status\":\""
+                    + (row.getDeletedAt() != null ? "REVOKED" : row.getStatus().name()) + "\"}\n");
+        }
+        writer.flush();
+        gzip.finish();
+        out.flush();
+    }
+
+    private void writeBinary(Iterator<TicketManifestProjection> rows, boolean full, long cursor,
+                             OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 8192));
+        data.write(MAGIC);
+        data.writeByte(VERSION);
+        data.writeByte(full ? 1 : 0);
+        data.writeLong(cursor);
+        while (rows.hasNext()) {
+            TicketManifestProjection row = rows.next();
+            byte[] code = row.getTicketCode().getBytes(StandardCharsets.US_ASCII);
+            data.writeByte(row.getDeletedAt() != null ? REVOKED : row.getStatus().ordinal());
+            data.writeByte(code.length);
+            data.write(code);
+        }
+        data.flush();
+    }
+
+    private static boolean hasRole(UserPrincipal user, String role) {
+        return user.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals(role));
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
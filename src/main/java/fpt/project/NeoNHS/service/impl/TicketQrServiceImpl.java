@@ -0,0 +1,79 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.entity.Ticket;
+import fpt.project.NeoNHS.helpers.TicketQrCodec;
+import fpt.project.NeoNHS.service.TicketQrService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Each scope (ticket catalog or workshop session) gets its own key, derived from the master
+ * secret as {@code HMAC(secret, "ticket-scope:" + scopeId)}. Scanners are handed only the keys of
+ * the scopes they check in, so a leaked scanner cannot forge tickets for anything else.
+ */
+@Service
+public class TicketQrServiceImpl implements TicketQrService {
+
+    private static final String SCOPE_PREFIX = "ticket-scope:";
+
+    // As long as the HMAC-SHA256 output, so the key is not the weak link
+    static final int MIN_SECRET_BYTES = 32;
+
+    private final byte[] secret;
+
+    public TicketQrServiceImpl(@Value("${ticket.qr.secret:}") String secret) {
+        if (secret == null || secret.isBlank()
+                || secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("ticket.qr.secret (TICKET_QR_SECRET) must be set to at least "
+                    + MIN_SECRET_BYTES + " bytes; anyone who knows it can forge tickets");
+        }
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String sign(Ticket ticket) {
+        UUID scopeId;
+        LocalDateTime validFrom = ticket.getIssueDate();
+        LocalDateTime validTo = ticket.getExpiryDate();
+        if (ticket.getWorkshopSession() != null) {
+            scopeId = ticket.getWorkshopSession().getId();
+            if (ticket.getWorkshopSession().getStartTime() != null) {
+                validFrom = ticket.getWorkshopSession().getStartTime();
+            }
+        } else if (ticket.getTicketCatalog() != null) {
+            scopeId = ticket.getTicketCatalog().getId();
+            if (ticket.getTicketCatalog().getValidFromDate() != null) {
+                validFrom = ticket.getTicketCatalog().getValidFromDate();
+            }
+            if (validTo == null) {
+                validTo = ticket.getTicketCatalog().getValidToDate();
+            }
+        } else {
+            throw new IllegalStateException("Ticket " + ticket.getTicketCode() + " has no catalog or session");
+        }
+
+        return TicketQrCodec.encode(
+                new TicketQrCodec.Payload(ticket.getTicketCode(), scopeId, ticket.getTicketType(), validFrom, validTo),
+                deriveKey(scopeId));
+    }
+
+    @Override
+    public Optional<TicketQrCodec.Payload> verify(String qrCode) {
+        return TicketQrCodec.decode(qrCode, this::deriveKey);
+    }
+
+    @Override
+    public String scopeKey(UUID scopeId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(deriveKey(scopeId));
+    }
+
+    private byte[] deriveKey(UUID scopeId) {
+        return TicketQrCodec.hmac(secret, (SCOPE_PREFIX + scopeId).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,38 +1,89 @@
 package fpt.project.NeoNHS.service.impl;
 
+import fpt.project.NeoNHS.dto.request.ticket.CheckinSyncRequest;
 import fpt.project.NeoNHS.dto.response.TicketDetailResponse;
+import fpt.project.NeoNHS.dto.response.ticket.CheckinSyncResponse;
+import fpt.project.NeoNHS.dto.response.ticket.ScannerKeyResponse;
 import fpt.project.NeoNHS.entity.Ticket;
+import fpt.project.NeoNHS.enums.CheckinScanStatus;
 import fpt.project.NeoNHS.enums.TicketStatus;
 import fpt.project.NeoNHS.enums.TicketType;
 import fpt.project.NeoNHS.exception.BadRequestException;
 import fpt.project.NeoNHS.exception.ForbiddenException;
 import fpt.project.NeoNHS.exception.ResourceNotFoundException;
 import fpt.project.NeoNHS.exception.UnauthorizedException;
+import fpt.project.NeoNHS.helpers.TicketCodeFormat;
+import fpt.project.NeoNHS.helpers.TicketQrCodec;
+import fpt.project.NeoNHS.repository.TicketCatalogRepository;
 import fpt.project.NeoNHS.repository.TicketRepository;
+import fpt.project.NeoNHS.repository.WorkshopSessionRepository;
+import fpt.project.NeoNHS.repository.projection.TicketCodeStatusProjection;
+import fpt.project.NeoNHS.repository.projection.TicketExpiryKeyProjection;
 import fpt.project.NeoNHS.security.UserPrincipal;
+import fpt.project.NeoNHS.service.TicketQrService;
 import fpt.project.NeoNHS.service.TicketService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TicketServiceImpl implements TicketService {
 
+    private static final List<TicketStatus> REDEEMABLE_STATUSES = List.of(TicketStatus.ACTIVE, TicketStatus.EXPIRED);
+
     private final TicketRepository ticketRepository;
+    private final TicketCatalogRepository ticketCatalogRepository;
+    private final WorkshopSessionRepository workshopSessionRepository;
+    private final TicketQrService ticketQrService;
+
+    @Value("${ticket.checkin.max-batch-size:1000}")
+    private int maxCheckinBatchSize;
+
+    // Gates open before a workshop session starts, and its tickets are signed valid from the start time
+    @Value("${ticket.checkin.opens-before-minutes:30}")
+    private long checkinOpensBeforeMinutes;
+
+    @Value("${ticket.expiry.chunk-size:500}")
+    private int expiryChunkSize;
 
     @Override
     public TicketDetailResponse verifyTicketViaCode(String code) {
         UserPrincipal currentUser = getCurrentUserPrincipal();
 
-        Ticket ticket = ticketRepository.findByTicketCode(code)
-                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found with code: " + code));
+        // Scanners send the whole QR payload, staff typing a code send the code itself
+        String ticketCode = TicketQrCodec.looksSigned(code)
+                ? ticketQrService.verify(code).map(TicketQrCodec.Payload::ticketCode)
+                        .orElseThrow(() -> new BadRequestException("Invalid ticket QR code"))
+                : TicketCodeFormat.normalize(code);
+        if (ticketCode != null && ticketCode.length() == TicketCodeFormat.LENGTH && !TicketCodeFormat.isValid(ticketCode)) {
+            throw new BadRequestException("Ticket code is mistyped, please check it again");
+        }
+
+        Ticket ticket = ticketRepository.findByTicketCode(ticketCode)
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found with code: " + ticketCode));
 
         // Role-based Access Control
         boolean isAdmin = currentUser.getAuthorities().stream()
@@ -62,17 +113,14 @@ public class TicketServiceImpl implements TicketService {
             throw new ForbiddenException("You do not have permission to verify tickets");
         }
 
-        if (ticket.getStatus() == TicketStatus.USED) {
+        TicketStatus status = ticket.statusAt(LocalDateTime.now());
+        if (status == TicketStatus.USED) {
             throw new BadRequestException("Ticket is already used");
         }
 
-        if (ticket.getStatus() == TicketStatus.EXPIRED ||
-                (ticket.getExpiryDate() != null && ticket.getExpiryDate().isBefore(LocalDateTime.now()))) {
-            if (ticket.getStatus() != TicketStatus.EXPIRED) {
-                ticket.setStatus(TicketStatus.EXPIRED);
-                ticketRepository.save(ticket);
-            }
-            throw new fpt.project.NeoNHS.exception.BadRequestException("Ticket is expired");
+        if (status == TicketStatus.EXPIRED) {
+            // Nothing to write: the sweep persists it, reads already see it as expired
+            throw new BadRequestException("Ticket is expired");
         }
 
         ticket.setStatus(TicketStatus.USED);
@@ -104,6 +152,159 @@ public class TicketServiceImpl implements TicketService {
                 .build();
     }
 
+    @Override
+    public List<ScannerKeyResponse> getScannerKeys(List<UUID> scopeIds) {
+        UserPrincipal currentUser = getCurrentUserPrincipal();
+        if (scopeIds == null || scopeIds.isEmpty()) {
+            return List.of();
+        }
+
+        // Same split as verification: ADMIN scans catalog tickets, VENDOR its own sessions
+        Set<UUID> requested = new LinkedHashSet<>(scopeIds);
+        List<UUID> allowed;
+        if (hasRole(currentUser, "ROLE_ADMIN")) {
+            allowed = ticketCatalogRepository.findExistingIds(requested);
+        } else if (hasRole(currentUser, "ROLE_VENDOR")) {
+            allowed = workshopSessionRepository.findIdsOwnedByVendorUser(requested, currentUser.getId());
+        } else {
+            throw new ForbiddenException("You do not have permission to verify tickets");
+        }
+
+        return allowed.stream()
+                .map(scopeId -> ScannerKeyResponse.builder()
+                        .scopeId(scopeId)
+                        .key(ticketQrService.scopeKey(scopeId))
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Applies scans a gate scanner already accepted offline. Signatures, validity windows and
+     * roles are checked in memory from the QR payloads; the database sees one ownership query
+     * (vendors only), one status query and one redeem UPDATE per minute of scan time.
+     */
+    @Override
+    @Transactional
+    public CheckinSyncResponse syncCheckins(CheckinSyncRequest request) {
+        UserPrincipal currentUser = getCurrentUserPrincipal();
+        boolean isAdmin = hasRole(currentUser, "ROLE_ADMIN");
+        boolean isVendor = hasRole(currentUser, "ROLE_VENDOR");
+        if (!isAdmin && !isVendor) {
+            throw new ForbiddenException("You do not have permission to verify tickets");
+        }
+
+        List<CheckinSyncRequest.Scan> scans = request.getScans();
+        if (scans.size() > maxCheckinBatchSize) {
+            throw new BadRequestException("At most " + maxCheckinBatchSize + " scans can be synced at once");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int size = scans.size();
+        TicketQrCodec.Payload[] payloads = new TicketQrCodec.Payload[size];
+        LocalDateTime[] scannedAt = new LocalDateTime[size];
+        CheckinScanStatus[] statuses = new CheckinScanStatus[size];
+
+        for (int i = 0; i < size; i++) {
+            CheckinSyncRequest.Scan scan = scans.get(i);
+            Optional<TicketQrCodec.Payload> payload = ticketQrService.verify(scan.getQrCode());
+            if (payload.isEmpty()) {
+                statuses[i] = CheckinScanStatus.INVALID;
+                continue;
+            }
+            payloads[i] = payload.get();
+            // A scanner clock running ahead must not push redemptions into the future
+            scannedAt[i] = scan.getScannedAt() == null || scan.getScannedAt().isAfter(now) ? now : scan.getScannedAt();
+
+            boolean workshop = payloads[i].type() == TicketType.WORKSHOP;
+            if (isAdmin ? workshop : !workshop) {
+                statuses[i] = CheckinScanStatus.FORBIDDEN;
+            } else if (payloads[i].isExpiredAt(scannedAt[i])) {
+                statuses[i] = CheckinScanStatus.EXPIRED;
+            } else if (payloads[i].isNotYetValidAt(scannedAt[i], checkinOpensBefore())) {
+                statuses[i] = CheckinScanStatus.NOT_YET_VALID;
+            }
+        }
+
+        if (!isAdmin) {
+            Set<UUID> sessionIds = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                if (statuses[i] == null) sessionIds.add(payloads[i].scopeId());
+            }
+            Set<UUID> owned = sessionIds.isEmpty() ? Set.of()
+                    : new HashSet<>(workshopSessionRepository.findIdsOwnedByVendorUser(sessionIds, currentUser.getId()));
+            for (int i = 0; i < size; i++) {
+                if (statuses[i] == null && !owned.contains(payloads[i].scopeId())) {
+                    statuses[i] = CheckinScanStatus.FORBIDDEN;
+                }
+            }
+        }
+
+        // First scan of a code wins; a second scan in the same batch is a re-entry attempt
+        Map<String, Integer> firstScan = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (statuses[i] == null && firstScan.putIfAbsent(payloads[i].ticketCode(), i) != null) {
+                statuses[i] = CheckinScanStatus.ALREADY_USED;
+            }
+        }
+
+        int redeemed = 0;
+        int accepted = 0;
+        if (!firstScan.isEmpty()) {
+            Map<String, TicketStatus> current = new HashMap<>();
+            for (TicketCodeStatusProjection row : ticketRepository.findStatusesByTicketCodeIn(firstScan.keySet())) {
+                current.put(row.getTicketCode(), row.getStatus());
+            }
+
+            Map<LocalDateTime, List<String>> byMinute = new TreeMap<>();
+            for (Map.Entry<String, Integer> entry : firstScan.entrySet()) {
+                int i = entry.getValue();
+                TicketStatus status = current.get(entry.getKey());
+                if (status == null) {
+                    statuses[i] = CheckinScanStatus.INVALID;
+                } else if (status == TicketStatus.USED) {
+                    statuses[i] = CheckinScanStatus.ALREADY_USED;
+                } else {
+                    // EXPIRED here only means the expiry job ran after the (valid) offline scan
+                    statuses[i] = CheckinScanStatus.ACCEPTED;
+                    accepted++;
+                    byMinute.computeIfAbsent(scannedAt[i].truncatedTo(ChronoUnit.MINUTES), k -> new ArrayList<>())
+                            .add(entry.getKey());
+                }
+            }
+
+            for (Map.Entry<LocalDateTime, List<String>> entry : byMinute.entrySet()) {
+                redeemed += ticketRepository.redeemByTicketCodes(entry.getValue(), TicketStatus.USED,
+                        REDEEMABLE_STATUSES, entry.getKey(), now);
+            }
+        }
+        if (redeemed < accepted) {
+            log.warn("[Checkin] {} of {} synced scans were redeemed concurrently by another sync",
+                    accepted - redeemed, accepted);
+        }
+
+        List<CheckinSyncResponse.Result> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            results.add(CheckinSyncResponse.Result.builder()
+                    .index(i)
+                    .ticketCode(payloads[i] != null ? payloads[i].ticketCode() : null)
+                    .status(statuses[i])
+                    .build());
+        }
+        return CheckinSyncResponse.builder()
+                .accepted(accepted)
+                .rejected(size - accepted)
+                .results(results)
+                .build();
+    }
+
+    private Duration checkinOpensBefore() {
+        return Duration.ofMinutes(checkinOpensBeforeMinutes);
+    }
+
+    private static boolean hasRole(UserPrincipal user, String role) {
+        return user.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals(role));
+    }
+
     private UserPrincipal getCurrentUserPrincipal() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated()) {
@@ -115,17 +316,35 @@ public class TicketServiceImpl implements TicketService {
         return (UserPrincipal) auth.getPrincipal();
     }
 
+    /**
+     * Walks the (status, expiry_date) index in keyset order, {@code ticket.expiry.chunk-size} tickets
+     * at a time; each chunk is its own short UPDATE transaction, so row locks never pile up.
+     */
     @Override
-    @Transactional
-    public void expireOutdatedTickets() {
-        int updatedCount = ticketRepository.updateExpiredTickets(
-                TicketStatus.EXPIRED,
-                TicketStatus.ACTIVE,
-                LocalDateTime.now()
-        );
-        
+    public int expireOutdatedTickets() {
+        LocalDateTime now = LocalDateTime.now();
+        Pageable chunk = PageRequest.ofSize(expiryChunkSize);
+        int updatedCount = 0;
+
+        List<TicketExpiryKeyProjection> keys = ticketRepository.findExpiredKeys(TicketStatus.ACTIVE, now, chunk);
+        while (!keys.isEmpty()) {
+            updatedCount += ticketRepository.expireByIds(
+                    keys.stream().map(TicketExpiryKeyProjection::getId).toList(),
+                    TicketStatus.EXPIRED,
+                    TicketStatus.ACTIVE,
+                    now
+            );
+            if (keys.size() < expiryChunkSize) {
+                break;
+            }
+            TicketExpiryKeyProjection last = keys.get(keys.size() - 1);
+            keys = ticketRepository.findExpiredKeysAfter(TicketStatus.ACTIVE, now,
+                    last.getExpiryDate(), last.getId(), chunk);
+        }
+
         if (updatedCount > 0) {
             log.info("Successfully updated {} tickets to EXPIRED status.", updatedCount);
         }
+        return updatedCount;
     }
 }
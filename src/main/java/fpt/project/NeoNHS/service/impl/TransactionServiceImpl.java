@@ -81,7 +81,7 @@ public class TransactionServiceImpl implements TransactionService {
                                 .qrCode(ticket.getQrCode() != null ? ticket.getQrCode()
                                         : "https://api.qrserver.com/v1/create-qr-code/?data=" + ticket.getTicketCode())
                                 .ticketType(ticket.getTicketType().name())
-                                .status(ticket.getStatus().name())
+                                .status(ticket.statusAt(LocalDateTime.now()).name())
                                 .itemName(itemName)
                                 .eventName(eventName)
                                 .workshopName(workshopName)
@@ -9,18 +9,20 @@ import fpt.project.NeoNHS.dto.response.kyc.KycResponse;
 import fpt.project.NeoNHS.dto.request.user.UserFilterRequest;
 import fpt.project.NeoNHS.dto.response.user.UserResponse;
 import fpt.project.NeoNHS.entity.User;
+import fpt.project.NeoNHS.enums.KpiCounter;
 import fpt.project.NeoNHS.enums.UserRole;
 import fpt.project.NeoNHS.exception.BadRequestException;
 import fpt.project.NeoNHS.exception.DuplicatePhonenumberException;
 import fpt.project.NeoNHS.exception.ResourceNotFoundException;
-import fpt.project.NeoNHS.dto.request.payout.CreatePayoutRequest;
 import fpt.project.NeoNHS.dto.request.payout.WithdrawRequest;
-import fpt.project.NeoNHS.dto.response.payout.PayoutResponse;
+import fpt.project.NeoNHS.dto.response.payout.WithdrawalResponse;
 import fpt.project.NeoNHS.repository.UserRepository;
+import fpt.project.NeoNHS.service.KpiCounterService;
 import fpt.project.NeoNHS.service.UserService;
 import fpt.project.NeoNHS.service.FaceVerificationService;
 import fpt.project.NeoNHS.service.VnptEkycService;
-import fpt.project.NeoNHS.service.PayoutService;
+import fpt.project.NeoNHS.service.WalletService;
+import fpt.project.NeoNHS.service.WithdrawalService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import fpt.project.NeoNHS.specification.UserSpecification;
@@ -29,9 +31,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.text.Normalizer;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.Collections;
 import java.util.regex.Pattern;
 
 @Slf4j
@@ -42,7 +44,9 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final VnptEkycService vnptEkycService;
     private final FaceVerificationService faceVerificationService;
-    private final PayoutService payoutService;
+    private final WalletService walletService;
+    private final WithdrawalService withdrawalService;
+    private final KpiCounterService kpiCounterService;
 
     /**
      * Ngưỡng faceMatchScore tối thiểu để xác nhận KYC (85%)
@@ -186,10 +190,15 @@ public class UserServiceImpl implements UserService {
         return kycResponse;
     }
 
+    /**
+     * Only the cheap checks run here; the hold, face verification and payout are a saga in
+     * {@link WithdrawalService}, so no transaction stays open across the remote calls.
+     */
     @Override
-    @Transactional
-    public PayoutResponse withdraw(String email, WithdrawRequest request) {
-        int amount = request.getAmount();
+    public WithdrawalResponse withdraw(String email, WithdrawRequest request) {
+        if (request.getAmount() <= 0) {
+            throw new BadRequestException("Amount must be greater than 0");
+        }
         String livePhotoBase64 = request.getLivePhotoBase64();
 
         User user = userRepository.findByEmail(email)
@@ -206,21 +215,6 @@ public class UserServiceImpl implements UserService {
             throw new BadRequestException("Live photo is required for withdrawal face verification.");
         }
 
-        try {
-            boolean faceMatch = faceVerificationService.compareFaces(livePhotoBase64, user.getFaceEmbedding());
-            if (!faceMatch) {
-                log.warn("[Withdraw] Face verification FAILED for user: {}", user.getEmail());
-                throw new BadRequestException(
-                        "Face verification failed. The live photo does not match your KYC face. Please try again.");
-            }
-            log.info("[Withdraw] Face verification PASSED for user: {}", user.getEmail());
-        } catch (BadRequestException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("[Withdraw] Face verification error for user: {}. Error: {}", user.getEmail(), e.getMessage());
-            throw new BadRequestException("Face verification service error: " + e.getMessage());
-        }
-
         if (user.getBankBin() == null || user.getBankBin().isBlank()) {
             throw new BadRequestException("Bank BIN code is not configured for this account");
         }
@@ -243,32 +237,10 @@ public class UserServiceImpl implements UserService {
                     user.getBankAccountName(), user.getKycFullName()));
         }
 
-        double currentBalance = user.getBalance() != null ? user.getBalance() : 0.0;
-        if (currentBalance < amount) {
-            throw new BadRequestException(String.format(
-                    "Insufficient balance. Current: %.0f VND, Requested: %d VND",
-                    currentBalance, amount));
-        }
-
-        CreatePayoutRequest payoutRequest = CreatePayoutRequest.builder()
-                .referenceId("withdraw_" + user.getId() + "_" + System.currentTimeMillis())
-                .amount(amount)
-                .description("Rut tien VND")
-                .toBin(user.getBankBin())
-                .toAccountNumber(user.getBankAccountNumber())
-                .category(Collections.singletonList("withdrawal"))
-                .build();
-
         log.info("[Withdraw] User {} requests {} VND → bank account {}",
-                user.getEmail(), amount, user.getBankAccountNumber());
-
-        PayoutResponse payoutResponse = payoutService.createPayout(payoutRequest);
-
-        user.setBalance(currentBalance - amount);
-        userRepository.save(user);
-        log.info("[Withdraw] Balance updated: {} → {} VND", currentBalance, user.getBalance());
+                user.getEmail(), request.getAmount(), user.getBankAccountNumber());
 
-        return payoutResponse;
+        return withdrawalService.start(user, request);
     }
 
     // =========================================================
@@ -343,12 +315,13 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserStatsResponse getUserStats() {
+        Map<KpiCounter, Long> counters = kpiCounterService.getCounters();
         return UserStatsResponse.builder()
-                .total(userRepository.count())
-                .active(userRepository.countByIsActiveTrueAndIsBannedFalse())
-                .banned(userRepository.countByIsBannedTrue())
-                .unverified(userRepository.countByIsVerifiedFalse())
-                .inactive(userRepository.countByIsActiveFalseAndIsBannedFalse(UserRole.TOURIST))
+                .total(counters.getOrDefault(KpiCounter.USERS_TOTAL, 0L))
+                .active(counters.getOrDefault(KpiCounter.USERS_ACTIVE, 0L))
+                .banned(counters.getOrDefault(KpiCounter.USERS_BANNED, 0L))
+                .unverified(counters.getOrDefault(KpiCounter.USERS_UNVERIFIED, 0L))
+                .inactive(counters.getOrDefault(KpiCounter.USERS_INACTIVE, 0L))
                 .build();
     }
 
@@ -381,7 +354,7 @@ public class UserServiceImpl implements UserService {
                 .bankBin(user.getBankBin())
                 .bankAccountNumber(user.getBankAccountNumber())
                 .bankAccountName(user.getBankAccountName())
-                .balance(user.getBalance())
+                .balance(walletService.getBalance(user.getId()))
                 .kycVerified(user.getKycVerified())
                 .kycFullName(user.getKycFullName())
                 .kycIdNumber(user.getKycIdNumber())
@@ -5,10 +5,12 @@ import fpt.project.NeoNHS.entity.Transaction;
 import fpt.project.NeoNHS.entity.VendorProfile;
 import fpt.project.NeoNHS.entity.WorkshopSession;
 import fpt.project.NeoNHS.enums.ReviewTypeFlagEnum;
+import fpt.project.NeoNHS.enums.RollupGranularity;
 import fpt.project.NeoNHS.enums.WorkshopStatus;
 import fpt.project.NeoNHS.exception.ResourceNotFoundException;
 import fpt.project.NeoNHS.helpers.AuthHelper;
 import fpt.project.NeoNHS.repository.*;
+import fpt.project.NeoNHS.repository.projection.RevenueBucketProjection;
 import fpt.project.NeoNHS.service.VendorDashboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -30,10 +32,10 @@ public class VendorDashboardServiceImpl implements VendorDashboardService {
     private final VendorProfileRepository vendorProfileRepository;
     private final WorkshopTemplateRepository workshopTemplateRepository;
     private final WorkshopSessionRepository workshopSessionRepository;
-    private final OrderDetailRepository orderDetailRepository;
     private final TransactionRepository transactionRepository;
     private final ReviewRepository reviewRepository;
     private final VoucherRepository voucherRepository;
+    private final RevenueRollupRepository revenueRollupRepository;
 
     // ─── Public API methods ─────────────────────────────────────────
 
@@ -112,7 +114,7 @@ public class VendorDashboardServiceImpl implements VendorDashboardService {
         LocalDateTime weekAgo = now.minusWeeks(1);
         LocalDateTime twoWeeksAgo = now.minusWeeks(2);
 
-        BigDecimal totalRevenue = safeDecimal(orderDetailRepository.sumTotalRevenueByVendorId(vendorId));
+        BigDecimal totalRevenue = safeDecimal(revenueRollupRepository.sumVendorRevenue(vendorId));
         BigDecimal previousRevenue = null; // No trend mapping for all-time total revenue
 
         long currentWorkshops = workshopTemplateRepository.countByVendorIdAndDeletedAtIsNull(vendorId);
@@ -173,23 +175,9 @@ public class VendorDashboardServiceImpl implements VendorDashboardService {
         LocalDateTime weekStart = monday.atStartOfDay();
         LocalDateTime weekEnd = monday.plusDays(7).atStartOfDay();
 
-        List<Object[]> rawRevenue = orderDetailRepository.getDailyRevenueByVendorId(vendorId, weekStart, weekEnd);
-        List<Object[]> rawNetAmount = orderDetailRepository.getDailyNetAmountByVendorId(vendorId, weekStart, weekEnd);
-
         Map<LocalDate, BigDecimal> revenueMap = new LinkedHashMap<>();
         Map<LocalDate, BigDecimal> netAmountMap = new LinkedHashMap<>();
-
-        for (Object[] row : rawRevenue) {
-            LocalDate date = parseDateFromRow(row[0]);
-            BigDecimal revenue = new BigDecimal(row[1].toString());
-            revenueMap.put(date, revenue);
-        }
-
-        for (Object[] row : rawNetAmount) {
-            LocalDate date = parseDateFromRow(row[0]);
-            BigDecimal netAmount = new BigDecimal(row[1].toString());
-            netAmountMap.put(date, netAmount);
-        }
+        collectDailyRollups(vendorId, weekStart, weekEnd, revenueMap, netAmountMap);
 
         List<VendorRevenuePoint> points = new ArrayList<>();
         for (int i = 0; i < 7; i++) {
@@ -213,23 +201,9 @@ public class VendorDashboardServiceImpl implements VendorDashboardService {
         LocalDateTime monthStart = firstOfMonth.atStartOfDay();
         LocalDateTime monthEnd = firstOfNextMonth.atStartOfDay();
 
-        List<Object[]> rawRevenue = orderDetailRepository.getDailyRevenueByVendorId(vendorId, monthStart, monthEnd);
-        List<Object[]> rawNetAmount = orderDetailRepository.getDailyNetAmountByVendorId(vendorId, monthStart, monthEnd);
-
         Map<LocalDate, BigDecimal> revenueMap = new LinkedHashMap<>();
         Map<LocalDate, BigDecimal> netAmountMap = new LinkedHashMap<>();
-
-        for (Object[] row : rawRevenue) {
-            LocalDate date = parseDateFromRow(row[0]);
-            BigDecimal revenue = new BigDecimal(row[1].toString());
-            revenueMap.put(date, revenue);
-        }
-
-        for (Object[] row : rawNetAmount) {
-            LocalDate date = parseDateFromRow(row[0]);
-            BigDecimal netAmount = new BigDecimal(row[1].toString());
-            netAmountMap.put(date, netAmount);
-        }
+        collectDailyRollups(vendorId, monthStart, monthEnd, revenueMap, netAmountMap);
 
         List<VendorRevenuePoint> points = new ArrayList<>();
         int daysInMonth = firstOfMonth.lengthOfMonth();
@@ -252,22 +226,14 @@ public class VendorDashboardServiceImpl implements VendorDashboardService {
         LocalDateTime yearStart = LocalDate.of(year, 1, 1).atStartOfDay();
         LocalDateTime yearEnd = LocalDate.of(year + 1, 1, 1).atStartOfDay();
 
-        List<Object[]> rawRevenue = orderDetailRepository.getMonthlyRevenueByVendorId(vendorId, yearStart, yearEnd);
-        List<Object[]> rawNetAmount = orderDetailRepository.getMonthlyNetAmountByVendorId(vendorId, yearStart, yearEnd);
-
+        // At most 366 daily rollup rows, summed into months here
         Map<String, BigDecimal> revenueMap = new LinkedHashMap<>();
         Map<String, BigDecimal> netAmountMap = new LinkedHashMap<>();
-
-        for (Object[] row : rawRevenue) {
-            String monthKey = row[0].toString();
-            BigDecimal revenue = new BigDecimal(row[1].toString());
-            revenueMap.put(monthKey, revenue);
-        }
-
-        for (Object[] row : rawNetAmount) {
-            String monthKey = row[0].toString();
-            BigDecimal netAmount = new BigDecimal(row[1].toString());
-            netAmountMap.put(monthKey, netAmount);
+        for (RevenueBucketProjection day : revenueRollupRepository.findVendorSeries(vendorId, RollupGranularity.DAY,
+                yearStart, yearEnd)) {
+            String monthKey = YearMonth.from(day.getBucketStart()).toString();
+            revenueMap.merge(monthKey, day.getRevenue(), BigDecimal::add);
+            netAmountMap.merge(monthKey, day.getNetAmount(), BigDecimal::add);
         }
 
         List<VendorRevenuePoint> points = new ArrayList<>();
@@ -287,16 +253,12 @@ public class VendorDashboardServiceImpl implements VendorDashboardService {
         return VendorRevenueSeriesResponse.builder().range("year").points(points).build();
     }
 
-    // Helper method to parse date from different types
-    private LocalDate parseDateFromRow(Object obj) {
-        if (obj instanceof java.sql.Date sqlDate) {
-            return sqlDate.toLocalDate();
-        } else if (obj instanceof java.time.LocalDate localDate) {
-            return localDate;
-        } else if (obj instanceof java.time.LocalDateTime localDateTime) {
-            return localDateTime.toLocalDate();
-        } else {
-            return LocalDate.parse(obj.toString());
+    private void collectDailyRollups(UUID vendorId, LocalDateTime start, LocalDateTime end,
+                                     Map<LocalDate, BigDecimal> revenueMap, Map<LocalDate, BigDecimal> netAmountMap) {
+        for (RevenueBucketProjection day : revenueRollupRepository.findVendorSeries(vendorId, RollupGranularity.DAY,
+                start, end)) {
+            revenueMap.put(day.getBucketStart().toLocalDate(), day.getRevenue());
+            netAmountMap.put(day.getBucketStart().toLocalDate(), day.getNetAmount());
         }
     }
 
@@ -4,6 +4,7 @@ import fpt.project.NeoNHS.dto.request.kyc.KycRequest;
 import fpt.project.NeoNHS.dto.response.kyc.KycResponse;
 import fpt.project.NeoNHS.service.VnptEkycService;
 import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.*;
@@ -18,6 +19,7 @@ import java.util.Map;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class VnptEkycServiceImpl implements VnptEkycService {
 
     private static final String BASE_URL = "https://api.idg.vnpt.vn";
@@ -31,7 +33,7 @@ public class VnptEkycServiceImpl implements VnptEkycService {
     @Value("${vnpt.ekyc.token-key}")
     private String tokenKey;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate vnptEkycRestTemplate;
 
     private String getCleanAccessToken() {
         String token = accessToken.trim();
@@ -77,7 +79,7 @@ public class VnptEkycServiceImpl implements VnptEkycService {
             HttpEntity<Map<String, Object>> ocrFrontEntity = new HttpEntity<>(ocrFrontBody, buildAiHeaders());
 
             log.info("Calling OCR front API...");
-            ResponseEntity<Map> ocrFrontResponse = restTemplate.exchange(
+            ResponseEntity<Map> ocrFrontResponse = vnptEkycRestTemplate.exchange(
                     BASE_URL + "/ai/v1/ocr/id/front",
                     HttpMethod.POST,
                     ocrFrontEntity,
@@ -96,7 +98,7 @@ public class VnptEkycServiceImpl implements VnptEkycService {
             HttpEntity<Map<String, Object>> ocrBackEntity = new HttpEntity<>(ocrBackBody, buildAiHeaders());
 
             log.info("Calling OCR back API...");
-            ResponseEntity<Map> ocrBackResponse = restTemplate.exchange(
+            ResponseEntity<Map> ocrBackResponse = vnptEkycRestTemplate.exchange(
                     BASE_URL + "/ai/v1/ocr/id/back",
                     HttpMethod.POST,
                     ocrBackEntity,
@@ -115,7 +117,7 @@ public class VnptEkycServiceImpl implements VnptEkycService {
             HttpEntity<Map<String, Object>> faceEntity = new HttpEntity<>(faceBody, buildAiHeaders());
 
             log.info("Calling face compare API...");
-            ResponseEntity<Map> faceResponse = restTemplate.exchange(
+            ResponseEntity<Map> faceResponse = vnptEkycRestTemplate.exchange(
                     BASE_URL + "/ai/v1/face/compare",
                     HttpMethod.POST,
                     faceEntity,
@@ -166,7 +168,7 @@ public class VnptEkycServiceImpl implements VnptEkycService {
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, buildAiHeaders());
 
             log.info("Calling liveness API...");
-            ResponseEntity<Map> response = restTemplate.exchange(
+            ResponseEntity<Map> response = vnptEkycRestTemplate.exchange(
                     BASE_URL + "/ai/v1/face/liveness",
                     HttpMethod.POST,
                     entity,
@@ -211,7 +213,7 @@ public class VnptEkycServiceImpl implements VnptEkycService {
 
         HttpEntity<MultiValueMap<String, Object>> entity = new HttpEntity<>(body, headers);
 
-        ResponseEntity<Map> response = restTemplate.exchange(
+        ResponseEntity<Map> response = vnptEkycRestTemplate.exchange(
                 BASE_URL + "/file-service/v1/addFile",
                 HttpMethod.POST,
                 entity,
@@ -3,6 +3,7 @@ package fpt.project.NeoNHS.service.impl;
 import fpt.project.NeoNHS.dto.request.voucher.CreateVoucherRequest;
 import fpt.project.NeoNHS.dto.request.voucher.UpdateVoucherRequest;
 import fpt.project.NeoNHS.dto.request.voucher.VoucherFilterRequest;
+import fpt.project.NeoNHS.dto.response.pricing.PriceQuote;
 import fpt.project.NeoNHS.dto.response.voucher.UserVoucherRespone;
 import fpt.project.NeoNHS.dto.response.voucher.VoucherClassificationResult;
 import fpt.project.NeoNHS.dto.response.voucher.VoucherResponse;
@@ -13,6 +14,7 @@ import fpt.project.NeoNHS.exception.ResourceNotFoundException;
 import fpt.project.NeoNHS.exception.UnauthorizedException;
 import fpt.project.NeoNHS.repository.*;
 import fpt.project.NeoNHS.security.UserPrincipal;
+import fpt.project.NeoNHS.service.PricingService;
 import fpt.project.NeoNHS.service.VoucherService;
 import fpt.project.NeoNHS.specification.VoucherSpecification;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +40,7 @@ public class VoucherServiceImpl implements VoucherService {
     private final UserVoucherRepository userVoucherRepository;
     private final UserRepository userRepository;
     private final VendorProfileRepository vendorProfileRepository;
+    private final PricingService pricingService;
 
     // ==================== ADMIN ====================
 
@@ -572,61 +575,10 @@ public class VoucherServiceImpl implements VoucherService {
         // Reload entity to get full fields (discountType, discountValue, etc.)
         UserVoucher uv = userVoucherRepository.findById(userVoucherId)
                 .orElseThrow(() -> new BadRequestException("Voucher not found"));
-        Voucher v = uv.getVoucher();
-
-        // Calculate the base amount the discount applies to (respects applicableProduct + vendor scope)
-        BigDecimal applicableBase = switch (v.getApplicableProduct()) {
-            case EVENT_TICKET -> cartItems.stream()
-                    .filter(i -> i.getTicketCatalog() != null)
-                    // Event has no direct vendor link — platform vouchers cover all tickets;
-                    // vendor vouchers do not apply to tickets (no vendor relationship on Event)
-                    .filter(i -> v.getVendor() == null)
-                    .map(i -> i.getTicketCatalog().getPrice()
-                            .multiply(BigDecimal.valueOf(i.getQuantity())))
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            case WORKSHOP -> {
-                UUID voucherVendorId = v.getVendor() != null ? v.getVendor().getId() : null;
-                yield cartItems.stream()
-                        .filter(i -> i.getWorkshopSession() != null
-                                && i.getWorkshopSession().getPrice() != null)
-                        // If vendor-scoped, only count workshops from that vendor
-                        .filter(i -> voucherVendorId == null || isWorkshopItemFromVendor(i, voucherVendorId))
-                        .map(i -> i.getWorkshopSession().getPrice()
-                                .multiply(BigDecimal.valueOf(i.getQuantity())))
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-            }
 
-            default -> {
-                // ALL: platform vouchers → full cart; vendor vouchers → only that vendor's workshops
-                UUID voucherVendorId = v.getVendor() != null ? v.getVendor().getId() : null;
-                if (voucherVendorId == null) {
-                    yield totalPrice;
-                }
-                yield cartItems.stream()
-                        .filter(i -> isWorkshopItemFromVendor(i, voucherVendorId))
-                        .map(i -> {
-                            BigDecimal price = i.getWorkshopSession() != null && i.getWorkshopSession().getPrice() != null
-                                    ? i.getWorkshopSession().getPrice()
-                                    : BigDecimal.ZERO;
-                            return price.multiply(BigDecimal.valueOf(i.getQuantity()));
-                        })
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-            }
-        };
-
-        // Apply discount formula
-        if (v.getDiscountType() == DiscountType.PERCENT) {
-            BigDecimal discount = applicableBase.multiply(
-                    v.getDiscountValue().divide(BigDecimal.valueOf(100)));
-            if (v.getMaxDiscountValue() != null && discount.compareTo(v.getMaxDiscountValue()) > 0) {
-                discount = v.getMaxDiscountValue();
-            }
-            return discount;
-        } else {
-            // FIXED — cap at applicableBase so final price never goes below 0
-            return v.getDiscountValue().min(applicableBase);
-        }
+        // Scope, rounding and caps are the pricing engine's; same quote is reused by order creation
+        PriceQuote quote = pricingService.quote(cartItems, List.of(uv));
+        return PriceQuote.toMoney(quote.discountTotal());
     }
 
     /**
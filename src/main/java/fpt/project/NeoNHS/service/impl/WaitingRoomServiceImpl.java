@@ -0,0 +1,307 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.dto.response.waitingroom.WaitingRoomStatusResponse;
+import fpt.project.NeoNHS.entity.TicketCatalog;
+import fpt.project.NeoNHS.entity.User;
+import fpt.project.NeoNHS.enums.WaitingRoomStatus;
+import fpt.project.NeoNHS.exception.BadRequestException;
+import fpt.project.NeoNHS.helpers.AuthHelper;
+import fpt.project.NeoNHS.helpers.RedisWaitingRoomKeys;
+import fpt.project.NeoNHS.repository.TicketCatalogRepository;
+import fpt.project.NeoNHS.repository.UserRepository;
+import fpt.project.NeoNHS.security.UserPrincipal;
+import fpt.project.NeoNHS.service.WaitingRoomService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class WaitingRoomServiceImpl implements WaitingRoomService {
+
+    private static final String DESTINATION = "/queue/waiting-room";
+
+    /**
+     * Returns {1, admittedUntil} for a live admission, otherwise queues the user (once) and returns {0, position}.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> JOIN_SCRIPT = new DefaultRedisScript<>("""
+            local admittedUntil = redis.call('ZSCORE', KEYS[2], ARGV[1])
+            if admittedUntil and tonumber(admittedUntil) > tonumber(ARGV[2]) then
+              return {1, tonumber(admittedUntil)}
+            end
+            local rank = redis.call('ZRANK', KEYS[1], ARGV[1])
+            if not rank then
+              redis.call('ZADD', KEYS[1], redis.call('INCR', KEYS[3]), ARGV[1])
+              rank = redis.call('ZRANK', KEYS[1], ARGV[1])
+            end
+            return {0, rank + 1}
+            """, List.class);
+
+    /**
+     * Drops expired admissions, then moves up to min(rate, maxActive - active) users from the queue to admitted.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ADMIT_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', ARGV[1])
+            local slots = math.min(tonumber(ARGV[3]), tonumber(ARGV[4]) - redis.call('ZCARD', KEYS[2]))
+            if slots <= 0 then
+              return {}
+            end
+            local popped = redis.call('ZPOPMIN', KEYS[1], slots)
+            local admitted = {}
+            for i = 1, #popped, 2 do
+              redis.call('ZADD', KEYS[2], ARGV[2], popped[i])
+              admitted[#admitted + 1] = popped[i]
+            end
+            return admitted
+            """, List.class);
+
+    private final StringRedisTemplate redis;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TicketCatalogRepository ticketCatalogRepository;
+    private final UserRepository userRepository;
+    private final int admitPerTick;
+    private final int maxActive;
+    private final long admissionTtlMillis;
+    private final int positionUpdates;
+
+    public WaitingRoomServiceImpl(StringRedisTemplate redis,
+                                  SimpMessagingTemplate messagingTemplate,
+                                  TicketCatalogRepository ticketCatalogRepository,
+                                  UserRepository userRepository,
+                                  @Value("${waiting-room.admit-per-tick:50}") int admitPerTick,
+                                  @Value("${waiting-room.max-active:200}") int maxActive,
+                                  @Value("${waiting-room.admission-ttl-seconds:300}") long admissionTtlSeconds,
+                                  @Value("${waiting-room.position-updates:500}") int positionUpdates) {
+        this.redis = redis;
+        this.messagingTemplate = messagingTemplate;
+        this.ticketCatalogRepository = ticketCatalogRepository;
+        this.userRepository = userRepository;
+        this.admitPerTick = admitPerTick;
+        this.maxActive = maxActive;
+        this.admissionTtlMillis = admissionTtlSeconds * 1000;
+        this.positionUpdates = positionUpdates;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCatalogs() {
+        try {
+            List<UUID> ids = ticketCatalogRepository.findWaitingRoomCatalogIds();
+            redis.delete(RedisWaitingRoomKeys.CATALOGS);
+            if (!ids.isEmpty()) {
+                redis.opsForSet().add(RedisWaitingRoomKeys.CATALOGS, ids.stream().map(UUID::toString).toArray(String[]::new));
+            }
+            log.info("[WaitingRoom] {} catalog(s) behind the waiting room", ids.size());
+        } catch (Exception e) {
+            log.error("[WaitingRoom] Could not load waiting room catalogs: ", e);
+        }
+    }
+
+    @Override
+    public WaitingRoomStatusResponse join(UUID ticketCatalogId, UUID userId) {
+        if (!isGated(ticketCatalogId)) {
+            return status(ticketCatalogId, WaitingRoomStatus.NOT_REQUIRED, null, null);
+        }
+        if (isSoldOut(ticketCatalogId)) {
+            return status(ticketCatalogId, WaitingRoomStatus.SOLD_OUT, null, null);
+        }
+
+        List<?> result = redis.execute(JOIN_SCRIPT,
+                List.of(RedisWaitingRoomKeys.queue(ticketCatalogId), RedisWaitingRoomKeys.admitted(ticketCatalogId),
+                        RedisWaitingRoomKeys.sequence(ticketCatalogId)),
+                userId.toString(), String.valueOf(System.currentTimeMillis()));
+
+        long value = ((Number) result.get(1)).longValue();
+        return ((Number) result.get(0)).intValue() == 1
+                ? status(ticketCatalogId, WaitingRoomStatus.ADMITTED, null, toDateTime(value))
+                : status(ticketCatalogId, WaitingRoomStatus.WAITING, value, null);
+    }
+
+    @Override
+    public WaitingRoomStatusResponse getStatus(UUID ticketCatalogId, UUID userId) {
+        if (!isGated(ticketCatalogId)) {
+            return status(ticketCatalogId, WaitingRoomStatus.NOT_REQUIRED, null, null);
+        }
+
+        Double admittedUntil = redis.opsForZSet().score(RedisWaitingRoomKeys.admitted(ticketCatalogId), userId.toString());
+        if (admittedUntil != null && admittedUntil.longValue() > System.currentTimeMillis()) {
+            return status(ticketCatalogId, WaitingRoomStatus.ADMITTED, null, toDateTime(admittedUntil.longValue()));
+        }
+        if (isSoldOut(ticketCatalogId)) {
+            return status(ticketCatalogId, WaitingRoomStatus.SOLD_OUT, null, null);
+        }
+
+        Long rank = redis.opsForZSet().rank(RedisWaitingRoomKeys.queue(ticketCatalogId), userId.toString());
+        if (rank == null) {
+            throw new BadRequestException("You are not in the waiting room for this ticket");
+        }
+        return status(ticketCatalogId, WaitingRoomStatus.WAITING, rank + 1, null);
+    }
+
+    @Override
+    public void leave(UUID ticketCatalogId, UUID userId) {
+        redis.opsForZSet().remove(RedisWaitingRoomKeys.queue(ticketCatalogId), userId.toString());
+        redis.opsForZSet().remove(RedisWaitingRoomKeys.admitted(ticketCatalogId), userId.toString());
+    }
+
+    @Override
+    public void requireAdmission(UUID ticketCatalogId, String userEmail) {
+        if (ticketCatalogId == null || !isGated(ticketCatalogId)) {
+            return;
+        }
+        if (isSoldOut(ticketCatalogId)) {
+            throw new BadRequestException("Tickets are sold out");
+        }
+
+        Double admittedUntil = redis.opsForZSet().score(RedisWaitingRoomKeys.admitted(ticketCatalogId),
+                resolveUserId(userEmail).toString());
+        if (admittedUntil == null || admittedUntil.longValue() <= System.currentTimeMillis()) {
+            throw new BadRequestException("This ticket is in high demand, please join the waiting room first");
+        }
+    }
+
+    @Override
+    public void complete(UUID ticketCatalogId, UUID userId) {
+        redis.opsForZSet().remove(RedisWaitingRoomKeys.admitted(ticketCatalogId), userId.toString());
+    }
+
+    @Override
+    public void admitNext() {
+        Set<String> catalogs = redis.opsForSet().members(RedisWaitingRoomKeys.CATALOGS);
+        if (catalogs == null) {
+            return;
+        }
+        for (String id : catalogs) {
+            try {
+                admitNext(UUID.fromString(id));
+            } catch (Exception e) {
+                log.error("[WaitingRoom] Admission tick failed for catalog {}: ", id, e);
+            }
+        }
+    }
+
+    @Override
+    public void sync(TicketCatalog ticketCatalog) {
+        String id = ticketCatalog.getId().toString();
+        if (Boolean.TRUE.equals(ticketCatalog.getWaitingRoom())) {
+            redis.opsForSet().add(RedisWaitingRoomKeys.CATALOGS, id);
+            return;
+        }
+
+        Long removed = redis.opsForSet().remove(RedisWaitingRoomKeys.CATALOGS, id);
+        if (removed != null && removed > 0) {
+            // Room closed: everyone still queued may now buy directly
+            UUID catalogId = ticketCatalog.getId();
+            Set<String> waiting = redis.opsForZSet().range(RedisWaitingRoomKeys.queue(catalogId), 0, -1);
+            redis.delete(List.of(RedisWaitingRoomKeys.queue(catalogId), RedisWaitingRoomKeys.admitted(catalogId),
+                    RedisWaitingRoomKeys.sequence(catalogId), RedisWaitingRoomKeys.remaining(catalogId)));
+            if (waiting != null) {
+                WaitingRoomStatusResponse open = status(catalogId, WaitingRoomStatus.NOT_REQUIRED, null, null);
+                waiting.forEach(userId -> push(userId, open));
+            }
+        }
+    }
+
+    private void admitNext(UUID catalogId) {
+        String queueKey = RedisWaitingRoomKeys.queue(catalogId);
+
+        // One cheap read per catalog per tick keeps the early sold-out rejection current
+        Integer remaining = ticketCatalogRepository.findRemainingSeats(catalogId);
+        if (remaining != null) {
+            redis.opsForValue().set(RedisWaitingRoomKeys.remaining(catalogId), String.valueOf(remaining));
+            if (remaining <= 0) {
+                Set<String> waiting = redis.opsForZSet().range(queueKey, 0, -1);
+                redis.delete(queueKey);
+                if (waiting != null && !waiting.isEmpty()) {
+                    WaitingRoomStatusResponse soldOut = status(catalogId, WaitingRoomStatus.SOLD_OUT, null, null);
+                    waiting.forEach(userId -> push(userId, soldOut));
+                    log.info("[WaitingRoom] Catalog {} sold out, closed queue of {}", catalogId, waiting.size());
+                }
+                return;
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        long admittedUntil = now + admissionTtlMillis;
+        List<?> admitted = redis.execute(ADMIT_SCRIPT,
+                List.of(queueKey, RedisWaitingRoomKeys.admitted(catalogId)),
+                String.valueOf(now), String.valueOf(admittedUntil), String.valueOf(admitPerTick),
+                String.valueOf(maxActive));
+
+        if (admitted != null && !admitted.isEmpty()) {
+            WaitingRoomStatusResponse admission = status(catalogId, WaitingRoomStatus.ADMITTED, null,
+                    toDateTime(admittedUntil));
+            admitted.forEach(userId -> push(userId.toString(), admission));
+        }
+
+        // Positions only move forward, so pushing the head of the queue is enough; the rest can poll
+        Long queueSize = redis.opsForZSet().size(queueKey);
+        Set<String> head = redis.opsForZSet().range(queueKey, 0, positionUpdates - 1L);
+        if (head != null) {
+            long position = 1;
+            for (String userId : head) {
+                push(userId, WaitingRoomStatusResponse.builder()
+                        .ticketCatalogId(catalogId)
+                        .status(WaitingRoomStatus.WAITING)
+                        .position(position++)
+                        .queueSize(queueSize)
+                        .build());
+            }
+        }
+    }
+
+    private boolean isGated(UUID ticketCatalogId) {
+        return Boolean.TRUE.equals(redis.opsForSet().isMember(RedisWaitingRoomKeys.CATALOGS, ticketCatalogId.toString()));
+    }
+
+    private boolean isSoldOut(UUID ticketCatalogId) {
+        String remaining = redis.opsForValue().get(RedisWaitingRoomKeys.remaining(ticketCatalogId));
+        return remaining != null && Integer.parseInt(remaining) <= 0;
+    }
+
+    private UUID resolveUserId(String userEmail) {
+        UserPrincipal principal = AuthHelper.getCurrentUserPrincipalSilent();
+        if (principal != null && principal.getEmail().equals(userEmail)) {
+            return principal.getId();
+        }
+        return userRepository.findByEmail(userEmail)
+                .map(User::getId)
+                .orElseThrow(() -> new BadRequestException("User not found"));
+    }
+
+    private WaitingRoomStatusResponse status(UUID catalogId, WaitingRoomStatus status, Long position,
+                                             LocalDateTime admittedUntil) {
+        return WaitingRoomStatusResponse.builder()
+                .ticketCatalogId(catalogId)
+                .status(status)
+                .position(position)
+                .admittedUntil(admittedUntil)
+                .build();
+    }
+
+    private void push(String userId, WaitingRoomStatusResponse response) {
+        try {
+            messagingTemplate.convertAndSendToUser(userId, DESTINATION, response);
+        } catch (Exception e) {
+            log.warn("[WaitingRoom] Could not push status to {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
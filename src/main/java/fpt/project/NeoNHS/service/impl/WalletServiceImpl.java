@@ -0,0 +1,151 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.entity.User;
+import fpt.project.NeoNHS.entity.Wallet;
+import fpt.project.NeoNHS.entity.WalletEntry;
+import fpt.project.NeoNHS.enums.WalletEntryType;
+import fpt.project.NeoNHS.exception.BadRequestException;
+import fpt.project.NeoNHS.exception.ResourceNotFoundException;
+import fpt.project.NeoNHS.repository.UserRepository;
+import fpt.project.NeoNHS.repository.WalletEntryRepository;
+import fpt.project.NeoNHS.repository.WalletRepository;
+import fpt.project.NeoNHS.repository.projection.WalletBalanceProjection;
+import fpt.project.NeoNHS.service.WalletService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WalletServiceImpl implements WalletService {
+
+    private final WalletRepository walletRepository;
+    private final WalletEntryRepository walletEntryRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean credit(UUID userId, long amount, UUID referenceId, String description) {
+        requirePositive(amount);
+        if (referenceId != null
+                && walletEntryRepository.existsByUserIdAndTypeAndReferenceId(userId, WalletEntryType.CREDIT, referenceId)) {
+            log.info("[Wallet] Credit {} for user {} already recorded, skipping", referenceId, userId);
+            return false;
+        }
+
+        LocalDateTime now = open(userId);
+        walletRepository.credit(userId, amount, now);
+        append(userId, WalletEntryType.CREDIT, amount, referenceId, description);
+        return true;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void debit(UUID userId, long amount, UUID referenceId, String description) {
+        requirePositive(amount);
+        if (walletRepository.debit(userId, amount, open(userId)) == 0) {
+            throw new BadRequestException("Insufficient balance");
+        }
+        append(userId, WalletEntryType.DEBIT, amount, referenceId, description);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void hold(UUID userId, long amount, UUID referenceId, String description) {
+        requirePositive(amount);
+        if (walletRepository.hold(userId, amount, open(userId)) == 0) {
+            throw new BadRequestException("Insufficient balance");
+        }
+        append(userId, WalletEntryType.HOLD, amount, referenceId, description);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseHold(UUID userId, long amount, UUID referenceId, String description) {
+        requirePositive(amount);
+        if (walletRepository.releaseHold(userId, amount, open(userId)) == 0) {
+            throw new IllegalStateException("Wallet of user " + userId + " holds less than " + amount);
+        }
+        append(userId, WalletEntryType.HOLD_RELEASE, amount, referenceId, description);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void captureHold(UUID userId, long amount, UUID referenceId, String description) {
+        requirePositive(amount);
+        if (walletRepository.captureHold(userId, amount, open(userId)) == 0) {
+            throw new IllegalStateException("Wallet of user " + userId + " holds less than " + amount);
+        }
+        append(userId, WalletEntryType.HOLD_CAPTURE, amount, referenceId, description);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getBalance(UUID userId) {
+        return walletRepository.findSnapshot(userId)
+                .map(WalletBalanceProjection::getBalance)
+                // Not opened yet: nothing has moved since the legacy balance
+                .orElseGet(() -> userRepository.findById(userId)
+                        .map(User::getBalance)
+                        .map(Math::round)
+                        .orElse(0L));
+    }
+
+    /**
+     * Creates the wallet if this is its first movement, carrying the legacy balance over as an
+     * OPENING entry so the ledger alone explains the snapshot.
+     */
+    private LocalDateTime open(UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (walletRepository.existsById(userId)) {
+            return now;
+        }
+        if (walletRepository.open(userId, now) == 0) {
+            // Lost the race to a concurrent first movement, or there is no such user
+            if (!walletRepository.existsById(userId)) {
+                throw new ResourceNotFoundException("User", "id", userId);
+            }
+            return now;
+        }
+        WalletBalanceProjection opened = snapshot(userId);
+        walletEntryRepository.save(WalletEntry.builder()
+                .userId(userId)
+                .type(WalletEntryType.OPENING)
+                .amount(opened.getBalance())
+                .balanceAfter(opened.getBalance())
+                .heldAfter(opened.getHeld())
+                .description("Opening balance")
+                .build());
+        return now;
+    }
+
+    private void append(UUID userId, WalletEntryType type, long amount, UUID referenceId, String description) {
+        WalletBalanceProjection after = snapshot(userId);
+        walletEntryRepository.save(WalletEntry.builder()
+                .userId(userId)
+                .type(type)
+                .amount(amount)
+                .balanceAfter(after.getBalance())
+                .heldAfter(after.getHeld())
+                .referenceId(referenceId)
+                .description(description)
+                .build());
+    }
+
+    private WalletBalanceProjection snapshot(UUID userId) {
+        return walletRepository.findSnapshot(userId)
+                .orElseThrow(() -> new IllegalStateException("Wallet of user " + userId + " vanished"));
+    }
+
+    private static void requirePositive(long amount) {
+        if (amount <= 0) {
+            throw new BadRequestException("Amount must be greater than 0");
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.dto.request.payout.CreatePayoutRequest;
+import fpt.project.NeoNHS.dto.request.payout.WithdrawRequest;
+import fpt.project.NeoNHS.dto.response.payout.PayoutResponse;
+import fpt.project.NeoNHS.dto.response.payout.WithdrawalResponse;
+import fpt.project.NeoNHS.entity.User;
+import fpt.project.NeoNHS.entity.Withdrawal;
+import fpt.project.NeoNHS.enums.WithdrawalStatus;
+import fpt.project.NeoNHS.exception.PayoutRejectedException;
+import fpt.project.NeoNHS.exception.ResourceNotFoundException;
+import fpt.project.NeoNHS.exception.UpstreamUnavailableException;
+import fpt.project.NeoNHS.repository.UserRepository;
+import fpt.project.NeoNHS.repository.WithdrawalRepository;
+import fpt.project.NeoNHS.service.FaceVerificationService;
+import fpt.project.NeoNHS.service.PayoutService;
+import fpt.project.NeoNHS.service.WalletService;
+import fpt.project.NeoNHS.service.WithdrawalService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+@Slf4j
+@Service
+public class WithdrawalServiceImpl implements WithdrawalService {
+
+    private static final int MAX_REASON_LENGTH = 500;
+    private static final String PAYOUT_SUCCEEDED = "SUCCEEDED";
+    private static final String PAYOUT_FAILED = "FAILED";
+    // Submitted, but the response was lost: whether PayOS created the payout is not known yet
+    static final String PAYOUT_UNKNOWN = "UNKNOWN";
+
+    private final WithdrawalRepository withdrawalRepository;
+    private final UserRepository userRepository;
+    private final WalletService walletService;
+    private final FaceVerificationService faceVerificationService;
+    private final PayoutService payoutService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor withdrawalExecutor;
+    private final long verifyTimeoutMs;
+    private final int maxSubmitAttempts;
+    private final long retryBaseMs;
+    private final long pollIntervalMs;
+
+    public WithdrawalServiceImpl(WithdrawalRepository withdrawalRepository,
+                                 UserRepository userRepository,
+                                 WalletService walletService,
+                                 FaceVerificationService faceVerificationService,
+                                 PayoutService payoutService,
+                                 TransactionTemplate transactionTemplate,
+                                 @Qualifier("withdrawalExecutor") Executor withdrawalExecutor,
+                                 @Value("${withdrawal.verify-timeout-ms:600000}") long verifyTimeoutMs,
+                                 @Value("${withdrawal.max-submit-attempts:5}") int maxSubmitAttempts,
+                                 @Value("${withdrawal.retry-base-ms:30000}") long retryBaseMs,
+                                 @Value("${withdrawal.poll-interval-ms:60000}") long pollIntervalMs) {
+        this.withdrawalRepository = withdrawalRepository;
+        this.userRepository = userRepository;
+        this.walletService = walletService;
+        this.faceVerificationService = faceVerificationService;
+        this.payoutService = payoutService;
+        this.transactionTemplate = transactionTemplate;
+        this.withdrawalExecutor = withdrawalExecutor;
+        this.verifyTimeoutMs = verifyTimeoutMs;
+        this.maxSubmitAttempts = maxSubmitAttempts;
+        this.retryBaseMs = retryBaseMs;
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    @Override
+    public WithdrawalResponse start(User user, WithdrawRequest request) {
+        UUID requestKey = request.getRequestId() != null ? request.getRequestId() : UUID.randomUUID();
+        var existing = withdrawalRepository.findByUserIdAndRequestKey(user.getId(), requestKey);
+        if (existing.isPresent()) {
+            log.info("[Withdraw] Duplicate request {} of user {}, returning withdrawal {}",
+                    requestKey, user.getEmail(), existing.get().getId());
+            return toResponse(existing.get());
+        }
+
+        Withdrawal withdrawal;
+        try {
+            withdrawal = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                Withdrawal saved = withdrawalRepository.saveAndFlush(Withdrawal.builder()
+                        .userId(user.getId())
+                        .requestKey(requestKey)
+                        .amount((long) request.getAmount())
+                        .toBin(user.getBankBin())
+                        .toAccountNumber(user.getBankAccountNumber())
+                        .status(WithdrawalStatus.HELD)
+                        // The live photo is never stored: if verification has not finished by
+                        // then, the hold is released and the user has to try again
+                        .nextAttemptAt(now.plusNanos(verifyTimeoutMs * 1_000_000))
+                        .updatedAt(now)
+                        .build());
+                walletService.hold(user.getId(), saved.getAmount(), saved.getId(), "Withdrawal hold");
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with the same request key
+            return withdrawalRepository.findByUserIdAndRequestKey(user.getId(), requestKey)
+                    .map(this::toResponse)
+                    .orElseThrow(() -> e);
+        }
+
+        log.info("[Withdraw] User {} holds {} VND for withdrawal {}", user.getEmail(), withdrawal.getAmount(),
+                withdrawal.getId());
+        UUID withdrawalId = withdrawal.getId();
+        String livePhotoBase64 = request.getLivePhotoBase64();
+        try {
+            withdrawalExecutor.execute(() -> process(withdrawalId, livePhotoBase64));
+        } catch (TaskRejectedException e) {
+            fail(withdrawal, WithdrawalStatus.HELD, "Withdrawal service is busy, please try again later");
+            withdrawal = withdrawalRepository.findById(withdrawalId).orElse(withdrawal);
+        }
+        return toResponse(withdrawal);
+    }
+
+    @Override
+    public WithdrawalResponse getWithdrawal(String email, UUID withdrawalId) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+        return withdrawalRepository.findByIdAndUserId(withdrawalId, user.getId())
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Withdrawal", "id", withdrawalId));
+    }
+
+    @Override
+    public int advanceDue(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, batchSize);
+
+        List<Withdrawal> expired = withdrawalRepository.findDue(WithdrawalStatus.HELD, now, page);
+        expired.forEach(w -> fail(w, WithdrawalStatus.HELD, "Face verification did not complete, please try again"));
+
+        List<Withdrawal> verified = withdrawalRepository.findDue(WithdrawalStatus.VERIFIED, now, page);
+        verified.forEach(w -> submit(w, WithdrawalStatus.VERIFIED));
+
+        List<Withdrawal> submitted = withdrawalRepository.findDue(WithdrawalStatus.SUBMITTED, now, page);
+        submitted.forEach(this::poll);
+
+        return expired.size() + verified.size() + submitted.size();
+    }
+
+    /** Background part of {@link #start}: verification, then the first payout attempt. */
+    void process(UUID withdrawalId, String livePhotoBase64) {
+        try {
+            Withdrawal withdrawal = withdrawalRepository.findById(withdrawalId).orElse(null);
+            if (withdrawal == null || withdrawal.getStatus() != WithdrawalStatus.HELD) {
+                return;
+            }
+            if (verify(withdrawal, livePhotoBase64)) {
+                submit(withdrawal, WithdrawalStatus.VERIFIED);
+            }
+        } catch (Exception e) {
+            // Whatever step was interrupted is picked up again by WithdrawalTask
+            log.error("[Withdraw] Processing of withdrawal {} stopped: ", withdrawalId, e);
+        }
+    }
+
+    private boolean verify(Withdrawal withdrawal, String livePhotoBase64) {
+        User user = userRepository.findById(withdrawal.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", withdrawal.getUserId()));
+
+        boolean faceMatch;
+        try {
+            faceMatch = faceVerificationService.compareFaces(livePhotoBase64, user.getFaceEmbedding());
+        } catch (Exception e) {
+            log.error("[Withdraw] Face verification error for withdrawal {}: {}", withdrawal.getId(), e.getMessage());
+            fail(withdrawal, WithdrawalStatus.HELD, "Face verification service error: " + e.getMessage());
+            return false;
+        }
+        if (!faceMatch) {
+            log.warn("[Withdraw] Face verification FAILED for user: {}", user.getEmail());
+            fail(withdrawal, WithdrawalStatus.HELD,
+                    "Face verification failed. The live photo does not match your KYC face. Please try again.");
+            return false;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        // Grace period before WithdrawalTask may submit it too, should this thread die right after
+        return withdrawalRepository.transition(withdrawal.getId(), WithdrawalStatus.HELD, WithdrawalStatus.VERIFIED,
+                now.plusNanos(retryBaseMs * 1_000_000), now) == 1;
+    }
+
+    /**
+     * Submits the payout with the withdrawal id as PayOS idempotency key, so a retry after a lost
+     * response cannot pay out twice. {@code from} is VERIFIED for a first submission and SUBMITTED
+     * when resubmitting one whose outcome was unknown and that PayOS has no record of.
+     *
+     * <p>The hold is only released once PayOS has certainly not taken the payout. Any other error
+     * leaves the withdrawal SUBMITTED with an {@value #PAYOUT_UNKNOWN} payout, to be reconciled by
+     * {@link #poll} through the reference id.
+     */
+    private void submit(Withdrawal withdrawal, WithdrawalStatus from) {
+        PayoutResponse payout;
+        try {
+            payout = payoutService.createPayout(CreatePayoutRequest.builder()
+                    .referenceId(referenceId(withdrawal))
+                    .idempotencyKey(withdrawal.getId().toString())
+                    .amount(Math.toIntExact(withdrawal.getAmount()))
+                    .description("Rut tien VND")
+                    .toBin(withdrawal.getToBin())
+                    .toAccountNumber(withdrawal.getToAccountNumber())
+                    .category(Collections.singletonList("withdrawal"))
+                    .build());
+        } catch (Exception e) {
+            LocalDateTime now = LocalDateTime.now();
+            if (!isDefiniteRejection(e)) {
+                if (from == WithdrawalStatus.VERIFIED) {
+                    log.warn("[Withdraw] Outcome of payout for withdrawal {} unknown, reconciling by reference: {}",
+                            withdrawal.getId(), e.getMessage());
+                    withdrawalRepository.markSubmitted(withdrawal.getId(), null, PAYOUT_UNKNOWN,
+                            now.plusNanos(pollIntervalMs * 1_000_000), now);
+                } else {
+                    applyPayoutState(withdrawal, PAYOUT_UNKNOWN, e.getMessage());
+                }
+                return;
+            }
+            int attempt = withdrawal.getAttempts() + 1;
+            if (attempt >= maxSubmitAttempts) {
+                log.error("[Withdraw] Payout of withdrawal {} rejected {} times, releasing the hold: {}",
+                        withdrawal.getId(), attempt, e.getMessage());
+                fail(withdrawal, from, "Payout could not be submitted: " + e.getMessage());
+            } else {
+                log.warn("[Withdraw] Payout of withdrawal {} rejected (attempt {}): {}",
+                        withdrawal.getId(), attempt, e.getMessage());
+                withdrawalRepository.postpone(withdrawal.getId(), from, null,
+                        truncate(e.getMessage()), now.plusNanos((retryBaseMs << Math.min(attempt - 1, 20)) * 1_000_000), now);
+            }
+            return;
+        }
+
+        recordPayout(withdrawal, payout);
+    }
+
+    private void recordPayout(Withdrawal withdrawal, PayoutResponse payout) {
+        LocalDateTime now = LocalDateTime.now();
+        if (withdrawalRepository.markSubmitted(withdrawal.getId(), payout.getId(), payout.getApprovalState(),
+                now.plusNanos(pollIntervalMs * 1_000_000), now) == 0) {
+            return;
+        }
+        log.info("[Withdraw] Payout {} submitted for withdrawal {} ({})", payout.getId(), withdrawal.getId(),
+                payout.getApprovalState());
+        applyPayoutState(withdrawal, payout.getApprovalState(), null);
+    }
+
+    private void poll(Withdrawal withdrawal) {
+        if (withdrawal.getPayoutId() == null) {
+            reconcile(withdrawal);
+            return;
+        }
+        String state;
+        try {
+            state = payoutService.getPayoutById(withdrawal.getPayoutId()).getApprovalState();
+        } catch (Exception e) {
+            // Never release a submitted payout on an unknown outcome; keep asking
+            log.warn("[Withdraw] Could not check payout {} of withdrawal {}: {}", withdrawal.getPayoutId(),
+                    withdrawal.getId(), e.getMessage());
+            applyPayoutState(withdrawal, null, e.getMessage());
+            return;
+        }
+        applyPayoutState(withdrawal, state, null);
+    }
+
+    /**
+     * Settles a submission whose response was lost: adopts the payout PayOS holds under the
+     * reference id, or submits again under the same idempotency key when there is none.
+     */
+    private void reconcile(Withdrawal withdrawal) {
+        Optional<PayoutResponse> payout;
+        try {
+            payout = payoutService.findPayoutByReferenceId(referenceId(withdrawal));
+        } catch (Exception e) {
+            log.warn("[Withdraw] Could not look up payout of withdrawal {}: {}", withdrawal.getId(), e.getMessage());
+            applyPayoutState(withdrawal, null, e.getMessage());
+            return;
+        }
+        if (payout.isPresent()) {
+            recordPayout(withdrawal, payout.get());
+        } else {
+            submit(withdrawal, WithdrawalStatus.SUBMITTED);
+        }
+    }
+
+    /**
+     * True only when PayOS certainly did not create the payout: the guard refused to send it, or
+     * PayOS answered with a rejection. Timeouts, 5xx and anything else may have been accepted.
+     */
+    static boolean isDefiniteRejection(Exception e) {
+        if (e instanceof UpstreamUnavailableException || e instanceof PayoutRejectedException) {
+            return true;
+        }
+        if (e instanceof HttpClientErrorException clientError) {
+            // A request timeout or an idempotency key still in flight says nothing about the outcome
+            int status = clientError.getStatusCode().value();
+            return status != 408 && status != 409;
+        }
+        return false;
+    }
+
+    private void applyPayoutState(Withdrawal withdrawal, String state, String error) {
+        if (PAYOUT_SUCCEEDED.equals(state)) {
+            complete(withdrawal);
+        } else if (PAYOUT_FAILED.equals(state)) {
+            fail(withdrawal, WithdrawalStatus.SUBMITTED, "Payout was rejected by the bank");
+        } else {
+            LocalDateTime now = LocalDateTime.now();
+            withdrawalRepository.postpone(withdrawal.getId(), WithdrawalStatus.SUBMITTED, state, truncate(error),
+                    now.plusNanos(pollIntervalMs * 1_000_000), now);
+        }
+    }
+
+    private void complete(Withdrawal withdrawal) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (withdrawalRepository.transition(withdrawal.getId(), WithdrawalStatus.SUBMITTED,
+                    WithdrawalStatus.COMPLETED, null, now) == 1) {
+                walletService.captureHold(withdrawal.getUserId(), withdrawal.getAmount(), withdrawal.getId(),
+                        "Withdrawal paid out");
+                log.info("[Withdraw] Withdrawal {} completed, {} VND paid out", withdrawal.getId(),
+                        withdrawal.getAmount());
+            }
+        });
+    }
+
+    private void fail(Withdrawal withdrawal, WithdrawalStatus from, String reason) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (withdrawalRepository.markFailed(withdrawal.getId(), from, truncate(reason), LocalDateTime.now()) == 1) {
+                walletService.releaseHold(withdrawal.getUserId(), withdrawal.getAmount(), withdrawal.getId(),
+                        "Withdrawal failed");
+                log.info("[Withdraw] Withdrawal {} failed at {}, hold released: {}", withdrawal.getId(), from, reason);
+            }
+        });
+    }
+
+    private WithdrawalResponse toResponse(Withdrawal withdrawal) {
+        return WithdrawalResponse.builder()
+                .id(withdrawal.getId())
+                .requestId(withdrawal.getRequestKey())
+                .amount(withdrawal.getAmount())
+                .toBin(withdrawal.getToBin())
+                .toAccountNumber(withdrawal.getToAccountNumber())
+                .status(withdrawal.getStatus())
+                .payoutId(withdrawal.getPayoutId())
+                .payoutState(withdrawal.getPayoutState())
+                .failureReason(withdrawal.getFailureReason())
+                .createdAt(withdrawal.getCreatedAt())
+                .updatedAt(withdrawal.getUpdatedAt())
+                .build();
+    }
+
+    private static String referenceId(Withdrawal withdrawal) {
+        return "withdraw_" + withdrawal.getId();
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= MAX_REASON_LENGTH ? value : value.substring(0, MAX_REASON_LENGTH);
+    }
+}
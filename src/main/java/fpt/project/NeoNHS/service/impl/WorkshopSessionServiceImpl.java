@@ -19,11 +19,12 @@ import fpt.project.NeoNHS.exception.BadRequestException;
 import fpt.project.NeoNHS.exception.ResourceNotFoundException;
 import fpt.project.NeoNHS.repository.OrderDetailRepository;
 import fpt.project.NeoNHS.repository.OrderRepository;
-import fpt.project.NeoNHS.repository.UserRepository;
 import fpt.project.NeoNHS.repository.VendorProfileRepository;
 import fpt.project.NeoNHS.repository.WorkshopSessionRepository;
 import fpt.project.NeoNHS.repository.WorkshopTemplateRepository;
+import fpt.project.NeoNHS.service.HotInventoryService;
 import fpt.project.NeoNHS.service.NotificationService;
+import fpt.project.NeoNHS.service.WalletService;
 import fpt.project.NeoNHS.service.WorkshopSessionService;
 import fpt.project.NeoNHS.specification.WorkshopSessionSpecification;
 import jakarta.transaction.Transactional;
@@ -35,6 +36,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -51,8 +53,9 @@ public class WorkshopSessionServiceImpl implements WorkshopSessionService {
     private final VendorProfileRepository vendorProfileRepository;
     private final OrderRepository orderRepository;
     private final OrderDetailRepository orderDetailRepository;
-    private final UserRepository userRepository;
+    private final WalletService walletService;
     private final NotificationService notificationService;
+    private final HotInventoryService hotInventoryService;
 
     // ==================== CREATE ====================
 
@@ -342,7 +345,16 @@ public class WorkshopSessionServiceImpl implements WorkshopSessionService {
             session.setMaxParticipants(request.getMaxParticipants());
         }
 
-        // 9. Save and return
+        // 9. Toggle flash-sale inventory; Redis counters are derived from capacity so reload them on change
+        boolean wasHot = Boolean.TRUE.equals(session.getHotInventory());
+        if (request.getHotInventory() != null) {
+            session.setHotInventory(request.getHotInventory());
+        }
+        if (wasHot && (request.getMaxParticipants() != null || !Boolean.TRUE.equals(session.getHotInventory()))) {
+            hotInventoryService.evictWorkshop(session);
+        }
+
+        // 10. Save and return
         WorkshopSession updatedSession = workshopSessionRepository.save(session);
         return mapToResponse(updatedSession);
     }
@@ -458,12 +470,12 @@ public class WorkshopSessionServiceImpl implements WorkshopSessionService {
 
         for (Order order : paidOrders) {
             User buyer = order.getUser();
-            double refund = order.getFinalAmount().doubleValue();
-            double current = buyer.getBalance() != null ? buyer.getBalance() : 0.0;
-            buyer.setBalance(current + refund);
-            userRepository.save(buyer);
-            log.info("[Cancel Refund] Refunded {} VND to {} (orderId={})",
-                    refund, buyer.getEmail(), order.getId());
+            long refund = order.getFinalAmount().setScale(0, RoundingMode.HALF_UP).longValueExact();
+            if (refund > 0 && walletService.credit(buyer.getId(), refund, order.getId(),
+                    "Refund for cancelled workshop session " + id)) {
+                log.info("[Cancel Refund] Refunded {} VND to {} (orderId={})",
+                        refund, buyer.getEmail(), order.getId());
+            }
         }
 
         // 6. Return
@@ -474,7 +486,7 @@ public class WorkshopSessionServiceImpl implements WorkshopSessionService {
 
     /**
      * Cộng tổng netAmount của tất cả OrderDetail đã thanh toán (Transaction SUCCESS)
-     * vào wallet (balance) của vendor sở hữu session.
+     * vào wallet của vendor sở hữu session (một lần cho mỗi session).
      *
      * Tái sử dụng được bởi:
      *   - updateWorkshopSessionStatus() khi vendor/admin bấm COMPLETED thủ công
@@ -492,9 +504,12 @@ public class WorkshopSessionServiceImpl implements WorkshopSessionService {
         if (totalNet.compareTo(BigDecimal.ZERO) > 0) {
             // Chain: session → template → VendorProfile → User.balance
             User vendorUser = session.getWorkshopTemplate().getVendor().getUser();
-            double currentBalance = vendorUser.getBalance() != null ? vendorUser.getBalance() : 0.0;
-            vendorUser.setBalance(currentBalance + totalNet.doubleValue());
-            userRepository.save(vendorUser);
+            long credit = totalNet.setScale(0, RoundingMode.HALF_UP).longValueExact();
+            // Keyed by session: completing twice (manual + scheduler) credits once
+            if (!walletService.credit(vendorUser.getId(), credit, session.getId(),
+                    "Payout for workshop session " + session.getId())) {
+                return;
+            }
             log.info("[Session COMPLETED] Credited {} VND to vendor {} (sessionId={})",
                     totalNet, vendorUser.getEmail(), session.getId());
 
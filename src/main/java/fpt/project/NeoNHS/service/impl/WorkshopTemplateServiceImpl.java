@@ -17,6 +17,7 @@ import fpt.project.NeoNHS.repository.WorkshopImageRepository;
 import fpt.project.NeoNHS.repository.WorkshopTagRepository;
 import fpt.project.NeoNHS.repository.WorkshopTemplateRepository;
 
+import fpt.project.NeoNHS.service.ActivityFeedService;
 import fpt.project.NeoNHS.service.WorkshopTemplateService;
 import fpt.project.NeoNHS.specification.WorkshopTemplateSpecification;
 import jakarta.transaction.Transactional;
@@ -44,6 +45,7 @@ public class WorkshopTemplateServiceImpl implements WorkshopTemplateService {
     private final WorkshopImageRepository workshopImageRepository;
     private final WorkshopTagRepository workshopTagRepository;
     private final UserRepository userRepository;
+    private final ActivityFeedService activityFeedService;
 
     // ==================== CREATE ====================
 
@@ -121,6 +123,7 @@ public class WorkshopTemplateServiceImpl implements WorkshopTemplateService {
 
         // 9. Save workshop template (cascades to images and tags)
         WorkshopTemplate savedTemplate = workshopTemplateRepository.save(workshopTemplate);
+        activityFeedService.workshopCreated(savedTemplate);
 
         // 10. Map to response
         return mapToResponse(savedTemplate, tags);
@@ -559,6 +562,7 @@ public class WorkshopTemplateServiceImpl implements WorkshopTemplateService {
 
         // 5. Save and return
         WorkshopTemplate approvedTemplate = workshopTemplateRepository.save(template);
+        activityFeedService.workshopApproved(approvedTemplate);
         return mapToResponse(approvedTemplate);
     }
 
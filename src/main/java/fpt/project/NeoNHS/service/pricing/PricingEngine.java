@@ -0,0 +1,170 @@
+package fpt.project.NeoNHS.service.pricing;
+
+import fpt.project.NeoNHS.dto.response.pricing.PriceQuote;
+import fpt.project.NeoNHS.dto.response.pricing.QuoteDiscount;
+import fpt.project.NeoNHS.dto.response.pricing.QuoteLine;
+import fpt.project.NeoNHS.enums.ApplicableProduct;
+import fpt.project.NeoNHS.enums.DiscountType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pure price calculation on {@code long} VND amounts. Rounding rules:
+ * <ul>
+ *   <li>Prices and fixed amounts are rounded HALF_UP to whole VND when read from the entities.</li>
+ *   <li>Percentages (discounts, commission rates) are held in basis points, rounded HALF_UP.</li>
+ *   <li>Percent discounts round down, so a discount never exceeds the advertised rate,
+ *       then the voucher's max discount applies.</li>
+ *   <li>Every discount is capped at its base and at what is still payable, so the total never goes below 0.</li>
+ *   <li>Commission rounds HALF_UP on each workshop line total, before discounts (vouchers are platform-funded).</li>
+ * </ul>
+ */
+public final class PricingEngine {
+    private PricingEngine() {}
+
+    public static final int BASIS_POINTS = 10_000;
+
+    /** Applied when a vendor has no commission rate configured. */
+    public static final int DEFAULT_COMMISSION_BPS = 1_000;
+
+    /**
+     * A cart line as the engine sees it. Exactly one of the two target ids is set;
+     * {@code vendorId} is only known for workshop lines.
+     */
+    public record Line(UUID cartItemId, UUID ticketCatalogId, UUID workshopSessionId, UUID vendorId,
+                       int quantity, long unitPrice, int commissionBps) {}
+
+    /**
+     * Voucher terms. {@code value} is in basis points for PERCENT and VND for FIXED;
+     * {@code maxDiscount} is 0 when uncapped.
+     */
+    public record VoucherTerms(UUID userVoucherId, UUID voucherId, ApplicableProduct scope, UUID vendorId,
+                               DiscountType type, long value, long maxDiscount) {}
+
+    public static PriceQuote quote(List<Line> lines, List<VoucherTerms> vouchers) {
+        return quote(cartHash(lines, vouchers), lines, vouchers);
+    }
+
+    public static PriceQuote quote(String cartHash, List<Line> lines, List<VoucherTerms> vouchers) {
+        List<QuoteLine> quoteLines = new ArrayList<>(lines.size());
+        long subtotal = 0;
+        long commission = 0;
+        long net = 0;
+
+        for (Line line : lines) {
+            long lineTotal = Math.multiplyExact(line.unitPrice(), line.quantity());
+            long lineCommission = 0;
+            long lineNet = 0;
+            if (line.workshopSessionId() != null) {
+                lineCommission = percentHalfUp(lineTotal, line.commissionBps());
+                lineNet = lineTotal - lineCommission;
+            }
+            subtotal = Math.addExact(subtotal, lineTotal);
+            commission += lineCommission;
+            net += lineNet;
+            quoteLines.add(new QuoteLine(line.cartItemId(), line.ticketCatalogId(), line.workshopSessionId(),
+                    line.vendorId(), line.quantity(), line.unitPrice(), lineTotal, lineCommission, lineNet));
+        }
+
+        List<QuoteDiscount> discounts = new ArrayList<>(vouchers.size());
+        long payable = subtotal;
+        for (VoucherTerms voucher : vouchers) {
+            long base = discountBase(voucher, quoteLines, subtotal);
+            long amount = voucher.type() == DiscountType.PERCENT
+                    ? percentDown(base, voucher.value())
+                    : voucher.value();
+            if (voucher.type() == DiscountType.PERCENT && voucher.maxDiscount() > 0) {
+                amount = Math.min(amount, voucher.maxDiscount());
+            }
+            amount = Math.max(0, Math.min(amount, Math.min(base, payable)));
+            payable -= amount;
+            discounts.add(new QuoteDiscount(voucher.userVoucherId(), voucher.voucherId(), base, amount));
+        }
+
+        return new PriceQuote(cartHash, quoteLines, discounts, subtotal, subtotal - payable, payable, commission, net);
+    }
+
+    /**
+     * Part of the subtotal a voucher applies to:
+     * EVENT_TICKET covers tickets (platform vouchers only, events have no vendor),
+     * WORKSHOP covers workshops (of the voucher's vendor, if any),
+     * anything else covers the whole cart, or only the vendor's workshops for a vendor voucher.
+     */
+    static long discountBase(VoucherTerms voucher, List<QuoteLine> lines, long subtotal) {
+        if (voucher.scope() == ApplicableProduct.EVENT_TICKET) {
+            if (voucher.vendorId() != null) {
+                return 0;
+            }
+            long base = 0;
+            for (QuoteLine line : lines) {
+                if (line.ticketCatalogId() != null) base += line.lineTotal();
+            }
+            return base;
+        }
+        if (voucher.scope() != ApplicableProduct.WORKSHOP && voucher.vendorId() == null) {
+            return subtotal;
+        }
+        long base = 0;
+        for (QuoteLine line : lines) {
+            if (line.isWorkshop() && (voucher.vendorId() == null || voucher.vendorId().equals(line.vendorId()))) {
+                base += line.lineTotal();
+            }
+        }
+        return base;
+    }
+
+    public static long toVnd(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /** {@code 12.5} (percent) -> {@code 1250}. */
+    public static int percentToBps(BigDecimal percent) {
+        return percent.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValueExact();
+    }
+
+    /** {@code 0.125} (fraction) -> {@code 1250}. */
+    public static int rateToBps(BigDecimal rate) {
+        return rate.movePointRight(4).setScale(0, RoundingMode.HALF_UP).intValueExact();
+    }
+
+    static long percentDown(long amount, long bps) {
+        return Math.multiplyExact(amount, bps) / BASIS_POINTS;
+    }
+
+    static long percentHalfUp(long amount, long bps) {
+        return (Math.multiplyExact(amount, bps) + BASIS_POINTS / 2) / BASIS_POINTS;
+    }
+
+    /**
+     * Stable digest of every pricing input, so a quote is reused only while nothing that affects it changed.
+     */
+    public static String cartHash(List<Line> lines, List<VoucherTerms> vouchers) {
+        StringBuilder sb = new StringBuilder(64 * (lines.size() + vouchers.size()));
+        for (Line line : lines) {
+            sb.append(line.cartItemId()).append('|').append(line.ticketCatalogId()).append('|')
+                    .append(line.workshopSessionId()).append('|').append(line.vendorId()).append('|')
+                    .append(line.quantity()).append('|').append(line.unitPrice()).append('|')
+                    .append(line.commissionBps()).append(';');
+        }
+        for (VoucherTerms voucher : vouchers) {
+            sb.append(voucher.userVoucherId()).append('|').append(voucher.voucherId()).append('|')
+                    .append(voucher.scope()).append('|').append(voucher.vendorId()).append('|')
+                    .append(voucher.type()).append('|').append(voucher.value()).append('|')
+                    .append(voucher.maxDiscount()).append(';');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
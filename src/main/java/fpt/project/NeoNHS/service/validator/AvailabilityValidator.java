@@ -11,6 +11,10 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 
+/**
+ * Read-only availability checks used to give early feedback when editing the cart.
+ * These checks are not a reservation; seats are only taken through {@link fpt.project.NeoNHS.service.InventoryService}.
+ */
 @Component
 public class AvailabilityValidator {
 
@@ -0,0 +1,28 @@
+package fpt.project.NeoNHS.tasks;
+
+import fpt.project.NeoNHS.service.ActivityFeedService;
+import fpt.project.NeoNHS.service.JobLeaseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * One-off backfill of the activity feed from the existing workshops, events and tickets, the
+ * first time the application starts with an empty {@code activity_feed} table.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActivityFeedTask {
+
+    private final ActivityFeedService activityFeedService;
+    private final JobLeaseService jobLeaseService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        jobLeaseService.runExclusive("activity-feed.backfill", Duration.ofMinutes(30), Duration.ZERO,
+                lease -> activityFeedService.backfill());
+    }
+}
@@ -2,42 +2,65 @@ package fpt.project.NeoNHS.tasks;
 
 import fpt.project.NeoNHS.constants.BlogConstants;
 import fpt.project.NeoNHS.service.BlogService;
+import fpt.project.NeoNHS.service.JobLeaseService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.*;
 
+@Slf4j
 @Component
 @EnableScheduling
 @RequiredArgsConstructor
 public class BlogViewSyncTask {
     private final RedisTemplate<String, Object> redisTemplate;
     private final BlogService blogService;
+    private final JobLeaseService jobLeaseService;
 
+    @Value("${jobs.blog-view-sync.shards:4}")
+    private int shards;
+
+    /**
+     * Blogs are split into shards by key hash; each shard is leased on its own, so replicas sync
+     * different blogs in parallel and never the same counter twice.
+     */
     @Scheduled(fixedRate = 60000 * 15)
-    @Transactional
     public void syncViewsToDb() {
-        System.out.println("Starting BlogViewSyncTask at " + LocalDateTime.now());
+        log.info("Starting BlogViewSyncTask");
         Set<String> keys = redisTemplate.keys(BlogConstants.BLOG_VIEW_COUNT_KEY_PREFIX + "*");
         if (keys == null || keys.isEmpty()) {
             return;
         }
+        jobLeaseService.runSharded("blog.view-sync", shards, Duration.ofMinutes(5), Duration.ofMinutes(5),
+                (lease, shard, shardCount) -> syncShard(keys, shard, shardCount));
+    }
+
+    private int syncShard(Set<String> keys, int shard, int shardCount) {
         int processed = 0;
         for (String key : keys) {
-            Object value = redisTemplate.opsForValue().get(key);
+            if (Math.floorMod(key.hashCode(), shardCount) != shard) continue;
+            // GETDEL: views counted after this point stay in Redis for the next run
+            Object value = redisTemplate.opsForValue().getAndDelete(key);
             if (value == null) continue;
             int viewsToAdd = Integer.parseInt(value.toString());
             String blogId = key.replace(BlogConstants.BLOG_VIEW_COUNT_KEY_PREFIX, "");
-            blogService.addTotalViewCount(UUID.fromString(blogId), viewsToAdd);
-            redisTemplate.delete(key);
+            try {
+                blogService.addTotalViewCount(UUID.fromString(blogId), viewsToAdd);
+            } catch (RuntimeException e) {
+                // Put the views back so they are not lost, and let the run be recorded as failed
+                redisTemplate.opsForValue().increment(key, viewsToAdd);
+                throw e;
+            }
             processed++;
         }
 
-        System.out.println("Synced " + processed + " blog view counts to DB.");
+        log.info("Synced {} blog view counts to DB (shard {}/{}).", processed, shard, shardCount);
+        return processed;
     }
 }
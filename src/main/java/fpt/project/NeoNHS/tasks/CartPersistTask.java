@@ -0,0 +1,47 @@
+package fpt.project.NeoNHS.tasks;
+
+import fpt.project.NeoNHS.service.RedisCartService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Write-behind for Redis carts: copies every cart changed since the last run into MySQL.
+ * A failed cart is marked dirty again and retried on the next run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CartPersistTask {
+
+    private final RedisCartService redisCartService;
+
+    @Value("${cart.redis.flush-batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${cart.redis.flush-interval-ms:5000}")
+    public void persistDirtyCarts() {
+        if (!redisCartService.isEnabled()) {
+            return;
+        }
+
+        List<String> emails;
+        boolean failed = false;
+        do {
+            emails = redisCartService.popDirty(batchSize);
+            for (String email : emails) {
+                try {
+                    redisCartService.flush(email);
+                } catch (Exception e) {
+                    log.error("[Cart] Failed to persist cart of {}: {}", email, e.getMessage());
+                    redisCartService.markDirty(email);
+                    failed = true;
+                }
+            }
+        } while (!failed && emails.size() == batchSize);
+    }
+}
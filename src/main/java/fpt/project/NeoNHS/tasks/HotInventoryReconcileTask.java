@@ -0,0 +1,34 @@
+package fpt.project.NeoNHS.tasks;
+
+import fpt.project.NeoNHS.service.HotInventoryService;
+import fpt.project.NeoNHS.service.JobLeaseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Write-behind for flash-sale inventory: moves the seat counts reserved in Redis into MySQL
+ * and realigns the Redis counters with the database afterwards.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotInventoryReconcileTask {
+
+    private final HotInventoryService hotInventoryService;
+    private final JobLeaseService jobLeaseService;
+
+    @Scheduled(fixedDelayString = "${inventory.hot.reconcile-interval-ms:2000}")
+    public void reconcile() {
+        jobLeaseService.runExclusive("inventory.hot-reconcile", Duration.ofSeconds(30), Duration.ZERO, lease -> {
+            int written = hotInventoryService.flushPending();
+            if (written > 0) {
+                log.debug("[HotInventory] Wrote back {} inventory counters", written);
+            }
+            return written;
+        });
+    }
+}
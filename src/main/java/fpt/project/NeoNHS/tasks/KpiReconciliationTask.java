@@ -0,0 +1,27 @@
+package fpt.project.NeoNHS.tasks;
+
+import fpt.project.NeoNHS.service.JobLeaseService;
+import fpt.project.NeoNHS.service.KpiCounterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Recounts the admin KPIs in MySQL and nudges the Redis counters back in line, catching deltas
+ * lost to a Redis outage and writes that bypass the entity listeners (bulk or native updates).
+ */
+@Component
+@RequiredArgsConstructor
+public class KpiReconciliationTask {
+
+    private final KpiCounterService kpiCounterService;
+    private final JobLeaseService jobLeaseService;
+
+    @Scheduled(fixedDelayString = "${kpi.reconcile.interval-ms:300000}")
+    public void reconcile() {
+        jobLeaseService.runExclusive("kpi.reconcile", Duration.ofMinutes(5), Duration.ofMinutes(1),
+                lease -> kpiCounterService.reconcile().size());
+    }
+}
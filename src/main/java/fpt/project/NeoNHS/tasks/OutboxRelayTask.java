@@ -0,0 +1,56 @@
+package fpt.project.NeoNHS.tasks;
+
+import fpt.project.NeoNHS.service.JobLeaseService;
+import fpt.project.NeoNHS.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Dispatches outbox events written by committed transactions, one batch at a time, on one node
+ * at a time. Failed events are retried with backoff by {@code OutboxServiceImpl}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelayTask {
+
+    private final OutboxService outboxService;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void relay() {
+        jobLeaseService.runExclusive("outbox.relay", Duration.ofSeconds(60), Duration.ZERO, lease -> {
+            int total = 0;
+            int picked;
+            do {
+                picked = outboxService.relayDue(batchSize);
+                total += picked;
+            } while (picked == batchSize && jobLeaseService.isHeld(lease));
+            if (total > 0) {
+                log.debug("[Outbox] Dispatched {} events", total);
+            }
+            return total;
+        });
+    }
+
+    @Scheduled(cron = "0 30 3 * * *") // Every day at 03:30
+    public void purge() {
+        jobLeaseService.runExclusive("outbox.purge", Duration.ofMinutes(30), Duration.ofMinutes(5), lease -> {
+            int total = 0;
+            int deleted;
+            do {
+                deleted = outboxService.purgeSent(batchSize * 10);
+                total += deleted;
+            } while (deleted == batchSize * 10 && jobLeaseService.isHeld(lease));
+            return total;
+        });
+    }
+}
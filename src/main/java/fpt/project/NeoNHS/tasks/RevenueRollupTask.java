@@ -0,0 +1,59 @@
+package fpt.project.NeoNHS.tasks;
+
+import fpt.project.NeoNHS.enums.RollupGranularity;
+import fpt.project.NeoNHS.repository.OrderRepository;
+import fpt.project.NeoNHS.repository.RevenueRollupRepository;
+import fpt.project.NeoNHS.service.JobLeaseService;
+import fpt.project.NeoNHS.service.RevenueRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the revenue rollups complete: a one-off backfill when the tables are empty, and a
+ * nightly rebuild of the last few closed days to absorb anything written around the
+ * incremental updates (seed data, manual fixes).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevenueRollupTask {
+
+    private final RevenueRollupService revenueRollupService;
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final OrderRepository orderRepository;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${rollup.repair-days:3}")
+    private int repairDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        jobLeaseService.runExclusive("rollup.rebuild", Duration.ofHours(1), Duration.ZERO, lease -> {
+            if (revenueRollupRepository.existsByGranularity(RollupGranularity.DAY)) {
+                return 0;
+            }
+            LocalDateTime earliest = orderRepository.findEarliestCreatedAt();
+            if (earliest == null) {
+                return 0;
+            }
+            return revenueRollupService.rebuild(earliest.toLocalDate(), LocalDate.now().plusDays(1));
+        });
+    }
+
+    @Scheduled(cron = "0 15 2 * * *") // Every day at 02:15
+    public void repairRecentDays() {
+        jobLeaseService.runExclusive("rollup.rebuild", Duration.ofHours(1), Duration.ofMinutes(5), lease -> {
+            LocalDate today = LocalDate.now();
+            return revenueRollupService.rebuild(today.minusDays(repairDays), today);
+        });
+    }
+}
@@ -6,12 +6,14 @@ import fpt.project.NeoNHS.enums.EventStatus;
 import fpt.project.NeoNHS.enums.VoucherStatus;
 import fpt.project.NeoNHS.repository.EventRepository;
 import fpt.project.NeoNHS.repository.VoucherRepository;
+import fpt.project.NeoNHS.service.JobLeaseService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -22,17 +24,24 @@ public class StatusUpdateTask {
 
     private final VoucherRepository voucherRepository;
     private final EventRepository eventRepository;
+    private final JobLeaseService jobLeaseService;
+    private final TransactionTemplate transactionTemplate;
 
     @Scheduled(cron = "0 0 0 * * *") // Every day at midnight
-    @Transactional
-    public void updateStatuses() {
+    public void updateStatusesJob() {
+        // One node per night; the lease outlives the run so a node with a late clock does not repeat it
+        jobLeaseService.runExclusive("status-update", Duration.ofMinutes(30), Duration.ofHours(1),
+                lease -> transactionTemplate.execute(status -> updateStatuses()));
+    }
+
+    private int updateStatuses() {
         log.info("Starting StatusUpdateTask at {}", LocalDateTime.now());
-        updateVoucherStatuses();
-        updateEventStatuses();
+        int updated = updateVoucherStatuses() + updateEventStatuses();
         log.info("Finished StatusUpdateTask");
+        return updated;
     }
 
-    private void updateVoucherStatuses() {
+    private int updateVoucherStatuses() {
         List<Voucher> activeVouchers = voucherRepository.findAllByStatusAndDeletedAtIsNull(VoucherStatus.ACTIVE);
         LocalDateTime now = LocalDateTime.now();
         int count = 0;
@@ -48,9 +57,10 @@ public class StatusUpdateTask {
             voucherRepository.saveAll(activeVouchers);
             log.info("Updated {} vouchers to EXPIRED", count);
         }
+        return count;
     }
 
-    private void updateEventStatuses() {
+    private int updateEventStatuses() {
         List<EventStatus> targets = List.of(EventStatus.UPCOMING, EventStatus.ONGOING);
         List<Event> events = eventRepository.findAllByStatusInAndDeletedAtIsNull(targets);
         LocalDateTime now = LocalDateTime.now();
@@ -74,5 +84,6 @@ public class StatusUpdateTask {
             eventRepository.saveAll(events);
             log.info("Updated {} events status", count);
         }
+        return count;
     }
 }
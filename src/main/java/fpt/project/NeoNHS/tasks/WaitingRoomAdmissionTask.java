@@ -0,0 +1,30 @@
+package fpt.project.NeoNHS.tasks;
+
+import fpt.project.NeoNHS.service.JobLeaseService;
+import fpt.project.NeoNHS.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Admission tick of the checkout waiting room: every tick admits up to
+ * {@code waiting-room.admit-per-tick} users per catalog, never exceeding {@code waiting-room.max-active}.
+ */
+@Component
+@RequiredArgsConstructor
+public class WaitingRoomAdmissionTask {
+
+    private final WaitingRoomService waitingRoomService;
+    private final JobLeaseService jobLeaseService;
+
+    @Scheduled(fixedDelayString = "${waiting-room.tick-ms:1000}")
+    public void admit() {
+        // Admission counts must be computed by one node, or each replica would admit its own batch
+        jobLeaseService.runExclusive("waiting-room.admit", Duration.ofSeconds(30), Duration.ZERO, lease -> {
+            waitingRoomService.admitNext();
+            return 0;
+        });
+    }
+}
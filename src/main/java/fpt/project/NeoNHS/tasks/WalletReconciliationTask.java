@@ -0,0 +1,90 @@
+package fpt.project.NeoNHS.tasks;
+
+import fpt.project.NeoNHS.entity.Wallet;
+import fpt.project.NeoNHS.repository.WalletEntryRepository;
+import fpt.project.NeoNHS.repository.WalletRepository;
+import fpt.project.NeoNHS.repository.projection.WalletBalanceProjection;
+import fpt.project.NeoNHS.service.JobLeaseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Checks every wallet snapshot against the sum of its ledger entries, in keyset pages. Nothing
+ * is corrected automatically: a mismatch means a balance was changed outside {@code WalletService}
+ * and needs a look before anyone withdraws it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WalletReconciliationTask {
+
+    private final WalletRepository walletRepository;
+    private final WalletEntryRepository walletEntryRepository;
+    private final JobLeaseService jobLeaseService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${wallet.reconcile.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(cron = "0 45 3 * * *") // Every day at 03:45
+    public void reconcile() {
+        jobLeaseService.runExclusive("wallet.reconcile", Duration.ofMinutes(30), Duration.ofMinutes(5), lease -> {
+            UUID after = new UUID(0, 0);
+            int checked = 0;
+            int[] mismatched = {0};
+            while (jobLeaseService.isHeld(lease)) {
+                UUID from = after;
+                // One transaction per page: snapshot and ledger are read from the same consistent view
+                List<Wallet> wallets = transactionTemplate.execute(status -> {
+                    List<Wallet> page = walletRepository.findPageAfter(from, PageRequest.of(0, batchSize));
+                    mismatched[0] += reconcile(page);
+                    return page;
+                });
+                if (wallets == null || wallets.isEmpty()) {
+                    break;
+                }
+                checked += wallets.size();
+                after = wallets.get(wallets.size() - 1).getUserId();
+            }
+            if (mismatched[0] > 0) {
+                log.error("[Wallet] {} of {} wallets disagree with their ledger", mismatched[0], checked);
+            }
+            return checked;
+        });
+    }
+
+    private int reconcile(List<Wallet> wallets) {
+        if (wallets.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, WalletBalanceProjection> ledger = walletEntryRepository
+                .sumByUserIdIn(wallets.stream().map(Wallet::getUserId).toList()).stream()
+                .collect(Collectors.toMap(WalletBalanceProjection::getUserId, Function.identity()));
+
+        int mismatched = 0;
+        for (Wallet wallet : wallets) {
+            WalletBalanceProjection expected = ledger.get(wallet.getUserId());
+            long expectedBalance = expected != null ? expected.getBalance() : 0L;
+            long expectedHeld = expected != null ? expected.getHeld() : 0L;
+            if (!Objects.equals(wallet.getBalance(), expectedBalance) || !Objects.equals(wallet.getHeld(), expectedHeld)) {
+                log.error("[Wallet] User {}: snapshot balance={} held={}, ledger balance={} held={}",
+                        wallet.getUserId(), wallet.getBalance(), wallet.getHeld(), expectedBalance, expectedHeld);
+                mismatched++;
+            }
+        }
+        return mismatched;
+    }
+}
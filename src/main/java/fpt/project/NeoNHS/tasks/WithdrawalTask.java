@@ -0,0 +1,38 @@
+package fpt.project.NeoNHS.tasks;
+
+import fpt.project.NeoNHS.service.JobLeaseService;
+import fpt.project.NeoNHS.service.WithdrawalService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Drives withdrawals that are not being handled by the thread that accepted them: payout
+ * retries, PayOS status polling, and holds whose face verification never finished.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WithdrawalTask {
+
+    private final WithdrawalService withdrawalService;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${withdrawal.advance.batch-size:50}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${withdrawal.advance.interval-ms:30000}")
+    public void advance() {
+        jobLeaseService.runExclusive("withdrawal.advance", Duration.ofMinutes(5), Duration.ZERO, lease -> {
+            int advanced = withdrawalService.advanceDue(batchSize);
+            if (advanced > 0) {
+                log.debug("[Withdraw] Advanced {} withdrawals", advanced);
+            }
+            return advanced;
+        });
+    }
+}
@@ -3,13 +3,15 @@ package fpt.project.NeoNHS.tasks;
 import fpt.project.NeoNHS.entity.WorkshopSession;
 import fpt.project.NeoNHS.enums.SessionStatus;
 import fpt.project.NeoNHS.repository.WorkshopSessionRepository;
+import fpt.project.NeoNHS.service.JobLeaseService;
 import fpt.project.NeoNHS.service.WorkshopSessionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -20,6 +22,8 @@ public class WorkshopSessionScheduler {
 
     private final WorkshopSessionRepository workshopSessionRepository;
     private final WorkshopSessionService workshopSessionService;
+    private final JobLeaseService jobLeaseService;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Note on performance:
@@ -35,8 +39,13 @@ public class WorkshopSessionScheduler {
     // Change to every 15 minutes to reduce load, since this is not time-sensitive
     // and can run less frequently
     @Scheduled(cron = "0 */15 * * * *") // Every 15 minutes at 0 seconds
-    @Transactional
-    public void handleExpiredAndUnattendedSessions() {
+    public void handleExpiredAndUnattendedSessionsJob() {
+        // Only one node runs a tick; the lease is kept 5 minutes so late-firing nodes skip it too
+        jobLeaseService.runExclusive("workshop-session.status", Duration.ofMinutes(5), Duration.ofMinutes(5),
+                lease -> transactionTemplate.execute(status -> handleExpiredAndUnattendedSessions()));
+    }
+
+    private int handleExpiredAndUnattendedSessions() {
         LocalDateTime now = LocalDateTime.now();
         log.info("[Scheduler] Running checking for expired or unattended workshop sessions at {}", now);
 
@@ -72,5 +81,7 @@ public class WorkshopSessionScheduler {
             workshopSessionRepository.saveAll(autoStart);
         if (!autoComplete.isEmpty())
             workshopSessionRepository.saveAll(autoComplete);
+
+        return emptyExpired.size() + autoStart.size() + autoComplete.size();
     }
 }
@@ -0,0 +1,31 @@
+-- Move the PayOS order code out of transactions.payment_gateway ("PAYOS_<code>")
+-- into its own uniquely indexed numeric column
+
+ALTER TABLE transactions
+ADD COLUMN order_code BIGINT NULL COMMENT 'PayOS order code';
+
+UPDATE transactions
+SET order_code = CAST(SUBSTRING(payment_gateway, 7) AS UNSIGNED),
+    payment_gateway = 'PAYOS'
+WHERE payment_gateway LIKE 'PAYOS\_%'
+  AND order_code IS NULL;
+
+-- Second-based legacy codes may collide; only the newest row of each duplicate keeps
+-- the indexed code. The older rows get their legacy "PAYOS_<code>" gateway back so the
+-- webhook can still settle them through the payment_gateway fallback.
+-- (MySQL applies SET assignments left to right, so CONCAT still sees the old order_code.)
+UPDATE transactions t
+JOIN (
+    SELECT order_code, MAX(created_at) AS newest
+    FROM transactions
+    WHERE order_code IS NOT NULL
+    GROUP BY order_code
+    HAVING COUNT(*) > 1
+) dup ON t.order_code = dup.order_code AND t.created_at < dup.newest
+SET t.payment_gateway = CONCAT('PAYOS_', t.order_code),
+    t.order_code = NULL;
+
+CREATE UNIQUE INDEX uk_transactions_order_code ON transactions (order_code);
+
+-- Verify
+SHOW INDEX FROM transactions WHERE Key_name = 'uk_transactions_order_code';
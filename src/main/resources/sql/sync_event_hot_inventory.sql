@@ -0,0 +1,20 @@
+-- Event capacity is counted in Redis while an event is hot and in MySQL otherwise,
+-- so every catalog of an event must share the hot_inventory flag.
+-- Turn it on for the remaining catalogs of events that already have a hot one.
+
+UPDATE ticket_catalogs tc
+JOIN (
+    SELECT DISTINCT event_id
+    FROM ticket_catalogs
+    WHERE hot_inventory = 1
+      AND deleted_at IS NULL
+) hot ON tc.event_id = hot.event_id
+SET tc.hot_inventory = 1
+WHERE tc.deleted_at IS NULL;
+
+-- Verify: no event should be listed
+SELECT event_id
+FROM ticket_catalogs
+WHERE deleted_at IS NULL
+GROUP BY event_id
+HAVING COUNT(DISTINCT hot_inventory) > 1;
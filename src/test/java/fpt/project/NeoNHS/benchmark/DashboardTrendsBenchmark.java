@@ -0,0 +1,135 @@
+package fpt.project.NeoNHS.benchmark;
+
+import fpt.project.NeoNHS.repository.projection.RegistrationBucketProjection;
+import fpt.project.NeoNHS.service.dashboard.DashboardTrends;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Registration series per second for the typed, array-backed mapping vs. the row-map path it
+ * replaced (case-insensitive key lookup, period-string keys, HashMap merges), for a 12-month chart
+ * with its comparison window. Same warm-up / timed-rounds harness as the other manual benchmarks.
+ */
+@Disabled("Manual benchmark")
+class DashboardTrendsBenchmark {
+
+    private static final int POINTS = 12;
+    private static final int WARMUP = 200_000;
+    private static final int ROUNDS = 1_000_000;
+    private static final DateTimeFormatter YEAR_MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private record Row(Integer bucket, Integer kind, Long count) implements RegistrationBucketProjection {
+        public Integer getBucket() { return bucket; }
+        public Integer getKind() { return kind; }
+        public Long getCount() { return count; }
+    }
+
+    private final YearMonth startPrevious = YearMonth.of(2024, 1);
+    private final List<RegistrationBucketProjection> rows = new ArrayList<>();
+    private final List<Map<String, Object>> touristMaps = new ArrayList<>();
+    private final List<Map<String, Object>> vendorMaps = new ArrayList<>();
+
+    @Test
+    void compareMappingThroughput(TestReporter reporter) {
+        for (int bucket = 0; bucket < 2 * POINTS; bucket++) {
+            long tourists = 100 + bucket * 7L;
+            long vendors = 5 + bucket % 3;
+            rows.add(new Row(bucket, DashboardTrends.KIND_TOURIST, tourists));
+            rows.add(new Row(bucket, DashboardTrends.KIND_VENDOR, vendors));
+            String period = startPrevious.plusMonths(bucket).format(YEAR_MONTH);
+            touristMaps.add(row(period, tourists));
+            vendorMaps.add(row(period, vendors));
+        }
+
+        assertEquals(typedTotal(), legacyTotal());
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += typedTotal();
+            sink += legacyTotal();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += typedTotal();
+        }
+        double typed = ROUNDS / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += legacyTotal();
+        }
+        double legacy = ROUNDS / ((System.nanoTime() - start) / 1e9);
+
+        reporter.publishEntry(Map.of(
+                "typedSeriesPerSecond", String.format("%.0f", typed),
+                "rowMapSeriesPerSecond", String.format("%.0f", legacy),
+                "sink", Long.toString(sink)));
+    }
+
+    /** Current-window total through the typed path. */
+    private long typedTotal() {
+        DashboardTrends.RegistrationSeries series = DashboardTrends.registrations(rows, 2 * POINTS);
+        long total = 0;
+        for (int i = 0; i < POINTS; i++) {
+            total += series.tourists()[POINTS + i] + series.vendors()[POINTS + i];
+        }
+        return total;
+    }
+
+    /** The previous DashboardServiceImpl mapping, kept here only as the baseline. */
+    private long legacyTotal() {
+        Map<String, Long> tourists = toCountMap(touristMaps);
+        Map<String, Long> vendors = toCountMap(vendorMaps);
+        YearMonth startCurrent = startPrevious.plusMonths(POINTS);
+        long total = 0;
+        for (int i = 0; i < POINTS; i++) {
+            String key = startCurrent.plusMonths(i).format(YEAR_MONTH);
+            total += tourists.getOrDefault(key, 0L) + vendors.getOrDefault(key, 0L);
+        }
+        return total;
+    }
+
+    private static Map<String, Long> toCountMap(List<Map<String, Object>> rawData) {
+        Map<String, Long> map = new HashMap<>();
+        for (Map<String, Object> row : rawData) {
+            String period = (String) getIgnoreCase(row, "period");
+            Object countValue = getIgnoreCase(row, "count");
+            if (period != null && countValue instanceof Number number) {
+                map.merge(period, number.longValue(), Long::sum);
+            }
+        }
+        return map;
+    }
+
+    private static Object getIgnoreCase(Map<String, Object> row, String key) {
+        if (row.containsKey(key)) {
+            return row.get(key);
+        }
+        for (var entry : row.entrySet()) {
+            if (entry.getKey() != null && entry.getKey().equalsIgnoreCase(key)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Object> row(String period, long count) {
+        // Upper-case labels, as some drivers return them, so the case-insensitive scan is exercised
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("PERIOD", period);
+        row.put("COUNT", count);
+        return row;
+    }
+}
@@ -0,0 +1,93 @@
+package fpt.project.NeoNHS.benchmark;
+
+import fpt.project.NeoNHS.entity.TicketCatalog;
+import fpt.project.NeoNHS.repository.TicketCatalogRepository;
+import fpt.project.NeoNHS.service.HotInventoryService;
+import fpt.project.NeoNHS.service.InventoryService;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checkouts per second for the SQL conditional-update path vs. the Redis hot-inventory path.
+ * Needs the local MySQL and Redis from docker-compose, so it is disabled in the regular build.
+ */
+@Disabled("Manual benchmark, requires local MySQL and Redis")
+@SpringBootTest
+class InventoryCheckoutBenchmark {
+
+    private static final int CHECKOUTS = 2_000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private HotInventoryService hotInventoryService;
+
+    @Autowired
+    private TicketCatalogRepository ticketCatalogRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void compareCheckoutThroughput(TestReporter reporter) throws Exception {
+        double sql = run(false);
+        double hot = run(true);
+        reporter.publishEntry(Map.of(
+                "sqlCheckoutsPerSecond", String.format("%.0f", sql),
+                "redisCheckoutsPerSecond", String.format("%.0f", hot)));
+    }
+
+    private double run(boolean hotInventory) throws Exception {
+        TicketCatalog catalog = ticketCatalogRepository.save(TicketCatalog.builder()
+                .name("Benchmark " + (hotInventory ? "hot" : "sql"))
+                .price(BigDecimal.valueOf(50_000))
+                .totalQuota(CHECKOUTS)
+                .hotInventory(hotInventory)
+                .build());
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return transactionTemplate.execute(status -> inventoryService.reserveTicket(catalog, 1).isReserved());
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        int reserved = 0;
+        for (Future<Boolean> future : futures) {
+            if (future.get()) {
+                reserved++;
+            }
+        }
+        long elapsed = System.nanoTime() - began;
+        pool.shutdown();
+
+        if (hotInventory) {
+            hotInventoryService.flushPending();
+        }
+        assertEquals(CHECKOUTS, reserved);
+        assertEquals(CHECKOUTS, ticketCatalogRepository.findById(catalog.getId()).orElseThrow().getSoldQuantity());
+        return CHECKOUTS / (elapsed / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,99 @@
+package fpt.project.NeoNHS.benchmark;
+
+import fpt.project.NeoNHS.dto.response.pricing.PriceQuote;
+import fpt.project.NeoNHS.enums.ApplicableProduct;
+import fpt.project.NeoNHS.enums.DiscountType;
+import fpt.project.NeoNHS.service.pricing.PricingEngine;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Quotes per second for the long-based pricing engine vs. the BigDecimal chain it replaced
+ * (line totals, percent voucher with cap, 10% commission), over the same 20-line cart.
+ * Warm-up plus timed rounds; run manually, the numbers are only meaningful on an idle machine.
+ */
+@Disabled("Manual benchmark")
+class PricingBenchmark {
+
+    private static final int LINES = 20;
+    private static final int WARMUP = 200_000;
+    private static final int ROUNDS = 1_000_000;
+
+    private final List<PricingEngine.Line> lines = new ArrayList<>();
+    private final List<PricingEngine.VoucherTerms> vouchers = List.of(new PricingEngine.VoucherTerms(
+            UUID.randomUUID(), UUID.randomUUID(), ApplicableProduct.ALL, null, DiscountType.PERCENT, 1_000, 500_000));
+
+    private final List<BigDecimal> prices = new ArrayList<>();
+    private final List<Integer> quantities = new ArrayList<>();
+    private final List<Boolean> workshop = new ArrayList<>();
+    private BigDecimal legacyCommission;
+
+    @Test
+    void compareQuoteThroughput(TestReporter reporter) {
+        for (int i = 0; i < LINES; i++) {
+            long price = 50_000 + i * 7_500L;
+            int qty = 1 + i % 4;
+            boolean isWorkshop = i % 2 == 0;
+            lines.add(new PricingEngine.Line(UUID.randomUUID(), isWorkshop ? null : UUID.randomUUID(),
+                    isWorkshop ? UUID.randomUUID() : null, null, qty, price, 1_000));
+            prices.add(BigDecimal.valueOf(price));
+            quantities.add(qty);
+            workshop.add(isWorkshop);
+        }
+        String hash = PricingEngine.cartHash(lines, vouchers);
+
+        assertEquals(bigDecimalTotal().longValueExact(), PricingEngine.quote(hash, lines, vouchers).total());
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += PricingEngine.quote(hash, lines, vouchers).total();
+            sink += bigDecimalTotal().longValue();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            PriceQuote quote = PricingEngine.quote(hash, lines, vouchers);
+            sink += quote.total();
+        }
+        double engine = ROUNDS / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += bigDecimalTotal().longValue();
+        }
+        double legacy = ROUNDS / ((System.nanoTime() - start) / 1e9);
+
+        reporter.publishEntry(Map.of(
+                "longEngineQuotesPerSecond", String.format("%.0f", engine),
+                "bigDecimalQuotesPerSecond", String.format("%.0f", legacy),
+                "sink", sink + " " + legacyCommission));
+    }
+
+    /** The previous OrderServiceImpl arithmetic, kept here only as the baseline. */
+    private BigDecimal bigDecimalTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal commission = BigDecimal.ZERO;
+        for (int i = 0; i < LINES; i++) {
+            BigDecimal lineTotal = prices.get(i).multiply(BigDecimal.valueOf(quantities.get(i)));
+            total = total.add(lineTotal);
+            if (workshop.get(i)) {
+                commission = commission.add(lineTotal.multiply(BigDecimal.valueOf(0.1)));
+            }
+        }
+        BigDecimal discount = total.multiply(BigDecimal.valueOf(10)).divide(BigDecimal.valueOf(100));
+        if (discount.compareTo(BigDecimal.valueOf(500_000)) > 0) {
+            discount = BigDecimal.valueOf(500_000);
+        }
+        legacyCommission = commission;
+        return total.subtract(discount);
+    }
+}
@@ -0,0 +1,101 @@
+package fpt.project.NeoNHS.config;
+
+import fpt.project.NeoNHS.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UpstreamGuardTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Circuit opens once the failure rate is reached and then rejects without calling out")
+    void failures_openCircuit() throws IOException {
+        UpstreamGuard guard = new UpstreamGuard("face-service", settings(1, Duration.ofMinutes(1)), registry);
+        ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        when(execution.execute(any(), any())).thenThrow(new ConnectException("refused"));
+        HttpRequest request = request(HttpMethod.GET);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ConnectException.class, () -> guard.intercept(request, new byte[0], execution));
+        }
+        assertEquals(UpstreamGuard.State.OPEN, guard.state());
+
+        assertThrows(UpstreamUnavailableException.class, () -> guard.intercept(request, new byte[0], execution));
+        verify(execution, times(4)).execute(any(), any());
+        assertEquals(1, registry.get(UpstreamGuard.METRIC).tag("outcome", "CIRCUIT_OPEN").timer().count());
+    }
+
+    @Test
+    @DisplayName("After the open period a successful trial call closes the circuit")
+    void halfOpen_successfulTrial_closes() throws IOException {
+        UpstreamGuard guard = new UpstreamGuard("payos", settings(1, Duration.ZERO), registry);
+        for (int i = 0; i < 4; i++) {
+            guard.onResult(false);
+        }
+        assertEquals(UpstreamGuard.State.HALF_OPEN, guard.state());
+
+        ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        ClientHttpResponse ok = response(HttpStatus.OK);
+        when(execution.execute(any(), any())).thenReturn(ok);
+
+        assertSame(ok, guard.intercept(request(HttpMethod.GET), new byte[0], execution));
+        assertEquals(UpstreamGuard.State.CLOSED, guard.state());
+    }
+
+    @Test
+    @DisplayName("A 503 on an idempotent call is retried; POST is not retried unless allowed")
+    void serverError_retriedOnlyWhenIdempotent() throws IOException {
+        UpstreamGuard guard = new UpstreamGuard("translation", settings(3, Duration.ofMinutes(1)), registry);
+        ClientHttpResponse unavailable = response(HttpStatus.SERVICE_UNAVAILABLE);
+        ClientHttpResponse ok = response(HttpStatus.OK);
+
+        ClientHttpRequestExecution getExecution = mock(ClientHttpRequestExecution.class);
+        when(getExecution.execute(any(), any())).thenReturn(unavailable, ok);
+        assertSame(ok, guard.intercept(request(HttpMethod.GET), new byte[0], getExecution));
+        verify(getExecution, times(2)).execute(any(), any());
+        verify(unavailable).close();
+
+        ClientHttpRequestExecution postExecution = mock(ClientHttpRequestExecution.class);
+        when(postExecution.execute(any(), any())).thenReturn(unavailable);
+        assertSame(unavailable, guard.intercept(request(HttpMethod.POST), new byte[0], postExecution));
+        verify(postExecution, times(1)).execute(any(), any());
+    }
+
+    private static OutboundHttpProperties.Settings settings(int maxAttempts, Duration openDuration) {
+        return new OutboundHttpProperties.Settings(Duration.ofSeconds(1), Duration.ofSeconds(1), 4,
+                Duration.ofMillis(10), maxAttempts, false, Duration.ofMillis(1), Duration.ofMillis(2),
+                50, 4, 4, openDuration);
+    }
+
+    private static HttpRequest request(HttpMethod method) {
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.getMethod()).thenReturn(method);
+        return request;
+    }
+
+    private static ClientHttpResponse response(HttpStatus status) throws IOException {
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(status);
+        return response;
+    }
+}
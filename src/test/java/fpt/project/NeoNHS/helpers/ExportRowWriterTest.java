@@ -0,0 +1,66 @@
+package fpt.project.NeoNHS.helpers;
+
+import fpt.project.NeoNHS.enums.ExportFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExportRowWriterTest {
+
+    @Test
+    @DisplayName("CSV quotes separators and quotes, defuses formulas and writes plain numbers")
+    void csv_escapesCells() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportRowWriter writer = ExportRowWriter.open(ExportFormat.CSV, out, "Date", "Item", "Gross");
+        writer.row(LocalDateTime.of(2025, 3, 1, 12, 30), "Đá \"Non Nước\", size M", new BigDecimal("1.5E+5"));
+        writer.row(null, "=SUM(A1)", 3);
+        writer.finish();
+
+        assertEquals("\uFEFFDate,Item,Gross\r\n"
+                        + "2025-03-01 12:30:00,\"Đá \"\"Non Nước\"\", size M\",150000\r\n"
+                        + ",'=SUM(A1),3\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("XLSX is a complete package with inline, escaped strings and serial dates")
+    void xlsx_writesPackage() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportRowWriter writer = ExportRowWriter.open(ExportFormat.XLSX, out, "Date", "Item");
+        writer.row(LocalDateTime.of(2025, 3, 1, 12, 0), "A < B & C");
+        writer.finish();
+
+        Map<String, String> parts = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+                parts.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        assertTrue(parts.keySet().containsAll(List.of("[Content_Types].xml", "_rels/.rels",
+                "xl/workbook.xml", "xl/_rels/workbook.xml.rels", "xl/styles.xml", "xl/worksheets/sheet1.xml")));
+        String sheet = parts.get("xl/worksheets/sheet1.xml");
+        assertTrue(sheet.contains("<c s=\"1\"><v>45717.5</v></c>"), sheet);
+        assertTrue(sheet.contains("A &lt; B &amp; C"), sheet);
+    }
+
+    @Test
+    @DisplayName("Excel serial dates count days from 1899-12-30 plus the fraction of the day")
+    void toSerial_matchesExcel() {
+        assertEquals(1.0, XlsxRowWriter.toSerial(LocalDateTime.of(1899, 12, 31, 0, 0)));
+        assertEquals(45658.25, XlsxRowWriter.toSerial(LocalDateTime.of(2025, 1, 1, 6, 0)));
+    }
+}
@@ -0,0 +1,61 @@
+package fpt.project.NeoNHS.helpers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketCodeFormatTest {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+
+    @Test
+    @DisplayName("Consecutive sequence numbers give distinct, valid, non-adjacent codes")
+    void encode_distinctAndValid() {
+        Set<String> codes = new HashSet<>();
+        for (long sequence = 1; sequence <= 100_000; sequence++) {
+            String code = TicketCodeFormat.encode(sequence);
+            assertEquals(TicketCodeFormat.LENGTH, code.length());
+            assertTrue(TicketCodeFormat.isValid(code), code);
+            codes.add(code);
+        }
+        assertEquals(100_000, codes.size());
+        assertFalse(TicketCodeFormat.encode(2).startsWith(TicketCodeFormat.encode(1).substring(0, 6)));
+        assertTrue(TicketCodeFormat.isValid(TicketCodeFormat.encode(TicketCodeFormat.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("Single-character typos and adjacent swaps are caught by the check character")
+    void isValid_catchesTypos() {
+        String code = TicketCodeFormat.encode(424_242);
+        for (int i = 0; i < code.length(); i++) {
+            for (char c : ALPHABET.toCharArray()) {
+                if (c != code.charAt(i)) {
+                    String typo = code.substring(0, i) + c + code.substring(i + 1);
+                    assertFalse(TicketCodeFormat.isValid(typo), typo);
+                }
+            }
+        }
+        for (int i = 0; i < code.length() - 1; i++) {
+            if (code.charAt(i) != code.charAt(i + 1)) {
+                String swapped = code.substring(0, i) + code.charAt(i + 1) + code.charAt(i) + code.substring(i + 2);
+                assertFalse(TicketCodeFormat.isValid(swapped), swapped);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Typed codes are normalized; legacy hex codes are left untouched")
+    void normalize_readsLookAlikes() {
+        String code = TicketCodeFormat.encode(77);
+        String typed = code.toLowerCase().replace('1', 'l').replace('0', 'o');
+
+        assertEquals(code, TicketCodeFormat.normalize(typed.substring(0, 4) + "-" + typed.substring(4)));
+        assertEquals("9F3A0C1B", TicketCodeFormat.normalize("9f3a0c1b"));
+    }
+}
@@ -0,0 +1,51 @@
+package fpt.project.NeoNHS.helpers;
+
+import fpt.project.NeoNHS.enums.TicketType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketQrCodecTest {
+
+    private static final UUID SCOPE = UUID.fromString("7d4c5d0e-2a51-4f7b-9a3e-5b1f0c2d8e11");
+    private static final byte[] KEY = "scope-key".getBytes(StandardCharsets.UTF_8);
+
+    private final TicketQrCodec.Payload payload = new TicketQrCodec.Payload("A1B2C3D4", SCOPE, TicketType.WORKSHOP,
+            LocalDateTime.of(2026, 5, 1, 8, 0), LocalDateTime.of(2026, 5, 1, 11, 30));
+
+    @Test
+    @DisplayName("A signed payload decodes back to the same fields with the scope key")
+    void encodeDecode_roundTrip() {
+        String token = TicketQrCodec.encode(payload, KEY);
+
+        Optional<TicketQrCodec.Payload> decoded = TicketQrCodec.decode(token, scopeId -> KEY);
+
+        assertEquals(Optional.of(payload), decoded);
+        assertTrue(token.length() < 100);
+        assertTrue(decoded.get().isValidAt(LocalDateTime.of(2026, 5, 1, 9, 0)));
+        assertFalse(decoded.get().isValidAt(LocalDateTime.of(2026, 5, 1, 12, 0)));
+    }
+
+    @Test
+    @DisplayName("Tampered payloads, foreign keys and plain codes are rejected")
+    void decode_rejectsForgeries() {
+        String token = TicketQrCodec.encode(payload, KEY);
+        String otherCode = TicketQrCodec.encode(
+                new TicketQrCodec.Payload("ZZZZZZZZ", SCOPE, TicketType.WORKSHOP, null, null), KEY);
+        String forged = otherCode.substring(0, otherCode.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        assertTrue(TicketQrCodec.decode(forged, scopeId -> KEY).isEmpty());
+        assertTrue(TicketQrCodec.decode(token, scopeId -> "other".getBytes(StandardCharsets.UTF_8)).isEmpty());
+        assertTrue(TicketQrCodec.decode(token, scopeId -> null).isEmpty());
+        assertTrue(TicketQrCodec.decode("A1B2C3D4", scopeId -> KEY).isEmpty());
+        assertFalse(TicketQrCodec.looksSigned("A1B2C3D4"));
+    }
+}
@@ -0,0 +1,106 @@
+package fpt.project.NeoNHS.repository;
+
+import fpt.project.NeoNHS.dto.response.cart.CartResponse;
+import fpt.project.NeoNHS.entity.Cart;
+import fpt.project.NeoNHS.entity.CartItem;
+import fpt.project.NeoNHS.entity.Event;
+import fpt.project.NeoNHS.entity.TicketCatalog;
+import fpt.project.NeoNHS.entity.User;
+import fpt.project.NeoNHS.enums.UserRole;
+import fpt.project.NeoNHS.service.KpiCounterService;
+import fpt.project.NeoNHS.service.PricingService;
+import fpt.project.NeoNHS.service.VoucherService;
+import fpt.project.NeoNHS.service.impl.CartServiceImpl;
+import fpt.project.NeoNHS.service.validator.AvailabilityValidator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs against the MySQL from src/test/resources/application.yaml: mvn test -Dit.mysql=true
+ */
+@EnabledIfSystemProperty(named = "it.mysql", matches = "true")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CartServiceImpl.class, AvailabilityValidator.class})
+class CartRepositoryQueryCountTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CartServiceImpl cartService;
+
+    @MockitoBean
+    private VoucherService voucherService;
+
+    @MockitoBean
+    private PricingService pricingService;
+
+    @MockitoBean
+    private KpiCounterService kpiCounterService;
+
+    @Test
+    @DisplayName("GET /api/cart for a 20-item cart is a single SQL statement")
+    void getCart_twentyItems_singleStatement() {
+        User user = User.builder()
+                .fullname("Query Count")
+                .email("query-count@neonhs.test")
+                .passwordHash("x")
+                .role(UserRole.TOURIST)
+                .build();
+        entityManager.persist(user);
+
+        Cart cart = Cart.builder().user(user).cartItems(new ArrayList<>()).build();
+        entityManager.persist(cart);
+
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Event event = Event.builder()
+                    .name("Event " + i)
+                    .startTime(LocalDateTime.now().plusDays(1))
+                    .endTime(LocalDateTime.now().plusDays(2))
+                    .build();
+            entityManager.persist(event);
+            events.add(event);
+        }
+        for (int i = 0; i < 20; i++) {
+            TicketCatalog catalog = TicketCatalog.builder()
+                    .name("Catalog " + i)
+                    .price(BigDecimal.valueOf(10_000L * (i + 1)))
+                    .event(events.get(i % events.size()))
+                    .build();
+            entityManager.persist(catalog);
+            entityManager.persist(CartItem.builder().cart(cart).ticketCatalog(catalog).quantity(1).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CartResponse response = cartService.getCart(user.getEmail());
+
+        assertEquals(20, response.getItems().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
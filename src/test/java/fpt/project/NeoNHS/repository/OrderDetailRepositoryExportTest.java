@@ -0,0 +1,107 @@
+package fpt.project.NeoNHS.repository;
+
+import fpt.project.NeoNHS.entity.Order;
+import fpt.project.NeoNHS.entity.OrderDetail;
+import fpt.project.NeoNHS.entity.Transaction;
+import fpt.project.NeoNHS.entity.User;
+import fpt.project.NeoNHS.entity.VendorProfile;
+import fpt.project.NeoNHS.entity.WorkshopSession;
+import fpt.project.NeoNHS.entity.WorkshopTemplate;
+import fpt.project.NeoNHS.enums.TransactionStatus;
+import fpt.project.NeoNHS.enums.UserRole;
+import fpt.project.NeoNHS.repository.projection.RevenueDetailProjection;
+import fpt.project.NeoNHS.service.KpiCounterService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs against the MySQL from src/test/resources/application.yaml: mvn test -Dit.mysql=true
+ */
+@EnabledIfSystemProperty(named = "it.mysql", matches = "true")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrderDetailRepositoryExportTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private OrderDetailRepository orderDetailRepository;
+
+    @MockitoBean
+    private KpiCounterService kpiCounterService;
+
+    @Test
+    @DisplayName("The vendor export only streams lines of orders with a successful payment")
+    void streamVendorRevenueDetails_skipsUnpaidLines() {
+        User vendorUser = user("export-vendor@neonhs.test", UserRole.VENDOR);
+        User tourist = user("export-tourist@neonhs.test", UserRole.TOURIST);
+        VendorProfile vendor = VendorProfile.builder().businessName("Marble Crafts").user(vendorUser).build();
+        entityManager.persist(vendor);
+        WorkshopTemplate template = WorkshopTemplate.builder().name("Stone Carving").vendor(vendor).build();
+        entityManager.persist(template);
+        WorkshopSession session = WorkshopSession.builder()
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(2))
+                .price(new BigDecimal("200000"))
+                .workshopTemplate(template)
+                .build();
+        entityManager.persist(session);
+
+        OrderDetail paid = orderLine(tourist, session, TransactionStatus.SUCCESS);
+        orderLine(tourist, session, TransactionStatus.FAILED);
+        orderLine(tourist, session, TransactionStatus.PENDING);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<UUID> ids;
+        try (Stream<RevenueDetailProjection> rows = orderDetailRepository.streamVendorRevenueDetails(vendor.getId(),
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1))) {
+            ids = rows.map(RevenueDetailProjection::getId).toList();
+        }
+
+        assertEquals(List.of(paid.getId()), ids);
+    }
+
+    private User user(String email, UserRole role) {
+        User user = User.builder().fullname(email).email(email).passwordHash("x").role(role).build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private OrderDetail orderLine(User tourist, WorkshopSession session, TransactionStatus paymentStatus) {
+        Order order = Order.builder()
+                .user(tourist)
+                .totalAmount(new BigDecimal("200000"))
+                .finalAmount(new BigDecimal("200000"))
+                .build();
+        entityManager.persist(order);
+        OrderDetail detail = OrderDetail.builder()
+                .order(order)
+                .workshopSession(session)
+                .quantity(1)
+                .unitPrice(new BigDecimal("200000"))
+                .build();
+        entityManager.persist(detail);
+        entityManager.persist(Transaction.builder()
+                .order(order)
+                .amount(new BigDecimal("200000"))
+                .status(paymentStatus)
+                .build());
+        return detail;
+    }
+}
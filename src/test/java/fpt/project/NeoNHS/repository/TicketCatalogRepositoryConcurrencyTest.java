@@ -0,0 +1,97 @@
+package fpt.project.NeoNHS.repository;
+
+import fpt.project.NeoNHS.dto.response.inventory.ReservationResult;
+import fpt.project.NeoNHS.entity.TicketCatalog;
+import fpt.project.NeoNHS.enums.ReservationStatus;
+import fpt.project.NeoNHS.enums.TicketCatalogStatus;
+import fpt.project.NeoNHS.service.HotInventoryService;
+import fpt.project.NeoNHS.service.impl.InventoryServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs against the MySQL from src/test/resources/application.yaml: mvn test -Dit.mysql=true
+ * <p>
+ * Not wrapped in a test transaction: every checkout commits on its own connection, so the
+ * conditional UPDATE in {@link TicketCatalogRepository#reserveSeats} is what keeps them apart.
+ */
+@EnabledIfSystemProperty(named = "it.mysql", matches = "true")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(InventoryServiceImpl.class)
+class TicketCatalogRepositoryConcurrencyTest {
+
+    private static final int QUOTA = 200;
+    private static final int CHECKOUTS = 500;
+
+    @Autowired
+    private TicketCatalogRepository ticketCatalogRepository;
+
+    @Autowired
+    private InventoryServiceImpl inventoryService;
+
+    @MockitoBean
+    private HotInventoryService hotInventoryService;
+
+    @Test
+    @DisplayName("Hundreds of parallel checkouts never oversell the quota")
+    void parallelCheckouts_neverOversell() throws Exception {
+        TicketCatalog catalog = ticketCatalogRepository.saveAndFlush(TicketCatalog.builder()
+                .name("Festival Pass")
+                .price(new BigDecimal("100000"))
+                .totalQuota(QUOTA)
+                .build());
+        try {
+            ExecutorService pool = Executors.newFixedThreadPool(32);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<ReservationResult>> futures = new ArrayList<>();
+            for (int i = 0; i < CHECKOUTS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return inventoryService.reserveTicket(catalog, 1);
+                }));
+            }
+            start.countDown();
+
+            int reserved = 0;
+            int rejected = 0;
+            for (Future<ReservationResult> future : futures) {
+                ReservationResult result = future.get();
+                if (result.isReserved()) {
+                    reserved++;
+                } else {
+                    assertEquals(ReservationStatus.INSUFFICIENT_QUOTA, result.status());
+                    rejected++;
+                }
+            }
+            pool.shutdown();
+
+            assertEquals(QUOTA, reserved);
+            assertEquals(CHECKOUTS - QUOTA, rejected);
+            TicketCatalog stored = ticketCatalogRepository.findById(catalog.getId()).orElseThrow();
+            assertEquals(QUOTA, stored.getSoldQuantity());
+            assertEquals(TicketCatalogStatus.SOLD_OUT, stored.getStatus());
+        } finally {
+            ticketCatalogRepository.deleteById(catalog.getId());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package fpt.project.NeoNHS.repository;
+
+import fpt.project.NeoNHS.service.impl.TicketCodeServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs against the MySQL from src/test/resources/application.yaml: mvn test -Dit.mysql=true
+ * <p>
+ * One pooled connection, as on a pool where every connection is held by a payment webhook:
+ * taking ticket codes must never need a second one.
+ */
+@EnabledIfSystemProperty(named = "it.mysql", matches = "true")
+@DataJpaTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=1000",
+        "ticket.code.block-size=10"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(TicketCodeServiceImpl.class)
+class TicketCodeSequencePoolTest {
+
+    @Autowired
+    private TicketCodeServiceImpl ticketCodeService;
+
+    @Autowired
+    private TicketCodeSequenceRepository sequenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Codes taken before the settlement transaction reserve blocks on the only pooled connection")
+    void nextCodes_beforeTransaction_singleConnection() {
+        // Three blocks of 10, each reserved while nothing else holds the connection
+        List<String> codes = ticketCodeService.nextCodes(25);
+
+        long sequences = new TransactionTemplate(transactionManager)
+                .execute(status -> sequenceRepository.count());
+
+        assertEquals(25, new HashSet<>(codes).size());
+        assertEquals(1, sequences);
+    }
+
+    @Test
+    @DisplayName("Taking codes inside a transaction fails at once instead of waiting for a second connection")
+    void nextCodes_insideTransaction_rejected() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            sequenceRepository.count();
+            assertThrows(IllegalStateException.class, () -> ticketCodeService.nextCodes(1));
+        });
+    }
+}
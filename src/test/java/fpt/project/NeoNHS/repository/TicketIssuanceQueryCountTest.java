@@ -0,0 +1,123 @@
+package fpt.project.NeoNHS.repository;
+
+import fpt.project.NeoNHS.entity.Event;
+import fpt.project.NeoNHS.entity.Order;
+import fpt.project.NeoNHS.entity.OrderDetail;
+import fpt.project.NeoNHS.entity.Ticket;
+import fpt.project.NeoNHS.entity.TicketCatalog;
+import fpt.project.NeoNHS.entity.User;
+import fpt.project.NeoNHS.enums.UserRole;
+import fpt.project.NeoNHS.helpers.TicketCodeFormat;
+import fpt.project.NeoNHS.service.KpiCounterService;
+import fpt.project.NeoNHS.service.TicketQrService;
+import fpt.project.NeoNHS.service.impl.TicketIssuanceServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs against the MySQL from src/test/resources/application.yaml: mvn test -Dit.mysql=true
+ */
+@EnabledIfSystemProperty(named = "it.mysql", matches = "true")
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TicketIssuanceServiceImpl.class)
+class TicketIssuanceQueryCountTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TicketIssuanceServiceImpl ticketIssuanceService;
+
+    @MockitoBean
+    private TicketQrService ticketQrService;
+
+    @MockitoBean
+    private KpiCounterService kpiCounterService;
+
+    @Test
+    @DisplayName("Issuing a 100-ticket order is two batched INSERT statements")
+    void issueTickets_hundredTickets_twoBatches() {
+        User user = User.builder()
+                .fullname("Ticket Batch")
+                .email("ticket-batch@neonhs.test")
+                .passwordHash("x")
+                .role(UserRole.TOURIST)
+                .build();
+        entityManager.persist(user);
+        Event event = Event.builder()
+                .name("Marble Mountains Festival")
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(3))
+                .build();
+        entityManager.persist(event);
+        TicketCatalog catalog = TicketCatalog.builder()
+                .name("Group Pass")
+                .price(BigDecimal.valueOf(30_000))
+                .event(event)
+                .build();
+        entityManager.persist(catalog);
+        Order order = Order.builder()
+                .user(user)
+                .totalAmount(BigDecimal.valueOf(3_000_000))
+                .finalAmount(BigDecimal.valueOf(3_000_000))
+                .build();
+        entityManager.persist(order);
+        for (int quantity : new int[]{60, 40}) {
+            entityManager.persist(OrderDetail.builder()
+                    .order(order)
+                    .ticketCatalog(catalog)
+                    .quantity(quantity)
+                    .unitPrice(BigDecimal.valueOf(30_000))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Loaded the way handlePaymentSuccess has them, so issuing triggers no lazy loads
+        List<OrderDetail> details = entityManager.createQuery(
+                        "SELECT od FROM OrderDetail od JOIN FETCH od.ticketCatalog tc JOIN FETCH tc.event " +
+                                "WHERE od.order.id = :orderId", OrderDetail.class)
+                .setParameter("orderId", order.getId())
+                .getResultList();
+        List<String> codes = IntStream.rangeClosed(1, 100).mapToObj(TicketCodeFormat::encode).toList();
+        when(ticketQrService.sign(any(Ticket.class)))
+                .thenAnswer(inv -> "qr-" + inv.getArgument(0, Ticket.class).getTicketCode());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ticketIssuanceService.issueTickets(details, codes);
+        entityManager.flush();
+
+        assertEquals(100, statistics.getEntityInsertCount());
+        // One prepared INSERT per JDBC batch of 50
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
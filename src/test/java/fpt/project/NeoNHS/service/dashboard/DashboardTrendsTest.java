@@ -0,0 +1,57 @@
+package fpt.project.NeoNHS.service.dashboard;
+
+import fpt.project.NeoNHS.repository.projection.PaidOrderBucketProjection;
+import fpt.project.NeoNHS.repository.projection.RegistrationBucketProjection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DashboardTrendsTest {
+
+    private record RevenueRow(Integer bucket, Long revenue, Long orders) implements PaidOrderBucketProjection {
+        public Integer getBucket() { return bucket; }
+        public Long getRevenue() { return revenue; }
+        public Long getOrders() { return orders; }
+    }
+
+    private record RegistrationRow(Integer bucket, Integer kind, Long count) implements RegistrationBucketProjection {
+        public Integer getBucket() { return bucket; }
+        public Integer getKind() { return kind; }
+        public Long getCount() { return count; }
+    }
+
+    @Test
+    @DisplayName("Revenue rows land in their bucket; empty buckets stay 0 and out-of-range rows are dropped")
+    void revenue_fillsBuckets() {
+        DashboardTrends.RevenueSeries series = DashboardTrends.revenue(List.of(
+                new RevenueRow(0, 1_000L, 2L),
+                new RevenueRow(3, 5_000L, 1L),
+                new RevenueRow(4, 9_999L, 9L)), 4);
+
+        assertArrayEquals(new long[]{1_000, 0, 0, 5_000}, series.revenue());
+        assertArrayEquals(new long[]{2, 0, 0, 1}, series.orders());
+    }
+
+    @Test
+    @DisplayName("Registration rows are split by kind into tourist and vendor series")
+    void registrations_splitByKind() {
+        DashboardTrends.RegistrationSeries series = DashboardTrends.registrations(List.of(
+                new RegistrationRow(1, DashboardTrends.KIND_TOURIST, 7L),
+                new RegistrationRow(1, DashboardTrends.KIND_VENDOR, 2L),
+                new RegistrationRow(-1, DashboardTrends.KIND_TOURIST, 4L)), 2);
+
+        assertArrayEquals(new long[]{0, 7}, series.tourists());
+        assertArrayEquals(new long[]{0, 2}, series.vendors());
+    }
+
+    @Test
+    @DisplayName("Period is the YYYYMM number PERIOD_DIFF expects")
+    void period_yyyymm() {
+        assertEquals(202503, DashboardTrends.period(YearMonth.of(2025, 3)));
+    }
+}
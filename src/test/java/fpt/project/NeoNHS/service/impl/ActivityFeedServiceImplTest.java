@@ -0,0 +1,64 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.entity.ActivityFeedEntry;
+import fpt.project.NeoNHS.enums.ActivityAction;
+import fpt.project.NeoNHS.exception.BadRequestException;
+import fpt.project.NeoNHS.repository.ActivityFeedRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityFeedServiceImplTest {
+
+    @Mock
+    private ActivityFeedRepository activityFeedRepository;
+
+    @InjectMocks
+    private ActivityFeedServiceImpl activityFeedService;
+
+    @Test
+    @DisplayName("A cursor for one vendor reads the vendor's page after it, capped at the max page size")
+    void getFeed_vendorCursor_keysetPage() {
+        UUID vendorId = UUID.randomUUID();
+        UUID beforeId = UUID.randomUUID();
+        LocalDateTime before = LocalDateTime.of(2025, 3, 1, 10, 0);
+        ActivityFeedEntry entry = ActivityFeedEntry.builder()
+                .id(UUID.randomUUID())
+                .action(ActivityAction.SELL_TICKET)
+                .vendorId(vendorId)
+                .actorName("Vendor")
+                .targetName("Pottery")
+                .occurredAt(before.minusMinutes(1))
+                .build();
+        when(activityFeedRepository.findVendorPageBefore(vendorId, before, beforeId,
+                PageRequest.of(0, ActivityFeedServiceImpl.MAX_PAGE_SIZE))).thenReturn(List.of(entry));
+
+        var page = activityFeedService.getFeed(vendorId, before, beforeId, 1_000);
+
+        assertEquals(1, page.size());
+        assertEquals(entry.getId(), page.get(0).getId());
+        assertEquals("SELL_TICKET", page.get(0).getAction());
+    }
+
+    @Test
+    @DisplayName("Half a cursor is rejected")
+    void getFeed_partialCursor_rejected() {
+        assertThrows(BadRequestException.class,
+                () -> activityFeedService.getFeed(null, LocalDateTime.now(), null, 10));
+        verifyNoInteractions(activityFeedRepository);
+    }
+}
@@ -0,0 +1,119 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.entity.WorkshopSession;
+import fpt.project.NeoNHS.repository.EventRepository;
+import fpt.project.NeoNHS.repository.TicketCatalogRepository;
+import fpt.project.NeoNHS.repository.WorkshopSessionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class HotInventoryServiceImplTest {
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private TicketCatalogRepository ticketCatalogRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private WorkshopSessionRepository workshopSessionRepository;
+
+    @InjectMocks
+    private HotInventoryServiceImpl hotInventoryService;
+
+    private final WorkshopSession session = WorkshopSession.builder()
+            .id(UUID.randomUUID())
+            .startTime(LocalDateTime.now().plusDays(1))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        // Reserve script answers "reserved", release script "ok"
+        when(redis.execute(any(RedisScript.class), any(List.class), any(Object[].class))).thenAnswer(inv ->
+                inv.getArgument(0, RedisScript.class).getResultType() == List.class ? List.of(1L) : 1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Seats reserved in a transaction that rolls back are handed back to Redis")
+    void reserve_rolledBack_released() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(hotInventoryService.reserveWorkshop(session, 2).isReserved());
+
+        completeWith(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(redis).execute(releaseScript(), any(List.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Seats reserved in a committed transaction stay taken")
+    void reserve_committed_kept() {
+        TransactionSynchronizationManager.initSynchronization();
+        hotInventoryService.reserveWorkshop(session, 2);
+
+        completeWith(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(redis, never()).execute(releaseScript(), any(List.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("A release only reaches Redis after its transaction commits, never on rollback")
+    void release_appliedAfterCommitOnly() {
+        TransactionSynchronizationManager.initSynchronization();
+        hotInventoryService.releaseWorkshop(session, 2);
+        verify(redis, never()).execute(releaseScript(), any(List.class), any(Object[].class));
+        completeWith(TransactionSynchronization.STATUS_ROLLED_BACK);
+        verify(redis, never()).execute(releaseScript(), any(List.class), any(Object[].class));
+
+        TransactionSynchronizationManager.initSynchronization();
+        hotInventoryService.releaseWorkshop(session, 2);
+        completeWith(TransactionSynchronization.STATUS_COMMITTED);
+        verify(redis, times(1)).execute(releaseScript(), any(List.class), any(Object[].class));
+    }
+
+    private static RedisScript<Object> releaseScript() {
+        return argThat(script -> script != null && Long.class.equals(script.getResultType()));
+    }
+
+    private static void completeWith(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
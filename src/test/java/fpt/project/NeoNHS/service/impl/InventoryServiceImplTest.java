@@ -0,0 +1,66 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.dto.response.inventory.ReservationResult;
+import fpt.project.NeoNHS.entity.Event;
+import fpt.project.NeoNHS.entity.TicketCatalog;
+import fpt.project.NeoNHS.enums.ReservationStatus;
+import fpt.project.NeoNHS.repository.EventRepository;
+import fpt.project.NeoNHS.repository.TicketCatalogRepository;
+import fpt.project.NeoNHS.repository.WorkshopSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceImplTest {
+
+    @Mock
+    private TicketCatalogRepository ticketCatalogRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private WorkshopSessionRepository workshopSessionRepository;
+
+    @InjectMocks
+    private InventoryServiceImpl inventoryService;
+
+    private TicketCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = TicketCatalog.builder().id(UUID.randomUUID()).name("Festival Pass").totalQuota(200).build();
+    }
+
+    @Test
+    @DisplayName("A full event gives the catalog seats back and reports CAPACITY_EXCEEDED")
+    void eventFull_releasesCatalogSeats() {
+        Event event = Event.builder().id(UUID.randomUUID()).name("Lantern Night").build();
+        catalog.setEvent(event);
+
+        when(ticketCatalogRepository.reserveSeats(eq(catalog.getId()), eq(3), any())).thenReturn(1);
+        when(eventRepository.enrollParticipants(eq(event.getId()), eq(3), any())).thenReturn(0);
+        when(eventRepository.findRemainingSlots(event.getId())).thenReturn(2);
+
+        ReservationResult result = inventoryService.reserveTicket(catalog, 3);
+
+        assertFalse(result.isReserved());
+        assertEquals(ReservationStatus.CAPACITY_EXCEEDED, result.status());
+        assertEquals(2, result.remaining());
+        verify(ticketCatalogRepository).releaseSeats(catalog.getId(), 3);
+    }
+}
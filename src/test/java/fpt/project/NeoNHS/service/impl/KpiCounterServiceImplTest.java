@@ -0,0 +1,73 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.enums.KpiCounter;
+import fpt.project.NeoNHS.helpers.RedisKpiKeys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class KpiCounterServiceImplTest {
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @InjectMocks
+    private KpiCounterServiceImpl kpiCounterService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deltas inside a transaction are merged and applied once, after commit")
+    @SuppressWarnings("unchecked")
+    void add_inTransaction_appliedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        kpiCounterService.add(KpiCounter.USERS_TOTAL, 1);
+        kpiCounterService.add(KpiCounter.USERS_TOTAL, 1);
+        kpiCounterService.add(KpiCounter.REVENUE, 150_000);
+        verify(redis, never()).execute(any(RedisScript.class), any(List.class), any(Object[].class));
+
+        completeWith(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(redis).execute(any(RedisScript.class), eq(List.of(RedisKpiKeys.COUNTERS)),
+                eq("USERS_TOTAL"), eq("2"), eq("REVENUE"), eq("150000"));
+    }
+
+    @Test
+    @DisplayName("Deltas of a rolled-back transaction are dropped")
+    @SuppressWarnings("unchecked")
+    void add_rolledBack_notApplied() {
+        TransactionSynchronizationManager.initSynchronization();
+        kpiCounterService.add(KpiCounter.TICKETS_ISSUED, 3);
+
+        completeWith(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(redis, never()).execute(any(RedisScript.class), any(List.class), any(Object[].class));
+    }
+
+    private static void completeWith(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
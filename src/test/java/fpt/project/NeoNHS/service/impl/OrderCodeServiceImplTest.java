@@ -0,0 +1,57 @@
+package fpt.project.NeoNHS.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderCodeServiceImplTest {
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @BeforeEach
+    void setUp() {
+        when(redis.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("The only free slot is leased and becomes the node id")
+    void startup_leasesFreeSlot() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.setIfAbsent(eq("payment:order-code:node:42"), anyString(), eq(Duration.ofMillis(30_000))))
+                .thenReturn(true);
+
+        OrderCodeServiceImpl service = new OrderCodeServiceImpl(redis, -1, 30_000);
+
+        assertEquals(42, (service.nextOrderCode() >> 14) & 0xFF);
+    }
+
+    @Test
+    @DisplayName("Startup fails when all 256 slots are leased")
+    void startup_allSlotsTaken_fails() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> new OrderCodeServiceImpl(redis, -1, 30_000));
+        verify(valueOperations, times(256)).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+}
@@ -0,0 +1,94 @@
+package fpt.project.NeoNHS.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fpt.project.NeoNHS.entity.OutboxEvent;
+import fpt.project.NeoNHS.enums.OutboxEventType;
+import fpt.project.NeoNHS.enums.OutboxStatus;
+import fpt.project.NeoNHS.repository.OutboxEventRepository;
+import fpt.project.NeoNHS.service.OutboxEventHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceImplTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxEventHandler handler;
+
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        when(handler.type()).thenReturn(OutboxEventType.NOTIFICATION_DELIVERY);
+        outboxService = new OutboxServiceImpl(outboxEventRepository, new ObjectMapper(), List.of(handler),
+                MAX_ATTEMPTS, 1_000, 60_000, 7);
+    }
+
+    @Test
+    @DisplayName("Delivered events are marked sent in one update; a failed one is rescheduled with backoff")
+    void relayDue_partialFailure_retriesOnlyFailed() {
+        OutboxEvent delivered = event(0);
+        OutboxEvent failed = event(1);
+        when(outboxEventRepository.findDue(eq(OutboxStatus.PENDING), any(), any()))
+                .thenReturn(List.of(delivered, failed));
+        when(handler.handle(anyList())).thenReturn(Map.of(failed.getId(), "Expo: 503"));
+
+        LocalDateTime before = LocalDateTime.now();
+        assertEquals(2, outboxService.relayDue(100));
+
+        verify(outboxEventRepository).markSent(eq(List.of(delivered.getId())), eq(OutboxStatus.SENT), any());
+        ArgumentCaptor<LocalDateTime> next = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventRepository).markAttemptFailed(eq(failed.getId()), eq(OutboxStatus.PENDING),
+                next.capture(), eq("Expo: 503"));
+        // Second attempt: base delay doubled
+        assertTrue(!next.getValue().isBefore(before.plusSeconds(2)));
+    }
+
+    @Test
+    @DisplayName("An event that fails its last attempt is parked as FAILED")
+    void relayDue_lastAttempt_parksEvent() {
+        OutboxEvent event = event(MAX_ATTEMPTS - 1);
+        when(outboxEventRepository.findDue(eq(OutboxStatus.PENDING), any(), any())).thenReturn(List.of(event));
+        when(handler.handle(anyList())).thenThrow(new IllegalStateException("down"));
+
+        outboxService.relayDue(100);
+
+        verify(outboxEventRepository).markAttemptFailed(eq(event.getId()), eq(OutboxStatus.FAILED), any(), anyString());
+        verify(outboxEventRepository, never()).markSent(anyList(), any(), any());
+    }
+
+    private OutboxEvent event(int attempts) {
+        return OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .type(OutboxEventType.NOTIFICATION_DELIVERY)
+                .aggregateId(UUID.randomUUID())
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
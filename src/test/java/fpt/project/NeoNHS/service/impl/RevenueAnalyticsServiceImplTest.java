@@ -0,0 +1,103 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.dto.request.admin.RevenueReportRequest;
+import fpt.project.NeoNHS.dto.response.admin.TransactionDetailResponse;
+import fpt.project.NeoNHS.exception.BadRequestException;
+import fpt.project.NeoNHS.repository.OrderDetailRepository;
+import fpt.project.NeoNHS.repository.projection.RevenueDetailProjection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RevenueAnalyticsServiceImplTest {
+
+    @Mock
+    private OrderDetailRepository orderDetailRepository;
+
+    @InjectMocks
+    private RevenueAnalyticsServiceImpl revenueAnalyticsService;
+
+    private static RevenueReportRequest march() {
+        RevenueReportRequest request = new RevenueReportRequest();
+        request.setStartDate(LocalDate.of(2025, 3, 1));
+        request.setEndDate(LocalDate.of(2025, 3, 31));
+        return request;
+    }
+
+    @Test
+    @DisplayName("A cursor pages strictly before the last row, with the limit capped")
+    void getTransactions_withCursor_readsPageBefore() {
+        LocalDateTime before = LocalDateTime.of(2025, 3, 20, 10, 0);
+        UUID beforeId = UUID.randomUUID();
+        RevenueDetailProjection row = mock(RevenueDetailProjection.class);
+        when(row.getId()).thenReturn(UUID.fromString("0a1b2c3d-0000-0000-0000-000000000000"));
+        when(row.getUnitPrice()).thenReturn(new BigDecimal("50000"));
+        when(row.getQuantity()).thenReturn(3);
+        when(row.getEventName()).thenReturn("Lantern Night");
+        when(orderDetailRepository.findRevenueDetailsBefore(eq(LocalDate.of(2025, 3, 1).atStartOfDay()),
+                eq(LocalDate.of(2025, 3, 31).atTime(23, 59, 59)), eq(before), eq(beforeId),
+                argThat((Pageable p) -> p.getPageNumber() == 0
+                        && p.getPageSize() == RevenueAnalyticsServiceImpl.MAX_PAGE_SIZE)))
+                .thenReturn(List.of(row));
+
+        List<TransactionDetailResponse> page = revenueAnalyticsService.getTransactions(march(), before, beforeId, 5000);
+
+        assertEquals(1, page.size());
+        TransactionDetailResponse tx = page.get(0);
+        assertEquals("#TRX-0A1B2C3D", tx.getId());
+        assertEquals("Admin", tx.getVendor());
+        assertEquals("Lantern Night", tx.getItem());
+        assertEquals(new BigDecimal("150000"), tx.getGross());
+        assertEquals(BigDecimal.ZERO, tx.getFee());
+        assertEquals(new BigDecimal("150000"), tx.getNet());
+    }
+
+    @Test
+    @DisplayName("Half a cursor is rejected before any query")
+    void getTransactions_halfCursor_rejected() {
+        assertThrows(BadRequestException.class,
+                () -> revenueAnalyticsService.getTransactions(march(), LocalDateTime.now(), null, 20));
+        verifyNoInteractions(orderDetailRepository);
+    }
+
+    @Test
+    @DisplayName("Vendor lines show the stored commission and net")
+    void toTransaction_vendorLine_usesCommissionAndNet() {
+        RevenueDetailProjection row = mock(RevenueDetailProjection.class);
+        when(row.getId()).thenReturn(UUID.randomUUID());
+        when(row.getUnitPrice()).thenReturn(new BigDecimal("200000"));
+        when(row.getQuantity()).thenReturn(2);
+        when(row.getWorkshopSessionId()).thenReturn(UUID.randomUUID());
+        when(row.getCommissionAmount()).thenReturn(new BigDecimal("40000"));
+        when(row.getNetAmount()).thenReturn(new BigDecimal("360000"));
+        when(row.getVendorName()).thenReturn("Marble Crafts");
+        when(row.getWorkshopName()).thenReturn("Stone Carving");
+
+        TransactionDetailResponse tx = RevenueAnalyticsServiceImpl.toTransaction(row);
+
+        assertEquals("Marble Crafts", tx.getVendor());
+        assertEquals("Stone Carving", tx.getItem());
+        assertEquals(new BigDecimal("400000"), tx.getGross());
+        assertEquals(new BigDecimal("40000"), tx.getFee());
+        assertEquals(new BigDecimal("360000"), tx.getNet());
+    }
+}
@@ -0,0 +1,75 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.entity.RevenueRollup;
+import fpt.project.NeoNHS.exception.BadRequestException;
+import fpt.project.NeoNHS.repository.OrderRollupRepository;
+import fpt.project.NeoNHS.repository.RevenueRollupRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class RevenueRollupServiceImplTest {
+
+    @Mock
+    private RevenueRollupRepository revenueRollupRepository;
+
+    @Mock
+    private OrderRollupRepository orderRollupRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private RevenueRollupServiceImpl revenueRollupService;
+
+    @Test
+    @DisplayName("Rebuild recomputes each day of [from, to) in its own transaction, delete before insert")
+    @SuppressWarnings("unchecked")
+    void rebuild_threeDays_oneTransactionPerDay() {
+        doAnswer(inv -> {
+            inv.getArgument(0, Consumer.class).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        assertEquals(3, revenueRollupService.rebuild(from, from.plusDays(3)));
+
+        verify(transactionTemplate, times(3)).executeWithoutResult(any());
+        var order = inOrder(revenueRollupRepository);
+        for (int i = 0; i < 3; i++) {
+            var start = from.plusDays(i).atStartOfDay();
+            var end = from.plusDays(i + 1).atStartOfDay();
+            order.verify(revenueRollupRepository).deleteBetween(start, end);
+            order.verify(revenueRollupRepository).addPaidOrdersBetween(eq(start), eq(end), eq(1),
+                    eq(RevenueRollup.PLATFORM_VENDOR_ID), any());
+        }
+    }
+
+    @Test
+    @DisplayName("An empty range is rejected without touching the rollups")
+    void rebuild_emptyRange_rejected() {
+        LocalDate day = LocalDate.of(2025, 3, 1);
+        assertThrows(BadRequestException.class, () -> revenueRollupService.rebuild(day, day));
+        verifyNoInteractions(revenueRollupRepository, orderRollupRepository, transactionTemplate);
+    }
+}
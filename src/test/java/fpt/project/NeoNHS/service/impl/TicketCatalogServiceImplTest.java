@@ -0,0 +1,121 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.dto.request.ticketcatalog.CreateTicketCatalogRequest;
+import fpt.project.NeoNHS.dto.request.ticketcatalog.UpdateTicketCatalogRequest;
+import fpt.project.NeoNHS.dto.response.ticketcatalog.TicketCatalogResponse;
+import fpt.project.NeoNHS.entity.Event;
+import fpt.project.NeoNHS.entity.TicketCatalog;
+import fpt.project.NeoNHS.repository.EventRepository;
+import fpt.project.NeoNHS.repository.OrderDetailRepository;
+import fpt.project.NeoNHS.repository.TicketCatalogRepository;
+import fpt.project.NeoNHS.service.HotInventoryService;
+import fpt.project.NeoNHS.service.WaitingRoomService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketCatalogServiceImplTest {
+
+    @Mock
+    private TicketCatalogRepository ticketCatalogRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private OrderDetailRepository orderDetailRepository;
+
+    @Mock
+    private HotInventoryService hotInventoryService;
+
+    @Mock
+    private WaitingRoomService waitingRoomService;
+
+    @InjectMocks
+    private TicketCatalogServiceImpl ticketCatalogService;
+
+    private final Event event = Event.builder().id(UUID.randomUUID()).name("Lantern Night").build();
+    private TicketCatalog flashSale;
+    private TicketCatalog regular;
+
+    @BeforeEach
+    void setUp() {
+        flashSale = catalog("Flash Sale", true);
+        regular = catalog("Regular", false);
+        when(ticketCatalogRepository.findByEventIdAndDeletedAtIsNull(event.getId()))
+                .thenReturn(List.of(flashSale, regular));
+        when(ticketCatalogRepository.save(any(TicketCatalog.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Making one catalog of a mixed event hot moves the whole event to Redis")
+    void update_mixedEventTurnedHot_allCatalogsHot() {
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(ticketCatalogRepository.findByEventIdAndId(event.getId(), flashSale.getId()))
+                .thenReturn(Optional.of(flashSale));
+
+        ticketCatalogService.updateTicketCatalog(event.getId(), flashSale.getId(),
+                UpdateTicketCatalogRequest.builder().hotInventory(true).build());
+
+        // Otherwise "Regular" would keep enrolling into the MySQL event row while Redis counts the same seats
+        assertTrue(regular.getHotInventory());
+        verify(ticketCatalogRepository).save(regular);
+        verify(hotInventoryService, never()).evictTicket(any());
+    }
+
+    @Test
+    @DisplayName("Turning the hot flag off writes every catalog of the event back before it leaves Redis")
+    void update_turnedCold_evictsAllCatalogs() {
+        regular.setHotInventory(true);
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(ticketCatalogRepository.findByEventIdAndId(event.getId(), flashSale.getId()))
+                .thenReturn(Optional.of(flashSale));
+
+        ticketCatalogService.updateTicketCatalog(event.getId(), flashSale.getId(),
+                UpdateTicketCatalogRequest.builder().hotInventory(false).build());
+
+        assertFalse(flashSale.getHotInventory());
+        assertFalse(regular.getHotInventory());
+        verify(hotInventoryService).evictTicket(flashSale);
+        verify(hotInventoryService).evictTicket(regular);
+    }
+
+    @Test
+    @DisplayName("A catalog added to a hot event reserves through Redis as well")
+    void create_onHotEvent_isHot() {
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+
+        TicketCatalogResponse created = ticketCatalogService.createTicketCatalog(event.getId(),
+                CreateTicketCatalogRequest.builder().name("Late Entry").price(BigDecimal.valueOf(50_000)).build());
+
+        assertTrue(created.getHotInventory());
+    }
+
+    private TicketCatalog catalog(String name, boolean hot) {
+        return TicketCatalog.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .price(BigDecimal.valueOf(100_000))
+                .totalQuota(200)
+                .hotInventory(hot)
+                .event(event)
+                .build();
+    }
+}
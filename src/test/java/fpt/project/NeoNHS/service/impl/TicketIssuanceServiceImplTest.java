@@ -0,0 +1,74 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.entity.Event;
+import fpt.project.NeoNHS.entity.OrderDetail;
+import fpt.project.NeoNHS.entity.Ticket;
+import fpt.project.NeoNHS.entity.TicketCatalog;
+import fpt.project.NeoNHS.enums.TicketType;
+import fpt.project.NeoNHS.helpers.TicketCodeFormat;
+import fpt.project.NeoNHS.repository.TicketRepository;
+import fpt.project.NeoNHS.service.TicketQrService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketIssuanceServiceImplTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketQrService ticketQrService;
+
+    @InjectMocks
+    private TicketIssuanceServiceImpl ticketIssuanceService;
+
+    @Test
+    @DisplayName("A 100-ticket order is handed to the repository in one saveAll (statement count: TicketIssuanceQueryCountTest)")
+    void issueTickets_hundredTickets_singleWrite() {
+        LocalDateTime endTime = LocalDateTime.now().plusDays(3);
+        TicketCatalog catalog = TicketCatalog.builder()
+                .name("Group Pass")
+                .price(BigDecimal.valueOf(30_000))
+                .event(Event.builder().name("Marble Mountains Festival").endTime(endTime).build())
+                .build();
+        OrderDetail groupLine = OrderDetail.builder().ticketCatalog(catalog).quantity(60).build();
+        OrderDetail familyLine = OrderDetail.builder().ticketCatalog(catalog).quantity(40).build();
+        when(ticketRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        List<String> codes = IntStream.rangeClosed(1, 100).mapToObj(TicketCodeFormat::encode).toList();
+        when(ticketQrService.sign(any(Ticket.class)))
+                .thenAnswer(inv -> "qr-" + inv.getArgument(0, Ticket.class).getTicketCode());
+
+        List<Ticket> tickets = ticketIssuanceService.issueTickets(List.of(groupLine, familyLine), codes);
+
+        assertEquals(100, tickets.size());
+        assertEquals(100, tickets.stream().map(Ticket::getTicketCode).collect(Collectors.toSet()).size());
+        assertEquals(100, tickets.stream().map(Ticket::getQrCode).collect(Collectors.toSet()).size());
+        assertTrue(tickets.stream().allMatch(t -> t.getTicketType() == TicketType.EVENT
+                && endTime.equals(t.getExpiryDate())));
+
+        verify(ticketRepository, times(1)).saveAll(anyList());
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        verifyNoMoreInteractions(ticketRepository);
+    }
+}
@@ -0,0 +1,19 @@
+package fpt.project.NeoNHS.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TicketQrServiceImplTest {
+
+    @Test
+    @DisplayName("Startup fails without a signing secret or with one shorter than 32 bytes")
+    void constructor_rejectsMissingOrShortSecret() {
+        assertThrows(IllegalStateException.class, () -> new TicketQrServiceImpl(""));
+        assertThrows(IllegalStateException.class, () -> new TicketQrServiceImpl("   "));
+        assertThrows(IllegalStateException.class, () -> new TicketQrServiceImpl("too-short-secret"));
+
+        new TicketQrServiceImpl("0123456789abcdef0123456789abcdef");
+    }
+}
@@ -0,0 +1,120 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.dto.request.ticket.CheckinSyncRequest;
+import fpt.project.NeoNHS.dto.response.ticket.CheckinSyncResponse;
+import fpt.project.NeoNHS.enums.CheckinScanStatus;
+import fpt.project.NeoNHS.enums.TicketStatus;
+import fpt.project.NeoNHS.enums.TicketType;
+import fpt.project.NeoNHS.helpers.TicketQrCodec;
+import fpt.project.NeoNHS.repository.TicketCatalogRepository;
+import fpt.project.NeoNHS.repository.TicketRepository;
+import fpt.project.NeoNHS.repository.WorkshopSessionRepository;
+import fpt.project.NeoNHS.repository.projection.TicketCodeStatusProjection;
+import fpt.project.NeoNHS.security.UserPrincipal;
+import fpt.project.NeoNHS.service.TicketQrService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketServiceImplTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketCatalogRepository ticketCatalogRepository;
+
+    @Mock
+    private WorkshopSessionRepository workshopSessionRepository;
+
+    @Mock
+    private TicketQrService ticketQrService;
+
+    @InjectMocks
+    private TicketServiceImpl ticketService;
+
+    private final UUID vendorUserId = UUID.randomUUID();
+    private final UUID sessionId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ticketService, "maxCheckinBatchSize", 1000);
+        ReflectionTestUtils.setField(ticketService, "checkinOpensBeforeMinutes", 30L);
+        UserPrincipal vendor = new UserPrincipal(vendorUserId, "vendor@neonhs.vn", "x",
+                List.of(new SimpleGrantedAuthority("ROLE_VENDOR")), true, false);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(vendor, null, vendor.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("A workshop ticket scanned just before the session starts is let in, not reported as expired")
+    void syncCheckins_scanJustBeforeStart_accepted() {
+        LocalDateTime now = LocalDateTime.now();
+        scannable("EARLY001", now.plusMinutes(10), now.plusHours(3));
+        scannable("EARLY002", now.plusHours(2), now.plusHours(5));
+        scannable("LATE0001", now.minusHours(4), now.minusHours(1));
+        when(workshopSessionRepository.findIdsOwnedByVendorUser(anyCollection(), eq(vendorUserId)))
+                .thenReturn(List.of(sessionId));
+        when(ticketRepository.findStatusesByTicketCodeIn(anyCollection()))
+                .thenReturn(List.of(active("EARLY001")));
+        when(ticketRepository.redeemByTicketCodes(eq(List.of("EARLY001")), eq(TicketStatus.USED),
+                anyCollection(), any(), any())).thenReturn(1);
+
+        CheckinSyncResponse response = ticketService.syncCheckins(CheckinSyncRequest.builder()
+                .scans(List.of(scan("EARLY001"), scan("EARLY002"), scan("LATE0001")))
+                .build());
+
+        assertEquals(1, response.getAccepted());
+        assertEquals(List.of(CheckinScanStatus.ACCEPTED, CheckinScanStatus.NOT_YET_VALID, CheckinScanStatus.EXPIRED),
+                response.getResults().stream().map(CheckinSyncResponse.Result::getStatus).toList());
+    }
+
+    private void scannable(String ticketCode, LocalDateTime validFrom, LocalDateTime validTo) {
+        when(ticketQrService.verify("qr-" + ticketCode)).thenReturn(Optional.of(
+                new TicketQrCodec.Payload(ticketCode, sessionId, TicketType.WORKSHOP, validFrom, validTo)));
+    }
+
+    private static CheckinSyncRequest.Scan scan(String ticketCode) {
+        return CheckinSyncRequest.Scan.builder().qrCode("qr-" + ticketCode).build();
+    }
+
+    private static TicketCodeStatusProjection active(String ticketCode) {
+        return new TicketCodeStatusProjection() {
+            @Override
+            public String getTicketCode() {
+                return ticketCode;
+            }
+
+            @Override
+            public TicketStatus getStatus() {
+                return TicketStatus.ACTIVE;
+            }
+        };
+    }
+}
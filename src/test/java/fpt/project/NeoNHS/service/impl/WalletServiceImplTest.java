@@ -0,0 +1,116 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.entity.WalletEntry;
+import fpt.project.NeoNHS.enums.WalletEntryType;
+import fpt.project.NeoNHS.exception.BadRequestException;
+import fpt.project.NeoNHS.repository.UserRepository;
+import fpt.project.NeoNHS.repository.WalletEntryRepository;
+import fpt.project.NeoNHS.repository.WalletRepository;
+import fpt.project.NeoNHS.repository.projection.WalletBalanceProjection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WalletServiceImplTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private WalletEntryRepository walletEntryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private WalletServiceImpl walletService;
+
+    @Test
+    @DisplayName("First credit opens the wallet from the legacy balance, then appends the credit")
+    void credit_firstMovement_writesOpeningThenCredit() {
+        UUID sessionId = UUID.randomUUID();
+        when(walletRepository.existsById(USER_ID)).thenReturn(false);
+        when(walletRepository.open(eq(USER_ID), any())).thenReturn(1);
+        when(walletRepository.findSnapshot(USER_ID))
+                .thenReturn(Optional.of(snapshot(40_000L, 0L)), Optional.of(snapshot(190_000L, 0L)));
+
+        assertTrue(walletService.credit(USER_ID, 150_000L, sessionId, "Payout"));
+
+        verify(walletRepository).credit(eq(USER_ID), eq(150_000L), any());
+        ArgumentCaptor<WalletEntry> entries = ArgumentCaptor.forClass(WalletEntry.class);
+        verify(walletEntryRepository, times(2)).save(entries.capture());
+        List<WalletEntry> saved = entries.getAllValues();
+        assertEquals(WalletEntryType.OPENING, saved.get(0).getType());
+        assertEquals(40_000L, saved.get(0).getAmount());
+        assertEquals(WalletEntryType.CREDIT, saved.get(1).getType());
+        assertEquals(190_000L, saved.get(1).getBalanceAfter());
+        assertEquals(sessionId, saved.get(1).getReferenceId());
+    }
+
+    @Test
+    @DisplayName("A credit already recorded for the same reference changes nothing")
+    void credit_sameReference_isIdempotent() {
+        UUID sessionId = UUID.randomUUID();
+        when(walletEntryRepository.existsByUserIdAndTypeAndReferenceId(USER_ID, WalletEntryType.CREDIT, sessionId))
+                .thenReturn(true);
+
+        assertFalse(walletService.credit(USER_ID, 150_000L, sessionId, "Payout"));
+
+        verify(walletRepository, never()).credit(any(), anyLong(), any());
+        verify(walletEntryRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("A debit the conditional update rejects fails without a ledger entry")
+    void debit_insufficientBalance_rejected() {
+        when(walletRepository.existsById(USER_ID)).thenReturn(true);
+        when(walletRepository.debit(eq(USER_ID), eq(500_000L), any())).thenReturn(0);
+
+        assertThrows(BadRequestException.class,
+                () -> walletService.debit(USER_ID, 500_000L, UUID.randomUUID(), "Withdrawal"));
+
+        verify(walletEntryRepository, never()).save(any());
+    }
+
+    private static WalletBalanceProjection snapshot(long balance, long held) {
+        return new WalletBalanceProjection() {
+            @Override
+            public UUID getUserId() {
+                return USER_ID;
+            }
+
+            @Override
+            public Long getBalance() {
+                return balance;
+            }
+
+            @Override
+            public Long getHeld() {
+                return held;
+            }
+        };
+    }
+}
@@ -0,0 +1,229 @@
+package fpt.project.NeoNHS.service.impl;
+
+import fpt.project.NeoNHS.dto.request.payout.CreatePayoutRequest;
+import fpt.project.NeoNHS.dto.request.payout.WithdrawRequest;
+import fpt.project.NeoNHS.dto.response.payout.PayoutResponse;
+import fpt.project.NeoNHS.dto.response.payout.WithdrawalResponse;
+import fpt.project.NeoNHS.entity.User;
+import fpt.project.NeoNHS.entity.Withdrawal;
+import fpt.project.NeoNHS.enums.WithdrawalStatus;
+import fpt.project.NeoNHS.repository.UserRepository;
+import fpt.project.NeoNHS.repository.WithdrawalRepository;
+import fpt.project.NeoNHS.service.FaceVerificationService;
+import fpt.project.NeoNHS.service.PayoutService;
+import fpt.project.NeoNHS.service.WalletService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WithdrawalServiceImplTest {
+
+    private static final String PHOTO = "live-photo";
+
+    @Mock
+    private WithdrawalRepository withdrawalRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private WalletService walletService;
+
+    @Mock
+    private FaceVerificationService faceVerificationService;
+
+    @Mock
+    private PayoutService payoutService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private WithdrawalServiceImpl withdrawalService;
+
+    private final User user = User.builder()
+            .id(UUID.randomUUID())
+            .email("vendor@neonhs.vn")
+            .faceEmbedding("[0.1]")
+            .bankBin("970422")
+            .bankAccountNumber("0123456789")
+            .build();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.getArgument(0, TransactionCallback.class).doInTransaction(mock(TransactionStatus.class)));
+        lenient().doAnswer(inv -> {
+            inv.getArgument(0, Consumer.class).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        // Same-thread executor: the background part runs inside start()
+        withdrawalService = new WithdrawalServiceImpl(withdrawalRepository, userRepository, walletService,
+                faceVerificationService, payoutService, transactionTemplate, Runnable::run,
+                600_000, 3, 1_000, 60_000);
+    }
+
+    @Test
+    @DisplayName("A retried request with the same key returns the first withdrawal without a new hold")
+    void start_duplicateRequestKey_returnsExisting() {
+        UUID requestKey = UUID.randomUUID();
+        Withdrawal existing = withdrawal(WithdrawalStatus.SUBMITTED);
+        when(withdrawalRepository.findByUserIdAndRequestKey(user.getId(), requestKey)).thenReturn(Optional.of(existing));
+
+        WithdrawalResponse response = withdrawalService.start(user, request(requestKey));
+
+        assertEquals(existing.getId(), response.getId());
+        assertEquals(WithdrawalStatus.SUBMITTED, response.getStatus());
+        verifyNoInteractions(walletService, faceVerificationService, payoutService);
+    }
+
+    @Test
+    @DisplayName("Hold, verify, submit: a payout that succeeds immediately captures the hold")
+    void start_happyPath_holdsThenCaptures() {
+        Withdrawal saved = withdrawal(WithdrawalStatus.HELD);
+        when(withdrawalRepository.findByUserIdAndRequestKey(any(), any())).thenReturn(Optional.empty());
+        when(withdrawalRepository.saveAndFlush(any())).thenReturn(saved);
+        when(withdrawalRepository.findById(saved.getId())).thenReturn(Optional.of(saved));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(faceVerificationService.compareFaces(PHOTO, "[0.1]")).thenReturn(true);
+        when(withdrawalRepository.transition(eq(saved.getId()), eq(WithdrawalStatus.HELD), eq(WithdrawalStatus.VERIFIED),
+                any(), any())).thenReturn(1);
+        when(payoutService.createPayout(any())).thenReturn(PayoutResponse.builder()
+                .id("po_1").approvalState("SUCCEEDED").build());
+        when(withdrawalRepository.markSubmitted(eq(saved.getId()), eq("po_1"), eq("SUCCEEDED"), any(), any()))
+                .thenReturn(1);
+        when(withdrawalRepository.transition(eq(saved.getId()), eq(WithdrawalStatus.SUBMITTED),
+                eq(WithdrawalStatus.COMPLETED), isNull(), any())).thenReturn(1);
+
+        withdrawalService.start(user, request(UUID.randomUUID()));
+
+        verify(walletService).hold(eq(user.getId()), eq(200_000L), eq(saved.getId()), anyString());
+        verify(walletService).captureHold(eq(user.getId()), eq(200_000L), eq(saved.getId()), anyString());
+        verify(walletService, never()).releaseHold(any(), anyLong(), any(), any());
+
+        ArgumentCaptor<CreatePayoutRequest> payout = ArgumentCaptor.forClass(CreatePayoutRequest.class);
+        verify(payoutService).createPayout(payout.capture());
+        assertEquals(saved.getId().toString(), payout.getValue().getIdempotencyKey());
+    }
+
+    @Test
+    @DisplayName("A face mismatch fails the withdrawal and releases the hold; nothing is paid out")
+    void start_faceMismatch_releasesHold() {
+        Withdrawal saved = withdrawal(WithdrawalStatus.HELD);
+        when(withdrawalRepository.findByUserIdAndRequestKey(any(), any())).thenReturn(Optional.empty());
+        when(withdrawalRepository.saveAndFlush(any())).thenReturn(saved);
+        when(withdrawalRepository.findById(saved.getId())).thenReturn(Optional.of(saved));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(faceVerificationService.compareFaces(PHOTO, "[0.1]")).thenReturn(false);
+        when(withdrawalRepository.markFailed(eq(saved.getId()), eq(WithdrawalStatus.HELD), anyString(), any()))
+                .thenReturn(1);
+
+        withdrawalService.start(user, request(UUID.randomUUID()));
+
+        verify(walletService).releaseHold(eq(user.getId()), eq(200_000L), eq(saved.getId()), anyString());
+        verifyNoInteractions(payoutService);
+    }
+
+    @Test
+    @DisplayName("A timed-out submission keeps the hold and waits to be reconciled, even on the last attempt")
+    void advanceDue_submitTimesOut_keepsHoldAsUnknown() {
+        Withdrawal verified = withdrawal(WithdrawalStatus.VERIFIED);
+        verified.setAttempts(2);
+        dueWith(WithdrawalStatus.VERIFIED, verified);
+        when(payoutService.createPayout(any())).thenThrow(new ResourceAccessException("Read timed out"));
+
+        withdrawalService.advanceDue(10);
+
+        verify(withdrawalRepository).markSubmitted(eq(verified.getId()), isNull(),
+                eq(WithdrawalServiceImpl.PAYOUT_UNKNOWN), any(), any());
+        verify(withdrawalRepository, never()).markFailed(any(), any(), any(), any());
+        verifyNoInteractions(walletService);
+    }
+
+    @Test
+    @DisplayName("A payout PayOS rejected outright releases the hold once attempts run out")
+    void advanceDue_submitRejected_releasesHoldOnLastAttempt() {
+        Withdrawal verified = withdrawal(WithdrawalStatus.VERIFIED);
+        verified.setAttempts(2);
+        dueWith(WithdrawalStatus.VERIFIED, verified);
+        when(payoutService.createPayout(any()))
+                .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+        when(withdrawalRepository.markFailed(eq(verified.getId()), eq(WithdrawalStatus.VERIFIED), anyString(), any()))
+                .thenReturn(1);
+
+        withdrawalService.advanceDue(10);
+
+        verify(walletService).releaseHold(eq(user.getId()), eq(200_000L), eq(verified.getId()), anyString());
+        verify(withdrawalRepository, never()).markSubmitted(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("A payout of unknown outcome is found by its reference id and settled")
+    void advanceDue_unknownPayout_reconciledByReference() {
+        Withdrawal unknown = withdrawal(WithdrawalStatus.SUBMITTED);
+        unknown.setPayoutState(WithdrawalServiceImpl.PAYOUT_UNKNOWN);
+        dueWith(WithdrawalStatus.SUBMITTED, unknown);
+        when(payoutService.findPayoutByReferenceId("withdraw_" + unknown.getId())).thenReturn(Optional.of(
+                PayoutResponse.builder().id("po_1").approvalState("SUCCEEDED").build()));
+        when(withdrawalRepository.markSubmitted(eq(unknown.getId()), eq("po_1"), eq("SUCCEEDED"), any(), any()))
+                .thenReturn(1);
+        when(withdrawalRepository.transition(eq(unknown.getId()), eq(WithdrawalStatus.SUBMITTED),
+                eq(WithdrawalStatus.COMPLETED), isNull(), any())).thenReturn(1);
+
+        withdrawalService.advanceDue(10);
+
+        verify(walletService).captureHold(eq(user.getId()), eq(200_000L), eq(unknown.getId()), anyString());
+        verify(payoutService, never()).createPayout(any());
+    }
+
+    private void dueWith(WithdrawalStatus status, Withdrawal withdrawal) {
+        when(withdrawalRepository.findDue(any(), any(), any())).thenReturn(List.of());
+        when(withdrawalRepository.findDue(eq(status), any(), any())).thenReturn(List.of(withdrawal));
+    }
+
+    private WithdrawRequest request(UUID requestKey) {
+        return WithdrawRequest.builder().amount(200_000).livePhotoBase64(PHOTO).requestId(requestKey).build();
+    }
+
+    private Withdrawal withdrawal(WithdrawalStatus status) {
+        return Withdrawal.builder()
+                .id(UUID.randomUUID())
+                .userId(user.getId())
+                .requestKey(UUID.randomUUID())
+                .amount(200_000L)
+                .toBin(user.getBankBin())
+                .toAccountNumber(user.getBankAccountNumber())
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package fpt.project.NeoNHS.service.pricing;
+
+import fpt.project.NeoNHS.dto.response.pricing.PriceQuote;
+import fpt.project.NeoNHS.enums.ApplicableProduct;
+import fpt.project.NeoNHS.enums.DiscountType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class PricingEngineTest {
+
+    private static final UUID VENDOR = UUID.randomUUID();
+
+    private static PricingEngine.Line ticket(long price, int qty) {
+        return new PricingEngine.Line(UUID.randomUUID(), UUID.randomUUID(), null, null, qty, price, 0);
+    }
+
+    private static PricingEngine.Line workshop(long price, int qty, int commissionBps) {
+        return new PricingEngine.Line(UUID.randomUUID(), null, UUID.randomUUID(), VENDOR, qty, price, commissionBps);
+    }
+
+    private static PricingEngine.VoucherTerms percent(ApplicableProduct scope, UUID vendorId, long bps, long max) {
+        return new PricingEngine.VoucherTerms(UUID.randomUUID(), UUID.randomUUID(), scope, vendorId,
+                DiscountType.PERCENT, bps, max);
+    }
+
+    private static PricingEngine.VoucherTerms fixed(long amount) {
+        return new PricingEngine.VoucherTerms(UUID.randomUUID(), UUID.randomUUID(), ApplicableProduct.ALL, null,
+                DiscountType.FIXED, amount, 0);
+    }
+
+    @Test
+    @DisplayName("Percent discount rounds down and respects the max discount")
+    void percentDiscount_roundsDownAndCaps() {
+        PriceQuote quote = PricingEngine.quote(List.of(ticket(33_333, 1)),
+                List.of(percent(ApplicableProduct.ALL, null, 1_250, 0)));
+        assertEquals(4_166, quote.discountTotal()); // 4166.625
+        assertEquals(29_167, quote.total());
+
+        PriceQuote capped = PricingEngine.quote(List.of(ticket(1_000_000, 1)),
+                List.of(percent(ApplicableProduct.ALL, null, 5_000, 100_000)));
+        assertEquals(100_000, capped.discountTotal());
+    }
+
+    @Test
+    @DisplayName("Commission rounds half up on workshop lines only")
+    void commission_workshopLinesOnly() {
+        PriceQuote quote = PricingEngine.quote(List.of(ticket(50_000, 2), workshop(99_995, 1, 1_000)), List.of());
+        assertEquals(199_995, quote.subtotal());
+        assertEquals(10_000, quote.commission()); // 9999.5
+        assertEquals(89_995, quote.net());
+        assertEquals(0, quote.lines().get(0).commission());
+    }
+
+    @Test
+    @DisplayName("Scoped vouchers only discount their own lines")
+    void scopedVoucher_usesScopedBase() {
+        PriceQuote quote = PricingEngine.quote(List.of(ticket(100_000, 1), workshop(200_000, 1, 1_000)),
+                List.of(percent(ApplicableProduct.WORKSHOP, VENDOR, 1_000, 0)));
+        assertEquals(200_000, quote.discounts().get(0).base());
+        assertEquals(20_000, quote.discountTotal());
+
+        PriceQuote otherVendor = PricingEngine.quote(List.of(workshop(200_000, 1, 1_000)),
+                List.of(percent(ApplicableProduct.ALL, UUID.randomUUID(), 1_000, 0)));
+        assertEquals(0, otherVendor.discountTotal());
+    }
+
+    @Test
+    @DisplayName("Stacked discounts never push the total below zero")
+    void stackedDiscounts_neverNegative() {
+        PriceQuote quote = PricingEngine.quote(List.of(ticket(80_000, 1)), List.of(fixed(50_000), fixed(50_000)));
+        assertEquals(50_000, quote.discounts().get(0).amount());
+        assertEquals(30_000, quote.discounts().get(1).amount());
+        assertEquals(0, quote.total());
+    }
+
+    @Test
+    @DisplayName("Cart hash changes when any pricing input changes")
+    void cartHash_tracksInputs() {
+        PricingEngine.Line line = ticket(50_000, 1);
+        PricingEngine.Line morePieces = new PricingEngine.Line(line.cartItemId(), line.ticketCatalogId(), null, null,
+                2, line.unitPrice(), 0);
+        assertEquals(PricingEngine.cartHash(List.of(line), List.of()), PricingEngine.cartHash(List.of(line), List.of()));
+        assertNotEquals(PricingEngine.cartHash(List.of(line), List.of()),
+                PricingEngine.cartHash(List.of(morePieces), List.of()));
+    }
+
+    @Test
+    @DisplayName("Entity amounts convert with explicit rounding")
+    void conversions() {
+        assertEquals(10_001, PricingEngine.toVnd(new BigDecimal("10000.50")));
+        assertEquals(1_250, PricingEngine.percentToBps(new BigDecimal("12.50")));
+        assertEquals(1_500, PricingEngine.rateToBps(new BigDecimal("0.15")));
+    }
+}